@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.collection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SparseBitSet#set(long)}, {@link SparseBitSet#get(long)} and intersections with random bits,
+ * compared to {@link BitSet} and a {@link HashSet} of {@link Long}s.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SparseBitSetBenchmark {
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	private int[] bits;
+	private SparseBitSet sparseBitSet;
+	private SparseBitSet otherSparseBitSet;
+	private BitSet bitSet;
+	private BitSet otherBitSet;
+	private Set<Long> hashSet;
+
+	@Setup
+	public void setup() {
+		bits = new Random(17).ints(size, 0, size * 4).toArray();
+
+		sparseBitSet = new SparseBitSet();
+		bitSet = new BitSet();
+		hashSet = new HashSet<>();
+		for (int bit : bits) {
+			sparseBitSet.set(bit);
+			bitSet.set(bit);
+			hashSet.add((long) bit);
+		}
+
+		otherSparseBitSet = new SparseBitSet();
+		otherBitSet = new BitSet();
+		for (int bit : new Random(42).ints(size, 0, size * 4).toArray()) {
+			otherSparseBitSet.set(bit);
+			otherBitSet.set(bit);
+		}
+	}
+
+	@Benchmark
+	public SparseBitSet sparseBitSetSet() {
+		SparseBitSet set = new SparseBitSet();
+		for (int bit : bits)
+			set.set(bit);
+		return set;
+	}
+
+	@Benchmark
+	public BitSet bitSetSet() {
+		BitSet set = new BitSet();
+		for (int bit : bits)
+			set.set(bit);
+		return set;
+	}
+
+	@Benchmark
+	public Set<Long> hashSetSet() {
+		Set<Long> set = new HashSet<>();
+		for (int bit : bits)
+			set.add((long) bit);
+		return set;
+	}
+
+	@Benchmark
+	public int sparseBitSetGet() {
+		int count = 0;
+		for (int bit : bits)
+			if (sparseBitSet.get(bit + 1))
+				count++;
+		return count;
+	}
+
+	@Benchmark
+	public int bitSetGet() {
+		int count = 0;
+		for (int bit : bits)
+			if (bitSet.get(bit + 1))
+				count++;
+		return count;
+	}
+
+	@Benchmark
+	public int hashSetGet() {
+		int count = 0;
+		for (int bit : bits)
+			if (hashSet.contains((long) bit + 1))
+				count++;
+		return count;
+	}
+
+	@Benchmark
+	public long sparseBitSetIntersectionSize() {
+		return sparseBitSet.intersectionSize(otherSparseBitSet);
+	}
+
+	@Benchmark
+	public SparseBitSet sparseBitSetIntersection() {
+		return sparseBitSet.intersection(otherSparseBitSet);
+	}
+
+	@Benchmark
+	public BitSet bitSetAnd() {
+		BitSet set = (BitSet) bitSet.clone();
+		set.and(otherBitSet);
+		return set;
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.collection.ints;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ArrayIntList#addInt(int)}, compared to {@link ArrayList#add(Object)} and a growing plain array.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArrayIntListBenchmark {
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	@Benchmark
+	public ArrayIntList arrayIntListAdd() {
+		ArrayIntList list = ArrayIntList.create();
+		for (int i = 0; i < size; i++)
+			list.addInt(i);
+		return list;
+	}
+
+	@Benchmark
+	public List<Integer> arrayListAdd() {
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < size; i++)
+			list.add(i);
+		return list;
+	}
+
+	@Benchmark
+	public int[] arrayAdd() {
+		int[] array = new int[10];
+		for (int i = 0; i < size; i++) {
+			if (i == array.length) {
+				int[] copy = new int[i + (i >> 1)];
+				System.arraycopy(array, 0, copy, 0, i);
+				array = copy;
+			}
+			array[i] = i;
+		}
+		return array;
+	}
+}
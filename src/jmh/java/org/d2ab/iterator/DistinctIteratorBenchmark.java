@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.iterator;
+
+import org.d2ab.sequence.Sequence;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DistinctIterator} through {@link Sequence#distinct()}, compared to
+ * {@link java.util.stream.Stream#distinct()} and a plain loop over a {@link HashSet}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DistinctIteratorBenchmark {
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	private List<Integer> list;
+	private Sequence<Integer> sequence;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(17);
+		int bound = Math.max(1, size / 4);
+		list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			list.add(random.nextInt(bound));
+		sequence = list::iterator;
+	}
+
+	@Benchmark
+	public void sequenceDistinct(Blackhole blackhole) {
+		for (Integer x : sequence.distinct())
+			blackhole.consume(x);
+	}
+
+	@Benchmark
+	public void streamDistinct(Blackhole blackhole) {
+		list.stream().distinct().forEach(blackhole::consume);
+	}
+
+	@Benchmark
+	public void loopDistinct(Blackhole blackhole) {
+		Set<Integer> seen = new HashSet<>();
+		for (Integer x : list)
+			if (seen.add(x))
+				blackhole.consume(x);
+	}
+}
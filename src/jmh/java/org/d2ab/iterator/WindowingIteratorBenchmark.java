@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.iterator;
+
+import org.d2ab.sequence.Sequence;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link WindowingIterator} through {@link Sequence#window(int, int)} and
+ * {@link Sequence#window(int, int, boolean)} in reuse mode, compared to a plain loop over an index range.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WindowingIteratorBenchmark {
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	@Param({"10", "1000"})
+	public int window;
+
+	private List<Integer> list;
+	private Sequence<Integer> sequence;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(17);
+		list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			list.add(random.nextInt(1000));
+		sequence = list::iterator;
+	}
+
+	@Benchmark
+	public void sequenceWindow(Blackhole blackhole) {
+		for (Sequence<Integer> each : sequence.window(window, 1))
+			blackhole.consume(each.reduce(0, Integer::sum));
+	}
+
+	@Benchmark
+	public void sequenceWindowReusing(Blackhole blackhole) {
+		for (Sequence<Integer> each : sequence.window(window, 1, true))
+			blackhole.consume(each.reduce(0, Integer::sum));
+	}
+
+	@Benchmark
+	public void loopWindow(Blackhole blackhole) {
+		int windows = Math.max(1, list.size() - window + 1);
+		for (int i = 0; i < windows; i++) {
+			int sum = 0;
+			for (int j = i; j < i + window && j < list.size(); j++)
+				sum += list.get(j);
+			blackhole.consume(sum);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks {@link IntSequence#sorted()} compared to {@link IntStream#sorted()} and sorting a plain array copy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IntSequenceBenchmark {
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	private int[] values;
+	private IntSequence sequence;
+
+	@Setup
+	public void setup() {
+		values = new Random(17).ints(size).toArray();
+		sequence = IntSequence.of(values);
+	}
+
+	@Benchmark
+	public void sequenceSorted(Blackhole blackhole) {
+		sequence.sorted().forEachInt(blackhole::consume);
+	}
+
+	@Benchmark
+	public void streamSorted(Blackhole blackhole) {
+		IntStream.of(values).sorted().forEach(blackhole::consume);
+	}
+
+	@Benchmark
+	public void loopSorted(Blackhole blackhole) {
+		int[] copy = Arrays.copyOf(values, values.length);
+		Arrays.sort(copy);
+		for (int x : copy)
+			blackhole.consume(x);
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a {@link Sequence} pipeline of chained {@link Sequence#map} and {@link Sequence#filter} stages, compared
+ * to the equivalent {@link java.util.stream.Stream} pipeline and a plain loop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SequenceBenchmark {
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	private List<Integer> list;
+	private Sequence<Integer> sequence;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(17);
+		list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			list.add(random.nextInt(1000));
+		sequence = list::iterator;
+	}
+
+	@Benchmark
+	public int sequenceMapFilter() {
+		return sequence.map(x -> x + 1)
+		               .filter(x -> (x & 1) == 0)
+		               .map(x -> x * 3)
+		               .filter(x -> x % 5 != 0)
+		               .map(x -> x - 7)
+		               .filter(x -> x > 0)
+		               .reduce(0, Integer::sum);
+	}
+
+	@Benchmark
+	public int sequenceMapFilterForEach() {
+		int[] sum = {0};
+		sequence.map(x -> x + 1)
+		        .filter(x -> (x & 1) == 0)
+		        .map(x -> x * 3)
+		        .filter(x -> x % 5 != 0)
+		        .map(x -> x - 7)
+		        .filter(x -> x > 0)
+		        .forEach(x -> sum[0] += x);
+		return sum[0];
+	}
+
+	@Benchmark
+	public int streamMapFilter() {
+		return list.stream()
+		           .map(x -> x + 1)
+		           .filter(x -> (x & 1) == 0)
+		           .map(x -> x * 3)
+		           .filter(x -> x % 5 != 0)
+		           .map(x -> x - 7)
+		           .filter(x -> x > 0)
+		           .reduce(0, Integer::sum);
+	}
+
+	@Benchmark
+	public int loopMapFilter() {
+		int sum = 0;
+		for (int x : list) {
+			x = x + 1;
+			if ((x & 1) != 0)
+				continue;
+			x = x * 3;
+			if (x % 5 == 0)
+				continue;
+			x = x - 7;
+			if (x <= 0)
+				continue;
+			sum += x;
+		}
+		return sum;
+	}
+}
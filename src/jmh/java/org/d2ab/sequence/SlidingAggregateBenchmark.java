@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the incremental sliding aggregates of {@link IntSequence}, such as {@link IntSequence#slidingSum(int)}
+ * and {@link IntSequence#slidingMax(int)}, compared to reducing each window of {@link IntSequence#window(int)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SlidingAggregateBenchmark {
+	@Param({"1000", "100000"})
+	public int size;
+
+	@Param({"10", "1000"})
+	public int window;
+
+	private IntSequence sequence;
+
+	@Setup
+	public void setup() {
+		sequence = IntSequence.of(new Random(17).ints(size).toArray());
+	}
+
+	@Benchmark
+	public void slidingSum(Blackhole blackhole) {
+		sequence.slidingSum(window).forEachLong(blackhole::consume);
+	}
+
+	@Benchmark
+	public void windowSum(Blackhole blackhole) {
+		for (IntSequence each : sequence.window(window))
+			blackhole.consume(each.toLongs().reduce(0L, Long::sum));
+	}
+
+	@Benchmark
+	public void slidingMax(Blackhole blackhole) {
+		sequence.slidingMax(window).forEachInt(blackhole::consume);
+	}
+
+	@Benchmark
+	public void windowMax(Blackhole blackhole) {
+		for (IntSequence each : sequence.window(window))
+			blackhole.consume(each.max().getAsInt());
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link Container} holding its values in a sorted array, used for chunks with at most
+ * {@value Container#MAX_ARRAY_SIZE} values.
+ */
+class ArrayContainer extends Container {
+	private char[] values;
+	private int cardinality;
+
+	ArrayContainer() {
+		this(new char[4], 0);
+	}
+
+	private ArrayContainer(char[] values, int cardinality) {
+		this.values = values;
+		this.cardinality = cardinality;
+	}
+
+	static ArrayContainer from(Container container, int cardinality) {
+		char[] values = new char[cardinality];
+		int index = 0;
+		for (int x = container.first(); x >= 0; x = x == CHUNK_SIZE - 1 ? -1 : container.next(x + 1))
+			values[index++] = (char) x;
+		return new ArrayContainer(values, cardinality);
+	}
+
+	static ArrayContainer from(long[] words, int cardinality) {
+		char[] values = new char[cardinality];
+		int index = 0;
+		for (int i = 0; i < words.length; i++)
+			for (long word = words[i]; word != 0; word &= word - 1)
+				values[index++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+		return new ArrayContainer(values, cardinality);
+	}
+
+	/**
+	 * @return the container holding the values in either of the given containers, or in exactly one of them if
+	 * {@code xor} is {@code true}, by merging their sorted values.
+	 */
+	static Container merge(ArrayContainer a, ArrayContainer b, boolean xor) {
+		char[] values = new char[a.cardinality + b.cardinality];
+		int cardinality = 0;
+		int i = 0, j = 0;
+		while (i < a.cardinality && j < b.cardinality) {
+			char x = a.values[i];
+			char y = b.values[j];
+			if (x < y) {
+				values[cardinality++] = x;
+				i++;
+			} else if (x > y) {
+				values[cardinality++] = y;
+				j++;
+			} else {
+				if (!xor)
+					values[cardinality++] = x;
+				i++;
+				j++;
+			}
+		}
+		while (i < a.cardinality)
+			values[cardinality++] = a.values[i++];
+		while (j < b.cardinality)
+			values[cardinality++] = b.values[j++];
+		return new ArrayContainer(values, cardinality);
+	}
+
+	static ArrayContainer readFrom(ByteBuffer buffer, int cardinality) throws IOException {
+		if (cardinality < 1 || cardinality > MAX_ARRAY_SIZE || buffer.remaining() < sizeInBytes(cardinality))
+			throw new IOException("Invalid array container of " + cardinality + " values");
+
+		char[] values = new char[cardinality];
+		buffer.asCharBuffer().get(values);
+		buffer.position(buffer.position() + sizeInBytes(cardinality));
+		for (int i = 1; i < cardinality; i++)
+			if (values[i] <= values[i - 1])
+				throw new IOException("Unsorted array container");
+		return new ArrayContainer(values, cardinality);
+	}
+
+	static int sizeInBytes(int cardinality) {
+		return cardinality * 2;
+	}
+
+	@Override
+	int cardinality() {
+		return cardinality;
+	}
+
+	@Override
+	boolean contains(int x) {
+		return Arrays.binarySearch(values, 0, cardinality, (char) x) >= 0;
+	}
+
+	@Override
+	Container add(int x) {
+		int index = Arrays.binarySearch(values, 0, cardinality, (char) x);
+		if (index >= 0)
+			return this;
+
+		if (cardinality == MAX_ARRAY_SIZE)
+			return BitmapContainer.from(this).add(x);
+
+		int insertionPoint = -(index + 1);
+		if (cardinality == values.length)
+			values = Arrays.copyOf(values, Math.min(cardinality + (cardinality >> 1) + 1, MAX_ARRAY_SIZE));
+		System.arraycopy(values, insertionPoint, values, insertionPoint + 1, cardinality - insertionPoint);
+		values[insertionPoint] = (char) x;
+		cardinality++;
+		return this;
+	}
+
+	@Override
+	Container remove(int x) {
+		int index = Arrays.binarySearch(values, 0, cardinality, (char) x);
+		if (index < 0)
+			return this;
+
+		System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+		cardinality--;
+		return this;
+	}
+
+	@Override
+	int first() {
+		return values[0];
+	}
+
+	@Override
+	int last() {
+		return values[cardinality - 1];
+	}
+
+	@Override
+	int next(int x) {
+		int index = Arrays.binarySearch(values, 0, cardinality, (char) x);
+		if (index >= 0)
+			return x;
+
+		int insertionPoint = -(index + 1);
+		return insertionPoint < cardinality ? values[insertionPoint] : -1;
+	}
+
+	@Override
+	int previous(int x) {
+		int index = Arrays.binarySearch(values, 0, cardinality, (char) x);
+		if (index >= 0)
+			return x;
+
+		int insertionPoint = -(index + 1);
+		return insertionPoint > 0 ? values[insertionPoint - 1] : -1;
+	}
+
+	@Override
+	Container copy() {
+		return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+	}
+
+	@Override
+	long[] words() {
+		long[] words = new long[CHUNK_SIZE / 64];
+		for (int i = 0; i < cardinality; i++)
+			words[values[i] >>> 6] |= 1L << values[i];
+		return words;
+	}
+
+	/**
+	 * @return a new container holding the values in this container that are contained in the given container if
+	 * {@code contained} is {@code true}, or not contained in it otherwise.
+	 */
+	ArrayContainer retain(Container other, boolean contained) {
+		char[] retained = new char[cardinality];
+		int count = 0;
+		for (int i = 0; i < cardinality; i++)
+			if (other.contains(values[i]) == contained)
+				retained[count++] = values[i];
+		return new ArrayContainer(retained, count);
+	}
+
+	/**
+	 * @return the number of values in this container that are contained in the given container.
+	 */
+	int countContained(Container other) {
+		int count = 0;
+		for (int i = 0; i < cardinality; i++)
+			if (other.contains(values[i]))
+				count++;
+		return count;
+	}
+
+	@Override
+	int nextClear(int x) {
+		for (int index = rank(x); index < cardinality && values[index] == x; index++)
+			x++;
+		return x < CHUNK_SIZE ? x : -1;
+	}
+
+	@Override
+	int previousClear(int x) {
+		int index = rank(x);
+		if (index == cardinality || values[index] != x)
+			return x;
+
+		for (; index >= 0 && values[index] == x; index--)
+			x--;
+		return x;
+	}
+
+	@Override
+	int rank(int x) {
+		int index = Arrays.binarySearch(values, 0, cardinality, (char) x);
+		return index >= 0 ? index : -(index + 1);
+	}
+
+	@Override
+	int select(int index) {
+		return values[index];
+	}
+
+	@Override
+	int fill(int x, long high, long[] buffer, int offset) {
+		int index = rank(x);
+		int count = Math.min(cardinality - index, buffer.length - offset);
+		for (int i = 0; i < count; i++)
+			buffer[offset + i] = high | values[index + i];
+		return count;
+	}
+
+	@Override
+	int runCount() {
+		int runCount = 0;
+		for (int i = 0; i < cardinality; i++)
+			if (i == 0 || values[i] != values[i - 1] + 1)
+				runCount++;
+		return runCount;
+	}
+
+	@Override
+	int serializedSize() {
+		return SERIALIZED_HEADER_SIZE + sizeInBytes(cardinality);
+	}
+
+	@Override
+	void writeTo(ByteBuffer buffer) {
+		buffer.put(ARRAY).putInt(cardinality);
+		buffer.asCharBuffer().put(values, 0, cardinality);
+		buffer.position(buffer.position() + sizeInBytes(cardinality));
+	}
+}
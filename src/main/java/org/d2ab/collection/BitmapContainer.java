@@ -0,0 +1,307 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Container} holding its values as bits in an array of {@code 1024} words, used for chunks with more than
+ * {@value Container#MAX_ARRAY_SIZE} values.
+ */
+class BitmapContainer extends Container {
+	private static final int WORDS = CHUNK_SIZE / 64;
+
+	private final long[] words;
+	private int cardinality;
+
+	private BitmapContainer() {
+		this(new long[WORDS], 0);
+	}
+
+	private BitmapContainer(long[] words, int cardinality) {
+		this.words = words;
+		this.cardinality = cardinality;
+	}
+
+	static BitmapContainer from(Container container) {
+		BitmapContainer bitmap = new BitmapContainer();
+		for (int x = container.first(); x >= 0; x = x == CHUNK_SIZE - 1 ? -1 : container.next(x + 1))
+			bitmap.words[x >>> 6] |= 1L << x;
+		bitmap.cardinality = container.cardinality();
+		return bitmap;
+	}
+
+	/**
+	 * @return the container holding the values given as bits in the given array of {@code 1024} words, in the
+	 * representation that uses the least memory. The array is used as is if that is a {@code BitmapContainer}.
+	 */
+	static Container from(long[] words) {
+		int cardinality = 0;
+		for (long word : words)
+			cardinality += Long.bitCount(word);
+
+		if (cardinality == CHUNK_SIZE)
+			return RunContainer.full();
+
+		BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+		int runCount = runCount(words);
+		if (RunContainer.sizeInBytes(runCount) < Math.min(ArrayContainer.sizeInBytes(cardinality), sizeInBytes()))
+			return RunContainer.from(bitmap, runCount);
+
+		return cardinality <= MAX_ARRAY_SIZE ? ArrayContainer.from(words, cardinality) : bitmap;
+	}
+
+	static BitmapContainer readFrom(ByteBuffer buffer, int cardinality) throws IOException {
+		if (buffer.remaining() < sizeInBytes())
+			throw new IOException("Truncated bitmap container");
+
+		long[] words = new long[WORDS];
+		buffer.asLongBuffer().get(words);
+		buffer.position(buffer.position() + sizeInBytes());
+
+		int actualCardinality = 0;
+		for (long word : words)
+			actualCardinality += Long.bitCount(word);
+		if (cardinality < 1 || cardinality != actualCardinality)
+			throw new IOException("Invalid bitmap container of " + cardinality + " values");
+		return new BitmapContainer(words, cardinality);
+	}
+
+	static int sizeInBytes() {
+		return WORDS * 8;
+	}
+
+	@Override
+	int cardinality() {
+		return cardinality;
+	}
+
+	@Override
+	boolean contains(int x) {
+		return (words[x >>> 6] & 1L << x) != 0;
+	}
+
+	@Override
+	Container add(int x) {
+		long word = words[x >>> 6];
+		long bit = 1L << x;
+		if ((word & bit) != 0)
+			return this;
+
+		words[x >>> 6] = word | bit;
+		cardinality++;
+		return cardinality == CHUNK_SIZE ? RunContainer.full() : this;
+	}
+
+	@Override
+	Container remove(int x) {
+		long word = words[x >>> 6];
+		long bit = 1L << x;
+		if ((word & bit) == 0)
+			return this;
+
+		words[x >>> 6] = word & ~bit;
+		cardinality--;
+		return cardinality == MAX_ARRAY_SIZE ? ArrayContainer.from(words, cardinality) : this;
+	}
+
+	@Override
+	int first() {
+		return next(0);
+	}
+
+	@Override
+	int last() {
+		return previous(CHUNK_SIZE - 1);
+	}
+
+	@Override
+	int next(int x) {
+		int index = x >>> 6;
+		long word = words[index] & -1L << x;
+		while (word == 0) {
+			if (++index == WORDS)
+				return -1;
+			word = words[index];
+		}
+		return (index << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	@Override
+	int previous(int x) {
+		int index = x >>> 6;
+		long word = words[index] & -1L >>> 63 - (x & 63);
+		while (word == 0) {
+			if (--index < 0)
+				return -1;
+			word = words[index];
+		}
+		return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+	}
+
+	@Override
+	Container copy() {
+		return new BitmapContainer(words.clone(), cardinality);
+	}
+
+	@Override
+	long[] words() {
+		return words;
+	}
+
+	@Override
+	long[] copyWords() {
+		return words.clone();
+	}
+
+	@Override
+	int nextClear(int x) {
+		int index = x >>> 6;
+		long word = ~words[index] & -1L << x;
+		while (word == 0) {
+			if (++index == WORDS)
+				return -1;
+			word = ~words[index];
+		}
+		return (index << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	@Override
+	int previousClear(int x) {
+		int index = x >>> 6;
+		long word = ~words[index] & -1L >>> 63 - (x & 63);
+		while (word == 0) {
+			if (--index < 0)
+				return -1;
+			word = ~words[index];
+		}
+		return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+	}
+
+	@Override
+	int rank(int x) {
+		int index = x >>> 6;
+		int rank = 0;
+		for (int i = 0; i < index; i++)
+			rank += Long.bitCount(words[i]);
+		return rank + Long.bitCount(words[index] & (1L << x) - 1);
+	}
+
+	@Override
+	int select(int index) {
+		for (int i = 0; i < WORDS; i++) {
+			long word = words[i];
+			int bitCount = Long.bitCount(word);
+			if (index < bitCount) {
+				for (; index > 0; index--)
+					word &= word - 1;
+				return (i << 6) + Long.numberOfTrailingZeros(word);
+			}
+			index -= bitCount;
+		}
+		throw new IndexOutOfBoundsException(String.valueOf(index));
+	}
+
+	@Override
+	int fill(int x, long high, long[] buffer, int offset) {
+		int count = 0;
+		int index = x >>> 6;
+		long word = words[index] & -1L << x;
+		while (offset + count < buffer.length) {
+			while (word == 0) {
+				if (++index == WORDS)
+					return count;
+				word = words[index];
+			}
+			buffer[offset + count++] = high | (index << 6) + Long.numberOfTrailingZeros(word);
+			word &= word - 1;
+		}
+		return count;
+	}
+
+	@Override
+	int runCount() {
+		return runCount(words);
+	}
+
+	private static int runCount(long[] words) {
+		int runCount = 0;
+		for (int i = 0; i < WORDS; i++) {
+			long word = words[i];
+			long carry = i == 0 ? 0 : words[i - 1] >>> 63;
+			runCount += Long.bitCount(word & ~(word << 1 | carry));
+		}
+		return runCount;
+	}
+
+	static void setRange(long[] words, int start, int end) {
+		int startWord = start >>> 6;
+		int endWord = end >>> 6;
+		long startMask = -1L << start;
+		long endMask = -1L >>> 63 - (end & 63);
+		if (startWord == endWord) {
+			words[startWord] |= startMask & endMask;
+		} else {
+			words[startWord] |= startMask;
+			for (int i = startWord + 1; i < endWord; i++)
+				words[i] = -1L;
+			words[endWord] |= endMask;
+		}
+	}
+
+	static void clearRange(long[] words, int start, int end) {
+		int startWord = start >>> 6;
+		int endWord = end >>> 6;
+		long startMask = -1L << start;
+		long endMask = -1L >>> 63 - (end & 63);
+		if (startWord == endWord) {
+			words[startWord] &= ~(startMask & endMask);
+		} else {
+			words[startWord] &= ~startMask;
+			for (int i = startWord + 1; i < endWord; i++)
+				words[i] = 0;
+			words[endWord] &= ~endMask;
+		}
+	}
+
+	static void flipRange(long[] words, int start, int end) {
+		int startWord = start >>> 6;
+		int endWord = end >>> 6;
+		long startMask = -1L << start;
+		long endMask = -1L >>> 63 - (end & 63);
+		if (startWord == endWord) {
+			words[startWord] ^= startMask & endMask;
+		} else {
+			words[startWord] ^= startMask;
+			for (int i = startWord + 1; i < endWord; i++)
+				words[i] = ~words[i];
+			words[endWord] ^= endMask;
+		}
+	}
+
+	@Override
+	int serializedSize() {
+		return SERIALIZED_HEADER_SIZE + sizeInBytes();
+	}
+
+	@Override
+	void writeTo(ByteBuffer buffer) {
+		buffer.put(BITMAP).putInt(cardinality);
+		buffer.asLongBuffer().put(words);
+		buffer.position(buffer.position() + sizeInBytes());
+	}
+}
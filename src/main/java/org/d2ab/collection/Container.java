@@ -0,0 +1,305 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A container of the set bits in one chunk of {@code 65536} bits in a {@link SparseBitSet}, holding the low 16 bits
+ * of each set bit as an {@code int} between {@code 0} and {@code 65535}, inclusive. Mutating operations return the
+ * container that holds the result, which is either this container or a new container in a more compact
+ * representation for the resulting contents.
+ */
+abstract class Container {
+	/**
+	 * The number of values in a chunk.
+	 */
+	static final int CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * The maximum number of values held by an {@link ArrayContainer}, above which a {@link BitmapContainer} is
+	 * smaller.
+	 */
+	static final int MAX_ARRAY_SIZE = 4096;
+
+	/**
+	 * The representations of containers, as written by {@link #writeTo(ByteBuffer)}.
+	 */
+	static final byte ARRAY = 0;
+	static final byte BITMAP = 1;
+	static final byte RUN = 2;
+
+	/**
+	 * The number of bytes written by {@link #writeTo(ByteBuffer)} before the contents of a container.
+	 */
+	static final int SERIALIZED_HEADER_SIZE = 5;
+
+	/**
+	 * @return the container read from the given buffer, as written by {@link #writeTo(ByteBuffer)}.
+	 *
+	 * @throws IOException if the buffer does not hold a valid container.
+	 */
+	static Container readFrom(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < SERIALIZED_HEADER_SIZE)
+			throw new IOException("Truncated container");
+
+		byte representation = buffer.get();
+		int count = buffer.getInt();
+		switch (representation) {
+			case ARRAY:
+				return ArrayContainer.readFrom(buffer, count);
+			case BITMAP:
+				return BitmapContainer.readFrom(buffer, count);
+			case RUN:
+				return RunContainer.readFrom(buffer, count);
+			default:
+				throw new IOException("Invalid container representation: " + representation);
+		}
+	}
+
+	/**
+	 * @return the container holding the values present in both of the given containers, which shares no state with
+	 * either of them.
+	 */
+	static Container and(Container a, Container b) {
+		if (a instanceof ArrayContainer)
+			return ((ArrayContainer) a).retain(b, true);
+		if (b instanceof ArrayContainer)
+			return ((ArrayContainer) b).retain(a, true);
+
+		long[] words = a.copyWords();
+		long[] thatWords = b.words();
+		for (int i = 0; i < words.length; i++)
+			words[i] &= thatWords[i];
+		return BitmapContainer.from(words);
+	}
+
+	/**
+	 * @return the container holding the values present in either of the given containers, which shares no state with
+	 * either of them.
+	 */
+	static Container or(Container a, Container b) {
+		if (a instanceof ArrayContainer && b instanceof ArrayContainer &&
+		    a.cardinality() + b.cardinality() <= MAX_ARRAY_SIZE)
+			return ArrayContainer.merge((ArrayContainer) a, (ArrayContainer) b, false);
+
+		long[] words = a.copyWords();
+		long[] thatWords = b.words();
+		for (int i = 0; i < words.length; i++)
+			words[i] |= thatWords[i];
+		return BitmapContainer.from(words);
+	}
+
+	/**
+	 * @return the container holding the values present in the first but not the second of the given containers,
+	 * which shares no state with either of them.
+	 */
+	static Container andNot(Container a, Container b) {
+		if (a instanceof ArrayContainer)
+			return ((ArrayContainer) a).retain(b, false);
+
+		long[] words = a.copyWords();
+		long[] thatWords = b.words();
+		for (int i = 0; i < words.length; i++)
+			words[i] &= ~thatWords[i];
+		return BitmapContainer.from(words);
+	}
+
+	/**
+	 * @return the container holding the values present in exactly one of the given containers, which shares no state
+	 * with either of them.
+	 */
+	static Container xor(Container a, Container b) {
+		if (a instanceof ArrayContainer && b instanceof ArrayContainer &&
+		    a.cardinality() + b.cardinality() <= MAX_ARRAY_SIZE)
+			return ArrayContainer.merge((ArrayContainer) a, (ArrayContainer) b, true);
+
+		long[] words = a.copyWords();
+		long[] thatWords = b.words();
+		for (int i = 0; i < words.length; i++)
+			words[i] ^= thatWords[i];
+		return BitmapContainer.from(words);
+	}
+
+	/**
+	 * @return the number of values present in both of the given containers.
+	 */
+	static int andCardinality(Container a, Container b) {
+		if (a instanceof ArrayContainer)
+			return ((ArrayContainer) a).countContained(b);
+		if (b instanceof ArrayContainer)
+			return ((ArrayContainer) b).countContained(a);
+
+		long[] words = a.words();
+		long[] thatWords = b.words();
+		int cardinality = 0;
+		for (int i = 0; i < words.length; i++)
+			cardinality += Long.bitCount(words[i] & thatWords[i]);
+		return cardinality;
+	}
+
+	/**
+	 * @return the number of values in this container.
+	 */
+	abstract int cardinality();
+
+	/**
+	 * @return true if this container contains the given value, false otherwise.
+	 */
+	abstract boolean contains(int x);
+
+	/**
+	 * @return the container holding the contents of this container with the given value added.
+	 */
+	abstract Container add(int x);
+
+	/**
+	 * @return the container holding the contents of this container with the given value removed.
+	 */
+	abstract Container remove(int x);
+
+	/**
+	 * @return the container holding the contents of this container with the values between the given start and end,
+	 * inclusive, added.
+	 */
+	Container addRange(int start, int end) {
+		long[] words = copyWords();
+		BitmapContainer.setRange(words, start, end);
+		return BitmapContainer.from(words);
+	}
+
+	/**
+	 * @return the container holding the contents of this container with the values between the given start and end,
+	 * inclusive, removed.
+	 */
+	Container removeRange(int start, int end) {
+		long[] words = copyWords();
+		BitmapContainer.clearRange(words, start, end);
+		return BitmapContainer.from(words);
+	}
+
+	/**
+	 * @return the container holding the contents of this container with the values between the given start and end,
+	 * inclusive, added if absent and removed if present.
+	 */
+	Container flipRange(int start, int end) {
+		long[] words = copyWords();
+		BitmapContainer.flipRange(words, start, end);
+		return BitmapContainer.from(words);
+	}
+
+	/**
+	 * @return the lowest value in this container, which must not be empty.
+	 */
+	abstract int first();
+
+	/**
+	 * @return the highest value in this container, which must not be empty.
+	 */
+	abstract int last();
+
+	/**
+	 * @return the lowest value in this container that is greater than or equal to the given value, or {@code -1} if
+	 * there is no such value.
+	 */
+	abstract int next(int x);
+
+	/**
+	 * @return the highest value in this container that is less than or equal to the given value, or {@code -1} if
+	 * there is no such value.
+	 */
+	abstract int previous(int x);
+
+	/**
+	 * @return the lowest value between {@code 0} and {@code 65535} not in this container that is greater than or equal
+	 * to the given value, or {@code -1} if there is no such value.
+	 */
+	abstract int nextClear(int x);
+
+	/**
+	 * @return the highest value between {@code 0} and {@code 65535} not in this container that is less than or equal
+	 * to the given value, or {@code -1} if there is no such value.
+	 */
+	abstract int previousClear(int x);
+
+	/**
+	 * @return the number of values in this container that are less than the given value.
+	 */
+	abstract int rank(int x);
+
+	/**
+	 * @return the value at the given index among the values in this container in ascending order, which must be less
+	 * than the cardinality of this container.
+	 */
+	abstract int select(int index);
+
+	/**
+	 * Write the values in this container that are greater than or equal to the given value in ascending order to the
+	 * given buffer starting at the given offset, each combined with the given high bits, until the buffer is full or
+	 * the values are exhausted.
+	 *
+	 * @return the number of values written to the buffer.
+	 */
+	abstract int fill(int x, long high, long[] buffer, int offset);
+
+	/**
+	 * @return the number of runs of consecutive values in this container.
+	 */
+	abstract int runCount();
+
+	/**
+	 * @return a copy of this container, which shares no state with this container.
+	 */
+	abstract Container copy();
+
+	/**
+	 * @return the values in this container as bits in an array of {@code 1024} words, which must not be modified.
+	 */
+	abstract long[] words();
+
+	/**
+	 * @return the values in this container as bits in a new array of {@code 1024} words.
+	 */
+	long[] copyWords() {
+		return words();
+	}
+
+	/**
+	 * @return the container holding the contents of this container in the representation that uses the least memory.
+	 */
+	Container optimize() {
+		int cardinality = cardinality();
+		int runCount = runCount();
+		if (RunContainer.sizeInBytes(runCount) < Math.min(ArrayContainer.sizeInBytes(cardinality),
+		                                                   BitmapContainer.sizeInBytes()))
+			return this instanceof RunContainer ? this : RunContainer.from(this, runCount);
+		if (cardinality <= MAX_ARRAY_SIZE)
+			return this instanceof ArrayContainer ? this : ArrayContainer.from(this, cardinality);
+		return this instanceof BitmapContainer ? this : BitmapContainer.from(this);
+	}
+
+	/**
+	 * @return the number of bytes written by {@link #writeTo(ByteBuffer)}.
+	 */
+	abstract int serializedSize();
+
+	/**
+	 * Write this container to the given buffer in its own representation, as a byte identifying the representation,
+	 * an {@code int} count and the contents.
+	 */
+	abstract void writeTo(ByteBuffer buffer);
+}
@@ -96,11 +96,7 @@ public interface Iterables {
 	 * @return true if all elements in this {@code Sequence} satisfy the given predicate, false otherwise.
 	 */
 	static <T> boolean all(Iterable<T> iterable, Predicate<? super T> predicate) {
-		for (T each : iterable)
-			if (!predicate.test(each))
-				return false;
-
-		return true;
+		return Iterators.forEachWhile(iterable.iterator(), predicate);
 	}
 
 	/**
@@ -114,11 +110,7 @@ public interface Iterables {
 	 * @return true if any element in this {@code Sequence} satisfies the given predicate, false otherwise.
 	 */
 	static <T> boolean any(Iterable<T> iterable, Predicate<? super T> predicate) {
-		for (T each : iterable)
-			if (predicate.test(each))
-				return true;
-
-		return false;
+		return !Iterators.forEachWhile(iterable.iterator(), each -> !predicate.test(each));
 	}
 
 	/**
@@ -196,6 +188,23 @@ public interface Iterables {
 		}
 	}
 
+	/**
+	 * @return the given {@link Iterable} if it is a {@link HashSet} or {@link LinkedHashSet}, or its elements collected
+	 * into a {@link HashSet} otherwise, for repeated constant time lookups of the elements in the given {@link
+	 * Iterable} by {@link Object#equals(Object)}. Other {@link Set}s are copied too, since they may match elements by a
+	 * comparator or otherwise differently from {@link Object#equals(Object)}.
+	 *
+	 * @since 2.3
+	 */
+	static Set<?> toLookupSet(Iterable<?> iterable) {
+		if (iterable.getClass() == HashSet.class || iterable.getClass() == LinkedHashSet.class)
+			return (Set<?>) iterable;
+		if (iterable instanceof Collection)
+			return new HashSet<>((Collection<?>) iterable);
+
+		return collect(iterable, HashSet::new);
+	}
+
 	/**
 	 * @return the given {@link Iterable} collected into a {@link Collection} of the type determined by the given
 	 * {@link Collection} constructor.
@@ -16,6 +16,8 @@
 
 package org.d2ab.collection;
 
+import org.d2ab.iterator.RandomAccessSpliterator;
+
 import java.util.*;
 import java.util.function.Function;
 
@@ -53,6 +55,11 @@ public interface MappedList {
 		public int size() {
 			return list.size();
 		}
+
+		@Override
+		public Spliterator<U> spliterator() {
+			return new RandomAccessSpliterator<>(this::get, size(), Spliterator.ORDERED);
+		}
 	}
 
 	class SequentialList<T, U> extends AbstractSequentialList<U> {
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link Container} holding its values as sorted, non-adjacent runs of consecutive values, used for chunks where
+ * that is more compact than both an {@link ArrayContainer} and a {@link BitmapContainer}, such as full chunks.
+ */
+class RunContainer extends Container {
+	private char[] starts;
+	private char[] ends;
+	private int runCount;
+	private int cardinality;
+
+	private RunContainer(int capacity) {
+		this.starts = new char[capacity];
+		this.ends = new char[capacity];
+	}
+
+	static RunContainer full() {
+		return of(0, CHUNK_SIZE - 1);
+	}
+
+	static RunContainer of(int start, int end) {
+		RunContainer run = new RunContainer(1);
+		run.starts[0] = (char) start;
+		run.ends[0] = (char) end;
+		run.runCount = 1;
+		run.cardinality = end - start + 1;
+		return run;
+	}
+
+	static RunContainer from(Container container, int runCount) {
+		RunContainer runs = new RunContainer(runCount);
+		int start = container.first();
+		while (start >= 0) {
+			int clear = container.nextClear(start);
+			int end = clear < 0 ? CHUNK_SIZE - 1 : clear - 1;
+			runs.starts[runs.runCount] = (char) start;
+			runs.ends[runs.runCount++] = (char) end;
+			start = clear < 0 ? -1 : container.next(clear);
+		}
+		runs.cardinality = container.cardinality();
+		return runs;
+	}
+
+	static RunContainer readFrom(ByteBuffer buffer, int runCount) throws IOException {
+		if (runCount < 1 || runCount > CHUNK_SIZE / 2 || buffer.remaining() < sizeInBytes(runCount))
+			throw new IOException("Invalid run container of " + runCount + " runs");
+
+		RunContainer runs = new RunContainer(runCount);
+		for (int i = 0; i < runCount; i++) {
+			char start = buffer.getChar();
+			char end = buffer.getChar();
+			if (end < start || i > 0 && start <= runs.ends[i - 1] + 1)
+				throw new IOException("Invalid run in run container: " + (int) start + "-" + (int) end);
+
+			runs.starts[i] = start;
+			runs.ends[i] = end;
+			runs.cardinality += end - start + 1;
+		}
+		runs.runCount = runCount;
+		return runs;
+	}
+
+	static int sizeInBytes(int runCount) {
+		return runCount * 4;
+	}
+
+	@Override
+	int cardinality() {
+		return cardinality;
+	}
+
+	@Override
+	boolean contains(int x) {
+		int run = findRun(x);
+		return run >= 0 && x <= ends[run];
+	}
+
+	@Override
+	Container add(int x) {
+		int run = findRun(x);
+		if (run >= 0 && x <= ends[run])
+			return this;
+
+		boolean extendsPrevious = run >= 0 && ends[run] + 1 == x;
+		boolean extendsNext = run + 1 < runCount && starts[run + 1] == x + 1;
+		if (extendsPrevious && extendsNext) {
+			ends[run] = ends[run + 1];
+			removeRun(run + 1);
+		} else if (extendsPrevious) {
+			ends[run] = (char) x;
+		} else if (extendsNext) {
+			starts[run + 1] = (char) x;
+		} else {
+			insertRun(run + 1, x, x);
+		}
+		cardinality++;
+		return compact();
+	}
+
+	@Override
+	Container remove(int x) {
+		int run = findRun(x);
+		if (run < 0 || x > ends[run])
+			return this;
+
+		int start = starts[run];
+		int end = ends[run];
+		if (start == end) {
+			removeRun(run);
+		} else if (x == start) {
+			starts[run]++;
+		} else if (x == end) {
+			ends[run]--;
+		} else {
+			ends[run] = (char) (x - 1);
+			insertRun(run + 1, x + 1, end);
+		}
+		cardinality--;
+		return compact();
+	}
+
+	@Override
+	int first() {
+		return starts[0];
+	}
+
+	@Override
+	int last() {
+		return ends[runCount - 1];
+	}
+
+	@Override
+	int next(int x) {
+		int run = findRun(x);
+		if (run >= 0 && x <= ends[run])
+			return x;
+
+		return run + 1 < runCount ? starts[run + 1] : -1;
+	}
+
+	@Override
+	int previous(int x) {
+		int run = findRun(x);
+		return run >= 0 ? Math.min(x, ends[run]) : -1;
+	}
+
+	@Override
+	Container copy() {
+		RunContainer copy = new RunContainer(runCount);
+		System.arraycopy(starts, 0, copy.starts, 0, runCount);
+		System.arraycopy(ends, 0, copy.ends, 0, runCount);
+		copy.runCount = runCount;
+		copy.cardinality = cardinality;
+		return copy;
+	}
+
+	@Override
+	long[] words() {
+		long[] words = new long[CHUNK_SIZE / 64];
+		for (int i = 0; i < runCount; i++)
+			BitmapContainer.setRange(words, starts[i], ends[i]);
+		return words;
+	}
+
+	@Override
+	int nextClear(int x) {
+		int run = findRun(x);
+		if (run < 0 || x > ends[run])
+			return x;
+
+		return ends[run] < CHUNK_SIZE - 1 ? ends[run] + 1 : -1;
+	}
+
+	@Override
+	int previousClear(int x) {
+		int run = findRun(x);
+		if (run < 0 || x > ends[run])
+			return x;
+
+		return starts[run] - 1;
+	}
+
+	@Override
+	int rank(int x) {
+		int rank = 0;
+		for (int i = 0; i < runCount && starts[i] < x; i++)
+			rank += Math.min(x, ends[i] + 1) - starts[i];
+		return rank;
+	}
+
+	@Override
+	int select(int index) {
+		for (int i = 0; i < runCount; i++) {
+			int length = ends[i] - starts[i] + 1;
+			if (index < length)
+				return starts[i] + index;
+			index -= length;
+		}
+		throw new IndexOutOfBoundsException(String.valueOf(index));
+	}
+
+	@Override
+	int fill(int x, long high, long[] buffer, int offset) {
+		int count = 0;
+		int run = findRun(x);
+		if (run < 0 || x > ends[run]) {
+			run++;
+			if (run == runCount)
+				return 0;
+			x = starts[run];
+		}
+		while (offset + count < buffer.length) {
+			buffer[offset + count++] = high | x;
+			if (x == ends[run]) {
+				if (++run == runCount)
+					return count;
+				x = starts[run];
+			} else {
+				x++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	int runCount() {
+		return runCount;
+	}
+
+	/**
+	 * @return the index of the last run starting at or before the given value, or {@code -1} if there is no such run.
+	 */
+	private int findRun(int x) {
+		int index = Arrays.binarySearch(starts, 0, runCount, (char) x);
+		return index >= 0 ? index : -(index + 1) - 1;
+	}
+
+	private void insertRun(int index, int start, int end) {
+		if (runCount == starts.length) {
+			int capacity = runCount + (runCount >> 1) + 1;
+			starts = Arrays.copyOf(starts, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+		}
+		System.arraycopy(starts, index, starts, index + 1, runCount - index);
+		System.arraycopy(ends, index, ends, index + 1, runCount - index);
+		starts[index] = (char) start;
+		ends[index] = (char) end;
+		runCount++;
+	}
+
+	private void removeRun(int index) {
+		System.arraycopy(starts, index + 1, starts, index, runCount - index - 1);
+		System.arraycopy(ends, index + 1, ends, index, runCount - index - 1);
+		runCount--;
+	}
+
+	private Container compact() {
+		if (sizeInBytes(runCount) <= Math.min(ArrayContainer.sizeInBytes(cardinality), BitmapContainer.sizeInBytes()))
+			return this;
+
+		return cardinality <= MAX_ARRAY_SIZE ? ArrayContainer.from(this, cardinality) : BitmapContainer.from(this);
+	}
+
+	@Override
+	int serializedSize() {
+		return SERIALIZED_HEADER_SIZE + sizeInBytes(runCount);
+	}
+
+	@Override
+	void writeTo(ByteBuffer buffer) {
+		buffer.put(RUN).putInt(runCount);
+		for (int i = 0; i < runCount; i++)
+			buffer.putChar(starts[i]).putChar(ends[i]);
+	}
+}
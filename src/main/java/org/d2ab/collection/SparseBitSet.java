@@ -16,26 +16,45 @@
 
 package org.d2ab.collection;
 
+import org.d2ab.collection.longs.LongCollection;
+import org.d2ab.collection.longs.LongIterable;
 import org.d2ab.collection.longs.LongSet;
 import org.d2ab.collection.longs.LongSortedSet;
 import org.d2ab.iterator.longs.LongIterator;
+import org.d2ab.util.BinaryFormat;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.function.BinaryOperator;
 
 /**
  * A sparse bit set for storing occurrences of bits where a large amount of the stored bits are expected to be zero.
- * This implementation uses a simplistic indexing scheme which provides {@code log(n)} performance for accessing
- * individual bits. Memory usage is roughly proportional to {@link #bitCount}. The bit set can set any bit between
- * {@code 0} and {@link Long#MAX_VALUE}, inclusive. However, the maximum number of sparse 64-bit words in use by the
- * set bits in the bit set is limited by the int length limit of arrays.
+ * The bits are divided into chunks of {@code 65536} bits, each of which is stored in the most compact of three
+ * representations for its contents: a sorted array of the set bits for sparse chunks, a bitmap for dense chunks, or
+ * a list of runs of consecutive set bits for chunks such as full ranges. The chunks in use are kept in sorted order,
+ * providing {@code log(n)} performance in the number of chunks for accessing individual bits. Memory usage is
+ * roughly proportional to {@link #bitCount} for sparse bits, and much smaller for dense ranges of bits. The bit set
+ * can set any bit between {@code 0} and {@link Long#MAX_VALUE}, inclusive. However, the maximum number of chunks in
+ * use by the set bits in the bit set is limited by the int length limit of arrays.
  */
 public class SparseBitSet extends LongSet.Base implements LongSortedSet {
-	private long[] words;
-	private long[] indices;
+	private static final int CHUNK_BITS = 16;
+	private static final int CHUNK_MASK = Container.CHUNK_SIZE - 1;
+	private static final int FRAME_SIZE = 1 << 16;
+
+	private long[] keys;
+	private Container[] containers;
 	private int size;
+	private long cardinality;
+
+	private long[] ranks;
+	private int ranksModCount;
 
 	private int modCount;
 
@@ -50,17 +69,17 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 	 * Construct a {@code SparseBitSet} with the given values.
 	 */
 	public SparseBitSet(long... values) {
-		this(values.length);
+		this(10);
 		for (long value : values)
 			set(value);
 	}
 
 	/**
-	 * Construct a {@code SparseBitSet} with the given initial capacity.
+	 * Construct a {@code SparseBitSet} with the given initial capacity, in chunks of {@code 65536} bits.
 	 */
 	public SparseBitSet(int capacity) {
-		this.words = new long[capacity];
-		this.indices = new long[capacity];
+		this.keys = new long[capacity];
+		this.containers = new Container[capacity];
 	}
 
 	@Override
@@ -78,6 +97,46 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 		return clear(x);
 	}
 
+	@Override
+	public boolean addAllLongs(LongCollection c) {
+		if (c instanceof SparseBitSet)
+			return or((SparseBitSet) c);
+
+		return super.addAllLongs(c);
+	}
+
+	@Override
+	public boolean removeAllLongs(LongIterable c) {
+		if (c instanceof SparseBitSet)
+			return andNot((SparseBitSet) c);
+
+		return super.removeAllLongs(c);
+	}
+
+	@Override
+	public boolean retainAllLongs(LongIterable c) {
+		if (c instanceof SparseBitSet)
+			return and((SparseBitSet) c);
+
+		return super.retainAllLongs(c);
+	}
+
+	@Override
+	public boolean containsAllLongs(LongIterable c) {
+		if (c instanceof SparseBitSet)
+			return ((SparseBitSet) c).differenceSize(this) == 0;
+
+		return super.containsAllLongs(c);
+	}
+
+	@Override
+	public boolean containsAnyLongs(LongIterable c) {
+		if (c instanceof SparseBitSet)
+			return intersects((SparseBitSet) c);
+
+		return super.containsAnyLongs(c);
+	}
+
 	/**
 	 * Set the bit at index {@code i}.
 	 *
@@ -88,18 +147,22 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 		if (i < 0)
 			throw new IllegalArgumentException("i < 0: " + i);
 
-		int wordIndex = findWord(i);
-		if (wordIndex < 0) {
-			insert(i, -(wordIndex + 1));
+		int low = (int) (i & CHUNK_MASK);
+		int chunk = findChunk(i >>> CHUNK_BITS);
+		if (chunk < 0) {
+			insertChunk(-(chunk + 1), i >>> CHUNK_BITS, new ArrayContainer().add(low));
+			cardinality++;
 			modCount++;
 			return true;
 		}
 
-		long bit = 1L << (i & 63);
-		if ((words[wordIndex] & bit) != 0)
+		Container container = containers[chunk];
+		int cardinality = container.cardinality();
+		containers[chunk] = container = container.add(low);
+		if (container.cardinality() == cardinality)
 			return false;
 
-		words[wordIndex] |= bit;
+		this.cardinality++;
 		modCount++;
 		return true;
 	}
@@ -114,15 +177,19 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 		if (i < 0)
 			throw new IllegalArgumentException("i < 0: " + i);
 
-		int wordIndex = findWord(i);
-		if (wordIndex < 0)
+		int chunk = findChunk(i >>> CHUNK_BITS);
+		if (chunk < 0)
 			return false;
 
-		long bitIndex = i & 63;
-		if ((words[wordIndex] & 1L << bitIndex) == 0)
+		Container container = containers[chunk];
+		int cardinality = container.cardinality();
+		containers[chunk] = container = container.remove((int) (i & CHUNK_MASK));
+		if (container.cardinality() == cardinality)
 			return false;
 
-		removeBit(wordIndex, bitIndex);
+		if (container.cardinality() == 0)
+			removeChunk(chunk);
+		this.cardinality--;
 		modCount++;
 		return true;
 	}
@@ -145,18 +212,15 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 		if (i < 0)
 			throw new IllegalArgumentException("i < 0: " + i);
 
-		int wordIndex = findWord(i);
-		return wordIndex >= 0 && (words[wordIndex] & (1L << (i & 63))) != 0;
+		int chunk = findChunk(i >>> CHUNK_BITS);
+		return chunk >= 0 && containers[chunk].contains((int) (i & CHUNK_MASK));
 	}
 
 	/**
-	 * @return the number of set bits in this {@code SparseBitSet}.
+	 * @return the number of set bits in this {@code SparseBitSet}, which is maintained as bits are set and cleared.
 	 */
 	public long bitCount() {
-		long bitCount = 0;
-		for (int i = 0; i < size; i++)
-			bitCount += Long.bitCount(words[i]);
-		return bitCount;
+		return cardinality;
 	}
 
 	/**
@@ -187,12 +251,425 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 	 */
 	@Override
 	public void clear() {
-		for (int i = 0; i < size; i++) {
-			words[i] = 0;
-			indices[i] = 0;
-		}
+		Arrays.fill(containers, 0, size, null);
 		size = 0;
+		cardinality = 0;
+		modCount++;
+	}
+
+	/**
+	 * Set the bits in this {@code SparseBitSet} that are set in the given {@code SparseBitSet}, like
+	 * {@link BitSet#or(BitSet)}. Chunks of bits are combined a word at a time or better.
+	 *
+	 * @return {@code true} if this bit set changed as a result of the operation, false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean or(SparseBitSet that) {
+		long bitCount = bitCount();
+		replaceWith(union(that));
+		return bitCount() != bitCount;
+	}
+
+	/**
+	 * Clear the bits in this {@code SparseBitSet} that are not set in the given {@code SparseBitSet}, like
+	 * {@link BitSet#and(BitSet)}. Chunks of bits are combined a word at a time or better.
+	 *
+	 * @return {@code true} if this bit set changed as a result of the operation, false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean and(SparseBitSet that) {
+		long bitCount = bitCount();
+		replaceWith(intersection(that));
+		return bitCount() != bitCount;
+	}
+
+	/**
+	 * Clear the bits in this {@code SparseBitSet} that are set in the given {@code SparseBitSet}, like
+	 * {@link BitSet#andNot(BitSet)}. Chunks of bits are combined a word at a time or better.
+	 *
+	 * @return {@code true} if this bit set changed as a result of the operation, false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean andNot(SparseBitSet that) {
+		long bitCount = bitCount();
+		replaceWith(difference(that));
+		return bitCount() != bitCount;
+	}
+
+	/**
+	 * Flip the bits in this {@code SparseBitSet} that are set in the given {@code SparseBitSet}, like
+	 * {@link BitSet#xor(BitSet)}. Chunks of bits are combined a word at a time or better.
+	 *
+	 * @return {@code true} if this bit set changed as a result of the operation, i.e. if the given bit set has any
+	 * bits set, false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean xor(SparseBitSet that) {
+		boolean changed = !that.isEmpty();
+		replaceWith(symmetricDifference(that));
+		return changed;
+	}
+
+	/**
+	 * @return a new {@code SparseBitSet} with the bits that are set in either this or the given
+	 * {@code SparseBitSet}.
+	 *
+	 * @since 2.3
+	 */
+	public SparseBitSet union(SparseBitSet that) {
+		return combine(that, Container::or, true, true);
+	}
+
+	/**
+	 * @return a new {@code SparseBitSet} with the bits that are set in both this and the given
+	 * {@code SparseBitSet}.
+	 *
+	 * @since 2.3
+	 */
+	public SparseBitSet intersection(SparseBitSet that) {
+		return combine(that, Container::and, false, false);
+	}
+
+	/**
+	 * @return a new {@code SparseBitSet} with the bits that are set in this but not in the given
+	 * {@code SparseBitSet}.
+	 *
+	 * @since 2.3
+	 */
+	public SparseBitSet difference(SparseBitSet that) {
+		return combine(that, Container::andNot, true, false);
+	}
+
+	/**
+	 * @return a new {@code SparseBitSet} with the bits that are set in exactly one of this and the given
+	 * {@code SparseBitSet}.
+	 *
+	 * @since 2.3
+	 */
+	public SparseBitSet symmetricDifference(SparseBitSet that) {
+		return combine(that, Container::xor, true, true);
+	}
+
+	/**
+	 * @return the number of bits that are set in both this and the given {@code SparseBitSet}, without creating
+	 * the intersection.
+	 *
+	 * @since 2.3
+	 */
+	public long intersectionSize(SparseBitSet that) {
+		long intersectionSize = 0;
+		for (int i = 0, j = 0; i < size && j < that.size; ) {
+			if (keys[i] < that.keys[j])
+				i++;
+			else if (keys[i] > that.keys[j])
+				j++;
+			else
+				intersectionSize += Container.andCardinality(containers[i++], that.containers[j++]);
+		}
+		return intersectionSize;
+	}
+
+	/**
+	 * @return the number of bits that are set in either this or the given {@code SparseBitSet}, without creating the
+	 * union.
+	 *
+	 * @since 2.3
+	 */
+	public long unionSize(SparseBitSet that) {
+		return bitCount() + that.bitCount() - intersectionSize(that);
+	}
+
+	/**
+	 * @return the number of bits that are set in this but not in the given {@code SparseBitSet}, without creating
+	 * the difference.
+	 *
+	 * @since 2.3
+	 */
+	public long differenceSize(SparseBitSet that) {
+		return bitCount() - intersectionSize(that);
+	}
+
+	/**
+	 * @return the number of bits that are set in exactly one of this and the given {@code SparseBitSet}, without
+	 * creating the symmetric difference.
+	 *
+	 * @since 2.3
+	 */
+	public long symmetricDifferenceSize(SparseBitSet that) {
+		return bitCount() + that.bitCount() - 2 * intersectionSize(that);
+	}
+
+	/**
+	 * @return true if any bit is set in both this and the given {@code SparseBitSet}, like
+	 * {@link BitSet#intersects(BitSet)}, false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean intersects(SparseBitSet that) {
+		for (int i = 0, j = 0; i < size && j < that.size; ) {
+			if (keys[i] < that.keys[j])
+				i++;
+			else if (keys[i] > that.keys[j])
+				j++;
+			else if (Container.andCardinality(containers[i++], that.containers[j++]) > 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Set the bits from index {@code from}, inclusive, to index {@code to}, exclusive, like
+	 * {@link BitSet#set(int, int)}. Chunks of bits are updated a word at a time or better.
+	 *
+	 * @return {@code true} if this bit set changed as a result of setting the bits, false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean setRange(long from, long to) {
+		checkRange(from, to);
+
+		long cardinality = this.cardinality;
+		while (from < to) {
+			long key = from >>> CHUNK_BITS;
+			long until = Math.min(to, chunkEnd(key));
+			int start = (int) (from & CHUNK_MASK);
+			int end = (int) ((until - 1) & CHUNK_MASK);
+			int chunk = findChunk(key);
+			if (chunk < 0) {
+				insertChunk(-(chunk + 1), key, RunContainer.of(start, end));
+				this.cardinality += end - start + 1;
+			} else if (start == 0 && end == CHUNK_MASK) {
+				updateChunk(chunk, RunContainer.full());
+			} else {
+				updateChunk(chunk, containers[chunk].addRange(start, end));
+			}
+			from = until;
+		}
+		return modifiedIfChanged(cardinality);
+	}
+
+	/**
+	 * Clear the bits from index {@code from}, inclusive, to index {@code to}, exclusive, like
+	 * {@link BitSet#clear(int, int)}. Chunks of bits are updated a word at a time or better.
+	 *
+	 * @return {@code true} if this bit set changed as a result of clearing the bits, false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean clearRange(long from, long to) {
+		checkRange(from, to);
+
+		if (from == to)
+			return false;
+
+		long cardinality = this.cardinality;
+		long fromKey = from >>> CHUNK_BITS;
+		long toKey = (to - 1) >>> CHUNK_BITS;
+		int chunk = findChunk(fromKey);
+		if (chunk < 0)
+			chunk = -(chunk + 1);
+		while (chunk < size && keys[chunk] <= toKey) {
+			long key = keys[chunk];
+			int start = key == fromKey ? (int) (from & CHUNK_MASK) : 0;
+			int end = key == toKey ? (int) ((to - 1) & CHUNK_MASK) : CHUNK_MASK;
+			if (start == 0 && end == CHUNK_MASK) {
+				this.cardinality -= containers[chunk].cardinality();
+				removeChunk(chunk);
+			} else {
+				Container container = containers[chunk].removeRange(start, end);
+				updateChunk(chunk, container);
+				if (container.cardinality() > 0)
+					chunk++;
+			}
+		}
+		return modifiedIfChanged(cardinality);
+	}
+
+	/**
+	 * Flip the bits from index {@code from}, inclusive, to index {@code to}, exclusive, like
+	 * {@link BitSet#flip(int, int)}, setting the clear bits and clearing the set bits. Chunks of bits are updated a
+	 * word at a time or better.
+	 *
+	 * @return {@code true} if this bit set changed as a result of flipping the bits, i.e. if the range is not empty,
+	 * false otherwise.
+	 *
+	 * @since 2.3
+	 */
+	public boolean flipRange(long from, long to) {
+		checkRange(from, to);
+		if (from == to)
+			return false;
+
+		while (from < to) {
+			long key = from >>> CHUNK_BITS;
+			long until = Math.min(to, chunkEnd(key));
+			int start = (int) (from & CHUNK_MASK);
+			int end = (int) ((until - 1) & CHUNK_MASK);
+			int chunk = findChunk(key);
+			if (chunk < 0) {
+				insertChunk(-(chunk + 1), key, RunContainer.of(start, end));
+				cardinality += end - start + 1;
+			} else {
+				updateChunk(chunk, containers[chunk].flipRange(start, end));
+			}
+			from = until;
+		}
 		modCount++;
+		return true;
+	}
+
+	/**
+	 * @return the index of the first set bit at or above the given index, like {@link BitSet#nextSetBit(int)}, or
+	 * {@code -1} if there is no such bit.
+	 *
+	 * @since 2.3
+	 */
+	public long nextSetBit(long from) {
+		if (from < 0)
+			throw new IllegalArgumentException("from < 0: " + from);
+
+		int chunk = findChunk(from >>> CHUNK_BITS);
+		if (chunk >= 0) {
+			int next = containers[chunk].next((int) (from & CHUNK_MASK));
+			if (next >= 0)
+				return bit(chunk, next);
+			chunk++;
+		} else {
+			chunk = -(chunk + 1);
+		}
+		return chunk < size ? bit(chunk, containers[chunk].first()) : -1;
+	}
+
+	/**
+	 * @return the index of the first clear bit at or above the given index, like {@link BitSet#nextClearBit(int)},
+	 * or {@code -1} if all bits up to and including {@link Long#MAX_VALUE} are set.
+	 *
+	 * @since 2.3
+	 */
+	public long nextClearBit(long from) {
+		if (from < 0)
+			throw new IllegalArgumentException("from < 0: " + from);
+
+		while (true) {
+			long key = from >>> CHUNK_BITS;
+			int chunk = findChunk(key);
+			if (chunk < 0)
+				return from;
+
+			int next = containers[chunk].nextClear((int) (from & CHUNK_MASK));
+			if (next >= 0)
+				return bit(chunk, next);
+
+			from = (key + 1) << CHUNK_BITS;
+			if (from < 0)
+				return -1;
+		}
+	}
+
+	/**
+	 * @return the index of the last set bit at or below the given index, like {@link BitSet#previousSetBit(int)},
+	 * or {@code -1} if there is no such bit or if the given index is {@code -1}.
+	 *
+	 * @since 2.3
+	 */
+	public long previousSetBit(long from) {
+		if (from < -1)
+			throw new IllegalArgumentException("from < -1: " + from);
+		if (from == -1)
+			return -1;
+
+		int chunk = findChunk(from >>> CHUNK_BITS);
+		if (chunk >= 0) {
+			int previous = containers[chunk].previous((int) (from & CHUNK_MASK));
+			if (previous >= 0)
+				return bit(chunk, previous);
+			chunk--;
+		} else {
+			chunk = -(chunk + 1) - 1;
+		}
+		return chunk >= 0 ? bit(chunk, containers[chunk].last()) : -1;
+	}
+
+	/**
+	 * @return the index of the last clear bit at or below the given index, like
+	 * {@link BitSet#previousClearBit(int)}, or {@code -1} if there is no such bit or if the given index is {@code -1}.
+	 *
+	 * @since 2.3
+	 */
+	public long previousClearBit(long from) {
+		if (from < -1)
+			throw new IllegalArgumentException("from < -1: " + from);
+
+		while (from >= 0) {
+			long key = from >>> CHUNK_BITS;
+			int chunk = findChunk(key);
+			if (chunk < 0)
+				return from;
+
+			int previous = containers[chunk].previousClear((int) (from & CHUNK_MASK));
+			if (previous >= 0)
+				return bit(chunk, previous);
+
+			from = (key << CHUNK_BITS) - 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the number of set bits in this {@code SparseBitSet} at indices lower than {@code i}. Runs in {@code
+	 * log(n)} time in the number of chunks after the first call following a modification of this bit set, plus the
+	 * time to rank the bit within its chunk.
+	 *
+	 * @since 2.3
+	 */
+	public long rank(long i) {
+		if (i < 0)
+			throw new IllegalArgumentException("i < 0: " + i);
+
+		long[] ranks = ranks();
+		int chunk = findChunk(i >>> CHUNK_BITS);
+		if (chunk < 0) {
+			int insertionPoint = -(chunk + 1);
+			return insertionPoint < size ? ranks[insertionPoint] : cardinality;
+		}
+
+		return ranks[chunk] + containers[chunk].rank((int) (i & CHUNK_MASK));
+	}
+
+	/**
+	 * @return the index of the set bit at the given position {@code k} among the set bits in this {@code
+	 * SparseBitSet} in ascending order, such that {@code rank(select(k)) == k}.
+	 *
+	 * @throws IndexOutOfBoundsException if {@code k} is negative or not less than {@link #bitCount()}.
+	 * @since 2.3
+	 */
+	public long select(long k) {
+		if (k < 0 || k >= cardinality)
+			throw new IndexOutOfBoundsException("k: " + k + ", bitCount: " + cardinality);
+
+		long[] ranks = ranks();
+		int chunk = Arrays.binarySearch(ranks, 0, size, k);
+		if (chunk < 0)
+			chunk = -(chunk + 1) - 1;
+
+		return bit(chunk, containers[chunk].select((int) (k - ranks[chunk])));
+	}
+
+	/**
+	 * Convert the storage of each chunk of bits in this {@code SparseBitSet} to the representation that uses the
+	 * least memory for its current contents, e.g. after setting large ranges of consecutive bits. Sparse and dense
+	 * chunks are kept in their most compact representation automatically as bits are set and cleared, but runs of
+	 * consecutive bits are only detected when calling this method, or when a chunk becomes full.
+	 *
+	 * @since 2.3
+	 */
+	public void optimize() {
+		for (int i = 0; i < size; i++)
+			containers[i] = containers[i].optimize();
 	}
 
 	@Override
@@ -200,13 +677,7 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 		if (isEmpty())
 			throw new NoSuchElementException();
 
-		long firstWord = words[0];
-
-		int bitIndex = 0;
-		while ((firstWord & (1L << bitIndex)) == 0)
-			bitIndex++;
-
-		return (indices[0] << 6) + bitIndex;
+		return bit(0, containers[0].first());
 	}
 
 	@Override
@@ -214,60 +685,201 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 		if (isEmpty())
 			throw new NoSuchElementException();
 
-		long lastWord = words[size - 1];
-
-		int bitIndex = 63;
-		while ((lastWord & (1L << bitIndex)) == 0)
-			bitIndex--;
-
-		return (indices[size - 1] << 6) + bitIndex;
+		return bit(size - 1, containers[size - 1].last());
 	}
 
 	/**
 	 * @return a {@link LongIterator} over the bits in this {@code SparseBitSet}, from lowest to highest. All {@link
-	 * LongIterator} methods are constant time. {@link LongIterator#remove()} is supported.
+	 * LongIterator} methods run in at most logarithmic time. {@link LongIterator#remove()} is supported.
+	 * {@link LongIterator#nextLongs(long[])} reads the bits a chunk at a time.
 	 */
 	@Override
 	public LongIterator iterator() {
-		return new Iter(0, 0) {
+		return iterator(0);
+	}
+
+	/**
+	 * @return a {@link LongIterator} over the bits in this {@code SparseBitSet} at or above the given index, from
+	 * lowest to highest, which starts at the given index without iterating over the lower bits. All {@link
+	 * LongIterator} methods run in at most logarithmic time. {@link LongIterator#remove()} is supported.
+	 * {@link LongIterator#nextLongs(long[])} reads the bits a chunk at a time.
+	 *
+	 * @since 2.3
+	 */
+	public LongIterator iterator(long from) {
+		return new Iter(nextSetBit(from)) {
 			@Override
-			protected boolean inRange() {
-				return wordIndex < size;
+			protected long first(int chunk) {
+				return bit(chunk, containers[chunk].first());
+			}
+
+			@Override
+			protected long step(int chunk, int low) {
+				if (low < CHUNK_MASK) {
+					int next = containers[chunk].next(low + 1);
+					if (next >= 0)
+						return bit(chunk, next);
+				}
+				this.chunk = ++chunk;
+				return chunk < size ? first(chunk) : -1;
 			}
 
 			@Override
-			protected void step() {
-				bitIndex++;
-				if (bitIndex > 63 - startingBit) {
-					bitIndex = startingBit;
-					wordIndex++;
+			public int nextLongs(long[] buffer) {
+				checkForCoModification();
+				int count = 0;
+				while (count < buffer.length && next >= 0) {
+					long high = keys[chunk] << CHUNK_BITS;
+					count += containers[chunk].fill((int) (next & CHUNK_MASK), high, buffer, count);
+					last = buffer[count - 1];
+					next = step(chunk, (int) (last & CHUNK_MASK));
 				}
+				return count;
 			}
 		};
 	}
 
 	/**
 	 * @return a descending {@link LongIterator} over the bits in this {@code SparseBitSet}, from highest to lowest.
-	 * All {@link LongIterator} methods are constant time. {@link LongIterator#remove()} is supported.
+	 * All {@link LongIterator} methods run in at most logarithmic time. {@link LongIterator#remove()} is supported.
 	 */
 	public LongIterator descendingIterator() {
-		return new Iter(size - 1, 63) {
+		return descendingIterator(Long.MAX_VALUE);
+	}
+
+	/**
+	 * @return a descending {@link LongIterator} over the bits in this {@code SparseBitSet} at or below the given
+	 * index, from highest to lowest, which starts at the given index without iterating over the higher bits. All
+	 * {@link LongIterator} methods run in at most logarithmic time. {@link LongIterator#remove()} is supported.
+	 *
+	 * @since 2.3
+	 */
+	public LongIterator descendingIterator(long from) {
+		return new Iter(previousSetBit(from)) {
 			@Override
-			protected boolean inRange() {
-				return wordIndex >= 0;
+			protected long first(int chunk) {
+				return bit(chunk, containers[chunk].last());
 			}
 
 			@Override
-			protected void step() {
-				bitIndex--;
-				if (bitIndex < 63 - startingBit) {
-					bitIndex = startingBit;
-					wordIndex--;
+			protected long step(int chunk, int low) {
+				if (low > 0) {
+					int previous = containers[chunk].previous(low - 1);
+					if (previous >= 0)
+						return bit(chunk, previous);
 				}
+				this.chunk = --chunk;
+				return chunk >= 0 ? first(chunk) : -1;
 			}
 		};
 	}
 
+	/**
+	 * @return a view of the bits in this {@code SparseBitSet} from index {@code from}, inclusive, to index {@code to},
+	 * exclusive. The view seeks directly to its first bit when iterated, and counts its bits using {@link #rank(long)}
+	 * without iterating over them.
+	 */
+	@Override
+	public LongSortedSet subSet(long from, long to) {
+		return new Range(from, Math.max(to, 0) - 1);
+	}
+
+	/**
+	 * @return a view of the bits in this {@code SparseBitSet} below index {@code to}, exclusive. The view counts its
+	 * bits using {@link #rank(long)} without iterating over them.
+	 */
+	@Override
+	public LongSortedSet headSet(long to) {
+		return new Range(0, Math.max(to, 0) - 1);
+	}
+
+	/**
+	 * @return a view of the bits in this {@code SparseBitSet} from index {@code from}, inclusive. The view seeks
+	 * directly to its first bit when iterated, and counts its bits using {@link #rank(long)} without iterating over
+	 * them.
+	 */
+	@Override
+	public LongSortedSet tailSet(long from) {
+		return new Range(from, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Write the bits in this {@code SparseBitSet} to the given channel in the {@link BinaryFormat} for bits, where each
+	 * chunk of bits is written in the most compact of its representations, as a sorted array, a bitmap or a list of
+	 * runs, and read back in the same representation by {@link #readFrom(ReadableByteChannel)}. The chunks are
+	 * written in frames of up to {@code 65536} bytes through a reused {@link ByteBuffer}.
+	 *
+	 * @throws IOException if the channel could not be written to.
+	 * @since 2.3
+	 */
+	@Override
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(FRAME_SIZE);
+		BinaryFormat.writeHeader(channel, buffer, BinaryFormat.BITS, bitCount());
+
+		startFrame(buffer);
+		for (int i = 0; i < size; i++) {
+			Container container = containers[i].optimize();
+			if (buffer.remaining() < Long.BYTES + container.serializedSize())
+				writeFrame(channel, buffer);
+
+			buffer.putLong(keys[i]);
+			container.writeTo(buffer);
+		}
+		if (buffer.position() > Integer.BYTES)
+			writeFrame(channel, buffer);
+		writeFrame(channel, buffer);
+	}
+
+	/**
+	 * @return a new {@code SparseBitSet} with the bits read from the given channel, as written by {@link
+	 * #writeTo(WritableByteChannel)}.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold bits in the {@link BinaryFormat}.
+	 * @since 2.3
+	 */
+	public static SparseBitSet readFrom(ReadableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(FRAME_SIZE);
+		long expected = BinaryFormat.readHeader(channel, buffer, BinaryFormat.BITS);
+
+		SparseBitSet bits = new SparseBitSet();
+		int length;
+		do {
+			BinaryFormat.readFully(channel, buffer, Integer.BYTES);
+			length = buffer.getInt();
+			if (length < 0 || length > FRAME_SIZE - Integer.BYTES)
+				throw new IOException("Invalid frame length: " + length);
+
+			BinaryFormat.readFully(channel, buffer, length);
+			while (buffer.hasRemaining()) {
+				if (buffer.remaining() < Long.BYTES)
+					throw new IOException("Truncated chunk");
+
+				long key = buffer.getLong();
+				if (key < 0 || key > Long.MAX_VALUE >>> CHUNK_BITS || bits.size > 0 && key <= bits.keys[bits.size - 1])
+					throw new IOException("Invalid chunk: " + key);
+
+				bits.appendChunk(key, Container.readFrom(buffer));
+			}
+		} while (length > 0);
+
+		if (expected >= 0 && expected != bits.bitCount())
+			throw new IOException("Expected " + expected + " bits but read " + bits.bitCount());
+		return bits;
+	}
+
+	private static void startFrame(ByteBuffer buffer) {
+		buffer.clear();
+		buffer.position(Integer.BYTES);
+	}
+
+	private static void writeFrame(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.putInt(0, buffer.position() - Integer.BYTES);
+		buffer.flip();
+		BinaryFormat.writeFully(channel, buffer);
+		startFrame(buffer);
+	}
+
 	/**
 	 * @return a string representation of this {@code BitSet} in the same format as {@link BitSet#toString()}, e.g. the
 	 * indices of all the set bits in ascending order surrounded by curly brackets {@code "{}"}.
@@ -278,77 +890,142 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 		builder.append("{");
 
 		boolean started = false;
-		for (int i = 0; i < size; i++) {
-			long word = words[i];
-			long index = indices[i];
-			for (long bitIndex = 0; bitIndex < 64; bitIndex++) {
-				long bit = 1L << bitIndex;
-				if ((word & bit) != 0) {
-					if (started)
-						builder.append(", ");
-					else
-						started = true;
-					builder.append((index << 6) + bitIndex);
-				}
-			}
+		for (LongIterator iterator = iterator(); iterator.hasNext(); ) {
+			if (started)
+				builder.append(", ");
+			else
+				started = true;
+			builder.append(iterator.nextLong());
 		}
 
 		builder.append("}");
 		return builder.toString();
 	}
 
-	private int findWord(long x) {
-		return Arrays.binarySearch(indices, 0, size, x >> 6);
+	private static void checkRange(long from, long to) {
+		if (from < 0)
+			throw new IllegalArgumentException("from < 0: " + from);
+		if (to < from)
+			throw new IllegalArgumentException("to < from: " + to + " < " + from);
+	}
+
+	/**
+	 * @return the index following the last bit in the chunk with the given key, or {@link Long#MAX_VALUE} for the
+	 * last chunk.
+	 */
+	private static long chunkEnd(long key) {
+		long end = (key + 1) << CHUNK_BITS;
+		return end < 0 ? Long.MAX_VALUE : end;
 	}
 
-	private void insert(long x, int insertionPoint) {
-		if (words.length == size) {
-			words = Arrays.copyOf(words, words.length + (words.length >> 1));
-			indices = Arrays.copyOf(indices, indices.length + (words.length >> 1));
+	private void updateChunk(int chunk, Container container) {
+		cardinality += container.cardinality() - containers[chunk].cardinality();
+		if (container.cardinality() == 0)
+			removeChunk(chunk);
+		else
+			containers[chunk] = container;
+	}
+
+	private boolean modifiedIfChanged(long cardinality) {
+		if (this.cardinality == cardinality)
+			return false;
+
+		modCount++;
+		return true;
+	}
+
+	private long[] ranks() {
+		if (ranks == null || ranksModCount != modCount) {
+			if (ranks == null || ranks.length < size)
+				ranks = new long[keys.length];
+			long rank = 0;
+			for (int i = 0; i < size; i++) {
+				ranks[i] = rank;
+				rank += containers[i].cardinality();
+			}
+			ranksModCount = modCount;
 		}
-		System.arraycopy(words, insertionPoint, words, insertionPoint + 1, size - insertionPoint);
-		System.arraycopy(indices, insertionPoint, indices, insertionPoint + 1, size - insertionPoint);
-		words[insertionPoint] = 1L << (x & 63);
-		indices[insertionPoint] = x >> 6;
-		size++;
+		return ranks;
 	}
 
-	private void removeBit(int wordIndex, long bitIndex) {
-		words[wordIndex] &= ~(1L << bitIndex);
-		if (words[wordIndex] == 0)
-			removeWord(wordIndex);
+	private SparseBitSet combine(SparseBitSet that, BinaryOperator<Container> operator, boolean keepThis,
+	                             boolean keepThat) {
+		SparseBitSet result = new SparseBitSet(Math.max(size + that.size, 1));
+		int i = 0, j = 0;
+		while (i < size || j < that.size) {
+			if (j == that.size || i < size && keys[i] < that.keys[j]) {
+				if (keepThis)
+					result.appendChunk(keys[i], containers[i].copy());
+				i++;
+			} else if (i == size || keys[i] > that.keys[j]) {
+				if (keepThat)
+					result.appendChunk(that.keys[j], that.containers[j].copy());
+				j++;
+			} else {
+				result.appendChunk(keys[i], operator.apply(containers[i++], that.containers[j++]));
+			}
+		}
+		return result;
+	}
+
+	private void appendChunk(long key, Container container) {
+		if (container.cardinality() > 0) {
+			insertChunk(size, key, container);
+			cardinality += container.cardinality();
+		}
 	}
 
-	private void removeWord(int index) {
-		System.arraycopy(words, index + 1, words, index, size - index - 1);
-		System.arraycopy(indices, index + 1, indices, index, size - index - 1);
-		words[size - 1] = 0;
-		indices[size - 1] = 0;
+	private void replaceWith(SparseBitSet that) {
+		keys = that.keys;
+		containers = that.containers;
+		size = that.size;
+		cardinality = that.cardinality;
+		modCount++;
+	}
+
+	private long bit(int chunk, int low) {
+		return keys[chunk] << CHUNK_BITS | low;
+	}
+
+	private int findChunk(long key) {
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+
+	private void insertChunk(int index, long key, Container container) {
+		if (keys.length == size) {
+			int capacity = size + (size >> 1) + 1;
+			keys = Arrays.copyOf(keys, capacity);
+			containers = Arrays.copyOf(containers, capacity);
+		}
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(containers, index, containers, index + 1, size - index);
+		keys[index] = key;
+		containers[index] = container;
+		size++;
+	}
+
+	private void removeChunk(int index) {
+		System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+		System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+		containers[size - 1] = null;
 		size--;
 	}
 
 	private abstract class Iter implements LongIterator {
-		protected int wordIndex;
-		protected int bitIndex;
-		protected int lastWordIndex = -1;
-		protected int lastBitIndex = -1;
-		protected final int startingBit;
+		protected int chunk;
+		protected long next;
+		protected long last = -1;
 
 		protected int expectedModCount = modCount;
 
-		protected Iter(int wordIndex, int bitIndex) {
-			this.wordIndex = wordIndex;
-			this.bitIndex = bitIndex;
-			startingBit = bitIndex;
+		protected Iter(long next) {
+			this.next = next;
+			this.chunk = next >= 0 ? findChunk(next >>> CHUNK_BITS) : -1;
 		}
 
 		@Override
 		public boolean hasNext() {
-			// find next set bit
-			while (inRange() && (words[wordIndex] & (1L << bitIndex)) == 0)
-				step();
-
-			return inRange();
+			return next >= 0;
 		}
 
 		@Override
@@ -357,38 +1034,119 @@ public class SparseBitSet extends LongSet.Base implements LongSortedSet {
 			if (!hasNext())
 				throw new NoSuchElementException();
 
-			lastWordIndex = wordIndex;
-			lastBitIndex = bitIndex;
-			long next = (indices[wordIndex] << 6) + bitIndex;
-			step();
-			return next;
+			last = next;
+			next = step(chunk, (int) (next & CHUNK_MASK));
+			return last;
 		}
 
 		@Override
 		public void remove() {
 			checkForCoModification();
-			if (lastWordIndex < 0)
+			if (last < 0)
 				throw new IllegalStateException("Cannot remove before call to nextLong or after call to remove");
 
-			long previousSize = size;
-			removeBit(lastWordIndex, lastBitIndex);
-			if (size < previousSize) {
-				wordIndex = lastWordIndex;
-				bitIndex = startingBit;
-			}
-			lastWordIndex = -1;
-			lastBitIndex = -1;
-			modCount++;
-			expectedModCount++;
+			SparseBitSet.this.clear(last);
+			if (next >= 0)
+				chunk = findChunk(next >>> CHUNK_BITS);
+			last = -1;
+			expectedModCount = modCount;
 		}
 
-		protected abstract boolean inRange();
+		protected abstract long first(int chunk);
 
-		protected abstract void step();
+		protected abstract long step(int chunk, int low);
 
 		protected void checkForCoModification() {
 			if (modCount != expectedModCount)
 				throw new ConcurrentModificationException();
 		}
 	}
+
+	/**
+	 * A view of the bits in a {@code SparseBitSet} between two indices, both inclusive.
+	 */
+	private class Range extends LongSortedSet.SubSet {
+		private final long from;
+		private final long last;
+
+		private Range(long from, long last) {
+			super(SparseBitSet.this);
+			this.from = Math.max(from, 0);
+			this.last = last;
+		}
+
+		@Override
+		public LongIterator iterator() {
+			return isEmptyRange() ? LongIterator.EMPTY : untilExcluded(SparseBitSet.this.iterator(from));
+		}
+
+		@Override
+		public int size() {
+			if (isEmptyRange())
+				return 0;
+
+			long bitCount = (last == Long.MAX_VALUE ? cardinality : rank(last + 1)) - rank(from);
+
+			if (bitCount > Integer.MAX_VALUE)
+				throw new IllegalStateException("size > Integer.MAX_VALUE: " + bitCount);
+
+			return (int) bitCount;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return isEmptyRange() || !included(nextSetBit(from));
+		}
+
+		@Override
+		public void clear() {
+			if (isEmptyRange())
+				return;
+
+			clearRange(from, last);
+			SparseBitSet.this.clear(last);
+		}
+
+		@Override
+		public long firstLong() {
+			long first = isEmptyRange() ? -1 : nextSetBit(from);
+			if (!included(first))
+				throw new NoSuchElementException();
+
+			return first;
+		}
+
+		@Override
+		public long lastLong() {
+			long last = isEmptyRange() ? -1 : previousSetBit(this.last);
+			if (!included(last))
+				throw new NoSuchElementException();
+
+			return last;
+		}
+
+		@Override
+		public LongSortedSet subSet(long from, long to) {
+			return new Range(Math.max(this.from, from), Math.min(last, Math.max(to, 0) - 1));
+		}
+
+		@Override
+		public LongSortedSet headSet(long to) {
+			return new Range(from, Math.min(last, Math.max(to, 0) - 1));
+		}
+
+		@Override
+		public LongSortedSet tailSet(long from) {
+			return new Range(Math.max(this.from, from), last);
+		}
+
+		@Override
+		protected boolean included(long x) {
+			return x >= from && x <= last;
+		}
+
+		private boolean isEmptyRange() {
+			return from > last;
+		}
+	}
 }
@@ -21,7 +21,11 @@ import org.d2ab.function.CharConsumer;
 import org.d2ab.function.CharPredicate;
 import org.d2ab.function.CharUnaryOperator;
 import org.d2ab.iterator.chars.CharIterator;
+import org.d2ab.util.BinaryFormat;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
@@ -74,6 +78,19 @@ public class ArrayCharList extends CharList.Base implements RandomAccess {
 		return new ArrayCharList(capacity);
 	}
 
+	/**
+	 * @return a new mutable {@code ArrayCharList} with the {@code chars} read from the given channel, as written by
+	 * {@link CharIterable#writeTo(WritableByteChannel)}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code chars} in the {@link
+	 *                     BinaryFormat}.
+	 * @since 2.3
+	 */
+	public static ArrayCharList readFrom(ReadableByteChannel channel) throws IOException {
+		char[] contents = BinaryFormat.readChars(channel);
+		return new ArrayCharList(contents, contents.length);
+	}
+
 	/**
 	 * Create a new mutable {@code ArrayCharList}.
 	 *
@@ -97,6 +114,11 @@ public class ArrayCharList extends CharList.Base implements RandomAccess {
 		addAllChars(xs);
 	}
 
+	private ArrayCharList(char[] contents, int size) {
+		this.contents = contents;
+		this.size = size;
+	}
+
 	public ArrayCharList(char[] xs) {
 		this.contents = Arrays.copyOf(xs, xs.length);
 		this.size = xs.length;
@@ -428,6 +450,19 @@ public class ArrayCharList extends CharList.Base implements RandomAccess {
 			return contents[(currentIndex = nextIndex++) + from];
 		}
 
+		@Override
+		public int nextChars(char[] array, int offset, int length) {
+			checkForCoModification();
+			int count = Math.max(Math.min(length, to - from - nextIndex), 0);
+			if (count > 0) {
+				System.arraycopy(contents, nextIndex + from, array, offset, count);
+				currentIndex = (nextIndex += count) - 1;
+				addOrRemove = false;
+				nextOrPrevious = true;
+			}
+			return count;
+		}
+
 		@Override
 		public boolean hasPrevious() {
 			return nextIndex > 0;
@@ -17,6 +17,7 @@
 package org.d2ab.collection.chars;
 
 import org.d2ab.collection.SparseBitSet;
+import org.d2ab.collection.longs.LongSortedSet;
 import org.d2ab.iterator.chars.CharIterator;
 
 import java.util.Set;
@@ -69,6 +70,54 @@ public class BitCharSet implements CharSortedSet {
 		return values.get(x);
 	}
 
+	@Override
+	public boolean addAllChars(CharCollection c) {
+		if (c instanceof BitCharSet)
+			return values.or(((BitCharSet) c).values);
+
+		return CharSortedSet.super.addAllChars(c);
+	}
+
+	@Override
+	public boolean removeAllChars(CharIterable c) {
+		if (c instanceof BitCharSet)
+			return values.andNot(((BitCharSet) c).values);
+
+		return CharSortedSet.super.removeAllChars(c);
+	}
+
+	@Override
+	public boolean retainAllChars(CharIterable c) {
+		if (c instanceof BitCharSet)
+			return values.and(((BitCharSet) c).values);
+
+		return CharSortedSet.super.retainAllChars(c);
+	}
+
+	@Override
+	public boolean containsAllChars(CharIterable c) {
+		if (c instanceof BitCharSet)
+			return ((BitCharSet) c).values.differenceSize(values) == 0;
+
+		return CharSortedSet.super.containsAllChars(c);
+	}
+
+	@Override
+	public boolean containsAnyChars(CharIterable c) {
+		if (c instanceof BitCharSet)
+			return values.intersects(((BitCharSet) c).values);
+
+		return CharSortedSet.super.containsAnyChars(c);
+	}
+
+	@Override
+	public int intersectionSize(CharSet that) {
+		if (that instanceof BitCharSet)
+			return (int) values.intersectionSize(((BitCharSet) that).values);
+
+		return CharSortedSet.super.intersectionSize(that);
+	}
+
 	@Override
 	public char firstChar() {
 		return (char) (values.firstLong() + Character.MIN_VALUE);
@@ -79,6 +128,21 @@ public class BitCharSet implements CharSortedSet {
 		return (char) (values.lastLong() + Character.MIN_VALUE);
 	}
 
+	@Override
+	public CharSortedSet subSet(char from, char to) {
+		return new Range(from, to);
+	}
+
+	@Override
+	public CharSortedSet headSet(char to) {
+		return new Range(Character.MIN_VALUE, to);
+	}
+
+	@Override
+	public CharSortedSet tailSet(char from) {
+		return new Range(from, Character.MAX_VALUE + 1);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder(size() * 3); // heuristic
@@ -113,4 +177,71 @@ public class BitCharSet implements CharSortedSet {
 			hashCode += Character.hashCode(iterator.nextChar());
 		return hashCode;
 	}
+
+	/**
+	 * A view of the values in a {@code BitCharSet} between two bits of the underlying {@link SparseBitSet}, which
+	 * seeks directly to its first value and counts its values without iterating over them.
+	 */
+	private class Range extends SubSet {
+		private final int from;
+		private final int to;
+		private final LongSortedSet bits;
+
+		private Range(int from, int to) {
+			super(BitCharSet.this);
+			this.from = from;
+			this.to = to;
+			this.bits = values.subSet(from, to);
+		}
+
+		@Override
+		public CharIterator iterator() {
+			return CharIterator.from(bits.iterator());
+		}
+
+		@Override
+		public int size() {
+			return bits.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return bits.isEmpty();
+		}
+
+		@Override
+		public void clear() {
+			bits.clear();
+		}
+
+		@Override
+		public char firstChar() {
+			return (char) bits.firstLong();
+		}
+
+		@Override
+		public char lastChar() {
+			return (char) bits.lastLong();
+		}
+
+		@Override
+		public CharSortedSet subSet(char from, char to) {
+			return new Range(Math.max(this.from, from), Math.min(this.to, to));
+		}
+
+		@Override
+		public CharSortedSet headSet(char to) {
+			return new Range(from, Math.min(this.to, to));
+		}
+
+		@Override
+		public CharSortedSet tailSet(char from) {
+			return new Range(Math.max(this.from, from), to);
+		}
+
+		@Override
+		protected boolean included(char x) {
+			return x >= from && x < to;
+		}
+	}
 }
@@ -25,10 +25,13 @@ import org.d2ab.iterator.chars.CharIterator;
 import org.d2ab.iterator.chars.ReaderCharIterator;
 import org.d2ab.iterator.ints.IntIterator;
 import org.d2ab.sequence.CharSeq;
+import org.d2ab.util.BinaryFormat;
 import org.d2ab.util.Strict;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Consumer;
@@ -44,10 +47,28 @@ public interface CharIterable extends Iterable<Character> {
 	 * {@link IOException} occurs during iteration, an {@link IterationException} will be thrown. The {@link Reader}
 	 * will not be closed by the {@code CharIterable} when iteration finishes, it must be closed externally when
 	 * iteration is finished.
+	 * <p>
+	 * The characters are read in blocks of {@link ReaderCharIterator#DEFAULT_BUFFER_SIZE}, so the {@link Reader} may
+	 * have been read further than the characters iterated over.
 	 *
+	 * @see #read(Reader, int)
 	 * @since 1.2
 	 */
 	static CharIterable read(Reader reader) {
+		return read(reader, ReaderCharIterator.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a {@code CharIterable} from a {@link Reader} which iterates over the characters provided in the reader,
+	 * reading them in blocks of the given buffer size. See {@link #read(Reader)} for details.
+	 *
+	 * @throws IllegalArgumentException if the buffer size is less than one.
+	 * @since 2.3
+	 */
+	static CharIterable read(Reader reader, int bufferSize) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize < 1: " + bufferSize);
+
 		return new CharIterable() {
 			boolean started;
 
@@ -62,7 +83,7 @@ public interface CharIterable extends Iterable<Character> {
 				else
 					started = true;
 
-				return new ReaderCharIterator(reader);
+				return new ReaderCharIterator(reader, bufferSize);
 			}
 		};
 	}
@@ -109,6 +130,18 @@ public interface CharIterable extends Iterable<Character> {
 		return new CharIterableReader(this);
 	}
 
+	/**
+	 * Write the {@code chars} in this {@code CharIterable} to the given channel in the compact {@link BinaryFormat},
+	 * in chunks through a reused buffer, to be read back by {@link ArrayCharList#readFrom(ReadableByteChannel)} or
+	 * {@link CharSeq#readFrom(ReadableByteChannel)}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be written to.
+	 * @since 2.3
+	 */
+	default void writeTo(WritableByteChannel channel) throws IOException {
+		BinaryFormat.writeChars(iterator(), BinaryFormat.sizeOf(this), channel);
+	}
+
 	/**
 	 * Perform the given action for each {@code char} in this iterable.
 	 */
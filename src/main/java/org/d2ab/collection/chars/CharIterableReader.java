@@ -24,7 +24,9 @@ import java.io.Reader;
 import static java.lang.Math.min;
 
 /**
- * A {@link Reader} that reads {@code char} values from a {@link CharIterable}. All methods are supported.
+ * A {@link Reader} that reads {@code char} values from a {@link CharIterable}. All methods are supported. Reading into
+ * an array uses {@link CharIterator#nextChars(char[], int, int)}, so the {@code chars} of array backed iterables are
+ * copied in bulk.
  */
 public class CharIterableReader extends Reader {
 	private final CharIterable iterable;
@@ -59,16 +61,13 @@ public class CharIterableReader extends Reader {
 		if (len == 0)
 			return 0;
 
-		if (!iterator.hasNext())
+		int count = iterator.nextChars(cbuf, off, len);
+		if (count == 0)
 			return -1;
 
-		int index = 0;
-		while (index < len && iterator.hasNext())
-			cbuf[off + index++] = iterator.nextChar();
-
-		position += index;
+		position += count;
 
-		return index;
+		return count;
 	}
 
 	@Override
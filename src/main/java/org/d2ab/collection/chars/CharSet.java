@@ -83,6 +83,20 @@ public interface CharSet extends Set<Character>, CharCollection {
 		return Collectionz.retainAll(this, c);
 	}
 
+	/**
+	 * @return the number of values that are in both this {@code CharSet} and the given {@code CharSet}, without
+	 * creating the intersection.
+	 *
+	 * @since 2.3
+	 */
+	default int intersectionSize(CharSet that) {
+		int intersectionSize = 0;
+		for (CharIterator iterator = iterator(); iterator.hasNext(); )
+			if (that.containsChar(iterator.nextChar()))
+				intersectionSize++;
+		return intersectionSize;
+	}
+
 	@Override
 	default Spliterator.OfInt intSpliterator() {
 		return Spliterators.spliterator(intIterator(), size(), Spliterator.DISTINCT);
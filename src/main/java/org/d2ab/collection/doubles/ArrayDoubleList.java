@@ -18,7 +18,11 @@ package org.d2ab.collection.doubles;
 
 import org.d2ab.collection.Arrayz;
 import org.d2ab.iterator.doubles.DoubleIterator;
+import org.d2ab.util.BinaryFormat;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.function.DoubleConsumer;
 import java.util.function.DoublePredicate;
@@ -73,6 +77,19 @@ public class ArrayDoubleList extends DoubleList.Base implements RandomAccess {
 		return new ArrayDoubleList(capacity);
 	}
 
+	/**
+	 * @return a new mutable {@code ArrayDoubleList} with the {@code doubles} read from the given channel, as written by
+	 * {@link DoubleIterable#writeTo(WritableByteChannel)}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code doubles} in the {@link
+	 *                     BinaryFormat}.
+	 * @since 2.3
+	 */
+	public static ArrayDoubleList readFrom(ReadableByteChannel channel) throws IOException {
+		double[] contents = BinaryFormat.readDoubles(channel);
+		return new ArrayDoubleList(contents, contents.length);
+	}
+
 	/**
 	 * Create a new mutable {@code ArrayDoubleList}.
 	 *
@@ -96,6 +113,11 @@ public class ArrayDoubleList extends DoubleList.Base implements RandomAccess {
 		addAllDoubles(xs);
 	}
 
+	private ArrayDoubleList(double[] contents, int size) {
+		this.contents = contents;
+		this.size = size;
+	}
+
 	public ArrayDoubleList(double[] xs) {
 		this.contents = Arrays.copyOf(xs, xs.length);
 		this.size = xs.length;
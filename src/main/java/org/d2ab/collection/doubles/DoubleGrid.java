@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.doubles;
+
+import org.d2ab.util.Doubles;
+
+import java.util.Arrays;
+
+/**
+ * A collection of {@code double} values that supports checking whether any value within a given precision of a given
+ * {@code double} has been added, in expected constant time. Values are bucketed in a hash table of grid cells twice the
+ * width of the precision, so any value within the precision of a given value is in the same or an adjacent cell.
+ * Values are compared using {@link Doubles#eq(double, double, double)}, as in
+ * {@link DoubleIterable#containsDouble(double, double)}.
+ *
+ * @since 2.3
+ */
+public class DoubleGrid {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final double[] EMPTY = new double[0];
+
+	private final double precision;
+	private final double width;
+
+	private long[] keys = new long[INITIAL_CAPACITY];
+	private double[][] cells = new double[INITIAL_CAPACITY][];
+	private int[] sizes = new int[INITIAL_CAPACITY];
+	private int cellCount;
+
+	public DoubleGrid(double precision) {
+		this.precision = precision;
+		this.width = precision * 2;
+	}
+
+	public DoubleGrid(double[] xs, double precision) {
+		this(precision);
+		for (double x : xs)
+			add(x);
+	}
+
+	/**
+	 * Add the given {@code double} to this grid.
+	 */
+	public void add(double x) {
+		long key = key(x);
+		int slot = slot(key);
+		if (cells[slot] == null) {
+			if (cellCount + 1 > keys.length >> 1) {
+				grow();
+				slot = slot(key);
+			}
+			keys[slot] = key;
+			cells[slot] = EMPTY;
+			cellCount++;
+		}
+
+		double[] cell = cells[slot];
+		if (sizes[slot] == cell.length)
+			cells[slot] = cell = Arrays.copyOf(cell, Math.max(cell.length << 1, 2));
+		cell[sizes[slot]++] = x;
+	}
+
+	/**
+	 * @return true if a {@code double} within the precision of the given {@code double} has been added to this grid,
+	 * false otherwise.
+	 */
+	public boolean contains(double x) {
+		long key = key(x);
+		if (!(width > 0))
+			return contains(key, x);
+
+		return contains(key, x) || contains(key - 1, x) || contains(key + 1, x);
+	}
+
+	/**
+	 * Add the given {@code double} to this grid, unless a {@code double} within the precision of it has already been
+	 * added.
+	 *
+	 * @return true if the {@code double} was added, false otherwise.
+	 */
+	public boolean addIfAbsent(double x) {
+		if (contains(x))
+			return false;
+
+		add(x);
+		return true;
+	}
+
+	private boolean contains(long key, double x) {
+		int slot = slot(key);
+		double[] cell = cells[slot];
+		if (cell == null)
+			return false;
+
+		for (int i = 0, size = sizes[slot]; i < size; i++)
+			if (Doubles.eq(cell[i], x, precision))
+				return true;
+
+		return false;
+	}
+
+	private long key(double x) {
+		if (width > 0)
+			return (long) Math.floor(x / width);
+
+		return Double.doubleToLongBits(x + 0.0);
+	}
+
+	private int slot(long key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (cells[slot] != null && keys[slot] != key)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private static int hash(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ hash >>> 32);
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		double[][] oldCells = cells;
+		int[] oldSizes = sizes;
+
+		keys = new long[oldKeys.length << 1];
+		cells = new double[oldKeys.length << 1][];
+		sizes = new int[oldKeys.length << 1];
+		for (int i = 0; i < oldKeys.length; i++)
+			if (oldCells[i] != null) {
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				cells[slot] = oldCells[i];
+				sizes[slot] = oldSizes[i];
+			}
+	}
+}
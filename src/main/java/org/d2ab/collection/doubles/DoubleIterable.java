@@ -19,8 +19,12 @@ package org.d2ab.collection.doubles;
 import org.d2ab.iterator.doubles.ArrayDoubleIterator;
 import org.d2ab.iterator.doubles.DoubleIterator;
 import org.d2ab.sequence.DoubleSequence;
+import org.d2ab.util.BinaryFormat;
 import org.d2ab.util.Strict;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -96,6 +100,19 @@ public interface DoubleIterable extends Iterable<Double> {
 		return DoubleSequence.from(this);
 	}
 
+	/**
+	 * Write the {@code doubles} in this {@code DoubleIterable} to the given channel in the compact {@link
+	 * BinaryFormat}, in chunks through a reused buffer, to be read back by {@link
+	 * ArrayDoubleList#readFrom(ReadableByteChannel)} or {@link DoubleSequence#readFrom(ReadableByteChannel)}. The
+	 * channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be written to.
+	 * @since 2.3
+	 */
+	default void writeTo(WritableByteChannel channel) throws IOException {
+		BinaryFormat.writeDoubles(iterator(), BinaryFormat.sizeOf(this), channel);
+	}
+
 	default boolean isEmpty() {
 		return iterator().isEmpty();
 	}
@@ -18,7 +18,11 @@ package org.d2ab.collection.ints;
 
 import org.d2ab.collection.Arrayz;
 import org.d2ab.iterator.ints.IntIterator;
+import org.d2ab.util.BinaryFormat;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.function.IntConsumer;
 import java.util.function.IntPredicate;
@@ -71,6 +75,20 @@ public class ArrayIntList extends IntList.Base implements RandomAccess {
 		return new ArrayIntList(capacity);
 	}
 
+	/**
+	 * @return a new mutable {@code ArrayIntList} with the {@code ints} read from the given channel, as written by
+	 * {@link IntIterable#writeTo(WritableByteChannel)} or {@link
+	 * IntIterable#writeDeltasTo(WritableByteChannel)}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code ints} in the {@link
+	 *                     BinaryFormat}.
+	 * @since 2.3
+	 */
+	public static ArrayIntList readFrom(ReadableByteChannel channel) throws IOException {
+		int[] contents = BinaryFormat.readInts(channel);
+		return new ArrayIntList(contents, contents.length);
+	}
+
 	/**
 	 * Create a new mutable {@code ArrayIntList}.
 	 *
@@ -94,6 +112,11 @@ public class ArrayIntList extends IntList.Base implements RandomAccess {
 		addAllInts(xs);
 	}
 
+	private ArrayIntList(int[] contents, int size) {
+		this.contents = contents;
+		this.size = size;
+	}
+
 	public ArrayIntList(int[] xs) {
 		this.contents = Arrays.copyOf(xs, xs.length);
 		this.size = xs.length;
@@ -430,6 +453,19 @@ public class ArrayIntList extends IntList.Base implements RandomAccess {
 			return contents[(currentIndex = nextIndex++) + from];
 		}
 
+		@Override
+		public int nextInts(int[] array, int offset, int length) {
+			checkForCoModification();
+			int count = Math.max(Math.min(length, to - from - nextIndex), 0);
+			if (count > 0) {
+				System.arraycopy(contents, nextIndex + from, array, offset, count);
+				currentIndex = (nextIndex += count) - 1;
+				addOrRemove = false;
+				nextOrPrevious = true;
+			}
+			return count;
+		}
+
 		@Override
 		public boolean hasPrevious() {
 			return nextIndex > 0;
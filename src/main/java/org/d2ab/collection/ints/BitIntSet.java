@@ -17,6 +17,7 @@
 package org.d2ab.collection.ints;
 
 import org.d2ab.collection.SparseBitSet;
+import org.d2ab.collection.longs.LongSortedSet;
 import org.d2ab.iterator.ints.DelegatingTransformingIntIterator;
 import org.d2ab.iterator.ints.IntIterator;
 
@@ -42,7 +43,11 @@ public class BitIntSet extends IntSet.Base implements IntSortedSet {
 
 	@Override
 	public IntIterator iterator() {
-		return new DelegatingTransformingIntIterator<Long, PrimitiveIterator.OfLong>(values.iterator()) {
+		return iterator(values);
+	}
+
+	private static IntIterator iterator(LongSortedSet bits) {
+		return new DelegatingTransformingIntIterator<Long, PrimitiveIterator.OfLong>(bits.iterator()) {
 			@Override
 			public int nextInt() {
 				return (int) (iterator.nextLong() + Integer.MIN_VALUE);
@@ -75,6 +80,54 @@ public class BitIntSet extends IntSet.Base implements IntSortedSet {
 		return values.get((long) x - Integer.MIN_VALUE);
 	}
 
+	@Override
+	public boolean addAllInts(IntCollection c) {
+		if (c instanceof BitIntSet)
+			return values.or(((BitIntSet) c).values);
+
+		return super.addAllInts(c);
+	}
+
+	@Override
+	public boolean removeAllInts(IntIterable c) {
+		if (c instanceof BitIntSet)
+			return values.andNot(((BitIntSet) c).values);
+
+		return super.removeAllInts(c);
+	}
+
+	@Override
+	public boolean retainAllInts(IntIterable c) {
+		if (c instanceof BitIntSet)
+			return values.and(((BitIntSet) c).values);
+
+		return super.retainAllInts(c);
+	}
+
+	@Override
+	public boolean containsAllInts(IntIterable c) {
+		if (c instanceof BitIntSet)
+			return ((BitIntSet) c).values.differenceSize(values) == 0;
+
+		return super.containsAllInts(c);
+	}
+
+	@Override
+	public boolean containsAnyInts(IntIterable c) {
+		if (c instanceof BitIntSet)
+			return values.intersects(((BitIntSet) c).values);
+
+		return super.containsAnyInts(c);
+	}
+
+	@Override
+	public int intersectionSize(IntSet that) {
+		if (that instanceof BitIntSet)
+			return (int) values.intersectionSize(((BitIntSet) that).values);
+
+		return super.intersectionSize(that);
+	}
+
 	@Override
 	public int firstInt() {
 		return (int) (values.firstLong() + Integer.MIN_VALUE);
@@ -84,4 +137,91 @@ public class BitIntSet extends IntSet.Base implements IntSortedSet {
 	public int lastInt() {
 		return (int) (values.lastLong() + Integer.MIN_VALUE);
 	}
+
+	@Override
+	public IntSortedSet subSet(int from, int to) {
+		return new Range(bit(from), bit(to));
+	}
+
+	@Override
+	public IntSortedSet headSet(int to) {
+		return new Range(0, bit(to));
+	}
+
+	@Override
+	public IntSortedSet tailSet(int from) {
+		return new Range(bit(from), 1L << Integer.SIZE);
+	}
+
+	private static long bit(int x) {
+		return (long) x - Integer.MIN_VALUE;
+	}
+
+	/**
+	 * A view of the values in a {@code BitIntSet} between two bits of the underlying {@link SparseBitSet}, which
+	 * seeks directly to its first value and counts its values without iterating over them.
+	 */
+	private class Range extends SubSet {
+		private final long from;
+		private final long to;
+		private final LongSortedSet bits;
+
+		private Range(long from, long to) {
+			super(BitIntSet.this);
+			this.from = from;
+			this.to = to;
+			this.bits = values.subSet(from, to);
+		}
+
+		@Override
+		public IntIterator iterator() {
+			return BitIntSet.iterator(bits);
+		}
+
+		@Override
+		public int size() {
+			return bits.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return bits.isEmpty();
+		}
+
+		@Override
+		public void clear() {
+			bits.clear();
+		}
+
+		@Override
+		public int firstInt() {
+			return (int) (bits.firstLong() + Integer.MIN_VALUE);
+		}
+
+		@Override
+		public int lastInt() {
+			return (int) (bits.lastLong() + Integer.MIN_VALUE);
+		}
+
+		@Override
+		public IntSortedSet subSet(int from, int to) {
+			return new Range(Math.max(this.from, bit(from)), Math.min(this.to, bit(to)));
+		}
+
+		@Override
+		public IntSortedSet headSet(int to) {
+			return new Range(from, Math.min(this.to, bit(to)));
+		}
+
+		@Override
+		public IntSortedSet tailSet(int from) {
+			return new Range(Math.max(this.from, bit(from)), to);
+		}
+
+		@Override
+		protected boolean included(int x) {
+			long bit = bit(x);
+			return bit >= from && bit < to;
+		}
+	}
 }
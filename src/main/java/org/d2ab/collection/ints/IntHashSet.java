@@ -0,0 +1,284 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.ints;
+
+import org.d2ab.iterator.ints.IntIterator;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * An implementation of {@link IntSet} backed by an open addressing hash table of {@code int} values with linear
+ * probing. Unlike {@link BitIntSet}, the memory usage and the time to add or remove a value do not depend on how the
+ * values are spread across the {@code int} range, which makes this the better choice for sparse values such as hashes
+ * or random ids. The iteration order is unspecified.
+ *
+ * @since 2.3
+ */
+public class IntHashSet extends IntSet.Base {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	// 0 marks a free slot, so the value 0 is kept in its own flag
+	private int[] values;
+	private boolean containsZero;
+	private int size;
+	private int mask;
+	private int maxFill;
+
+	private int modCount;
+
+	public IntHashSet() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	public IntHashSet(int... xs) {
+		allocate(capacity(xs.length));
+		addAllInts(xs);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(values, 0);
+		containsZero = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public boolean addInt(int x) {
+		if (x == 0) {
+			if (containsZero)
+				return false;
+
+			containsZero = true;
+		} else {
+			int slot = slot(x);
+			for (int value; (value = values[slot]) != 0; slot = slot + 1 & mask)
+				if (value == x)
+					return false;
+
+			if (size >= maxFill) {
+				grow();
+				slot = freeSlot(x);
+			}
+			values[slot] = x;
+		}
+		size++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean removeInt(int x) {
+		if (x == 0) {
+			if (!containsZero)
+				return false;
+
+			containsZero = false;
+		} else {
+			int slot = slot(x);
+			int value;
+			while ((value = values[slot]) != x) {
+				if (value == 0)
+					return false;
+				slot = slot + 1 & mask;
+			}
+			shiftBack(slot);
+		}
+		size--;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean containsInt(int x) {
+		if (x == 0)
+			return containsZero;
+
+		int slot = slot(x);
+		for (int value; (value = values[slot]) != 0; slot = slot + 1 & mask)
+			if (value == x)
+				return true;
+
+		return false;
+	}
+
+	/**
+	 * @return an {@link IntIterator} over the values in this {@code IntHashSet}, in unspecified order.
+	 * {@link IntIterator#remove()} is supported.
+	 */
+	@Override
+	public IntIterator iterator() {
+		return new Iter();
+	}
+
+	private static int capacity(int expectedSize) {
+		long capacity = INITIAL_CAPACITY;
+		while (capacity * 3 / 4 <= expectedSize && capacity < MAX_CAPACITY)
+			capacity <<= 1;
+		return (int) capacity;
+	}
+
+	private void allocate(int capacity) {
+		values = new int[capacity];
+		mask = capacity - 1;
+		maxFill = capacity == MAX_CAPACITY ? capacity - 1 : capacity * 3 / 4;
+	}
+
+	private void grow() {
+		if (values.length == MAX_CAPACITY)
+			throw new IllegalStateException("size > " + maxFill);
+
+		int[] oldValues = values;
+		allocate(oldValues.length << 1);
+		for (int value : oldValues)
+			if (value != 0)
+				values[freeSlot(value)] = value;
+	}
+
+	private int freeSlot(int x) {
+		int slot = slot(x);
+		while (values[slot] != 0)
+			slot = slot + 1 & mask;
+		return slot;
+	}
+
+	private int slot(int x) {
+		int hash = x * 0x9E3779B9;
+		return (hash ^ hash >>> 16) & mask;
+	}
+
+	/**
+	 * Remove the value in the given slot by shifting back any following values in the same probe sequence, keeping
+	 * every value reachable from its own slot without leaving markers for removed values.
+	 *
+	 * @return the value that was moved from a slot below the given slot by wrapping around the end of the table,
+	 * which an iterator moving from the end of the table towards the start has to remember, or {@code 0} if there
+	 * was no such value.
+	 */
+	private int shiftBack(int slot) {
+		int wrapped = 0;
+		int free = slot;
+		for (int next = free + 1 & mask, value; (value = values[next]) != 0; next = next + 1 & mask) {
+			int home = slot(value);
+			boolean reachable = free <= next ? free < home && home <= next : free < home || home <= next;
+			if (!reachable) {
+				values[free] = value;
+				if (next < free)
+					wrapped = value;
+				free = next;
+			}
+		}
+		values[free] = 0;
+		return wrapped;
+	}
+
+	/**
+	 * Iterates over the slots from the end of the table towards the start, followed by any values that were moved
+	 * past the current slot when removing values during iteration, and finally the value {@code 0} if present.
+	 */
+	private class Iter implements IntIterator {
+		private int slot = values.length;
+		private int[] wrapped;
+		private int wrappedSize;
+		private boolean zero = containsZero;
+
+		private int last;
+		private int lastSlot = -1;
+		private boolean canRemove;
+
+		private int expectedModCount = modCount;
+
+		private Iter() {
+			seek();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return slot >= 0 || wrappedSize > 0 || zero;
+		}
+
+		@Override
+		public int nextInt() {
+			checkForCoModification();
+			if (slot >= 0) {
+				last = values[lastSlot = slot];
+				seek();
+			} else if (wrappedSize > 0) {
+				last = wrapped[--wrappedSize];
+				lastSlot = -1;
+			} else if (zero) {
+				last = 0;
+				lastSlot = -1;
+				zero = false;
+			} else {
+				throw new NoSuchElementException();
+			}
+			canRemove = true;
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			checkForCoModification();
+			if (!canRemove)
+				throw new IllegalStateException("Cannot remove before call to nextInt or after call to remove");
+
+			canRemove = false;
+			if (lastSlot >= 0) {
+				int moved = shiftBack(lastSlot);
+				if (moved != 0) {
+					if (wrapped == null)
+						wrapped = new int[2];
+					else if (wrappedSize == wrapped.length)
+						wrapped = Arrays.copyOf(wrapped, wrappedSize << 1);
+					wrapped[wrappedSize++] = moved;
+				}
+				if (slot >= 0 && values[slot] == 0)
+					seek();
+				size--;
+				modCount++;
+			} else {
+				removeInt(last);
+			}
+			expectedModCount = modCount;
+		}
+
+		private void seek() {
+			do
+				slot--;
+			while (slot >= 0 && values[slot] == 0);
+		}
+
+		private void checkForCoModification() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+	}
+}
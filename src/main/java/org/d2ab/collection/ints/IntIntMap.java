@@ -0,0 +1,691 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.ints;
+
+import org.d2ab.function.IntBiConsumer;
+import org.d2ab.iterator.ints.IntIterator;
+
+import java.util.*;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A {@link Map} from {@code int} keys to {@code int} values, backed by an open addressing hash table with linear
+ * probing. Supplements all {@link Integer}-valued methods with corresponding {@code int}-valued methods which do not
+ * box the keys or values, and which use {@code 0} as the value for keys that are not in the map. Entries are held in
+ * flat arrays instead of one node per entry. The iteration order is unspecified.
+ *
+ * @since 2.3
+ */
+public class IntIntMap extends AbstractMap<Integer, Integer> {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	// 0 marks a free slot, so the key 0 is kept in its own fields
+	private int[] keys;
+	private int[] values;
+	private boolean containsZeroKey;
+	private int zeroValue;
+	private int size;
+	private int mask;
+	private int maxFill;
+
+	private int modCount;
+
+	public IntIntMap() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Create an {@code IntIntMap} that holds the given number of entries without resizing.
+	 */
+	public IntIntMap(int expectedSize) {
+		if (expectedSize < 0)
+			throw new IllegalArgumentException("expectedSize < 0: " + expectedSize);
+
+		allocate(capacity(expectedSize));
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, 0);
+		containsZeroKey = false;
+		size = 0;
+		modCount++;
+	}
+
+	public boolean containsKey(int key) {
+		return key == 0 ? containsZeroKey : find(key) >= 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && containsKey((int) key);
+	}
+
+	public boolean containsValue(int value) {
+		if (containsZeroKey && zeroValue == value)
+			return true;
+
+		for (int slot = 0; slot < keys.length; slot++)
+			if (keys[slot] != 0 && values[slot] == value)
+				return true;
+
+		return false;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return value instanceof Integer && containsValue((int) value);
+	}
+
+	/**
+	 * @return the value of the given key, or {@code 0} if the key is not in this map.
+	 */
+	public int get(int key) {
+		return getOrDefault(key, 0);
+	}
+
+	/**
+	 * @return the value of the given key, or the given default value if the key is not in this map.
+	 */
+	public int getOrDefault(int key, int defaultValue) {
+		if (key == 0)
+			return containsZeroKey ? zeroValue : defaultValue;
+
+		int slot = find(key);
+		return slot >= 0 ? values[slot] : defaultValue;
+	}
+
+	@Override
+	public Integer get(Object key) {
+		if (!(key instanceof Integer))
+			return null;
+
+		int k = (int) key;
+		if (k == 0)
+			return containsZeroKey ? zeroValue : null;
+
+		int slot = find(k);
+		return slot >= 0 ? values[slot] : null;
+	}
+
+	/**
+	 * Associate the given value with the given key.
+	 *
+	 * @return the previous value of the given key, or {@code 0} if the key was not in this map.
+	 */
+	public int put(int key, int value) {
+		if (key == 0) {
+			int previous = containsZeroKey ? zeroValue : 0;
+			putZero(value);
+			return previous;
+		}
+
+		int slot = slot(key);
+		for (int k; (k = keys[slot]) != 0; slot = slot + 1 & mask)
+			if (k == key) {
+				int previous = values[slot];
+				values[slot] = value;
+				return previous;
+			}
+
+		insert(slot, key, value);
+		return 0;
+	}
+
+	@Override
+	public Integer put(Integer key, Integer value) {
+		int k = key;
+		int v = value;
+		boolean present = containsKey(k);
+		int previous = put(k, v);
+		return present ? previous : null;
+	}
+
+	/**
+	 * Remove the given key from this map.
+	 *
+	 * @return the value of the removed key, or {@code 0} if the key was not in this map.
+	 */
+	public int remove(int key) {
+		int previous;
+		if (key == 0) {
+			if (!containsZeroKey)
+				return 0;
+
+			previous = zeroValue;
+			containsZeroKey = false;
+		} else {
+			int slot = find(key);
+			if (slot < 0)
+				return 0;
+
+			previous = values[slot];
+			shiftBack(slot);
+		}
+		size--;
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public Integer remove(Object key) {
+		if (!(key instanceof Integer) || !containsKey((int) key))
+			return null;
+
+		return remove((int) key);
+	}
+
+	/**
+	 * Associate the given key with the given value if the key is not in this map, or with the result of applying the
+	 * given function to the current value and the given value if it is. This is the primitive counterpart of
+	 * {@link Map#merge}, for example {@code map.merge(key, 1, Integer::sum)} counts the occurrences of {@code key}.
+	 *
+	 * @return the new value of the given key.
+	 */
+	public int merge(int key, int value, IntBinaryOperator remapper) {
+		if (key == 0) {
+			int merged = containsZeroKey ? remapper.applyAsInt(zeroValue, value) : value;
+			putZero(merged);
+			return merged;
+		}
+
+		int slot = slot(key);
+		for (int k; (k = keys[slot]) != 0; slot = slot + 1 & mask)
+			if (k == key)
+				return values[slot] = remapper.applyAsInt(values[slot], value);
+
+		insert(slot, key, value);
+		return value;
+	}
+
+	/**
+	 * Associate the given key with the result of applying the given function to the key, if the key is not already
+	 * in this map.
+	 *
+	 * @return the current value of the given key, which is the computed value if the key was not in this map.
+	 *
+	 * @throws ConcurrentModificationException if the given function modifies this map.
+	 */
+	public int computeIfAbsent(int key, IntUnaryOperator mapper) {
+		if (key == 0) {
+			if (!containsZeroKey)
+				putZero(computeChecked(key, mapper));
+			return zeroValue;
+		}
+
+		int slot = slot(key);
+		for (int k; (k = keys[slot]) != 0; slot = slot + 1 & mask)
+			if (k == key)
+				return values[slot];
+
+		int value = computeChecked(key, mapper);
+		insert(slot, key, value);
+		return value;
+	}
+
+	/**
+	 * Replace the value of the given key with the result of applying the given function to the key and its current
+	 * value, if the key is in this map.
+	 *
+	 * @return the new value of the given key, or {@code 0} if the key was not in this map.
+	 */
+	public int computeIfPresent(int key, IntBinaryOperator remapper) {
+		if (key == 0)
+			return containsZeroKey ? (zeroValue = remapper.applyAsInt(key, zeroValue)) : 0;
+
+		int slot = find(key);
+		return slot >= 0 ? (values[slot] = remapper.applyAsInt(key, values[slot])) : 0;
+	}
+
+	/**
+	 * Perform the given action for each key and value in this map, without boxing.
+	 *
+	 * @throws ConcurrentModificationException if the given action modifies the keys of this map.
+	 */
+	public void forEachEntry(IntBiConsumer action) {
+		int expectedModCount = modCount;
+		if (containsZeroKey)
+			action.accept(0, zeroValue);
+		for (int slot = 0; slot < keys.length && expectedModCount == modCount; slot++)
+			if (keys[slot] != 0)
+				action.accept(keys[slot], values[slot]);
+		if (expectedModCount != modCount)
+			throw new ConcurrentModificationException();
+	}
+
+	/**
+	 * @return an {@link IntSet} view of the keys in this map, which supports removal but not addition.
+	 */
+	@Override
+	public IntSet keySet() {
+		return new KeySet();
+	}
+
+	/**
+	 * @return an {@link IntCollection} view of the values in this map, which supports removal but not addition.
+	 */
+	@Override
+	public IntCollection values() {
+		return new Values();
+	}
+
+	@Override
+	public Set<Entry<Integer, Integer>> entrySet() {
+		return new EntrySet();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this)
+			return true;
+		if (!(o instanceof IntIntMap))
+			return super.equals(o);
+
+		IntIntMap that = (IntIntMap) o;
+		if (size != that.size || containsZeroKey != that.containsZeroKey ||
+		    containsZeroKey && zeroValue != that.zeroValue)
+			return false;
+
+		for (int slot = 0; slot < keys.length; slot++) {
+			int key = keys[slot];
+			if (key != 0) {
+				int thatSlot = that.find(key);
+				if (thatSlot < 0 || that.values[thatSlot] != values[slot])
+					return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = containsZeroKey ? zeroValue : 0;
+		for (int slot = 0; slot < keys.length; slot++)
+			if (keys[slot] != 0)
+				hashCode += keys[slot] ^ values[slot];
+		return hashCode;
+	}
+
+	private static int capacity(int expectedSize) {
+		long capacity = INITIAL_CAPACITY;
+		while (capacity * 3 / 4 <= expectedSize && capacity < MAX_CAPACITY)
+			capacity <<= 1;
+		return (int) capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		maxFill = capacity == MAX_CAPACITY ? capacity - 1 : capacity * 3 / 4;
+	}
+
+	private void grow() {
+		if (keys.length == MAX_CAPACITY)
+			throw new IllegalStateException("size > " + maxFill);
+
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(oldKeys.length << 1);
+		for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+			int key = oldKeys[oldSlot];
+			if (key != 0) {
+				int slot = freeSlot(key);
+				keys[slot] = key;
+				values[slot] = oldValues[oldSlot];
+			}
+		}
+	}
+
+	private void putZero(int value) {
+		zeroValue = value;
+		if (!containsZeroKey) {
+			containsZeroKey = true;
+			size++;
+			modCount++;
+		}
+	}
+
+	private void insert(int slot, int key, int value) {
+		if (size >= maxFill) {
+			grow();
+			slot = freeSlot(key);
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		size++;
+		modCount++;
+	}
+
+	private int computeChecked(int key, IntUnaryOperator mapper) {
+		int expectedModCount = modCount;
+		int value = mapper.applyAsInt(key);
+		if (expectedModCount != modCount)
+			throw new ConcurrentModificationException();
+		return value;
+	}
+
+	private int find(int key) {
+		int slot = slot(key);
+		for (int k; (k = keys[slot]) != 0; slot = slot + 1 & mask)
+			if (k == key)
+				return slot;
+		return -1;
+	}
+
+	private int freeSlot(int key) {
+		int slot = slot(key);
+		while (keys[slot] != 0)
+			slot = slot + 1 & mask;
+		return slot;
+	}
+
+	private int slot(int key) {
+		int hash = key * 0x9E3779B9;
+		return (hash ^ hash >>> 16) & mask;
+	}
+
+	/**
+	 * Remove the entry in the given slot by shifting back any following entries in the same probe sequence, keeping
+	 * every entry reachable from its own slot without leaving markers for removed entries.
+	 *
+	 * @return the slot that received an entry from a slot below the given slot by wrapping around the end of the
+	 * table, which an iterator moving from the end of the table towards the start has to remember, or {@code -1} if
+	 * there was no such entry.
+	 */
+	private int shiftBack(int slot) {
+		int wrapped = -1;
+		int free = slot;
+		for (int next = free + 1 & mask, key; (key = keys[next]) != 0; next = next + 1 & mask) {
+			int home = slot(key);
+			boolean reachable = free <= next ? free < home && home <= next : free < home || home <= next;
+			if (!reachable) {
+				keys[free] = key;
+				values[free] = values[next];
+				if (next < free)
+					wrapped = free;
+				free = next;
+			}
+		}
+		keys[free] = 0;
+		return wrapped;
+	}
+
+	/**
+	 * Iterates over the slots from the end of the table towards the start, followed by any entries that were moved
+	 * past the current slot when removing entries during iteration, and finally the key {@code 0} if present.
+	 */
+	private abstract class Iter {
+		private int slot = keys.length;
+		private int[] wrappedKeys;
+		private int[] wrappedValues;
+		private int wrappedSize;
+		private boolean zero = containsZeroKey;
+
+		protected int key;
+		protected int value;
+		private int lastSlot = -1;
+		private boolean canRemove;
+
+		private int expectedModCount = modCount;
+
+		private Iter() {
+			seek();
+		}
+
+		public boolean hasNext() {
+			return slot >= 0 || wrappedSize > 0 || zero;
+		}
+
+		protected void advance() {
+			checkForCoModification();
+			if (slot >= 0) {
+				key = keys[lastSlot = slot];
+				value = values[slot];
+				seek();
+			} else if (wrappedSize > 0) {
+				wrappedSize--;
+				key = wrappedKeys[wrappedSize];
+				value = wrappedValues[wrappedSize];
+				lastSlot = -1;
+			} else if (zero) {
+				key = 0;
+				value = zeroValue;
+				lastSlot = -1;
+				zero = false;
+			} else {
+				throw new NoSuchElementException();
+			}
+			canRemove = true;
+		}
+
+		public void remove() {
+			checkForCoModification();
+			if (!canRemove)
+				throw new IllegalStateException("Cannot remove before call to next or after call to remove");
+
+			canRemove = false;
+			if (lastSlot >= 0) {
+				int moved = shiftBack(lastSlot);
+				if (moved >= 0) {
+					if (wrappedKeys == null) {
+						wrappedKeys = new int[2];
+						wrappedValues = new int[2];
+					} else if (wrappedSize == wrappedKeys.length) {
+						wrappedKeys = Arrays.copyOf(wrappedKeys, wrappedSize << 1);
+						wrappedValues = Arrays.copyOf(wrappedValues, wrappedSize << 1);
+					}
+					wrappedKeys[wrappedSize] = keys[moved];
+					wrappedValues[wrappedSize] = values[moved];
+					wrappedSize++;
+				}
+				if (slot >= 0 && keys[slot] == 0)
+					seek();
+				size--;
+				modCount++;
+			} else {
+				IntIntMap.this.remove(key);
+			}
+			expectedModCount = modCount;
+		}
+
+		private void seek() {
+			do
+				slot--;
+			while (slot >= 0 && keys[slot] == 0);
+		}
+
+		private void checkForCoModification() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+	}
+
+	private class KeyIterator extends Iter implements IntIterator {
+		@Override
+		public int nextInt() {
+			advance();
+			return key;
+		}
+	}
+
+	private class ValueIterator extends Iter implements IntIterator {
+		@Override
+		public int nextInt() {
+			advance();
+			return value;
+		}
+	}
+
+	private class EntryIterator extends Iter implements Iterator<Entry<Integer, Integer>> {
+		@Override
+		public Entry<Integer, Integer> next() {
+			advance();
+			return new MapEntry(key, value);
+		}
+	}
+
+	private class MapEntry implements Entry<Integer, Integer> {
+		private final int key;
+		private int value;
+
+		private MapEntry(int key, int value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Integer getKey() {
+			return key;
+		}
+
+		@Override
+		public Integer getValue() {
+			return value;
+		}
+
+		@Override
+		public Integer setValue(Integer value) {
+			int previous = this.value;
+			put(key, (int) value);
+			this.value = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+
+			Entry<?, ?> that = (Entry<?, ?>) o;
+			return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Integer.hashCode(key) ^ Integer.hashCode(value);
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	private class KeySet extends IntSet.Base {
+		@Override
+		public IntIterator iterator() {
+			return new KeyIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			IntIntMap.this.clear();
+		}
+
+		@Override
+		public boolean containsInt(int x) {
+			return containsKey(x);
+		}
+
+		@Override
+		public boolean removeInt(int x) {
+			if (!containsKey(x))
+				return false;
+
+			IntIntMap.this.remove(x);
+			return true;
+		}
+	}
+
+	private class Values extends IntCollection.Base {
+		@Override
+		public IntIterator iterator() {
+			return new ValueIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			IntIntMap.this.clear();
+		}
+
+		@Override
+		public boolean containsInt(int x) {
+			return containsValue(x);
+		}
+	}
+
+	private class EntrySet extends AbstractSet<Entry<Integer, Integer>> {
+		@Override
+		public Iterator<Entry<Integer, Integer>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			IntIntMap.this.clear();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+
+			Entry<?, ?> entry = (Entry<?, ?>) o;
+			Object key = entry.getKey();
+			Object value = entry.getValue();
+			return key instanceof Integer && value instanceof Integer && containsKey((int) key) &&
+			       get((int) key) == (int) value;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (!contains(o))
+				return false;
+
+			IntIntMap.this.remove((Integer) ((Entry<?, ?>) o).getKey());
+			return true;
+		}
+	}
+}
@@ -24,10 +24,13 @@ import org.d2ab.iterator.ints.ArrayIntIterator;
 import org.d2ab.iterator.ints.InputStreamIntIterator;
 import org.d2ab.iterator.ints.IntIterator;
 import org.d2ab.sequence.IntSequence;
+import org.d2ab.util.BinaryFormat;
 import org.d2ab.util.Strict;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -65,10 +68,28 @@ public interface IntIterable extends Iterable<Integer> {
 	 * if possible. If an {@link IOException} occurs during iteration, an {@link IterationException} will be thrown.
 	 * The {@link InputStream} will not be closed by the {@code IntIterable} when iteration finishes, it must be closed
 	 * externally when iteration is finished.
+	 * <p>
+	 * The bytes are read in blocks of {@link InputStreamIntIterator#DEFAULT_BUFFER_SIZE}, so the {@link InputStream}
+	 * may have been read further than the bytes iterated over.
 	 *
+	 * @see #read(InputStream, int)
 	 * @since 1.1
 	 */
 	static IntIterable read(InputStream inputStream) {
+		return read(inputStream, InputStreamIntIterator.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create an {@code IntIterable} from an {@link InputStream} which iterates over the bytes provided in the input
+	 * stream as ints, reading them in blocks of the given buffer size. See {@link #read(InputStream)} for details.
+	 *
+	 * @throws IllegalArgumentException if the buffer size is less than one.
+	 * @since 2.3
+	 */
+	static IntIterable read(InputStream inputStream, int bufferSize) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize < 1: " + bufferSize);
+
 		return new IntIterable() {
 			boolean started;
 
@@ -83,7 +104,7 @@ public interface IntIterable extends Iterable<Integer> {
 				else
 					started = true;
 
-				return new InputStreamIntIterator(inputStream);
+				return new InputStreamIntIterator(inputStream, bufferSize);
 			}
 		};
 	}
@@ -138,6 +159,30 @@ public interface IntIterable extends Iterable<Integer> {
 		return new IntIterableInputStream(this);
 	}
 
+	/**
+	 * Write the {@code ints} in this {@code IntIterable} to the given channel in the compact {@link BinaryFormat},
+	 * in chunks through a reused buffer, to be read back by {@link ArrayIntList#readFrom(ReadableByteChannel)} or
+	 * {@link IntSequence#readFrom(ReadableByteChannel)}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be written to.
+	 * @since 2.3
+	 */
+	default void writeTo(WritableByteChannel channel) throws IOException {
+		BinaryFormat.writeInts(iterator(), BinaryFormat.sizeOf(this), channel, false);
+	}
+
+	/**
+	 * Write the {@code ints} in this {@code IntIterable} to the given channel like {@link
+	 * #writeTo(WritableByteChannel)}, but with each {@code int} written as a variable length difference from the
+	 * previous one where that is smaller, which makes sorted {@code ints} such as ids take one or two bytes each.
+	 *
+	 * @throws IOException if the channel could not be written to.
+	 * @since 2.3
+	 */
+	default void writeDeltasTo(WritableByteChannel channel) throws IOException {
+		BinaryFormat.writeInts(iterator(), BinaryFormat.sizeOf(this), channel, true);
+	}
+
 	default boolean isEmpty() {
 		return iterator().isEmpty();
 	}
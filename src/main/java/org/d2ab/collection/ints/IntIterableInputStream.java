@@ -26,14 +26,22 @@ import static java.lang.Math.min;
 /**
  * An {@link InputStream} that reads {@code byte} values from an {@link IntIterable}. All methods are supported.
  * Values outside of the byte range {@code 0} - {@code 255} inclusive will result in an {@link IOException} being
- * thrown at runtime.
+ * thrown at runtime. Reading into an array drains the {@code ints} in chunks using
+ * {@link IntIterator#nextInts(int[], int, int)}, so the {@code ints} of array backed iterables are copied in bulk.
+ * The bytes before an invalid value are returned first, and the invalid value fails the following read, with any
+ * {@code ints} drained after it kept for the reads after that.
  */
 public class IntIterableInputStream extends InputStream {
+	private static final int BUFFER_SIZE = 8192;
+
 	private final IntIterable iterable;
 
 	private IntIterator iterator;
 	private long position;
 	private long mark;
+	private int[] buffer;
+	private int pending;
+	private int pendingEnd;
 
 	public IntIterableInputStream(IntIterable iterable) {
 		this.iterable = iterable;
@@ -45,18 +53,20 @@ public class IntIterableInputStream extends InputStream {
 		if (iterator == null)
 			throw new IOException("closed");
 
+		if (pending < pendingEnd)
+			return toByte(buffer[pending++]);
+
 		if (!iterator.hasNext())
 			return -1;
 
-		return nextByte();
+		return toByte(iterator.nextInt());
 	}
 
-	private byte nextByte() throws IOException {
-		int nextInt = iterator.nextInt();
+	private byte toByte(int value) throws IOException {
 		position++;
-		if (nextInt < 0 || nextInt > 255)
-			throw new IOException("Invalid byte value: " + nextInt);
-		return (byte) nextInt;
+		if (value < 0 || value > 255)
+			throw new IOException("Invalid byte value: " + value);
+		return (byte) value;
 	}
 
 	@Override
@@ -67,14 +77,28 @@ public class IntIterableInputStream extends InputStream {
 		if (len == 0)
 			return 0;
 
-		if (!iterator.hasNext())
-			return -1;
+		if (buffer == null)
+			buffer = new int[BUFFER_SIZE];
 
 		int index = 0;
-		while (index < len && iterator.hasNext())
-			buf[off + index++] = nextByte();
+		while (index < len) {
+			if (pending == pendingEnd) {
+				pending = 0;
+				pendingEnd = iterator.nextInts(buffer, 0, min(len - index, buffer.length));
+				if (pendingEnd == 0)
+					break;
+			}
+
+			while (index < len && pending < pendingEnd) {
+				int value = buffer[pending];
+				if ((value < 0 || value > 255) && index > 0)
+					return index;
+
+				buf[off + index++] = toByte(buffer[pending++]);
+			}
+		}
 
-		return index;
+		return index == 0 ? -1 : index;
 	}
 
 	@Override
@@ -82,7 +106,9 @@ public class IntIterableInputStream extends InputStream {
 		if (iterator == null)
 			throw new IOException("closed");
 
-		long skipped = 0;
+		long skipped = n > 0 ? min(n, pendingEnd - pending) : 0;
+		pending += skipped;
+		n -= skipped;
 		while (n > Integer.MAX_VALUE) {
 			int skip = iterator.skip(Integer.MAX_VALUE);
 			if (skip == 0)
@@ -118,6 +144,7 @@ public class IntIterableInputStream extends InputStream {
 			throw new IOException("closed");
 
 		iterator = iterable.iterator();
+		pending = pendingEnd = 0;
 
 		position = 0;
 		long skipped = skip(mark);
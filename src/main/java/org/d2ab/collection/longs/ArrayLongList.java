@@ -18,7 +18,11 @@ package org.d2ab.collection.longs;
 
 import org.d2ab.collection.Arrayz;
 import org.d2ab.iterator.longs.LongIterator;
+import org.d2ab.util.BinaryFormat;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.function.LongConsumer;
 import java.util.function.LongPredicate;
@@ -71,6 +75,20 @@ public class ArrayLongList extends LongList.Base implements RandomAccess {
 		return new ArrayLongList(capacity);
 	}
 
+	/**
+	 * @return a new mutable {@code ArrayLongList} with the {@code longs} read from the given channel, as written by
+	 * {@link LongIterable#writeTo(WritableByteChannel)} or {@link
+	 * LongIterable#writeDeltasTo(WritableByteChannel)}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code longs} in the {@link
+	 *                     BinaryFormat}.
+	 * @since 2.3
+	 */
+	public static ArrayLongList readFrom(ReadableByteChannel channel) throws IOException {
+		long[] contents = BinaryFormat.readLongs(channel);
+		return new ArrayLongList(contents, contents.length);
+	}
+
 	/**
 	 * Create a new mutable {@code ArrayLongList}.
 	 *
@@ -94,6 +112,11 @@ public class ArrayLongList extends LongList.Base implements RandomAccess {
 		addAllLongs(xs);
 	}
 
+	private ArrayLongList(long[] contents, int size) {
+		this.contents = contents;
+		this.size = size;
+	}
+
 	public ArrayLongList(long[] xs) {
 		this.contents = Arrays.copyOf(xs, xs.length);
 		this.size = xs.length;
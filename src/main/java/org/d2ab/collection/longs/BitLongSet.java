@@ -22,6 +22,7 @@ import org.d2ab.iterator.longs.DelegatingUnaryLongIterator;
 import org.d2ab.iterator.longs.LongIterator;
 
 import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
 
 /**
  * An implementation of {@link LongSortedSet} backed by two {@link SparseBitSet}s for positive and negative values.
@@ -57,12 +58,17 @@ public class BitLongSet extends LongSet.Base implements LongSortedSet {
 
 	@Override
 	public LongIterator iterator() {
-		return new ChainingLongIterator(() -> new DelegatingUnaryLongIterator(negatives.descendingIterator()) {
+		return iterator(Long.MIN_VALUE);
+	}
+
+	private LongIterator iterator(long from) {
+		return new ChainingLongIterator(() -> new DelegatingUnaryLongIterator(
+				from < 0 ? negatives.descendingIterator(-(from + 1)) : LongIterator.EMPTY) {
 			@Override
 			public long nextLong() {
 				return -(iterator.nextLong() + 1);
 			}
-		}, positives) {
+		}, () -> positives.iterator(Math.max(from, 0))) {
 			int expectedModCount = modCount;
 
 			@Override
@@ -116,6 +122,70 @@ public class BitLongSet extends LongSet.Base implements LongSortedSet {
 			return negatives.clear(-(x + 1));
 	}
 
+	@Override
+	public boolean addAllLongs(LongCollection c) {
+		if (c instanceof BitLongSet) {
+			BitLongSet that = (BitLongSet) c;
+			modCount++;
+			return positives.or(that.positives) | negatives.or(that.negatives);
+		}
+
+		return super.addAllLongs(c);
+	}
+
+	@Override
+	public boolean removeAllLongs(LongIterable c) {
+		if (c instanceof BitLongSet) {
+			BitLongSet that = (BitLongSet) c;
+			modCount++;
+			return positives.andNot(that.positives) | negatives.andNot(that.negatives);
+		}
+
+		return super.removeAllLongs(c);
+	}
+
+	@Override
+	public boolean retainAllLongs(LongIterable c) {
+		if (c instanceof BitLongSet) {
+			BitLongSet that = (BitLongSet) c;
+			modCount++;
+			return positives.and(that.positives) | negatives.and(that.negatives);
+		}
+
+		return super.retainAllLongs(c);
+	}
+
+	@Override
+	public boolean containsAllLongs(LongIterable c) {
+		if (c instanceof BitLongSet) {
+			BitLongSet that = (BitLongSet) c;
+			return that.positives.differenceSize(positives) == 0 && that.negatives.differenceSize(negatives) == 0;
+		}
+
+		return super.containsAllLongs(c);
+	}
+
+	@Override
+	public boolean containsAnyLongs(LongIterable c) {
+		if (c instanceof BitLongSet) {
+			BitLongSet that = (BitLongSet) c;
+			return positives.intersects(that.positives) || negatives.intersects(that.negatives);
+		}
+
+		return super.containsAnyLongs(c);
+	}
+
+	@Override
+	public int intersectionSize(LongSet that) {
+		if (that instanceof BitLongSet) {
+			BitLongSet bitLongSet = (BitLongSet) that;
+			return (int) (positives.intersectionSize(bitLongSet.positives) +
+			              negatives.intersectionSize(bitLongSet.negatives));
+		}
+
+		return super.intersectionSize(that);
+	}
+
 	@Override
 	public boolean containsLong(long x) {
 		if (x >= 0)
@@ -123,4 +193,114 @@ public class BitLongSet extends LongSet.Base implements LongSortedSet {
 		else
 			return negatives.get(-(x + 1));
 	}
+
+	@Override
+	public LongSortedSet subSet(long from, long to) {
+		return to == Long.MIN_VALUE ? new Range(0, -1) : new Range(from, to - 1);
+	}
+
+	@Override
+	public LongSortedSet headSet(long to) {
+		return subSet(Long.MIN_VALUE, to);
+	}
+
+	@Override
+	public LongSortedSet tailSet(long from) {
+		return new Range(from, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @return a view of the bits in the given {@link SparseBitSet} between the given indices, both inclusive.
+	 */
+	private static LongSortedSet bits(SparseBitSet bits, long from, long last) {
+		return last == Long.MAX_VALUE ? bits.tailSet(from) : bits.subSet(from, last + 1);
+	}
+
+	/**
+	 * A view of the values in a {@code BitLongSet} between two values, both inclusive, which seeks directly to its
+	 * first value and counts its values without iterating over them.
+	 */
+	private class Range extends SubSet {
+		private final long from;
+		private final long last;
+		private final LongSortedSet positiveBits;
+		private final LongSortedSet negativeBits;
+
+		private Range(long from, long last) {
+			super(BitLongSet.this);
+			this.from = from;
+			this.last = last;
+			this.positiveBits = bits(positives, Math.max(from, 0), last);
+			this.negativeBits = from > last ? bits(negatives, 0, -1) :
+			                    bits(negatives, -(Math.min(last, -1) + 1), -(from + 1));
+		}
+
+		@Override
+		public LongIterator iterator() {
+			return from > last ? LongIterator.EMPTY : untilExcluded(BitLongSet.this.iterator(from));
+		}
+
+		@Override
+		public int size() {
+			long bitCount = (long) negativeBits.size() + positiveBits.size();
+
+			if (bitCount > Integer.MAX_VALUE)
+				throw new IllegalStateException("size > Integer.MAX_VALUE: " + bitCount);
+
+			return (int) bitCount;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return negativeBits.isEmpty() && positiveBits.isEmpty();
+		}
+
+		@Override
+		public void clear() {
+			negativeBits.clear();
+			positiveBits.clear();
+			modCount++;
+		}
+
+		@Override
+		public long firstLong() {
+			if (!negativeBits.isEmpty())
+				return -(negativeBits.lastLong() + 1);
+			if (!positiveBits.isEmpty())
+				return positiveBits.firstLong();
+
+			throw new NoSuchElementException();
+		}
+
+		@Override
+		public long lastLong() {
+			if (!positiveBits.isEmpty())
+				return positiveBits.lastLong();
+			if (!negativeBits.isEmpty())
+				return -(negativeBits.firstLong() + 1);
+
+			throw new NoSuchElementException();
+		}
+
+		@Override
+		public LongSortedSet subSet(long from, long to) {
+			return to == Long.MIN_VALUE ? new Range(0, -1) :
+			       new Range(Math.max(this.from, from), Math.min(last, to - 1));
+		}
+
+		@Override
+		public LongSortedSet headSet(long to) {
+			return subSet(from, to);
+		}
+
+		@Override
+		public LongSortedSet tailSet(long from) {
+			return new Range(Math.max(this.from, from), last);
+		}
+
+		@Override
+		protected boolean included(long x) {
+			return x >= from && x <= last;
+		}
+	}
 }
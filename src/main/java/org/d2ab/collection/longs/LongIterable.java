@@ -20,8 +20,12 @@ import org.d2ab.collection.Arrayz;
 import org.d2ab.iterator.longs.ArrayLongIterator;
 import org.d2ab.iterator.longs.LongIterator;
 import org.d2ab.sequence.LongSequence;
+import org.d2ab.util.BinaryFormat;
 import org.d2ab.util.Strict;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -91,6 +95,30 @@ public interface LongIterable extends Iterable<Long> {
 		return LongSequence.from(this);
 	}
 
+	/**
+	 * Write the {@code longs} in this {@code LongIterable} to the given channel in the compact {@link BinaryFormat},
+	 * in chunks through a reused buffer, to be read back by {@link ArrayLongList#readFrom(ReadableByteChannel)} or
+	 * {@link LongSequence#readFrom(ReadableByteChannel)}. The channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be written to.
+	 * @since 2.3
+	 */
+	default void writeTo(WritableByteChannel channel) throws IOException {
+		BinaryFormat.writeLongs(iterator(), BinaryFormat.sizeOf(this), channel, false);
+	}
+
+	/**
+	 * Write the {@code longs} in this {@code LongIterable} to the given channel like {@link
+	 * #writeTo(WritableByteChannel)}, but with each {@code long} written as a variable length difference from the
+	 * previous one where that is smaller, which makes sorted {@code longs} such as ids take one or two bytes each.
+	 *
+	 * @throws IOException if the channel could not be written to.
+	 * @since 2.3
+	 */
+	default void writeDeltasTo(WritableByteChannel channel) throws IOException {
+		BinaryFormat.writeLongs(iterator(), BinaryFormat.sizeOf(this), channel, true);
+	}
+
 	default boolean isEmpty() {
 		return iterator().isEmpty();
 	}
@@ -0,0 +1,623 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.longs;
+
+import org.d2ab.function.LongObjConsumer;
+import org.d2ab.iterator.longs.LongIterator;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Map} from {@code long} keys to object values, backed by an open addressing hash table with linear probing.
+ * Supplements all {@link Long}-keyed methods with corresponding {@code long}-keyed methods which do not box the
+ * keys. Entries are held in flat arrays instead of one node per entry. The iteration order is unspecified.
+ *
+ * @since 2.3
+ */
+public class LongObjMap<V> extends AbstractMap<Long, V> {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	// 0 marks a free slot, so the key 0 is kept in its own fields
+	private long[] keys;
+	private Object[] values;
+	private boolean containsZeroKey;
+	private V zeroValue;
+	private int size;
+	private int mask;
+	private int maxFill;
+
+	private int modCount;
+
+	public LongObjMap() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Create a {@code LongObjMap} that holds the given number of entries without resizing.
+	 */
+	public LongObjMap(int expectedSize) {
+		if (expectedSize < 0)
+			throw new IllegalArgumentException("expectedSize < 0: " + expectedSize);
+
+		allocate(capacity(expectedSize));
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		containsZeroKey = false;
+		zeroValue = null;
+		size = 0;
+		modCount++;
+	}
+
+	public boolean containsKey(long key) {
+		return key == 0 ? containsZeroKey : find(key) >= 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Long && containsKey((long) key);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		if (containsZeroKey && Objects.equals(zeroValue, value))
+			return true;
+
+		for (int slot = 0; slot < keys.length; slot++)
+			if (keys[slot] != 0 && Objects.equals(values[slot], value))
+				return true;
+
+		return false;
+	}
+
+	/**
+	 * @return the value of the given key, or {@code null} if the key is not in this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		if (key == 0)
+			return zeroValue;
+
+		int slot = find(key);
+		return slot >= 0 ? (V) values[slot] : null;
+	}
+
+	/**
+	 * @return the value of the given key, or the given default value if the key is not in this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(long key, V defaultValue) {
+		if (key == 0)
+			return containsZeroKey ? zeroValue : defaultValue;
+
+		int slot = find(key);
+		return slot >= 0 ? (V) values[slot] : defaultValue;
+	}
+
+	@Override
+	public V get(Object key) {
+		return key instanceof Long ? get((long) key) : null;
+	}
+
+	/**
+	 * Associate the given value with the given key.
+	 *
+	 * @return the previous value of the given key, or {@code null} if the key was not in this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (key == 0) {
+			V previous = zeroValue;
+			putZero(value);
+			return previous;
+		}
+
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask)
+			if (k == key) {
+				V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+
+		insert(slot, key, value);
+		return null;
+	}
+
+	@Override
+	public V put(Long key, V value) {
+		return put((long) key, value);
+	}
+
+	/**
+	 * Remove the given key from this map.
+	 *
+	 * @return the value of the removed key, or {@code null} if the key was not in this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		V previous;
+		if (key == 0) {
+			if (!containsZeroKey)
+				return null;
+
+			previous = zeroValue;
+			containsZeroKey = false;
+			zeroValue = null;
+		} else {
+			int slot = find(key);
+			if (slot < 0)
+				return null;
+
+			previous = (V) values[slot];
+			shiftBack(slot);
+		}
+		size--;
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public V remove(Object key) {
+		return key instanceof Long ? remove((long) key) : null;
+	}
+
+	/**
+	 * Associate the given key with the given value if the key is not in this map or maps to {@code null}, or with the
+	 * result of applying the given function to the current value and the given value otherwise. If the function
+	 * returns {@code null}, the key is removed. This is the {@code long}-keyed counterpart of {@link Map#merge}.
+	 *
+	 * @return the new value of the given key, or {@code null} if the key was removed.
+	 */
+	@SuppressWarnings("unchecked")
+	public V merge(long key, V value, BiFunction<? super V, ? super V, ? extends V> remapper) {
+		requireNonNull(value, "value");
+		requireNonNull(remapper, "remapper");
+
+		int slot = key == 0 ? -1 : find(key);
+		V current = key == 0 ? zeroValue : slot >= 0 ? (V) values[slot] : null;
+		if (current == null) {
+			if (slot >= 0)
+				values[slot] = value;
+			else
+				put(key, value);
+			return value;
+		}
+
+		V merged = remapper.apply(current, value);
+		if (merged == null)
+			remove(key);
+		else if (slot >= 0)
+			values[slot] = merged;
+		else
+			zeroValue = merged;
+		return merged;
+	}
+
+	/**
+	 * Associate the given key with the result of applying the given function to the key, if the key is not already
+	 * in this map or maps to {@code null}. If the function returns {@code null}, no value is associated with the key.
+	 * This is the {@code long}-keyed counterpart of {@link Map#computeIfAbsent}, and is typically used to group values,
+	 * as in {@code map.computeIfAbsent(key, k -> new ArrayList<>()).add(x)}.
+	 *
+	 * @return the current value of the given key, which is the computed value if the key was not in this map.
+	 *
+	 * @throws ConcurrentModificationException if the given function modifies this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V computeIfAbsent(long key, LongFunction<? extends V> mapper) {
+		if (key == 0) {
+			if (zeroValue == null) {
+				V value = computeChecked(key, mapper);
+				if (value != null)
+					putZero(value);
+			}
+			return zeroValue;
+		}
+
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask)
+			if (k == key) {
+				if (values[slot] == null)
+					values[slot] = computeChecked(key, mapper);
+				return (V) values[slot];
+			}
+
+		V value = computeChecked(key, mapper);
+		if (value != null)
+			insert(slot, key, value);
+		return value;
+	}
+
+	/**
+	 * Perform the given action for each key and value in this map, without boxing the keys.
+	 *
+	 * @throws ConcurrentModificationException if the given action modifies the keys of this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachEntry(LongObjConsumer<? super V> action) {
+		int expectedModCount = modCount;
+		if (containsZeroKey)
+			action.accept(0, zeroValue);
+		for (int slot = 0; slot < keys.length && expectedModCount == modCount; slot++)
+			if (keys[slot] != 0)
+				action.accept(keys[slot], (V) values[slot]);
+		if (expectedModCount != modCount)
+			throw new ConcurrentModificationException();
+	}
+
+	/**
+	 * @return a {@link LongSet} view of the keys in this map, which supports removal but not addition.
+	 */
+	@Override
+	public LongSet keySet() {
+		return new KeySet();
+	}
+
+	@Override
+	public Set<Entry<Long, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	private static int capacity(int expectedSize) {
+		long capacity = INITIAL_CAPACITY;
+		while (capacity * 3 / 4 <= expectedSize && capacity < MAX_CAPACITY)
+			capacity <<= 1;
+		return (int) capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		maxFill = capacity == MAX_CAPACITY ? capacity - 1 : capacity * 3 / 4;
+	}
+
+	private void grow() {
+		if (keys.length == MAX_CAPACITY)
+			throw new IllegalStateException("size > " + maxFill);
+
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(oldKeys.length << 1);
+		for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+			long key = oldKeys[oldSlot];
+			if (key != 0) {
+				int slot = freeSlot(key);
+				keys[slot] = key;
+				values[slot] = oldValues[oldSlot];
+			}
+		}
+	}
+
+	private void putZero(V value) {
+		zeroValue = value;
+		if (!containsZeroKey) {
+			containsZeroKey = true;
+			size++;
+			modCount++;
+		}
+	}
+
+	private void insert(int slot, long key, V value) {
+		if (size >= maxFill) {
+			grow();
+			slot = freeSlot(key);
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		size++;
+		modCount++;
+	}
+
+	private V computeChecked(long key, LongFunction<? extends V> mapper) {
+		int expectedModCount = modCount;
+		V value = mapper.apply(key);
+		if (expectedModCount != modCount)
+			throw new ConcurrentModificationException();
+		return value;
+	}
+
+	private int find(long key) {
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask)
+			if (k == key)
+				return slot;
+		return -1;
+	}
+
+	private int freeSlot(long key) {
+		int slot = slot(key);
+		while (keys[slot] != 0)
+			slot = slot + 1 & mask;
+		return slot;
+	}
+
+	private int slot(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ hash >>> 32) & mask;
+	}
+
+	/**
+	 * Remove the entry in the given slot by shifting back any following entries in the same probe sequence, keeping
+	 * every entry reachable from its own slot without leaving markers for removed entries.
+	 *
+	 * @return the slot that received an entry from a slot below the given slot by wrapping around the end of the
+	 * table, which an iterator moving from the end of the table towards the start has to remember, or {@code -1} if
+	 * there was no such entry.
+	 */
+	private int shiftBack(int slot) {
+		int wrapped = -1;
+		int free = slot;
+		for (int next = free + 1 & mask; keys[next] != 0; next = next + 1 & mask) {
+			long key = keys[next];
+			int home = slot(key);
+			boolean reachable = free <= next ? free < home && home <= next : free < home || home <= next;
+			if (!reachable) {
+				keys[free] = key;
+				values[free] = values[next];
+				if (next < free)
+					wrapped = free;
+				free = next;
+			}
+		}
+		keys[free] = 0;
+		values[free] = null;
+		return wrapped;
+	}
+
+	/**
+	 * Iterates over the slots from the end of the table towards the start, followed by any entries that were moved
+	 * past the current slot when removing entries during iteration, and finally the key {@code 0} if present.
+	 */
+	private abstract class Iter {
+		private int slot = keys.length;
+		private long[] wrappedKeys;
+		private Object[] wrappedValues;
+		private int wrappedSize;
+		private boolean zero = containsZeroKey;
+
+		protected long key;
+		protected V value;
+		private int lastSlot = -1;
+		private boolean canRemove;
+
+		private int expectedModCount = modCount;
+
+		private Iter() {
+			seek();
+		}
+
+		public boolean hasNext() {
+			return slot >= 0 || wrappedSize > 0 || zero;
+		}
+
+		@SuppressWarnings("unchecked")
+		protected void advance() {
+			checkForCoModification();
+			if (slot >= 0) {
+				key = keys[lastSlot = slot];
+				value = (V) values[slot];
+				seek();
+			} else if (wrappedSize > 0) {
+				wrappedSize--;
+				key = wrappedKeys[wrappedSize];
+				value = (V) wrappedValues[wrappedSize];
+				wrappedValues[wrappedSize] = null;
+				lastSlot = -1;
+			} else if (zero) {
+				key = 0;
+				value = zeroValue;
+				lastSlot = -1;
+				zero = false;
+			} else {
+				throw new NoSuchElementException();
+			}
+			canRemove = true;
+		}
+
+		public void remove() {
+			checkForCoModification();
+			if (!canRemove)
+				throw new IllegalStateException("Cannot remove before call to next or after call to remove");
+
+			canRemove = false;
+			if (lastSlot >= 0) {
+				int moved = shiftBack(lastSlot);
+				if (moved >= 0) {
+					if (wrappedKeys == null) {
+						wrappedKeys = new long[2];
+						wrappedValues = new Object[2];
+					} else if (wrappedSize == wrappedKeys.length) {
+						wrappedKeys = Arrays.copyOf(wrappedKeys, wrappedSize << 1);
+						wrappedValues = Arrays.copyOf(wrappedValues, wrappedSize << 1);
+					}
+					wrappedKeys[wrappedSize] = keys[moved];
+					wrappedValues[wrappedSize] = values[moved];
+					wrappedSize++;
+				}
+				if (slot >= 0 && keys[slot] == 0)
+					seek();
+				size--;
+				modCount++;
+			} else {
+				LongObjMap.this.remove(key);
+			}
+			expectedModCount = modCount;
+		}
+
+		private void seek() {
+			do
+				slot--;
+			while (slot >= 0 && keys[slot] == 0);
+		}
+
+		private void checkForCoModification() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+	}
+
+	private class KeyIterator extends Iter implements LongIterator {
+		@Override
+		public long nextLong() {
+			advance();
+			return key;
+		}
+	}
+
+	private class EntryIterator extends Iter implements Iterator<Entry<Long, V>> {
+		@Override
+		public Entry<Long, V> next() {
+			advance();
+			return new MapEntry(key, value);
+		}
+	}
+
+	private class MapEntry implements Entry<Long, V> {
+		private final long key;
+		private V value;
+
+		private MapEntry(long key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Long getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public V setValue(V value) {
+			V previous = this.value;
+			put(key, value);
+			this.value = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+
+			Entry<?, ?> that = (Entry<?, ?>) o;
+			return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(key) ^ Objects.hashCode(value);
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	private class KeySet extends LongSet.Base {
+		@Override
+		public LongIterator iterator() {
+			return new KeyIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			LongObjMap.this.clear();
+		}
+
+		@Override
+		public boolean containsLong(long x) {
+			return containsKey(x);
+		}
+
+		@Override
+		public boolean removeLong(long x) {
+			if (!containsKey(x))
+				return false;
+
+			LongObjMap.this.remove(x);
+			return true;
+		}
+	}
+
+	private class EntrySet extends AbstractSet<Entry<Long, V>> {
+		@Override
+		public Iterator<Entry<Long, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			LongObjMap.this.clear();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+
+			Entry<?, ?> entry = (Entry<?, ?>) o;
+			Object key = entry.getKey();
+			return key instanceof Long && containsKey((long) key) &&
+			       Objects.equals(get((long) key), entry.getValue());
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (!contains(o))
+				return false;
+
+			LongObjMap.this.remove((Long) ((Entry<?, ?>) o).getKey());
+			return true;
+		}
+	}
+}
@@ -83,6 +83,20 @@ public interface LongSet extends Set<Long>, LongCollection {
 		return Collectionz.retainAll(this, c);
 	}
 
+	/**
+	 * @return the number of values that are in both this {@code LongSet} and the given {@code LongSet}, without
+	 * creating the intersection.
+	 *
+	 * @since 2.3
+	 */
+	default int intersectionSize(LongSet that) {
+		int intersectionSize = 0;
+		for (LongIterator iterator = iterator(); iterator.hasNext(); )
+			if (that.containsLong(iterator.nextLong()))
+				intersectionSize++;
+		return intersectionSize;
+	}
+
 	@Override
 	default Spliterator.OfLong spliterator() {
 		return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.NONNULL);
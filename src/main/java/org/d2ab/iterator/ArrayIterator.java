@@ -18,11 +18,13 @@ package org.d2ab.iterator;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * An {@link Iterator} over an array of items.
  */
-public class ArrayIterator<T> implements Iterator<T> {
+public class ArrayIterator<T> implements ShortCircuitingIterator<T> {
 	private final T[] items;
 	private int index;
 
@@ -43,4 +45,19 @@ public class ArrayIterator<T> implements Iterator<T> {
 
 		return items[index++];
 	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		while (index < items.length)
+			action.accept(items[index++]);
+	}
+
+	@Override
+	public boolean forEachWhile(Predicate<? super T> action) {
+		while (index < items.length)
+			if (!action.test(items[index++]))
+				return false;
+
+		return true;
+	}
 }
@@ -24,7 +24,7 @@ import static org.d2ab.iterator.DelegatingTransformingIterator.State.INIT;
  * An {@link Iterator} that delegates to another {@link Iterator} of a different value type as well as transforming the
  * type of the {@link Iterator} represented.
  */
-public abstract class DelegatingTransformingIterator<T, I extends Iterator<? extends T>, U> implements Iterator<U> {
+public abstract class DelegatingTransformingIterator<T, I extends Iterator<? extends T>, U> implements ShortCircuitingIterator<U> {
 	protected I iterator;
 
 	public enum State {INIT, HAS_NEXT, NEXT}
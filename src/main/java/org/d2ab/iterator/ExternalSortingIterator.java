@@ -0,0 +1,311 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.iterator;
+
+import org.d2ab.util.Serializer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * An {@link Iterator} that sorts the elements of another {@link Iterator} without holding them all in memory at
+ * once. Elements are read in runs of at most a given size, each run is sorted in memory and spilled to a temporary
+ * file, and the runs are then merged lazily. The last run is kept in memory, so if the input fits in a single run,
+ * nothing is written to disk. The sort is stable.
+ * <p>
+ * At most {@value #MAX_FAN_IN} runs are merged at once. If more runs are spilled, consecutive groups of runs are first
+ * merged into larger runs, in as many passes as needed, so the number of open files stays bounded however large the
+ * input is. Each run is opened only when the merge it takes part in starts, and its file is removed as soon as it has
+ * been opened where the file system allows it, or else when the run has been merged. If the iteration fails, all
+ * temporary files are closed and removed.
+ */
+public class ExternalSortingIterator<T> extends DelegatingMappingIterator<T, T> {
+	static final int MAX_FAN_IN = 64;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Comparator<? super T> comparator;
+	private final int spillThreshold;
+	private final Serializer<T> serializer;
+	private final Path tempDir;
+
+	private final Set<Path> files = new HashSet<>();
+	private PriorityQueue<Run<T>> runs;
+
+	public ExternalSortingIterator(Iterator<? extends T> iterator, Comparator<? super T> comparator,
+	                               int spillThreshold, Serializer<T> serializer, Path tempDir) {
+		super(iterator);
+		if (spillThreshold < 1)
+			throw new IllegalArgumentException("spillThreshold < 1: " + spillThreshold);
+		this.comparator = comparator;
+		this.spillThreshold = spillThreshold;
+		this.serializer = serializer;
+		this.tempDir = tempDir;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (runs == null)
+			runs = sort();
+		return !runs.isEmpty();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		Run<T> run = runs.poll();
+		T next = run.current;
+		try {
+			if (run.advance())
+				runs.add(run);
+		} catch (RuntimeException e) {
+			run.close();
+			cleanUp(runs);
+			throw e;
+		}
+		return next;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	private PriorityQueue<Run<T>> sort() {
+		PriorityQueue<Run<T>> runs = newQueue();
+		try {
+			List<Path> spilled = new ArrayList<>();
+			List<T> buffer = new ArrayList<>(Math.min(spillThreshold, 1024));
+			Run<T> last = null;
+			while (iterator.hasNext()) {
+				buffer.clear();
+				while (buffer.size() < spillThreshold && iterator.hasNext())
+					buffer.add(iterator.next());
+				buffer.sort(comparator);
+
+				if (iterator.hasNext())
+					spilled.add(write(buffer));
+				else
+					last = new MemoryRun<>(buffer);
+			}
+
+			while (spilled.size() > MAX_FAN_IN)
+				spilled = mergePass(spilled);
+
+			for (int i = 0; i < spilled.size(); i++)
+				open(runs, i, spilled.get(i));
+			if (last != null)
+				add(runs, last);
+			return runs;
+		} catch (RuntimeException e) {
+			cleanUp(runs);
+			throw e;
+		}
+	}
+
+	private List<Path> mergePass(List<Path> spilled) {
+		List<Path> merged = new ArrayList<>();
+		for (int i = 0; i < spilled.size(); i += MAX_FAN_IN)
+			merged.add(merge(spilled.subList(i, Math.min(i + MAX_FAN_IN, spilled.size()))));
+		return merged;
+	}
+
+	private Path merge(List<Path> group) {
+		PriorityQueue<Run<T>> runs = newQueue();
+		try {
+			long size = 0;
+			for (int i = 0; i < group.size(); i++)
+				size += open(runs, i, group.get(i)).size;
+
+			Path merged = createFile();
+			try (DataOutputStream output = newOutput(merged)) {
+				output.writeLong(size);
+				while (!runs.isEmpty()) {
+					Run<T> run = runs.poll();
+					serializer.write(run.current, output);
+					if (run.advance())
+						runs.add(run);
+				}
+			}
+			return merged;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		} finally {
+			for (Run<T> run : runs)
+				run.close();
+		}
+	}
+
+	private Path write(List<T> buffer) {
+		try {
+			Path file = createFile();
+			try (DataOutputStream output = newOutput(file)) {
+				output.writeLong(buffer.size());
+				for (T each : buffer)
+					serializer.write(each, output);
+			}
+			return file;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
+	}
+
+	private Path createFile() throws IOException {
+		Path file = tempDir == null ? Files.createTempFile("sequence-sort-", ".run") :
+		            Files.createTempFile(tempDir, "sequence-sort-", ".run");
+		files.add(file);
+		return file;
+	}
+
+	private static DataOutputStream newOutput(Path file) throws IOException {
+		return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+	}
+
+	private PriorityQueue<Run<T>> newQueue() {
+		return new PriorityQueue<>((r1, r2) -> {
+			int comparison = comparator.compare(r1.current, r2.current);
+			return comparison != 0 ? comparison : Integer.compare(r1.index, r2.index);
+		});
+	}
+
+	private FileRun open(PriorityQueue<Run<T>> runs, int index, Path file) {
+		try {
+			FileRun run = new FileRun(index, file);
+			add(runs, run);
+			return run;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
+	}
+
+	private static <T> void add(PriorityQueue<Run<T>> runs, Run<T> run) {
+		if (run.advance())
+			runs.add(run);
+		else
+			run.close();
+	}
+
+	private boolean delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+			files.remove(file);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private void cleanUp(Collection<Run<T>> runs) {
+		for (Run<T> run : runs)
+			run.close();
+		runs.clear();
+		for (Path file : new ArrayList<>(files))
+			delete(file);
+	}
+
+	private static abstract class Run<T> {
+		private final int index;
+		protected T current;
+
+		protected Run(int index) {
+			this.index = index;
+		}
+
+		protected abstract boolean advance();
+
+		protected void close() {
+		}
+	}
+
+	private static class MemoryRun<T> extends Run<T> {
+		private final Iterator<T> iterator;
+
+		private MemoryRun(List<T> elements) {
+			super(Integer.MAX_VALUE);
+			this.iterator = elements.iterator();
+		}
+
+		@Override
+		protected boolean advance() {
+			if (!iterator.hasNext())
+				return false;
+
+			current = iterator.next();
+			return true;
+		}
+	}
+
+	private class FileRun extends Run<T> {
+		private final Path file;
+		private final DataInputStream input;
+		private final long size;
+		private long remaining;
+		private boolean deleted;
+		private boolean closed;
+
+		private FileRun(int index, Path file) throws IOException {
+			super(index);
+			this.file = file;
+			this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(file.toFile()), BUFFER_SIZE));
+			this.deleted = delete(file);
+			try {
+				this.size = input.readLong();
+				this.remaining = size;
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		}
+
+		@Override
+		protected boolean advance() {
+			if (remaining == 0) {
+				close();
+				current = null;
+				return false;
+			}
+
+			try {
+				current = serializer.read(input);
+				remaining--;
+				return true;
+			} catch (IOException e) {
+				throw new IterationException(e);
+			}
+		}
+
+		@Override
+		protected void close() {
+			if (closed)
+				return;
+
+			closed = true;
+			try {
+				input.close();
+			} catch (IOException ignored) {
+				// nothing more to read
+			}
+			if (!deleted)
+				deleted = delete(file);
+		}
+	}
+}
@@ -18,6 +18,7 @@ package org.d2ab.iterator;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public class FilteringIterator<T> extends DelegatingUnaryIterator<T> {
@@ -57,4 +58,28 @@ public class FilteringIterator<T> extends DelegatingUnaryIterator<T> {
 		hasNext = false;
 		return next;
 	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		if (hasNext) {
+			hasNext = false;
+			action.accept(next);
+		}
+
+		iterator.forEachRemaining(x -> {
+			if (predicate.test(x))
+				action.accept(x);
+		});
+	}
+
+	@Override
+	public boolean forEachWhile(Predicate<? super T> action) {
+		if (hasNext) {
+			hasNext = false;
+			if (!action.test(next))
+				return false;
+		}
+
+		return Iterators.forEachWhile(iterator, x -> !predicate.test(x) || action.test(x));
+	}
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator;
+
+import org.d2ab.util.Pair;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An {@link Iterator} that joins the elements of a delegate {@link Iterator} with the elements of an {@link Iterable}
+ * that have an equal key, producing a {@link Pair} for each match. The {@link Iterable} is read once into a hash table
+ * of keys to matching elements, after which each element of the delegate {@link Iterator} is matched in constant
+ * time. Matches are produced in the order of the delegate {@link Iterator}, and for each element in the order of the
+ * {@link Iterable}. If the join is an outer join, elements of the delegate {@link Iterator} without any match are
+ * paired with {@code null}.
+ */
+public class HashJoiningIterator<L, R, K> extends DelegatingMappingIterator<L, Pair<L, R>> {
+	private final Function<? super L, ? extends K> leftKey;
+	private final boolean outer;
+	private final Map<K, List<R>> table = new HashMap<>();
+
+	private L left;
+	private List<R> matches = Collections.emptyList();
+	private int index;
+
+	public HashJoiningIterator(Iterator<? extends L> iterator, Iterable<? extends R> right,
+	                           Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+	                           boolean outer) {
+		super(iterator);
+		this.leftKey = leftKey;
+		this.outer = outer;
+		for (R each : right)
+			table.computeIfAbsent(rightKey.apply(each), k -> new ArrayList<>(1)).add(each);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (index == matches.size()) {
+			if (!iterator.hasNext())
+				return false;
+
+			left = iterator.next();
+			matches = table.get(leftKey.apply(left));
+			if (matches == null)
+				matches = outer ? Collections.singletonList(null) : Collections.emptyList();
+			index = 0;
+		}
+		return true;
+	}
+
+	@Override
+	public Pair<L, R> next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		return Pair.of(left, matches.get(index++));
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
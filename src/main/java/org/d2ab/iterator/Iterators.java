@@ -134,6 +134,44 @@ public interface Iterators {
 		return count;
 	}
 
+	/**
+	 * Perform the given action on each remaining element in the given {@link Iterator}, until the action returns false
+	 * or there are no more elements. Iterators that are {@link ShortCircuitingIterator}s push their elements to the
+	 * action, others are traversed with {@link Iterator#hasNext()} and {@link Iterator#next()}.
+	 *
+	 * @return true if there were no more elements, or false if the action returned false.
+	 *
+	 * @since 2.3
+	 */
+	static <T> boolean forEachWhile(Iterator<? extends T> iterator, Predicate<? super T> action) {
+		if (iterator instanceof ShortCircuitingIterator)
+			return ((ShortCircuitingIterator<? extends T>) iterator).forEachWhile(action);
+
+		while (iterator.hasNext())
+			if (!action.test(iterator.next()))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * @return the first element in the given {@link Iterator} or an empty {@link Optional} if there are no elements in
+	 * the {@link Iterator}.
+	 *
+	 * @since 2.3
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Optional<T> first(Iterator<? extends T> iterator) {
+		Object[] first = new Object[1];
+		if (forEachWhile(iterator, each -> {
+			first[0] = each;
+			return false;
+		}))
+			return Optional.empty();
+
+		return Optional.of((T) first[0]);
+	}
+
 	/**
 	 * Reduce the given iterator into a single element by iteratively applying the given binary operator to
 	 * the current result and each element in this sequence. Returns an empty optional if the sequence is empty,
@@ -155,11 +193,11 @@ public interface Iterators {
 	 * Reduce the given iterator into a single element by iteratively applying the given binary operator to
 	 * the current result and each element in this sequence, starting with the given identity as the initial result.
 	 */
+	@SuppressWarnings("unchecked")
 	static <T> T reduce(Iterator<? extends T> iterator, T identity, BinaryOperator<T> operator) {
-		T result = identity;
-		while (iterator.hasNext())
-			result = operator.apply(result, iterator.next());
-		return result;
+		Object[] result = {identity};
+		iterator.forEachRemaining(each -> result[0] = operator.apply((T) result[0], each));
+		return (T) result[0];
 	}
 
 	/**
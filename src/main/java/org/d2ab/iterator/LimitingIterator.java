@@ -18,6 +18,8 @@ package org.d2ab.iterator;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class LimitingIterator<T> extends DelegatingUnaryIterator<T> {
 	private final int limit;
@@ -41,4 +43,23 @@ public class LimitingIterator<T> extends DelegatingUnaryIterator<T> {
 		count++;
 		return next;
 	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		while (count < limit && iterator.hasNext()) {
+			action.accept(iterator.next());
+			count++;
+		}
+	}
+
+	@Override
+	public boolean forEachWhile(Predicate<? super T> action) {
+		while (count < limit && iterator.hasNext()) {
+			count++;
+			if (!action.test(iterator.next()))
+				return false;
+		}
+
+		return true;
+	}
 }
@@ -17,7 +17,9 @@
 package org.d2ab.iterator;
 
 import java.util.Iterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 public class MappingIterator<T, U> extends DelegatingMappingIterator<T, U> {
 	private final Function<? super T, ? extends U> mapper;
@@ -31,4 +33,14 @@ public class MappingIterator<T, U> extends DelegatingMappingIterator<T, U> {
 	public U next() {
 		return mapper.apply(iterator.next());
 	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super U> action) {
+		iterator.forEachRemaining(x -> action.accept(mapper.apply(x)));
+	}
+
+	@Override
+	public boolean forEachWhile(Predicate<? super U> action) {
+		return Iterators.forEachWhile(iterator, x -> action.test(mapper.apply(x)));
+	}
 }
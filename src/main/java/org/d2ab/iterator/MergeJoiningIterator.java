@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator;
+
+import org.d2ab.util.Pair;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An {@link Iterator} that joins the elements of a delegate {@link Iterator} with the elements of another
+ * {@link Iterator} that have an equal key, producing a {@link Pair} for each match, where both iterators are sorted
+ * by key according to the given {@link Comparator}. Both iterators are traversed once in step with each other, and
+ * only the elements of the other {@link Iterator} that share the current key are held in memory. Matches are produced
+ * in the order of the delegate {@link Iterator}, and for each element in the order of the other {@link Iterator}.
+ * Elements that are out of order are not matched.
+ */
+public class MergeJoiningIterator<L, R, K> extends DelegatingMappingIterator<L, Pair<L, R>> {
+	private final Iterator<? extends R> right;
+	private final Function<? super L, ? extends K> leftKey;
+	private final Function<? super R, ? extends K> rightKey;
+	private final Comparator<? super K> comparator;
+
+	private R nextRight;
+	private K nextRightKey;
+	private boolean hasNextRight;
+
+	private final List<R> run = new ArrayList<>();
+	private K runKey;
+	private int index;
+
+	private L left;
+
+	public MergeJoiningIterator(Iterator<? extends L> iterator, Iterator<? extends R> right,
+	                            Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+	                            Comparator<? super K> comparator) {
+		super(iterator);
+		this.right = right;
+		this.leftKey = leftKey;
+		this.rightKey = rightKey;
+		this.comparator = comparator;
+		advanceRight();
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (index == run.size()) {
+			if (!iterator.hasNext())
+				return false;
+
+			left = iterator.next();
+			K key = leftKey.apply(left);
+			index = 0;
+			if (!run.isEmpty() && comparator.compare(runKey, key) == 0)
+				continue;
+
+			run.clear();
+			while (hasNextRight && comparator.compare(nextRightKey, key) < 0)
+				advanceRight();
+
+			if (hasNextRight && comparator.compare(nextRightKey, key) == 0) {
+				runKey = nextRightKey;
+				do {
+					run.add(nextRight);
+					advanceRight();
+				} while (hasNextRight && comparator.compare(nextRightKey, runKey) == 0);
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public Pair<L, R> next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		return Pair.of(left, run.get(index++));
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	private void advanceRight() {
+		hasNextRight = right.hasNext();
+		if (hasNextRight) {
+			nextRight = right.next();
+			nextRightKey = rightKey.apply(nextRight);
+		} else {
+			nextRight = null;
+			nextRightKey = null;
+		}
+	}
+}
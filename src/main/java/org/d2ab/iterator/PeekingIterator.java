@@ -18,6 +18,7 @@ package org.d2ab.iterator;
 
 import java.util.Iterator;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class PeekingIterator<T> extends DelegatingUnaryIterator<T> {
 	private final Consumer<? super T> action;
@@ -33,4 +34,20 @@ public class PeekingIterator<T> extends DelegatingUnaryIterator<T> {
 		action.accept(next);
 		return next;
 	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		iterator.forEachRemaining(x -> {
+			this.action.accept(x);
+			action.accept(x);
+		});
+	}
+
+	@Override
+	public boolean forEachWhile(Predicate<? super T> action) {
+		return Iterators.forEachWhile(iterator, x -> {
+			this.action.accept(x);
+			return action.test(x);
+		});
+	}
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.iterator;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link Spliterator} over a range of indices in a random access source of elements, such as a
+ * {@link java.util.RandomAccess} list. Always reports {@link #SIZED} and {@link #SUBSIZED}, and splits in constant
+ * time by halving the remaining range of indices.
+ *
+ * @since 2.3
+ */
+public class RandomAccessSpliterator<T> implements Spliterator<T> {
+	private final IntFunction<? extends T> source;
+	private final int characteristics;
+
+	private int index;
+	private final int end;
+
+	public RandomAccessSpliterator(IntFunction<? extends T> source, int size, int characteristics) {
+		this(source, 0, size, characteristics);
+	}
+
+	public RandomAccessSpliterator(IntFunction<? extends T> source, int index, int end, int characteristics) {
+		this.source = source;
+		this.index = index;
+		this.end = end;
+		this.characteristics = characteristics | SIZED | SUBSIZED;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		int middle = (index + end) >>> 1;
+		if (middle <= index)
+			return null;
+
+		return new RandomAccessSpliterator<>(source, index, index = middle, characteristics);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (index >= end)
+			return false;
+
+		action.accept(source.apply(index++));
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		int i = index;
+		index = end;
+		for (; i < end; i++)
+			action.accept(source.apply(i));
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+}
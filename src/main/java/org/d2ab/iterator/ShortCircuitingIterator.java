@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.iterator;
+
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * An {@link Iterator} that can push its remaining elements to a {@link Predicate} until the predicate returns false,
+ * letting short-circuiting terminal operations run without a {@link #hasNext()} and {@link #next()} call per element.
+ *
+ * @see Iterators#forEachWhile(Iterator, Predicate)
+ * @since 2.3
+ */
+public interface ShortCircuitingIterator<T> extends Iterator<T> {
+	/**
+	 * Perform the given action on each remaining element in this iterator, until the action returns false or there
+	 * are no more elements.
+	 *
+	 * @return true if there were no more elements, or false if the action returned false.
+	 */
+	default boolean forEachWhile(Predicate<? super T> action) {
+		while (hasNext())
+			if (!action.test(next()))
+				return false;
+
+		return true;
+	}
+}
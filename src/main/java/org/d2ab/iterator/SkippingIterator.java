@@ -18,6 +18,8 @@ package org.d2ab.iterator;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class SkippingIterator<T> extends DelegatingUnaryIterator<T> {
 	private final int skip;
@@ -46,4 +48,24 @@ public class SkippingIterator<T> extends DelegatingUnaryIterator<T> {
 
 		return iterator.next();
 	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		if (!skipped) {
+			Iterators.skip(iterator, skip);
+			skipped = true;
+		}
+
+		iterator.forEachRemaining(action);
+	}
+
+	@Override
+	public boolean forEachWhile(Predicate<? super T> action) {
+		if (!skipped) {
+			Iterators.skip(iterator, skip);
+			skipped = true;
+		}
+
+		return Iterators.forEachWhile(iterator, action);
+	}
 }
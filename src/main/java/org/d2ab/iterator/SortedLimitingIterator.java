@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterator} over the first elements of another {@link Iterator} as if it had been sorted, up to a given
+ * limit. The first time it is queried, the elements are pushed through a bounded max-heap of at most {@code limit}
+ * elements, so that only the retained elements are held in memory and each element costs at most {@code O(log
+ * limit)} comparisons. Elements that compare equal are returned in encounter order, as with a stable sort.
+ */
+public class SortedLimitingIterator<T> extends DelegatingMappingIterator<T, T> {
+	private final Comparator<? super T> comparator;
+	private final int limit;
+
+	private Object[] elements;
+	private long[] order;
+	private int size;
+	private int index;
+
+	public SortedLimitingIterator(Iterator<? extends T> iterator, Comparator<? super T> comparator, int limit) {
+		super(iterator);
+		this.comparator = comparator;
+		this.limit = limit;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (elements == null)
+			select();
+		return index < size;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		T next = (T) elements[index];
+		elements[index++] = null;
+		return next;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void select() {
+		elements = new Object[Math.max(Math.min(limit, 16), 0)];
+		order = new long[elements.length];
+		if (limit <= 0)
+			return;
+
+		long count = 0;
+		while (iterator.hasNext()) {
+			T next = iterator.next();
+			if (size < limit) {
+				if (size == elements.length) {
+					int capacity = (int) Math.min(limit, elements.length * 2L);
+					elements = Arrays.copyOf(elements, capacity);
+					order = Arrays.copyOf(order, capacity);
+				}
+				elements[size] = next;
+				order[size] = count++;
+				siftUp(size++);
+			} else if (comparator.compare(next, (T) elements[0]) < 0) {
+				elements[0] = next;
+				order[0] = count++;
+				siftDown(0, size);
+			} else {
+				count++;
+			}
+		}
+
+		// heap sort in place, the largest remaining element is moved to the end of the heap each round
+		for (int end = size - 1; end > 0; end--) {
+			swap(0, end);
+			siftDown(0, end);
+		}
+		order = null;
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (compare(i, parent) <= 0)
+				break;
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i, int end) {
+		int child;
+		while ((child = 2 * i + 1) < end) {
+			if (child + 1 < end && compare(child + 1, child) > 0)
+				child++;
+			if (compare(i, child) >= 0)
+				break;
+			swap(i, child);
+			i = child;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compare(int i, int j) {
+		int comparison = comparator.compare((T) elements[i], (T) elements[j]);
+		return comparison != 0 ? comparison : Long.compare(order[i], order[j]);
+	}
+
+	private void swap(int i, int j) {
+		Object element = elements[i];
+		elements[i] = elements[j];
+		elements[j] = element;
+		long swapped = order[i];
+		order[i] = order[j];
+		order[j] = swapped;
+	}
+}
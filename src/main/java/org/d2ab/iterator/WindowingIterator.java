@@ -18,26 +18,58 @@ package org.d2ab.iterator;
 
 import java.util.*;
 
+/**
+ * An {@link Iterator} over windows of the elements of another {@link Iterator}, each window containing up to the
+ * given number of elements, stepping the given number of elements between each window. The elements are buffered in
+ * a circular array which grows as needed up to the window size, so each step only moves the start of the window.
+ * <p>
+ * By default each window is a copy of the buffered elements. In reuse mode, each window is instead a read-only view
+ * over the buffer, which is only valid until the next call to {@link #hasNext()} or {@link #next()}, and the same
+ * window instance is returned every time.
+ */
 public abstract class WindowingIterator<T, S> extends DelegatingMappingIterator<T, S> {
+	private static final int INITIAL_CAPACITY = 16;
+
 	private final int window;
 	private final int step;
+	private final boolean reuse;
 
-	private final Deque<T> partition = new LinkedList<>();
+	private Object[] buffer;
+	private int head;
+	private int size;
 	private boolean started;
+	private boolean stepping;
+
+	private int viewSize;
+	private S view;
 
 	public WindowingIterator(Iterator<T> iterator, int window, int step) {
+		this(iterator, window, step, false);
+	}
+
+	/**
+	 * @since 2.3
+	 */
+	public WindowingIterator(Iterator<T> iterator, int window, int step, boolean reuse) {
 		super(iterator);
 		this.window = window;
 		this.step = step;
+		this.reuse = reuse;
+		this.buffer = new Object[Math.max(Math.min(window, INITIAL_CAPACITY), 0)];
 	}
 
 	@Override
 	public boolean hasNext() {
-		while (partition.size() < window && iterator.hasNext())
-			partition.add(iterator.next());
+		if (stepping)
+			step();
+
+		while (size < window && iterator.hasNext()) {
+			if (size == buffer.length)
+				grow();
+			buffer[(head + size++) % buffer.length] = iterator.next();
+		}
 
-		return partition.size() == window ||
-		       !partition.isEmpty() && (!started || partition.size() > window - step && !iterator.hasNext());
+		return size == window || size > 0 && (!started || size > window - step && !iterator.hasNext());
 	}
 
 	@Override
@@ -45,19 +77,52 @@ public abstract class WindowingIterator<T, S> extends DelegatingMappingIterator<
 		if (!hasNext())
 			throw new NoSuchElementException();
 
-		List<T> next = new ArrayList<>(partition);
+		stepping = true;
+		started = true;
+
+		if (!reuse)
+			return toSequence(copy());
+
+		viewSize = size;
+		if (view == null)
+			view = toSequence(new View());
+		return view;
+	}
+
+	private List<T> copy() {
+		List<T> copy = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			copy.add(get(i));
+		return copy;
+	}
 
-		if (step < partition.size()) {
-			for (int i = 0; i < step && !partition.isEmpty(); i++)
-				partition.removeFirst();
+	@SuppressWarnings("unchecked")
+	private T get(int index) {
+		return (T) buffer[(head + index) % buffer.length];
+	}
+
+	private void grow() {
+		Object[] grown = new Object[(int) Math.min(window, 2L * buffer.length)];
+		System.arraycopy(buffer, head, grown, 0, buffer.length - head);
+		System.arraycopy(buffer, 0, grown, buffer.length - head, head);
+		buffer = grown;
+		head = 0;
+	}
+
+	private void step() {
+		stepping = false;
+		if (step < size) {
+			for (int i = 0; i < step; i++)
+				buffer[(head + i) % buffer.length] = null;
+			head = (head + step) % buffer.length;
+			size -= step;
 		} else {
-			for (int i = partition.size(); i < step && iterator.hasNext(); i++)
+			for (int i = size; i < step && iterator.hasNext(); i++)
 				iterator.next();
-			partition.clear();
+			Arrays.fill(buffer, null);
+			head = 0;
+			size = 0;
 		}
-
-		started = true;
-		return toSequence(next);
 	}
 
 	protected abstract S toSequence(List<T> list);
@@ -66,4 +131,19 @@ public abstract class WindowingIterator<T, S> extends DelegatingMappingIterator<
 	public void remove() {
 		throw new UnsupportedOperationException();
 	}
+
+	private class View extends AbstractList<T> implements RandomAccess {
+		@Override
+		public T get(int index) {
+			if (index < 0 || index >= viewSize)
+				throw new IndexOutOfBoundsException(String.valueOf(index));
+
+			return WindowingIterator.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return viewSize;
+		}
+	}
 }
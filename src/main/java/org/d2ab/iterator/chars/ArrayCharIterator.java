@@ -16,6 +16,9 @@
 
 package org.d2ab.iterator.chars;
 
+import org.d2ab.function.CharConsumer;
+import org.d2ab.function.CharPredicate;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -58,4 +61,27 @@ public class ArrayCharIterator implements CharIterator {
 
 		return array[offset + index++];
 	}
+
+	@Override
+	public void forEachRemaining(CharConsumer action) {
+		while (index < size)
+			action.accept(array[offset + index++]);
+	}
+
+	@Override
+	public boolean forEachWhile(CharPredicate action) {
+		while (index < size)
+			if (!action.test(array[offset + index++]))
+				return false;
+
+		return true;
+	}
+
+	@Override
+	public int nextChars(char[] target, int targetOffset, int length) {
+		int count = Math.max(Math.min(length, size - index), 0);
+		System.arraycopy(array, offset + index, target, targetOffset, count);
+		index += count;
+		return count;
+	}
 }
@@ -171,6 +171,21 @@ public interface CharIterator extends PrimitiveIterator<Character, CharConsumer>
 		return count;
 	}
 
+	/**
+	 * Copy up to the given number of {@code chars} from this iterator into the given array, starting at the given
+	 * offset, and advance the iterator past them. Fewer {@code chars} than requested are only copied if this
+	 * iterator runs out. Iterators backed by arrays override this to copy the {@code chars} in bulk.
+	 *
+	 * @return the number of {@code chars} copied, which is {@code 0} if this iterator has no more {@code chars}.
+	 * @since 2.3
+	 */
+	default int nextChars(char[] array, int offset, int length) {
+		int count = 0;
+		while (count < length && hasNext())
+			array[offset + count++] = nextChar();
+		return count;
+	}
+
 	/**
 	 * @return the number of {@code chars} remaining in this iterator.
 	 */
@@ -222,9 +237,25 @@ public interface CharIterator extends PrimitiveIterator<Character, CharConsumer>
 	 * the current result and each element in the iterator, starting with the given identity as the initial result.
 	 */
 	default char reduce(char identity, CharBinaryOperator operator) {
-		char result = identity;
+		char[] result = {identity};
+		forEachRemaining((CharConsumer) each -> result[0] = operator.applyAsChar(result[0], each));
+		return result[0];
+	}
+
+	/**
+	 * Perform the given action on each remaining {@code char} in this iterator, until the action returns false or
+	 * there are no more {@code char}s. Iterators that can push their values directly override this to avoid a
+	 * {@link #hasNext()} and {@link #nextChar()} call per value.
+	 *
+	 * @return true if there were no more {@code char}s, or false if the action returned false.
+	 *
+	 * @since 2.3
+	 */
+	default boolean forEachWhile(CharPredicate action) {
 		while (hasNext())
-			result = operator.applyAsChar(result, nextChar());
-		return result;
+			if (!action.test(nextChar()))
+				return false;
+
+		return true;
 	}
 }
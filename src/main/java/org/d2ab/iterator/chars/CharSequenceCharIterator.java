@@ -41,4 +41,17 @@ public class CharSequenceCharIterator implements CharIterator {
 
 		return csq.charAt(index++);
 	}
+
+	@Override
+	public int nextChars(char[] array, int offset, int length) {
+		int count = Math.max(Math.min(length, csq.length() - index), 0);
+		if (csq instanceof String) {
+			((String) csq).getChars(index, index + count, array, offset);
+			index += count;
+		} else {
+			for (int i = 0; i < count; i++)
+				array[offset + i] = csq.charAt(index++);
+		}
+		return count;
+	}
 }
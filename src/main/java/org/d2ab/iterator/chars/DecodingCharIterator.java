@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.chars;
+
+import org.d2ab.function.CharConsumer;
+import org.d2ab.iterator.IterationException;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.NoSuchElementException;
+import java.util.function.LongFunction;
+
+/**
+ * A {@link CharIterator} over the characters decoded from a range of bytes using a given {@link Charset}, such as a
+ * memory mapped file. The bytes are provided as {@link ByteBuffer} views from a given byte offset, each of which is
+ * decoded in place into an internal buffer of characters, without copying the bytes. A view must extend far enough
+ * that a character starting before its end can be decoded from it, unless it reaches the end of the range. Malformed
+ * and unmappable input is replaced with the replacement character of the {@link Charset}.
+ *
+ * @since 2.3
+ */
+public class DecodingCharIterator implements CharIterator {
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private final LongFunction<ByteBuffer> slicer;
+	private final long size;
+	private final CharsetDecoder decoder;
+	private final CharBuffer buffer;
+
+	private long offset;
+	private boolean decoded;
+	private boolean ended;
+
+	/**
+	 * @param slicer a function from a byte offset to a {@link ByteBuffer} positioned at that offset.
+	 * @param size   the number of bytes to decode.
+	 */
+	public DecodingCharIterator(LongFunction<ByteBuffer> slicer, long size, Charset charset, int bufferSize) {
+		this.slicer = slicer;
+		this.size = size;
+		this.decoder = charset.newDecoder()
+		                      .onMalformedInput(CodingErrorAction.REPLACE)
+		                      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.buffer = CharBuffer.allocate(bufferSize);
+		buffer.limit(0);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return buffer.hasRemaining() || fill();
+	}
+
+	@Override
+	public char nextChar() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		return buffer.get();
+	}
+
+	@Override
+	public void forEachRemaining(CharConsumer consumer) {
+		while (hasNext()) {
+			char[] chars = buffer.array();
+			for (int i = buffer.position(); i < buffer.limit(); i++)
+				consumer.accept(chars[i]);
+			buffer.position(buffer.limit());
+		}
+	}
+
+	private boolean fill() {
+		buffer.clear();
+		try {
+			while (buffer.position() == 0 && !ended) {
+				if (decoded) {
+					ended = decoder.flush(buffer).isUnderflow();
+				} else if (offset >= size) {
+					decoder.decode(EMPTY, buffer, true);
+					decoded = true;
+				} else {
+					ByteBuffer bytes = slicer.apply(offset);
+					int start = bytes.position();
+					boolean endOfInput = offset - start + bytes.limit() >= size;
+					CoderResult result = decoder.decode(bytes, buffer, endOfInput);
+					offset += bytes.position() - start;
+					if (result.isError())
+						result.throwException();
+					decoded = endOfInput && result.isUnderflow();
+				}
+			}
+		} catch (CharacterCodingException e) {
+			throw new IterationException(e);
+		}
+		buffer.flip();
+		return buffer.hasRemaining();
+	}
+}
@@ -16,6 +16,7 @@
 
 package org.d2ab.iterator.chars;
 
+import org.d2ab.function.CharConsumer;
 import org.d2ab.function.CharPredicate;
 
 import java.util.NoSuchElementException;
@@ -57,4 +58,28 @@ public class FilteringCharIterator extends DelegatingUnaryCharIterator {
 		// found matching value
 		return true;
 	}
+
+	@Override
+	public void forEachRemaining(CharConsumer action) {
+		if (hasNext) {
+			hasNext = false;
+			action.accept(next);
+		}
+
+		iterator.forEachRemaining((CharConsumer) x -> {
+			if (predicate.test(x))
+				action.accept(x);
+		});
+	}
+
+	@Override
+	public boolean forEachWhile(CharPredicate action) {
+		if (hasNext) {
+			hasNext = false;
+			if (!action.test(next))
+				return false;
+		}
+
+		return iterator.forEachWhile(x -> !predicate.test(x) || action.test(x));
+	}
 }
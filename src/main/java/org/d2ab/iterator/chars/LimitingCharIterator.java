@@ -16,6 +16,9 @@
 
 package org.d2ab.iterator.chars;
 
+import org.d2ab.function.CharConsumer;
+import org.d2ab.function.CharPredicate;
+
 import java.util.NoSuchElementException;
 
 public class LimitingCharIterator extends DelegatingUnaryCharIterator {
@@ -41,4 +44,23 @@ public class LimitingCharIterator extends DelegatingUnaryCharIterator {
 	public boolean hasNext() {
 		return count < limit && iterator.hasNext();
 	}
+
+	@Override
+	public void forEachRemaining(CharConsumer action) {
+		while (count < limit && iterator.hasNext()) {
+			action.accept(iterator.nextChar());
+			count++;
+		}
+	}
+
+	@Override
+	public boolean forEachWhile(CharPredicate action) {
+		while (count < limit && iterator.hasNext()) {
+			count++;
+			if (!action.test(iterator.nextChar()))
+				return false;
+		}
+
+		return true;
+	}
 }
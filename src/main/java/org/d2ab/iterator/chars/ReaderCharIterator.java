@@ -16,6 +16,7 @@
 
 package org.d2ab.iterator.chars;
 
+import org.d2ab.function.CharConsumer;
 import org.d2ab.iterator.IterationException;
 
 import java.io.IOException;
@@ -23,30 +24,38 @@ import java.io.Reader;
 import java.util.NoSuchElementException;
 
 /**
- * A {@link CharIterator} over the {@code chars} in a {@link Reader}.
+ * A {@link CharIterator} over the {@code chars} in a {@link Reader}. The {@code chars} are read in bulk into an
+ * internal buffer and served from there, so the {@link Reader} is called once per buffer rather than once per
+ * {@code char}. This means the {@link Reader} may have been read past the last {@code char} returned by this
+ * iterator. Skipping past the buffered {@code chars} is delegated to {@link Reader#skip(long)}. The {@link Reader} is
+ * never closed by this iterator, and is not read from again once it has signalled end of stream.
  */
 public class ReaderCharIterator implements CharIterator {
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
 	private final Reader reader;
-	private int next;
-	private boolean hasNext;
+	private final char[] buffer;
+	private int position;
+	private int limit;
+	private boolean ended;
 
 	public ReaderCharIterator(Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @since 2.3
+	 */
+	public ReaderCharIterator(Reader reader, int bufferSize) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize < 1: " + bufferSize);
 		this.reader = reader;
+		this.buffer = new char[bufferSize];
 	}
 
 	@Override
 	public boolean hasNext() {
-		if (!hasNext) {
-			try {
-				next = reader.read();
-			} catch (IOException e) {
-				throw new IterationException(e);
-			}
-
-			hasNext = true;
-		}
-
-		return next != -1;
+		return position < limit || fill();
 	}
 
 	@Override
@@ -54,7 +63,74 @@ public class ReaderCharIterator implements CharIterator {
 		if (!hasNext())
 			throw new NoSuchElementException();
 
-		hasNext = false;
-		return (char) next;
+		return buffer[position++];
+	}
+
+	@Override
+	public void forEachRemaining(CharConsumer consumer) {
+		while (hasNext()) {
+			for (int i = position; i < limit; i++)
+				consumer.accept(buffer[i]);
+			position = limit;
+		}
+	}
+
+	@Override
+	public int nextChars(char[] array, int offset, int length) {
+		int count = 0;
+		while (count < length && hasNext()) {
+			int chunk = Math.min(length - count, limit - position);
+			System.arraycopy(buffer, position, array, offset + count, chunk);
+			position += chunk;
+			count += chunk;
+		}
+		return count;
+	}
+
+	@Override
+	public int skip(int steps) {
+		int buffered = Math.max(Math.min(steps, limit - position), 0);
+		position += buffered;
+
+		int skipped = buffered;
+		try {
+			while (skipped < steps && !ended) {
+				long count = reader.skip(steps - skipped);
+				if (count > 0) {
+					skipped += count;
+				} else if (fill()) {
+					int consumed = Math.min(steps - skipped, limit - position);
+					position += consumed;
+					skipped += consumed;
+				}
+			}
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
+		return skipped;
+	}
+
+	private boolean fill() {
+		if (ended)
+			return false;
+
+		try {
+			int count;
+			do {
+				count = reader.read(buffer, 0, buffer.length);
+			} while (count == 0);
+
+			if (count == -1) {
+				ended = true;
+				position = limit = 0;
+				return false;
+			}
+
+			position = 0;
+			limit = count;
+			return true;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
 	}
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.chars;
+
+import org.d2ab.iterator.IterationException;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.LongFunction;
+
+/**
+ * An {@link Iterator} over the records in a range of bytes, such as a memory mapped file, decoded using a given
+ * {@link Charset} and separated either by a given delimiter or by line terminators, which are any of {@code "\n"},
+ * {@code "\r"} or {@code "\r\n"}. The delimiters are not included in the records, and a delimiter at the very end of
+ * the input does not start another record. The bytes are provided as {@link ByteBuffer} views from a given byte
+ * offset in the same way as for {@link DecodingCharIterator}.
+ * <p>
+ * Each record is decoded into an internal buffer that is reused between records, and returned as a read-only {@link
+ * CharSequence} view of that buffer, which is only valid until the next call to {@link #next()}. Call {@link
+ * CharSequence#toString()} on the view to keep a record. No objects are allocated per record except when the buffer
+ * needs to grow to fit a longer record than seen before, since the view of the bytes is only requested once per
+ * segment of the input and then repositioned for each record.
+ * <p>
+ * For {@link StandardCharsets#UTF_8}, {@link StandardCharsets#US_ASCII} and {@link StandardCharsets#ISO_8859_1} with
+ * an ASCII delimiter, the delimiters are found by scanning the bytes directly, since their encoding never occurs
+ * within another character, and only the bytes of each record are decoded. For other charsets, the input is decoded
+ * first and the delimiters are found among the decoded characters.
+ *
+ * @since 2.3
+ */
+public class RecordSplittingIterator implements Iterator<CharSequence> {
+	private static final int INITIAL_CAPACITY = 128;
+
+	private final LongFunction<ByteBuffer> slicer;
+	private final long size;
+	private final char delimiter;
+	private final boolean lines;
+	private final CharsetDecoder decoder;
+	private final CharIterator chars;
+
+	private CharBuffer buffer = CharBuffer.allocate(INITIAL_CAPACITY);
+	private CharBuffer view = buffer.asReadOnlyBuffer();
+	private ByteBuffer segment;
+	private long segmentOffset;
+	private int segmentLimit;
+	private long offset;
+	private boolean pendingLineFeed;
+	private char pushback;
+	private boolean hasPushback;
+
+	/**
+	 * Create an iterator over the lines in the given bytes, separated by any of {@code "\n"}, {@code "\r"} or {@code
+	 * "\r\n"}.
+	 */
+	public RecordSplittingIterator(LongFunction<ByteBuffer> slicer, long size, Charset charset) {
+		this(slicer, size, charset, '\n', true);
+	}
+
+	/**
+	 * Create an iterator over the records in the given bytes, separated by the given delimiter.
+	 */
+	public RecordSplittingIterator(LongFunction<ByteBuffer> slicer, long size, Charset charset, char delimiter) {
+		this(slicer, size, charset, delimiter, false);
+	}
+
+	private RecordSplittingIterator(LongFunction<ByteBuffer> slicer, long size, Charset charset, char delimiter,
+	                                boolean lines) {
+		this.slicer = slicer;
+		this.size = size;
+		this.delimiter = delimiter;
+		this.lines = lines;
+		this.decoder = charset.newDecoder()
+		                      .onMalformedInput(CodingErrorAction.REPLACE)
+		                      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		boolean asciiCompatible = charset.equals(StandardCharsets.UTF_8) ||
+		                          charset.equals(StandardCharsets.US_ASCII) ||
+		                          charset.equals(StandardCharsets.ISO_8859_1);
+		this.chars = asciiCompatible && delimiter < 0x80 ? null :
+		             new DecodingCharIterator(slicer, size, charset, ReaderCharIterator.DEFAULT_BUFFER_SIZE);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (chars == null)
+			return offset < size;
+
+		if (pendingLineFeed) {
+			pendingLineFeed = false;
+			if (chars.hasNext()) {
+				char next = chars.nextChar();
+				if (next != '\n') {
+					pushback = next;
+					hasPushback = true;
+				}
+			}
+		}
+		return hasPushback || chars.hasNext();
+	}
+
+	@Override
+	public CharSequence next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		buffer.clear();
+		try {
+			if (chars == null)
+				scanBytes();
+			else
+				scanChars();
+		} catch (CharacterCodingException e) {
+			throw new IterationException(e);
+		}
+		buffer.flip();
+
+		view.limit(buffer.limit()).position(0);
+		return view;
+	}
+
+	private void scanBytes() throws CharacterCodingException {
+		decoder.reset();
+		while (true) {
+			ByteBuffer bytes = bytesAt(offset);
+			int start = bytes.position();
+			long sliceEnd = offset - start + bytes.limit();
+
+			int end = indexOfDelimiter(bytes);
+			if (end != -1) {
+				boolean carriageReturn = bytes.get(end) == '\r';
+				bytes.limit(end);
+				decode(bytes, true);
+				offset += end - start + 1;
+				if (lines && carriageReturn && offset < size && byteAt(offset) == '\n')
+					offset++;
+				break;
+			} else if (sliceEnd >= size) {
+				decode(bytes, true);
+				offset = size;
+				break;
+			} else {
+				decode(bytes, false);
+				offset += bytes.position() - start;
+				segment = null;
+			}
+		}
+
+		while (decoder.flush(buffer).isOverflow())
+			grow();
+	}
+
+	private void scanChars() {
+		while (hasPushback || chars.hasNext()) {
+			char next;
+			if (hasPushback) {
+				next = pushback;
+				hasPushback = false;
+			} else {
+				next = chars.nextChar();
+			}
+
+			if (lines ? next == '\n' || next == '\r' : next == delimiter) {
+				pendingLineFeed = lines && next == '\r';
+				return;
+			}
+
+			if (!buffer.hasRemaining())
+				grow();
+			buffer.put(next);
+		}
+	}
+
+	private int indexOfDelimiter(ByteBuffer bytes) {
+		for (int i = bytes.position(); i < bytes.limit(); i++) {
+			byte b = bytes.get(i);
+			if (lines ? b == '\n' || b == '\r' : b == delimiter)
+				return i;
+		}
+		return -1;
+	}
+
+	private byte byteAt(long offset) {
+		ByteBuffer bytes = bytesAt(offset);
+		return bytes.get(bytes.position());
+	}
+
+	/**
+	 * @return the cached view of the current segment repositioned at the given offset if it covers it, or else a new
+	 * view from the slicer, which is then cached. The cache is dropped once a record runs past the end of the view,
+	 * so that the rest of the record is read from the view of the following segment.
+	 */
+	private ByteBuffer bytesAt(long offset) {
+		if (segment != null && offset >= segmentOffset && offset < segmentOffset + segmentLimit) {
+			segment.limit(segmentLimit).position((int) (offset - segmentOffset));
+			return segment;
+		}
+
+		segment = slicer.apply(offset);
+		segmentOffset = offset - segment.position();
+		segmentLimit = segment.limit();
+		return segment;
+	}
+
+	private void decode(ByteBuffer bytes, boolean endOfInput) throws CharacterCodingException {
+		CoderResult result;
+		while ((result = decoder.decode(bytes, buffer, endOfInput)).isOverflow())
+			grow();
+		if (result.isError())
+			result.throwException();
+	}
+
+	private void grow() {
+		CharBuffer grown = CharBuffer.allocate(buffer.capacity() * 2);
+		buffer.flip();
+		grown.put(buffer);
+		buffer = grown;
+		view = buffer.asReadOnlyBuffer();
+	}
+}
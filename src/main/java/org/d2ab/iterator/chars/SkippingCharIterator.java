@@ -16,6 +16,9 @@
 
 package org.d2ab.iterator.chars;
 
+import org.d2ab.function.CharConsumer;
+import org.d2ab.function.CharPredicate;
+
 import java.util.NoSuchElementException;
 
 public class SkippingCharIterator extends DelegatingUnaryCharIterator {
@@ -45,4 +48,24 @@ public class SkippingCharIterator extends DelegatingUnaryCharIterator {
 
 		return iterator.nextChar();
 	}
+
+	@Override
+	public void forEachRemaining(CharConsumer action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		iterator.forEachRemaining(action);
+	}
+
+	@Override
+	public boolean forEachWhile(CharPredicate action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		return iterator.forEachWhile(action);
+	}
 }
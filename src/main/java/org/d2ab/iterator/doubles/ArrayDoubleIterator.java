@@ -18,6 +18,8 @@ package org.d2ab.iterator.doubles;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
 
 /**
  * An {@link Iterator} over an array of items.
@@ -58,4 +60,19 @@ public class ArrayDoubleIterator implements DoubleIterator {
 
 		return array[offset + index++];
 	}
+
+	@Override
+	public void forEachRemaining(DoubleConsumer action) {
+		while (index < size)
+			action.accept(array[offset + index++]);
+	}
+
+	@Override
+	public boolean forEachWhile(DoublePredicate action) {
+		while (index < size)
+			if (!action.test(array[offset + index++]))
+				return false;
+
+		return true;
+	}
 }
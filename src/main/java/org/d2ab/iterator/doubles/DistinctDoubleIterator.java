@@ -16,20 +16,19 @@
 
 package org.d2ab.iterator.doubles;
 
-import org.d2ab.collection.doubles.DoubleList;
+import org.d2ab.collection.doubles.DoubleGrid;
 
 import java.util.NoSuchElementException;
 
 public class DistinctDoubleIterator extends DelegatingUnaryDoubleIterator {
-	private final DoubleList seen = DoubleList.create();
-	private final double precision;
+	private final DoubleGrid seen;
 
 	private double next;
 	private boolean hasNext;
 
 	public DistinctDoubleIterator(DoubleIterator iterator, double precision) {
 		super(iterator);
-		this.precision = precision;
+		this.seen = new DoubleGrid(precision);
 	}
 
 	@Override
@@ -48,10 +47,8 @@ public class DistinctDoubleIterator extends DelegatingUnaryDoubleIterator {
 
 		while (!hasNext && iterator.hasNext()) {
 			double maybeNext = iterator.nextDouble();
-			if (hasNext = !seen.containsDouble(maybeNext, precision)) {
-				seen.addDoubleExactly(maybeNext);
+			if (hasNext = seen.addIfAbsent(maybeNext))
 				next = maybeNext;
-			}
 		}
 
 		return hasNext;
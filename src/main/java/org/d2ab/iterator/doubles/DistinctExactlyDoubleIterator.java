@@ -16,13 +16,13 @@
 
 package org.d2ab.iterator.doubles;
 
+import org.d2ab.collection.doubles.DoubleHashSet;
 import org.d2ab.collection.doubles.DoubleSet;
-import org.d2ab.collection.doubles.RawDoubleSet;
 
 import java.util.NoSuchElementException;
 
 public class DistinctExactlyDoubleIterator extends DelegatingUnaryDoubleIterator {
-	private final DoubleSet seen = new RawDoubleSet();
+	private final DoubleSet seen = new DoubleHashSet();
 
 	private double next;
 	private boolean hasNext;
@@ -178,10 +178,9 @@ public interface DoubleIterator extends PrimitiveIterator.OfDouble {
 	}
 
 	default double reduce(double identity, DoubleBinaryOperator operator) {
-		double result = identity;
-		while (hasNext())
-			result = operator.applyAsDouble(result, nextDouble());
-		return result;
+		double[] result = {identity};
+		forEachRemaining((DoubleConsumer) each -> result[0] = operator.applyAsDouble(result[0], each));
+		return result[0];
 	}
 
 	/**
@@ -205,4 +204,21 @@ public interface DoubleIterator extends PrimitiveIterator.OfDouble {
 			remove();
 		}
 	}
+
+	/**
+	 * Perform the given action on each remaining {@code double} in this iterator, until the action returns false or
+	 * there are no more {@code double}s. Iterators that can push their values directly override this to avoid a
+	 * {@link #hasNext()} and {@link #nextDouble()} call per value.
+	 *
+	 * @return true if there were no more {@code double}s, or false if the action returned false.
+	 *
+	 * @since 2.3
+	 */
+	default boolean forEachWhile(DoublePredicate action) {
+		while (hasNext())
+			if (!action.test(nextDouble()))
+				return false;
+
+		return true;
+	}
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.iterator.doubles;
+
+import org.d2ab.iterator.IterationException;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * A {@link DoubleIterator} that sorts the values of another {@link DoubleIterator} without holding them all in memory
+ * at once. Values are read in runs of at most a given size, each run is sorted in memory and spilled to a temporary
+ * file as raw doubles, and the runs are then merged lazily. The last run is kept in memory, so if the input fits in a
+ * single run, nothing is written to disk. Temporary files are created in the given directory, or the default
+ * temporary-file directory if {@code null}.
+ * <p>
+ * At most {@value #MAX_FAN_IN} runs are merged at once. If more runs are spilled, consecutive groups of runs are first
+ * merged into larger runs, in as many passes as needed, so the number of open files stays bounded however large the
+ * input is. Each run is opened only when the merge it takes part in starts, and its file is removed as soon as it has
+ * been opened where the file system allows it, or else when the run has been merged. If the iteration fails, all
+ * temporary files are closed and removed.
+ */
+public class ExternalSortingDoubleIterator extends DelegatingUnaryDoubleIterator {
+	static final int MAX_FAN_IN = 64;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final int spillThreshold;
+	private final Path tempDir;
+
+	private final Set<Path> files = new HashSet<>();
+	private PriorityQueue<Run> runs;
+
+	public ExternalSortingDoubleIterator(DoubleIterator iterator, int spillThreshold, Path tempDir) {
+		super(iterator);
+		if (spillThreshold < 1)
+			throw new IllegalArgumentException("spillThreshold < 1: " + spillThreshold);
+		this.spillThreshold = spillThreshold;
+		this.tempDir = tempDir;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (runs == null)
+			runs = sort();
+		return !runs.isEmpty();
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		Run run = runs.poll();
+		double next = run.current;
+		try {
+			if (run.advance())
+				runs.add(run);
+		} catch (RuntimeException e) {
+			run.close();
+			cleanUp(runs);
+			throw e;
+		}
+		return next;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	private PriorityQueue<Run> sort() {
+		PriorityQueue<Run> runs = newQueue();
+		try {
+			List<Path> spilled = new ArrayList<>();
+			double[] buffer = new double[Math.min(spillThreshold, 1024)];
+			Run last = null;
+			while (iterator.hasNext()) {
+				int size = 0;
+				while (size < spillThreshold && iterator.hasNext()) {
+					if (size == buffer.length)
+						buffer = Arrays.copyOf(buffer, (int) Math.min(spillThreshold, buffer.length * 2L));
+					buffer[size++] = iterator.nextDouble();
+				}
+				Arrays.sort(buffer, 0, size);
+
+				if (iterator.hasNext())
+					spilled.add(write(buffer, size));
+				else
+					last = new MemoryRun(buffer, size);
+			}
+
+			while (spilled.size() > MAX_FAN_IN)
+				spilled = mergePass(spilled);
+
+			for (Path file : spilled)
+				open(runs, file);
+			if (last != null)
+				add(runs, last);
+			return runs;
+		} catch (RuntimeException e) {
+			cleanUp(runs);
+			throw e;
+		}
+	}
+
+	private List<Path> mergePass(List<Path> spilled) {
+		List<Path> merged = new ArrayList<>();
+		for (int i = 0; i < spilled.size(); i += MAX_FAN_IN)
+			merged.add(merge(spilled.subList(i, Math.min(i + MAX_FAN_IN, spilled.size()))));
+		return merged;
+	}
+
+	private Path merge(List<Path> group) {
+		PriorityQueue<Run> runs = newQueue();
+		try {
+			long size = 0;
+			for (Path file : group)
+				size += open(runs, file).size;
+
+			Path merged = createFile();
+			try (DataOutputStream output = newOutput(merged)) {
+				output.writeLong(size);
+				while (!runs.isEmpty()) {
+					Run run = runs.poll();
+					output.writeDouble(run.current);
+					if (run.advance())
+						runs.add(run);
+				}
+			}
+			return merged;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		} finally {
+			for (Run run : runs)
+				run.close();
+		}
+	}
+
+	private Path write(double[] buffer, int size) {
+		try {
+			Path file = createFile();
+			try (DataOutputStream output = newOutput(file)) {
+				output.writeLong(size);
+				for (int i = 0; i < size; i++)
+					output.writeDouble(buffer[i]);
+			}
+			return file;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
+	}
+
+	private Path createFile() throws IOException {
+		Path file = tempDir == null ? Files.createTempFile("sequence-sort-", ".run") :
+		            Files.createTempFile(tempDir, "sequence-sort-", ".run");
+		files.add(file);
+		return file;
+	}
+
+	private static DataOutputStream newOutput(Path file) throws IOException {
+		return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+	}
+
+	private static PriorityQueue<Run> newQueue() {
+		return new PriorityQueue<>((r1, r2) -> Double.compare(r1.current, r2.current));
+	}
+
+	private FileRun open(PriorityQueue<Run> runs, Path file) {
+		try {
+			FileRun run = new FileRun(file);
+			add(runs, run);
+			return run;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
+	}
+
+	private static void add(PriorityQueue<Run> runs, Run run) {
+		if (run.advance())
+			runs.add(run);
+		else
+			run.close();
+	}
+
+	private boolean delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+			files.remove(file);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private void cleanUp(Collection<Run> runs) {
+		for (Run run : runs)
+			run.close();
+		runs.clear();
+		for (Path file : new ArrayList<>(files))
+			delete(file);
+	}
+
+	private static abstract class Run {
+		protected double current;
+
+		protected abstract boolean advance();
+
+		protected void close() {
+		}
+	}
+
+	private static class MemoryRun extends Run {
+		private final double[] values;
+		private final int size;
+		private int index;
+
+		private MemoryRun(double[] values, int size) {
+			this.values = values;
+			this.size = size;
+		}
+
+		@Override
+		protected boolean advance() {
+			if (index == size)
+				return false;
+
+			current = values[index++];
+			return true;
+		}
+	}
+
+	private class FileRun extends Run {
+		private final Path file;
+		private final DataInputStream input;
+		private final long size;
+		private long remaining;
+		private boolean deleted;
+		private boolean closed;
+
+		private FileRun(Path file) throws IOException {
+			this.file = file;
+			this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(file.toFile()), BUFFER_SIZE));
+			this.deleted = delete(file);
+			try {
+				this.size = input.readLong();
+				this.remaining = size;
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		}
+
+		@Override
+		protected boolean advance() {
+			if (remaining == 0) {
+				close();
+				return false;
+			}
+
+			try {
+				current = input.readDouble();
+				remaining--;
+				return true;
+			} catch (IOException e) {
+				throw new IterationException(e);
+			}
+		}
+
+		@Override
+		protected void close() {
+			if (closed)
+				return;
+
+			closed = true;
+			try {
+				input.close();
+			} catch (IOException ignored) {
+				// nothing more to read
+			}
+			if (!deleted)
+				deleted = delete(file);
+		}
+	}
+}
@@ -17,6 +17,7 @@
 package org.d2ab.iterator.doubles;
 
 import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
 import java.util.function.DoublePredicate;
 
 public class FilteringDoubleIterator extends DelegatingUnaryDoubleIterator {
@@ -56,4 +57,28 @@ public class FilteringDoubleIterator extends DelegatingUnaryDoubleIterator {
 		// found matching value
 		return true;
 	}
+
+	@Override
+	public void forEachRemaining(DoubleConsumer action) {
+		if (hasNext) {
+			hasNext = false;
+			action.accept(next);
+		}
+
+		iterator.forEachRemaining((DoubleConsumer) x -> {
+			if (predicate.test(x))
+				action.accept(x);
+		});
+	}
+
+	@Override
+	public boolean forEachWhile(DoublePredicate action) {
+		if (hasNext) {
+			hasNext = false;
+			if (!action.test(next))
+				return false;
+		}
+
+		return iterator.forEachWhile(x -> !predicate.test(x) || action.test(x));
+	}
 }
@@ -17,6 +17,8 @@
 package org.d2ab.iterator.doubles;
 
 import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
 
 public class LimitingDoubleIterator extends DelegatingUnaryDoubleIterator {
 	private final int limit;
@@ -40,4 +42,23 @@ public class LimitingDoubleIterator extends DelegatingUnaryDoubleIterator {
 	public boolean hasNext() {
 		return count < limit && iterator.hasNext();
 	}
+
+	@Override
+	public void forEachRemaining(DoubleConsumer action) {
+		while (count < limit && iterator.hasNext()) {
+			action.accept(iterator.nextDouble());
+			count++;
+		}
+	}
+
+	@Override
+	public boolean forEachWhile(DoublePredicate action) {
+		while (count < limit && iterator.hasNext()) {
+			count++;
+			if (!action.test(iterator.nextDouble()))
+				return false;
+		}
+
+		return true;
+	}
 }
@@ -17,6 +17,8 @@
 package org.d2ab.iterator.doubles;
 
 import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
 
 public class SkippingDoubleIterator extends DelegatingUnaryDoubleIterator {
 	private final int skip;
@@ -45,4 +47,24 @@ public class SkippingDoubleIterator extends DelegatingUnaryDoubleIterator {
 
 		return iterator.nextDouble();
 	}
+
+	@Override
+	public void forEachRemaining(DoubleConsumer action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		iterator.forEachRemaining(action);
+	}
+
+	@Override
+	public boolean forEachWhile(DoublePredicate action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		return iterator.forEachWhile(action);
+	}
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.doubles;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the minimum or maximum {@code double} in each window of the given size over another {@link
+ * DoubleIterator}, sliding one {@code double} at a time with the same windows as {@code window(window, 1)}. The
+ * candidates for the extremum are kept in a monotonic deque of at most the window size, so each step takes amortized
+ * constant time. As with {@link Math#min(double, double)} and {@link Math#max(double, double)}, the extremum of a
+ * window that contains {@code NaN} is {@code NaN}, and {@code -0.0} is taken to be smaller than {@code 0.0}. {@code
+ * NaN}s are kept out of the deque, only the position of the last one is tracked.
+ */
+public class SlidingExtremumDoubleIterator extends DelegatingUnaryDoubleIterator {
+	private final int window;
+	private final boolean maximum;
+	private final double[] values;
+	private final long[] positions;
+	private int first;
+	private int count;
+	private long position;
+	private long lastNaN = Long.MIN_VALUE;
+	private int size;
+	private boolean started;
+	private boolean hasNext;
+
+	public SlidingExtremumDoubleIterator(DoubleIterator iterator, int window, boolean maximum) {
+		super(iterator);
+		this.window = window;
+		this.maximum = maximum;
+		this.values = new double[window];
+		this.positions = new long[window];
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (hasNext)
+			return true;
+
+		if (!started) {
+			while (size < window && iterator.hasNext())
+				add(iterator.nextDouble());
+			hasNext = size > 0;
+		} else if (size == window && iterator.hasNext()) {
+			slide(iterator.nextDouble());
+			hasNext = true;
+		}
+
+		return hasNext;
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		hasNext = false;
+		started = true;
+		return lastNaN >= position - window ? Double.NaN : values[first];
+	}
+
+	private void add(double x) {
+		size++;
+		push(x);
+	}
+
+	private void slide(double x) {
+		if (count > 0 && positions[first] <= position - window) {
+			first = (first + 1) % window;
+			count--;
+		}
+		push(x);
+	}
+
+	private void push(double x) {
+		if (Double.isNaN(x)) {
+			lastNaN = position++;
+			return;
+		}
+
+		while (count > 0 && dominates(x, values[(first + count - 1) % window]))
+			count--;
+
+		int last = (first + count++) % window;
+		values[last] = x;
+		positions[last] = position++;
+	}
+
+	private boolean dominates(double x, double y) {
+		int comparison = Double.compare(x, y);
+		return maximum ? comparison >= 0 : comparison <= 0;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.doubles;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the sums of the {@code doubles} in each window of the given size over another {@link
+ * DoubleIterator}, sliding one {@code double} at a time with the same windows as {@code window(window, 1)}. The sum is
+ * updated as {@code doubles} enter and leave the window, in constant time per step, using compensated summation with
+ * infinite and NaN {@code doubles} counted separately, and recomputed once per full turn of the window to avoid
+ * accumulating rounding errors.
+ */
+public class SlidingSumDoubleIterator extends DelegatingUnaryDoubleIterator {
+	private final int window;
+	private final double[] buffer;
+	private int head;
+	private int size;
+	private boolean started;
+	private boolean hasNext;
+
+	private final WindowSum sum = new WindowSum();
+
+	public SlidingSumDoubleIterator(DoubleIterator iterator, int window) {
+		super(iterator);
+		this.window = window;
+		this.buffer = new double[window];
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (hasNext)
+			return true;
+
+		if (!started) {
+			while (size < window && iterator.hasNext())
+				add(iterator.nextDouble());
+			hasNext = size > 0;
+		} else if (size == window && iterator.hasNext()) {
+			slide(iterator.nextDouble());
+			hasNext = true;
+		}
+
+		return hasNext;
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		hasNext = false;
+		started = true;
+		return sum.get();
+	}
+
+	private void add(double x) {
+		buffer[size++] = x;
+		sum.add(x);
+	}
+
+	private void slide(double x) {
+		sum.remove(buffer[head]);
+		sum.add(x);
+		buffer[head] = x;
+		head = (head + 1) % window;
+		if (head == 0)
+			recompute();
+	}
+
+	private void recompute() {
+		sum.clear();
+		for (double x : buffer)
+			sum.add(x);
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.doubles;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the population variances of the {@code doubles} in each window of the given size over another {@link
+ * DoubleIterator}, sliding one {@code double} at a time with the same windows as {@code window(window, 1)}. The mean
+ * and sum of squared deviations of the window are updated using Welford's method as {@code doubles} enter and leave the
+ * window, in constant time per step, and recomputed once per full turn of the window to avoid accumulating rounding
+ * errors. They are also recomputed when a {@code double} whose squared deviation dominates the window leaves it, and
+ * when the last infinite or NaN {@code double} leaves it, as the variance of any window holding one is NaN.
+ */
+public class SlidingVarianceDoubleIterator extends DelegatingUnaryDoubleIterator {
+	private static final double DOMINANCE = 1 << 20;
+
+	private final int window;
+	private final double[] buffer;
+	private int head;
+	private int size;
+	private boolean started;
+	private boolean hasNext;
+
+	private double mean;
+	private double squares;
+	private int nonFinite;
+
+	public SlidingVarianceDoubleIterator(DoubleIterator iterator, int window) {
+		super(iterator);
+		this.window = window;
+		this.buffer = new double[window];
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (hasNext)
+			return true;
+
+		if (!started) {
+			while (size < window && iterator.hasNext())
+				add(iterator.nextDouble());
+			hasNext = size > 0;
+		} else if (size == window && iterator.hasNext()) {
+			slide(iterator.nextDouble());
+			hasNext = true;
+		}
+
+		return hasNext;
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		hasNext = false;
+		started = true;
+		return nonFinite > 0 ? Double.NaN : Math.max(squares / size, 0);
+	}
+
+	private void add(double x) {
+		buffer[size++] = x;
+		if (!Double.isFinite(x))
+			nonFinite++;
+		if (nonFinite > 0)
+			return;
+
+		double delta = x - mean;
+		mean += delta / size;
+		squares += delta * (x - mean);
+	}
+
+	private void slide(double x) {
+		double removed = buffer[head];
+		buffer[head] = x;
+		head = (head + 1) % window;
+
+		boolean removedFinite = Double.isFinite(removed);
+		if (!removedFinite)
+			nonFinite--;
+		if (!Double.isFinite(x))
+			nonFinite++;
+
+		if (nonFinite > 0)
+			return;
+		if (!removedFinite || head == 0) {
+			recompute();
+			return;
+		}
+
+		double oldMean = mean;
+		mean += (x - removed) / size;
+		squares += (x - removed) * (x - mean + removed - oldMean);
+
+		double deviation = removed - oldMean;
+		if (deviation * deviation > squares * DOMINANCE)
+			recompute();
+	}
+
+	private void recompute() {
+		double sum = 0;
+		for (double x : buffer)
+			sum += x;
+		mean = sum / size;
+
+		squares = 0;
+		for (double x : buffer)
+			squares += (x - mean) * (x - mean);
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.doubles;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link DoubleIterator} over the smallest, or largest if descending, values of another {@link DoubleIterator} in
+ * sorted order, up to a given limit. The first time it is queried, the values are pushed through a bounded heap of at
+ * most {@code limit} values, so that only the retained values are held in memory and each value costs at most {@code
+ * O(log limit)} comparisons.
+ */
+public class SortedLimitingDoubleIterator extends DelegatingUnaryDoubleIterator {
+	private final int limit;
+	private final boolean descending;
+
+	private double[] values;
+	private int size;
+	private int index;
+
+	public SortedLimitingDoubleIterator(DoubleIterator iterator, int limit, boolean descending) {
+		super(iterator);
+		this.limit = limit;
+		this.descending = descending;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (values == null)
+			select();
+		return index < size;
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		return values[index++];
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	private void select() {
+		values = new double[Math.max(Math.min(limit, 16), 0)];
+		if (limit <= 0)
+			return;
+
+		while (iterator.hasNext()) {
+			double next = iterator.nextDouble();
+			if (size < limit) {
+				if (size == values.length)
+					values = Arrays.copyOf(values, (int) Math.min(limit, values.length * 2L));
+				values[size] = next;
+				siftUp(size++);
+			} else if (compare(next, values[0]) < 0) {
+				values[0] = next;
+				siftDown(0, size);
+			}
+		}
+
+		// heap sort in place, the largest remaining value is moved to the end of the heap each round
+		for (int end = size - 1; end > 0; end--) {
+			swap(0, end);
+			siftDown(0, end);
+		}
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (compare(values[i], values[parent]) <= 0)
+				break;
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i, int end) {
+		int child;
+		while ((child = 2 * i + 1) < end) {
+			if (child + 1 < end && compare(values[child + 1], values[child]) > 0)
+				child++;
+			if (compare(values[i], values[child]) >= 0)
+				break;
+			swap(i, child);
+			i = child;
+		}
+	}
+
+	private int compare(double x, double y) {
+		return descending ? Double.compare(y, x) : Double.compare(x, y);
+	}
+
+	private void swap(int i, int j) {
+		double value = values[i];
+		values[i] = values[j];
+		values[j] = value;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.iterator.doubles;
+
+/**
+ * A sum of the {@code doubles} in a sliding window, to which {@code doubles} are added as they enter the window and
+ * from which they are removed as they leave it. Finite {@code doubles} are summed using Neumaier's compensated
+ * summation, so removing a {@code double} that dominates the sum does not lose the smaller {@code doubles} in the
+ * window. Infinite and NaN {@code doubles} are counted instead of summed, so they stop affecting the sum as soon as
+ * they leave the window.
+ */
+class WindowSum {
+	private double sum;
+	private double compensation;
+	private int positiveInfinities;
+	private int negativeInfinities;
+	private int nans;
+
+	void add(double x) {
+		if (Double.isNaN(x))
+			nans++;
+		else if (x == Double.POSITIVE_INFINITY)
+			positiveInfinities++;
+		else if (x == Double.NEGATIVE_INFINITY)
+			negativeInfinities++;
+		else
+			accumulate(x);
+	}
+
+	void remove(double x) {
+		if (Double.isNaN(x))
+			nans--;
+		else if (x == Double.POSITIVE_INFINITY)
+			positiveInfinities--;
+		else if (x == Double.NEGATIVE_INFINITY)
+			negativeInfinities--;
+		else
+			accumulate(-x);
+	}
+
+	private void accumulate(double x) {
+		double t = sum + x;
+		if (Math.abs(sum) >= Math.abs(x))
+			compensation += (sum - t) + x;
+		else
+			compensation += (x - t) + sum;
+		sum = t;
+	}
+
+	double get() {
+		if (nans > 0 || positiveInfinities > 0 && negativeInfinities > 0)
+			return Double.NaN;
+		if (positiveInfinities > 0)
+			return Double.POSITIVE_INFINITY;
+		if (negativeInfinities > 0)
+			return Double.NEGATIVE_INFINITY;
+
+		return sum + compensation;
+	}
+
+	void clear() {
+		sum = 0;
+		compensation = 0;
+		positiveInfinities = 0;
+		negativeInfinities = 0;
+		nans = 0;
+	}
+}
@@ -18,6 +18,8 @@ package org.d2ab.iterator.ints;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
 /**
  * An {@link Iterator} over an array of items.
@@ -58,4 +60,27 @@ public class ArrayIntIterator implements IntIterator {
 
 		return array[offset + index++];
 	}
+
+	@Override
+	public void forEachRemaining(IntConsumer action) {
+		while (index < size)
+			action.accept(array[offset + index++]);
+	}
+
+	@Override
+	public boolean forEachWhile(IntPredicate action) {
+		while (index < size)
+			if (!action.test(array[offset + index++]))
+				return false;
+
+		return true;
+	}
+
+	@Override
+	public int nextInts(int[] target, int targetOffset, int length) {
+		int count = Math.max(Math.min(length, size - index), 0);
+		System.arraycopy(array, offset + index, target, targetOffset, count);
+		index += count;
+		return count;
+	}
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.iterator.ints;
+
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+
+/**
+ * An {@link IntIterator} over a range of bytes as unsigned {@code ints}, such as a memory mapped file too large to be
+ * indexed by an {@code int}. The bytes are provided as {@link ByteBuffer} views from a given byte offset, each of
+ * which is read to its end before the view for the following offset is requested, so only one view is created per
+ * segment of the range.
+ *
+ * @since 2.3
+ */
+public class ByteBufferIntIterator implements IntIterator {
+	private final LongFunction<ByteBuffer> slicer;
+	private final long size;
+
+	private ByteBuffer bytes;
+	private long offset;
+
+	/**
+	 * @param slicer a function from a byte offset to a {@link ByteBuffer} positioned at that offset.
+	 * @param size   the number of bytes to read.
+	 */
+	public ByteBufferIntIterator(LongFunction<ByteBuffer> slicer, long size) {
+		this.slicer = slicer;
+		this.size = size;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return bytes != null && bytes.hasRemaining() || fill();
+	}
+
+	@Override
+	public int nextInt() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		return bytes.get() & 0xFF;
+	}
+
+	@Override
+	public void forEachRemaining(IntConsumer consumer) {
+		while (hasNext())
+			while (bytes.hasRemaining())
+				consumer.accept(bytes.get() & 0xFF);
+	}
+
+	@Override
+	public boolean forEachWhile(IntPredicate action) {
+		while (hasNext())
+			while (bytes.hasRemaining())
+				if (!action.test(bytes.get() & 0xFF))
+					return false;
+
+		return true;
+	}
+
+	private boolean fill() {
+		if (offset >= size)
+			return false;
+
+		bytes = slicer.apply(offset);
+		if (bytes.remaining() > size - offset)
+			bytes.limit((int) (bytes.position() + size - offset));
+		offset += bytes.remaining();
+		return bytes.hasRemaining();
+	}
+}
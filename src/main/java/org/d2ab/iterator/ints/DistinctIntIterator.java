@@ -17,12 +17,25 @@
 package org.d2ab.iterator.ints;
 
 import org.d2ab.collection.ints.BitIntSet;
+import org.d2ab.collection.ints.IntHashSet;
 import org.d2ab.collection.ints.IntSet;
 
 import java.util.NoSuchElementException;
 
+/**
+ * An iterator over the distinct values of another iterator. The values seen so far are kept in an {@link IntHashSet}
+ * while they are spread sparsely, and in a {@link BitIntSet} once they turn out to be clustered densely, with the
+ * density checked each time the number of distinct values doubles.
+ */
 public class DistinctIntIterator extends DelegatingUnaryIntIterator {
-	private final IntSet seen = new BitIntSet();
+	private static final int FIRST_DENSITY_CHECK = 1024;
+	// below this average distance between values, bitmaps are both smaller and faster than hashing
+	private static final int MAX_SPAN_PER_VALUE = 32;
+
+	private IntSet seen = new IntHashSet();
+	private int min = Integer.MAX_VALUE;
+	private int max = Integer.MIN_VALUE;
+	private int nextDensityCheck = FIRST_DENSITY_CHECK;
 
 	private int next;
 	private boolean hasNext;
@@ -47,10 +60,45 @@ public class DistinctIntIterator extends DelegatingUnaryIntIterator {
 
 		while (!hasNext && iterator.hasNext()) {
 			int maybeNext = iterator.nextInt();
-			if (hasNext = seen.addInt(maybeNext))
+			if (hasNext = seen.addInt(maybeNext)) {
 				next = maybeNext;
+				observe(maybeNext);
+			}
 		}
 
 		return hasNext;
 	}
+
+	/**
+	 * @return the distinct values seen so far by this iterator, as a {@link BitIntSet} if they are clustered
+	 * densely or as an {@link IntHashSet} if they are spread sparsely. Once this iterator is exhausted, these are
+	 * all the distinct values of the underlying iterator.
+	 *
+	 * @since 2.3
+	 */
+	public IntSet seen() {
+		adaptToDensity();
+		return seen;
+	}
+
+	private void observe(int x) {
+		if (x < min)
+			min = x;
+		if (x > max)
+			max = x;
+
+		if (seen.size() == nextDensityCheck) {
+			nextDensityCheck = nextDensityCheck < Integer.MAX_VALUE >> 1 ? nextDensityCheck << 1 : Integer.MAX_VALUE;
+			adaptToDensity();
+		}
+	}
+
+	private void adaptToDensity() {
+		boolean dense = seen.isEmpty() || (long) max - min < (long) seen.size() * MAX_SPAN_PER_VALUE;
+		if (dense != seen instanceof BitIntSet) {
+			IntSet adapted = dense ? new BitIntSet() : new IntHashSet();
+			adapted.addAllInts(seen);
+			seen = adapted;
+		}
+	}
 }
@@ -17,6 +17,7 @@
 package org.d2ab.iterator.ints;
 
 import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
 import java.util.function.IntPredicate;
 
 public class FilteringIntIterator extends DelegatingUnaryIntIterator {
@@ -56,4 +57,28 @@ public class FilteringIntIterator extends DelegatingUnaryIntIterator {
 		// found matching value
 		return true;
 	}
+
+	@Override
+	public void forEachRemaining(IntConsumer action) {
+		if (hasNext) {
+			hasNext = false;
+			action.accept(next);
+		}
+
+		iterator.forEachRemaining((IntConsumer) x -> {
+			if (predicate.test(x))
+				action.accept(x);
+		});
+	}
+
+	@Override
+	public boolean forEachWhile(IntPredicate action) {
+		if (hasNext) {
+			hasNext = false;
+			if (!action.test(next))
+				return false;
+		}
+
+		return iterator.forEachWhile(x -> !predicate.test(x) || action.test(x));
+	}
 }
@@ -17,38 +17,46 @@
 package org.d2ab.iterator.ints;
 
 import org.d2ab.iterator.IterationException;
-import org.d2ab.iterator.chars.CharIterator;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Reader;
 import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
 
 /**
- * A {@link CharIterator} over the {@code chars} in a {@link Reader}.
+ * An {@link IntIterator} over the bytes in an {@link InputStream}, as unsigned {@code int} values. The bytes are read
+ * in bulk into an internal buffer and served from there, so the {@link InputStream} is called once per buffer rather
+ * than once per byte. This means the {@link InputStream} may have been read past the last byte returned by this
+ * iterator. Skipping past the buffered bytes is delegated to {@link InputStream#skip(long)}, so for streams that can
+ * skip beyond their end the number of skipped bytes reported may be too high. The {@link InputStream} is never closed
+ * by this iterator, and is not read from again once it has signalled end of stream.
  */
 public class InputStreamIntIterator implements IntIterator {
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
 	private final InputStream inputStream;
-	private int next;
-	private boolean hasNext;
+	private final byte[] buffer;
+	private int position;
+	private int limit;
+	private boolean ended;
 
 	public InputStreamIntIterator(InputStream inputStream) {
+		this(inputStream, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @since 2.3
+	 */
+	public InputStreamIntIterator(InputStream inputStream, int bufferSize) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize < 1: " + bufferSize);
 		this.inputStream = inputStream;
+		this.buffer = new byte[bufferSize];
 	}
 
 	@Override
 	public boolean hasNext() {
-		if (!hasNext) {
-			try {
-				next = inputStream.read();
-			} catch (IOException e) {
-				throw new IterationException(e);
-			}
-
-			hasNext = true;
-		}
-
-		return next != -1;
+		return position < limit || fill();
 	}
 
 	@Override
@@ -56,7 +64,62 @@ public class InputStreamIntIterator implements IntIterator {
 		if (!hasNext())
 			throw new NoSuchElementException();
 
-		hasNext = false;
-		return next;
+		return buffer[position++] & 0xFF;
+	}
+
+	@Override
+	public void forEachRemaining(IntConsumer consumer) {
+		while (hasNext()) {
+			for (int i = position; i < limit; i++)
+				consumer.accept(buffer[i] & 0xFF);
+			position = limit;
+		}
+	}
+
+	@Override
+	public int skip(int steps) {
+		int buffered = Math.max(Math.min(steps, limit - position), 0);
+		position += buffered;
+
+		int skipped = buffered;
+		try {
+			while (skipped < steps && !ended) {
+				long count = inputStream.skip(steps - skipped);
+				if (count > 0) {
+					skipped += count;
+				} else if (fill()) {
+					int consumed = Math.min(steps - skipped, limit - position);
+					position += consumed;
+					skipped += consumed;
+				}
+			}
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
+		return skipped;
+	}
+
+	private boolean fill() {
+		if (ended)
+			return false;
+
+		try {
+			int count;
+			do {
+				count = inputStream.read(buffer, 0, buffer.length);
+			} while (count == 0);
+
+			if (count == -1) {
+				ended = true;
+				position = limit = 0;
+				return false;
+			}
+
+			position = 0;
+			limit = count;
+			return true;
+		} catch (IOException e) {
+			throw new IterationException(e);
+		}
 	}
 }
@@ -171,6 +171,21 @@ public interface IntIterator extends PrimitiveIterator.OfInt {
 		return count;
 	}
 
+	/**
+	 * Copy up to the given number of {@code ints} from this iterator into the given array, starting at the given
+	 * offset, and advance the iterator past them. Fewer {@code ints} than requested are only copied if this
+	 * iterator runs out. Iterators backed by arrays override this to copy the {@code ints} in bulk.
+	 *
+	 * @return the number of {@code ints} copied, which is {@code 0} if this iterator has no more {@code ints}.
+	 * @since 2.3
+	 */
+	default int nextInts(int[] array, int offset, int length) {
+		int count = 0;
+		while (count < length && hasNext())
+			array[offset + count++] = nextInt();
+		return count;
+	}
+
 	/**
 	 * @return the number of {@code ints} remaining in this iterator.
 	 */
@@ -215,9 +230,25 @@ public interface IntIterator extends PrimitiveIterator.OfInt {
 	}
 
 	default int reduce(int identity, IntBinaryOperator operator) {
-		int result = identity;
+		int[] result = {identity};
+		forEachRemaining((IntConsumer) each -> result[0] = operator.applyAsInt(result[0], each));
+		return result[0];
+	}
+
+	/**
+	 * Perform the given action on each remaining {@code int} in this iterator, until the action returns false or
+	 * there are no more {@code int}s. Iterators that can push their values directly override this to avoid a
+	 * {@link #hasNext()} and {@link #nextInt()} call per value.
+	 *
+	 * @return true if there were no more {@code int}s, or false if the action returned false.
+	 *
+	 * @since 2.3
+	 */
+	default boolean forEachWhile(IntPredicate action) {
 		while (hasNext())
-			result = operator.applyAsInt(result, nextInt());
-		return result;
+			if (!action.test(nextInt()))
+				return false;
+
+		return true;
 	}
 }
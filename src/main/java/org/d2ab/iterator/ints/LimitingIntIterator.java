@@ -17,6 +17,8 @@
 package org.d2ab.iterator.ints;
 
 import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
 public class LimitingIntIterator extends DelegatingUnaryIntIterator {
 	private final int limit;
@@ -40,4 +42,23 @@ public class LimitingIntIterator extends DelegatingUnaryIntIterator {
 	public boolean hasNext() {
 		return count < limit && iterator.hasNext();
 	}
+
+	@Override
+	public void forEachRemaining(IntConsumer action) {
+		while (count < limit && iterator.hasNext()) {
+			action.accept(iterator.nextInt());
+			count++;
+		}
+	}
+
+	@Override
+	public boolean forEachWhile(IntPredicate action) {
+		while (count < limit && iterator.hasNext()) {
+			count++;
+			if (!action.test(iterator.nextInt()))
+				return false;
+		}
+
+		return true;
+	}
 }
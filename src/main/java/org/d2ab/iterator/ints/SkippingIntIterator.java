@@ -17,6 +17,8 @@
 package org.d2ab.iterator.ints;
 
 import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
 public class SkippingIntIterator extends DelegatingUnaryIntIterator {
 	private final int skip;
@@ -45,4 +47,24 @@ public class SkippingIntIterator extends DelegatingUnaryIntIterator {
 
 		return iterator.nextInt();
 	}
+
+	@Override
+	public void forEachRemaining(IntConsumer action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		iterator.forEachRemaining(action);
+	}
+
+	@Override
+	public boolean forEachWhile(IntPredicate action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		return iterator.forEachWhile(action);
+	}
 }
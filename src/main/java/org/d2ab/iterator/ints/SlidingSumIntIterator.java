@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.ints;
+
+import org.d2ab.iterator.longs.DelegatingTransformingLongIterator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the sums of the {@code ints} in each window of the given size over another {@link IntIterator},
+ * sliding one {@code int} at a time with the same windows as {@code window(window, 1)}. The sum is updated as {@code
+ * ints} enter and leave the window, in constant time per step.
+ */
+public class SlidingSumIntIterator extends DelegatingTransformingLongIterator<Integer, IntIterator> {
+	private final int window;
+	private final int[] buffer;
+	private int head;
+	private int size;
+	private boolean started;
+	private boolean hasNext;
+
+	private long sum;
+
+	public SlidingSumIntIterator(IntIterator iterator, int window) {
+		super(iterator);
+		this.window = window;
+		this.buffer = new int[window];
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (hasNext)
+			return true;
+
+		if (!started) {
+			while (size < window && iterator.hasNext())
+				add(iterator.nextInt());
+			hasNext = size > 0;
+		} else if (size == window && iterator.hasNext()) {
+			slide(iterator.nextInt());
+			hasNext = true;
+		}
+
+		return hasNext;
+	}
+
+	@Override
+	public long nextLong() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		hasNext = false;
+		started = true;
+		return sum;
+	}
+
+	private void add(int x) {
+		buffer[size++] = x;
+		sum += x;
+	}
+
+	private void slide(int x) {
+		sum += (long) x - buffer[head];
+		buffer[head] = x;
+		head = (head + 1) % window;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
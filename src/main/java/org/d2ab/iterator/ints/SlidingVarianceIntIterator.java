@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.ints;
+
+import org.d2ab.iterator.doubles.DelegatingTransformingDoubleIterator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the population variances of the {@code ints} in each window of the given size over another {@link
+ * IntIterator}, sliding one {@code int} at a time with the same windows as {@code window(window, 1)}. The mean and sum
+ * of squared deviations of the window are updated using Welford's method as {@code ints} enter and leave the window, in
+ * constant time per step, and recomputed once per full turn of the window to avoid accumulating rounding errors.
+ * They are also recomputed when the sum of squared deviations drops far below the largest it has been since it was
+ * last recomputed, such as when an {@code int} of large magnitude leaves the window, since the downdate then cancels
+ * out most of its precision.
+ */
+public class SlidingVarianceIntIterator extends DelegatingTransformingDoubleIterator<Integer, IntIterator> {
+	private static final double CANCELLATION = 1 << 20;
+
+	private final int window;
+	private final int[] buffer;
+	private int head;
+	private int size;
+	private boolean started;
+	private boolean hasNext;
+
+	private double mean;
+	private double squares;
+	private double peak;
+
+	public SlidingVarianceIntIterator(IntIterator iterator, int window) {
+		super(iterator);
+		this.window = window;
+		this.buffer = new int[window];
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (hasNext)
+			return true;
+
+		if (!started) {
+			while (size < window && iterator.hasNext())
+				add(iterator.nextInt());
+			hasNext = size > 0;
+		} else if (size == window && iterator.hasNext()) {
+			slide(iterator.nextInt());
+			hasNext = true;
+		}
+
+		return hasNext;
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		hasNext = false;
+		started = true;
+		return Math.max(squares / size, 0);
+	}
+
+	private void add(int x) {
+		buffer[size++] = x;
+		double delta = x - mean;
+		mean += delta / size;
+		squares += delta * (x - mean);
+		peak = Math.max(peak, squares);
+	}
+
+	private void slide(int x) {
+		int removed = buffer[head];
+		double oldMean = mean;
+		mean += ((double) x - removed) / size;
+		squares += ((double) x - removed) * (x - mean + removed - oldMean);
+		buffer[head] = x;
+		head = (head + 1) % window;
+		if (head == 0 || squares * CANCELLATION < peak)
+			recompute();
+		else
+			peak = Math.max(peak, squares);
+	}
+
+	private void recompute() {
+		double sum = 0;
+		for (int x : buffer)
+			sum += x;
+		mean = sum / size;
+
+		squares = 0;
+		for (int x : buffer)
+			squares += (x - mean) * (x - mean);
+		peak = squares;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -18,6 +18,8 @@ package org.d2ab.iterator.longs;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
 
 /**
  * An {@link Iterator} over an array of items.
@@ -59,4 +61,19 @@ public class ArrayLongIterator implements LongIterator {
 
 		return values[offset + index++];
 	}
+
+	@Override
+	public void forEachRemaining(LongConsumer action) {
+		while (index < size)
+			action.accept(values[offset + index++]);
+	}
+
+	@Override
+	public boolean forEachWhile(LongPredicate action) {
+		while (index < size)
+			if (!action.test(values[offset + index++]))
+				return false;
+
+		return true;
+	}
 }
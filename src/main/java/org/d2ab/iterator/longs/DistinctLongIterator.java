@@ -17,12 +17,25 @@
 package org.d2ab.iterator.longs;
 
 import org.d2ab.collection.longs.BitLongSet;
+import org.d2ab.collection.longs.LongHashSet;
 import org.d2ab.collection.longs.LongSet;
 
 import java.util.NoSuchElementException;
 
+/**
+ * An iterator over the distinct values of another iterator. The values seen so far are kept in a {@link LongHashSet}
+ * while they are spread sparsely, and in a {@link BitLongSet} once they turn out to be clustered densely, with the
+ * density checked each time the number of distinct values doubles.
+ */
 public class DistinctLongIterator extends DelegatingUnaryLongIterator {
-	private final LongSet seen = new BitLongSet();
+	private static final int FIRST_DENSITY_CHECK = 1024;
+	// below this average distance between values, bitmaps are both smaller and faster than hashing
+	private static final int MAX_SPAN_PER_VALUE = 32;
+
+	private LongSet seen = new LongHashSet();
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+	private int nextDensityCheck = FIRST_DENSITY_CHECK;
 
 	private long next;
 	private boolean hasNext;
@@ -38,8 +51,10 @@ public class DistinctLongIterator extends DelegatingUnaryLongIterator {
 
 		while (!hasNext && iterator.hasNext()) {
 			long maybeNext = iterator.nextLong();
-			if (hasNext = seen.addLong(maybeNext))
+			if (hasNext = seen.addLong(maybeNext)) {
 				next = maybeNext;
+				observe(maybeNext);
+			}
 		}
 
 		return hasNext;
@@ -53,4 +68,37 @@ public class DistinctLongIterator extends DelegatingUnaryLongIterator {
 		hasNext = false;
 		return next;
 	}
+
+	/**
+	 * @return the distinct values seen so far by this iterator, as a {@link BitLongSet} if they are clustered
+	 * densely or as a {@link LongHashSet} if they are spread sparsely. Once this iterator is exhausted, these are
+	 * all the distinct values of the underlying iterator.
+	 *
+	 * @since 2.3
+	 */
+	public LongSet seen() {
+		adaptToDensity();
+		return seen;
+	}
+
+	private void observe(long x) {
+		if (x < min)
+			min = x;
+		if (x > max)
+			max = x;
+
+		if (seen.size() == nextDensityCheck) {
+			nextDensityCheck = nextDensityCheck < Integer.MAX_VALUE >> 1 ? nextDensityCheck << 1 : Integer.MAX_VALUE;
+			adaptToDensity();
+		}
+	}
+
+	private void adaptToDensity() {
+		boolean dense = seen.isEmpty() || Long.compareUnsigned(max - min, (long) seen.size() * MAX_SPAN_PER_VALUE) < 0;
+		if (dense != seen instanceof BitLongSet) {
+			LongSet adapted = dense ? new BitLongSet() : new LongHashSet();
+			adapted.addAllLongs(seen);
+			seen = adapted;
+		}
+	}
 }
@@ -17,6 +17,7 @@
 package org.d2ab.iterator.longs;
 
 import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
 import java.util.function.LongPredicate;
 
 public class FilteringLongIterator extends DelegatingUnaryLongIterator {
@@ -56,4 +57,28 @@ public class FilteringLongIterator extends DelegatingUnaryLongIterator {
 		// found matching value
 		return true;
 	}
+
+	@Override
+	public void forEachRemaining(LongConsumer action) {
+		if (hasNext) {
+			hasNext = false;
+			action.accept(next);
+		}
+
+		iterator.forEachRemaining((LongConsumer) x -> {
+			if (predicate.test(x))
+				action.accept(x);
+		});
+	}
+
+	@Override
+	public boolean forEachWhile(LongPredicate action) {
+		if (hasNext) {
+			hasNext = false;
+			if (!action.test(next))
+				return false;
+		}
+
+		return iterator.forEachWhile(x -> !predicate.test(x) || action.test(x));
+	}
 }
@@ -17,6 +17,8 @@
 package org.d2ab.iterator.longs;
 
 import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
 
 public class LimitingLongIterator extends DelegatingUnaryLongIterator {
 	private final int limit;
@@ -41,4 +43,23 @@ public class LimitingLongIterator extends DelegatingUnaryLongIterator {
 	public boolean hasNext() {
 		return count < limit && iterator.hasNext();
 	}
+
+	@Override
+	public void forEachRemaining(LongConsumer action) {
+		while (count < limit && iterator.hasNext()) {
+			action.accept(iterator.nextLong());
+			count++;
+		}
+	}
+
+	@Override
+	public boolean forEachWhile(LongPredicate action) {
+		while (count < limit && iterator.hasNext()) {
+			count++;
+			if (!action.test(iterator.nextLong()))
+				return false;
+		}
+
+		return true;
+	}
 }
@@ -151,11 +151,26 @@ public interface LongIterator extends PrimitiveIterator.OfLong {
 		return count;
 	}
 
+	/**
+	 * Read the next {@code longs} in this iterator into the given buffer, until the buffer is full or this iterator
+	 * is exhausted.
+	 *
+	 * @return the number of {@code longs} read into the buffer, which is less than the length of the buffer only if
+	 * this iterator is exhausted.
+	 *
+	 * @since 2.3
+	 */
+	default int nextLongs(long[] buffer) {
+		int count = 0;
+		while (count < buffer.length && hasNext())
+			buffer[count++] = nextLong();
+		return count;
+	}
+
 	default long reduce(long identity, LongBinaryOperator operator) {
-		long result = identity;
-		while (hasNext())
-			result = operator.applyAsLong(result, nextLong());
-		return result;
+		long[] result = {identity};
+		forEachRemaining((LongConsumer) each -> result[0] = operator.applyAsLong(result[0], each));
+		return result[0];
 	}
 
 	/**
@@ -202,4 +217,21 @@ public interface LongIterator extends PrimitiveIterator.OfLong {
 			remove();
 		}
 	}
+
+	/**
+	 * Perform the given action on each remaining {@code long} in this iterator, until the action returns false or
+	 * there are no more {@code long}s. Iterators that can push their values directly override this to avoid a
+	 * {@link #hasNext()} and {@link #nextLong()} call per value.
+	 *
+	 * @return true if there were no more {@code long}s, or false if the action returned false.
+	 *
+	 * @since 2.3
+	 */
+	default boolean forEachWhile(LongPredicate action) {
+		while (hasNext())
+			if (!action.test(nextLong()))
+				return false;
+
+		return true;
+	}
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.iterator.longs;
+
+import java.util.Spliterator;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongConsumer;
+
+/**
+ * A {@link Spliterator.OfLong} over a range of indices in a random access source of {@code long} values, such as an
+ * array, a {@link java.util.RandomAccess} list or a bounded range. Always reports {@link #SIZED} and
+ * {@link #SUBSIZED}, and splits in constant time by halving the remaining range of indices.
+ *
+ * @since 2.3
+ */
+public class RandomAccessLongSpliterator implements Spliterator.OfLong {
+	private final IntToLongFunction source;
+	private final int characteristics;
+
+	private int index;
+	private final int end;
+
+	public RandomAccessLongSpliterator(IntToLongFunction source, int size, int characteristics) {
+		this(source, 0, size, characteristics);
+	}
+
+	public RandomAccessLongSpliterator(IntToLongFunction source, int index, int end, int characteristics) {
+		this.source = source;
+		this.index = index;
+		this.end = end;
+		this.characteristics = characteristics | SIZED | SUBSIZED;
+	}
+
+	@Override
+	public Spliterator.OfLong trySplit() {
+		int middle = (index + end) >>> 1;
+		if (middle <= index)
+			return null;
+
+		return new RandomAccessLongSpliterator(source, index, index = middle, characteristics);
+	}
+
+	@Override
+	public boolean tryAdvance(LongConsumer action) {
+		if (index >= end)
+			return false;
+
+		action.accept(source.applyAsLong(index++));
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(LongConsumer action) {
+		int i = index;
+		index = end;
+		for (; i < end; i++)
+			action.accept(source.applyAsLong(i));
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+}
@@ -17,6 +17,8 @@
 package org.d2ab.iterator.longs;
 
 import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
 
 public class SkippingLongIterator extends DelegatingUnaryLongIterator {
 	private final int skip;
@@ -45,4 +47,24 @@ public class SkippingLongIterator extends DelegatingUnaryLongIterator {
 
 		return iterator.nextLong();
 	}
+
+	@Override
+	public void forEachRemaining(LongConsumer action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		iterator.forEachRemaining(action);
+	}
+
+	@Override
+	public boolean forEachWhile(LongPredicate action) {
+		if (!skipped) {
+			iterator.skip(skip);
+			skipped = true;
+		}
+
+		return iterator.forEachWhile(action);
+	}
 }
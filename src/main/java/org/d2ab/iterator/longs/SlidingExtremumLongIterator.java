@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.longs;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the minimum or maximum {@code long} in each window of the given size over another {@link
+ * LongIterator}, sliding one {@code long} at a time with the same windows as {@code window(window, 1)}. The candidates
+ * for the extremum are kept in a monotonic deque of at most the window size, so each step takes amortized constant
+ * time.
+ */
+public class SlidingExtremumLongIterator extends DelegatingUnaryLongIterator {
+	private final int window;
+	private final boolean maximum;
+	private final long[] values;
+	private final long[] positions;
+	private int first;
+	private int count;
+	private long position;
+	private int size;
+	private boolean started;
+	private boolean hasNext;
+
+	public SlidingExtremumLongIterator(LongIterator iterator, int window, boolean maximum) {
+		super(iterator);
+		this.window = window;
+		this.maximum = maximum;
+		this.values = new long[window];
+		this.positions = new long[window];
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (hasNext)
+			return true;
+
+		if (!started) {
+			while (size < window && iterator.hasNext())
+				add(iterator.nextLong());
+			hasNext = size > 0;
+		} else if (size == window && iterator.hasNext()) {
+			slide(iterator.nextLong());
+			hasNext = true;
+		}
+
+		return hasNext;
+	}
+
+	@Override
+	public long nextLong() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		hasNext = false;
+		started = true;
+		return values[first];
+	}
+
+	private void add(long x) {
+		size++;
+		push(x);
+	}
+
+	private void slide(long x) {
+		if (positions[first] <= position - window) {
+			first = (first + 1) % window;
+			count--;
+		}
+		push(x);
+	}
+
+	private void push(long x) {
+		while (count > 0 && dominates(x, values[(first + count - 1) % window]))
+			count--;
+
+		int last = (first + count++) % window;
+		values[last] = x;
+		positions[last] = position++;
+	}
+
+	private boolean dominates(long x, long y) {
+		return maximum ? x >= y : x <= y;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.iterator.longs;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the sums of the {@code longs} in each window of the given size over another {@link LongIterator},
+ * sliding one {@code long} at a time with the same windows as {@code window(window, 1)}. The sum is updated as {@code
+ * longs} enter and leave the window, in constant time per step.
+ */
+public class SlidingSumLongIterator extends DelegatingUnaryLongIterator {
+	private final int window;
+	private final long[] buffer;
+	private int head;
+	private int size;
+	private boolean started;
+	private boolean hasNext;
+
+	private long sum;
+
+	public SlidingSumLongIterator(LongIterator iterator, int window) {
+		super(iterator);
+		this.window = window;
+		this.buffer = new long[window];
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (hasNext)
+			return true;
+
+		if (!started) {
+			while (size < window && iterator.hasNext())
+				add(iterator.nextLong());
+			hasNext = size > 0;
+		} else if (size == window && iterator.hasNext()) {
+			slide(iterator.nextLong());
+			hasNext = true;
+		}
+
+		return hasNext;
+	}
+
+	@Override
+	public long nextLong() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+
+		hasNext = false;
+		started = true;
+		return sum;
+	}
+
+	private void add(long x) {
+		buffer[size++] = x;
+		sum += x;
+	}
+
+	private void slide(long x) {
+		sum += x - buffer[head];
+		buffer[head] = x;
+		head = (head + 1) % window;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+}
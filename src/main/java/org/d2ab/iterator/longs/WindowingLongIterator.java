@@ -19,28 +19,59 @@ package org.d2ab.iterator.longs;
 import org.d2ab.iterator.DelegatingTransformingIterator;
 import org.d2ab.sequence.LongSequence;
 
-import java.util.Arrays;
 import java.util.NoSuchElementException;
 
+/**
+ * An {@link java.util.Iterator} over windows of the {@code longs} of another {@link LongIterator}, each window
+ * containing up to the given number of {@code longs}, stepping the given number of {@code longs} between each window.
+ * The {@code longs} are buffered in a circular array which grows as needed up to the window size, so each step only
+ * moves the start of the window.
+ * <p>
+ * By default each window is a copy of the buffered {@code longs}. In reuse mode, each window is instead a read-only
+ * view over the buffer, which is only valid until the next call to {@link #hasNext()} or {@link #next()}, and the
+ * same window instance is returned every time.
+ */
 public class WindowingLongIterator extends DelegatingTransformingIterator<Long, LongIterator, LongSequence> {
+	private static final int INITIAL_CAPACITY = 16;
+
 	private final int window;
 	private final int step;
+	private final boolean reuse;
 
-	private final long[] partition;
+	private long[] buffer;
+	private int head;
 	private int size;
 	private boolean started;
+	private boolean stepping;
+
+	private int viewSize;
+	private LongSequence view;
 
 	public WindowingLongIterator(LongIterator iterator, int window, int step) {
+		this(iterator, window, step, false);
+	}
+
+	/**
+	 * @since 2.3
+	 */
+	public WindowingLongIterator(LongIterator iterator, int window, int step, boolean reuse) {
 		super(iterator);
 		this.window = window;
 		this.step = step;
-		this.partition = new long[window];
+		this.reuse = reuse;
+		this.buffer = new long[Math.max(Math.min(window, INITIAL_CAPACITY), 0)];
 	}
 
 	@Override
 	public boolean hasNext() {
-		while (size < window && iterator.hasNext())
-			partition[size++] = iterator.nextLong();
+		if (stepping)
+			step();
+
+		while (size < window && iterator.hasNext()) {
+			if (size == buffer.length)
+				grow();
+			buffer[(head + size++) % buffer.length] = iterator.nextLong();
+		}
 
 		return size == window || size > 0 && (!started || size > window - step && !iterator.hasNext());
 	}
@@ -50,23 +81,81 @@ public class WindowingLongIterator extends DelegatingTransformingIterator<Long,
 		if (!hasNext())
 			throw new NoSuchElementException();
 
-		LongSequence next = LongSequence.of(Arrays.copyOf(partition, size));
+		stepping = true;
+		started = true;
+
+		if (!reuse)
+			return LongSequence.of(copy());
+
+		viewSize = size;
+		if (view == null)
+			view = new View();
+		return view;
+	}
 
-		if (step < partition.length) {
-			System.arraycopy(partition, step, partition, 0, partition.length - step);
-			size = partition.length - step;
+	private long[] copy() {
+		long[] copy = new long[size];
+		int first = Math.min(size, buffer.length - head);
+		System.arraycopy(buffer, head, copy, 0, first);
+		System.arraycopy(buffer, 0, copy, first, size - first);
+		return copy;
+	}
+
+	private void grow() {
+		long[] grown = new long[(int) Math.min(window, 2L * buffer.length)];
+		System.arraycopy(buffer, head, grown, 0, buffer.length - head);
+		System.arraycopy(buffer, 0, grown, buffer.length - head, head);
+		buffer = grown;
+		head = 0;
+	}
+
+	private void step() {
+		stepping = false;
+		if (step < size) {
+			head = (head + step) % buffer.length;
+			size -= step;
 		} else {
-			for (int i = partition.length; i < step && iterator.hasNext(); i++)
+			for (int i = size; i < step && iterator.hasNext(); i++)
 				iterator.nextLong();
+			head = 0;
 			size = 0;
 		}
-
-		started = true;
-		return next;
 	}
 
 	@Override
 	public void remove() {
 		throw new UnsupportedOperationException();
 	}
+
+	private class View implements LongSequence {
+		@Override
+		public LongIterator iterator() {
+			return new LongIterator() {
+				private int index;
+
+				@Override
+				public boolean hasNext() {
+					return index < viewSize;
+				}
+
+				@Override
+				public long nextLong() {
+					if (!hasNext())
+						throw new NoSuchElementException();
+
+					return buffer[(head + index++) % buffer.length];
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return viewSize;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return viewSize == 0;
+		}
+	}
 }
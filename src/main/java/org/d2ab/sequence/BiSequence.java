@@ -464,16 +464,20 @@ public interface BiSequence<L, R> extends IterableCollection<Pair<L, R>> {
 	 */
 	@SuppressWarnings("unchecked")
 	default BiSequence<L, R> including(Pair<L, R>... pairs) {
-		return filter(p -> Arrayz.contains(pairs, p));
+		return including(Arrays.asList(pairs));
 	}
 
 	/**
-	 * @return a {@code BiSequence} containing only the pairs found in the given target iterable.
+	 * @return a {@code BiSequence} containing only the pairs found in the given target iterable. Unless the
+	 * target is a {@link Set}, it is collected into a {@link HashSet} once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	default BiSequence<L, R> including(Iterable<? extends Pair<L, R>> pairs) {
-		return filter(p -> Iterables.contains(pairs, p));
+		return () -> {
+			Set<?> lookup = Iterables.toLookupSet(pairs);
+			return filter(p -> lookup.contains(p)).iterator();
+		};
 	}
 
 	/**
@@ -483,16 +487,21 @@ public interface BiSequence<L, R> extends IterableCollection<Pair<L, R>> {
 	 */
 	@SuppressWarnings("unchecked")
 	default BiSequence<L, R> excluding(Pair<L, R>... pairs) {
-		return filter(p -> !Arrayz.contains(pairs, p));
+		return excluding(Arrays.asList(pairs));
 	}
 
 	/**
 	 * @return a {@code BiSequence} containing only the pairs not found in the given target iterable.
+	 * Unless the target is a {@link Set}, it is collected into a {@link HashSet} once each time the sequence is
+	 * traversed.
 	 *
 	 * @since 1.2
 	 */
 	default BiSequence<L, R> excluding(Iterable<? extends Pair<L, R>> pairs) {
-		return filter(p -> !Iterables.contains(pairs, p));
+		return () -> {
+			Set<?> lookup = Iterables.toLookupSet(pairs);
+			return filter(p -> !lookup.contains(p)).iterator();
+		};
 	}
 
 	/**
@@ -949,7 +958,7 @@ public interface BiSequence<L, R> extends IterableCollection<Pair<L, R>> {
 	 * {@code BiSequence}.
 	 */
 	default Optional<Pair<L, R>> first() {
-		return at(0);
+		return Iterators.first(iterator());
 	}
 
 	/**
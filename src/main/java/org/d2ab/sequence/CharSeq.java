@@ -18,15 +18,22 @@ package org.d2ab.sequence;
 
 import org.d2ab.collection.Arrayz;
 import org.d2ab.collection.chars.*;
+import org.d2ab.collection.ints.IntIntMap;
 import org.d2ab.function.*;
 import org.d2ab.iterator.IterationException;
 import org.d2ab.iterator.Iterators;
 import org.d2ab.iterator.chars.*;
 import org.d2ab.iterator.ints.IntIterator;
+import org.d2ab.util.BinaryFormat;
 import org.d2ab.util.OptionalChar;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
@@ -51,14 +58,14 @@ public interface CharSeq extends CharCollection {
 	 * Create a {@code CharSeq} with the given characters.
 	 */
 	static CharSeq of(char... cs) {
-		return () -> CharIterator.of(cs);
+		return from(cs, cs.length);
 	}
 
 	/**
 	 * Create an {@code CharSeq} with the given {@code chars}, limited to the given size.
 	 */
 	static CharSeq from(char[] cs, int size) {
-		return () -> CharIterator.from(cs, size);
+		return from(cs, 0, size);
 	}
 
 	/**
@@ -66,14 +73,14 @@ public interface CharSeq extends CharCollection {
 	 * given size.
 	 */
 	static CharSeq from(char[] is, int offset, int size) {
-		return () -> CharIterator.from(is, offset, size);
+		return RandomAccessCharSequence.from(is, offset, size);
 	}
 
 	/**
 	 * Create a {@code CharSeq} from a {@link CharSequence}.
 	 */
 	static CharSeq from(CharSequence csq) {
-		return () -> new CharSequenceCharIterator(csq);
+		return RandomAccessCharSequence.from(csq);
 	}
 
 	/**
@@ -82,6 +89,22 @@ public interface CharSeq extends CharCollection {
 	 * @see #cache(CharIterable)
 	 */
 	static CharSeq from(CharIterable iterable) {
+		if (iterable instanceof CharList && iterable instanceof RandomAccess)
+			return RandomAccessCharSequence.from((CharList) iterable);
+
+		if (iterable instanceof CharSortedSet)
+			return new CharSeq() {
+				@Override
+				public CharIterator iterator() {
+					return iterable.iterator();
+				}
+
+				@Override
+				public CharSeq sorted() {
+					return this;
+				}
+			};
+
 		return iterable::iterator;
 	}
 
@@ -161,13 +184,92 @@ public interface CharSeq extends CharCollection {
 	 * over once. The {@link Reader} will be reset in between iterations, if possible. If an {@link IOException}
 	 * occurs during iteration, an {@link IterationException} will be thrown. The {@link Reader} will not be closed
 	 * by the {@code CharSeq} when iteration finishes, it must be closed externally when iteration is finished.
+	 * <p>
+	 * The characters are read in blocks of {@link ReaderCharIterator#DEFAULT_BUFFER_SIZE}, so the {@link Reader} may
+	 * have been read further than the characters iterated over.
 	 *
+	 * @see #read(Reader, int)
 	 * @since 1.1
 	 */
 	static CharSeq read(Reader reader) {
 		return CharIterable.read(reader)::iterator;
 	}
 
+	/**
+	 * Create a {@code CharSeq} from a {@link Reader} which iterates over the characters provided in the reader,
+	 * reading them in blocks of the given buffer size. See {@link #read(Reader)} for details.
+	 *
+	 * @throws IllegalArgumentException if the buffer size is less than one.
+	 * @since 2.3
+	 */
+	static CharSeq read(Reader reader, int bufferSize) {
+		return CharIterable.read(reader, bufferSize)::iterator;
+	}
+
+	/**
+	 * Create a {@code CharSeq} over the characters in the file at the given {@link Path}, decoded using the given
+	 * {@link Charset}. The file is memory mapped when this method is called, in segments of 1 GB to support files
+	 * larger than 2 GB, and each traversal decodes the characters straight from the mapping into a small buffer,
+	 * without reading the bytes through the heap. Malformed input is replaced with the replacement character of the
+	 * {@link Charset}. The size of the file is fixed when it is mapped. The file is not held open, the mapping is
+	 * released when the sequence is garbage collected.
+	 *
+	 * @throws IOException if the file could not be opened or mapped.
+	 * @since 2.3
+	 */
+	static CharSeq mapped(Path path, Charset charset) throws IOException {
+		MappedFile file = MappedFile.map(path, ByteOrder.BIG_ENDIAN);
+		return () -> new DecodingCharIterator(file::slice, file.size(), charset,
+		                                      ReaderCharIterator.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a {@link Sequence} of the lines in the file at the given {@link Path}, decoded using the given {@link
+	 * Charset}, without creating a {@code CharSeq} or even a {@link String} per line. Lines are separated by any of
+	 * {@code "\n"}, {@code "\r"} or {@code "\r\n"}, which are not included, and a line terminator at the end of
+	 * the file does not start another line, as with {@link java.io.BufferedReader#readLine()}. The file is memory
+	 * mapped when this method is called, as with {@link #mapped(Path, Charset)}. For UTF-8, US-ASCII and ISO-8859-1
+	 * the line terminators are found by scanning the mapped bytes, and only the bytes of each line are decoded.
+	 * <p>
+	 * Each line is decoded into a buffer that is reused for every line, and returned as a read-only {@link
+	 * CharSequence} view of that buffer, which is only valid until the next line is read. Use {@link
+	 * CharSequence#toString()} to keep a line, for example by mapping the sequence with {@code
+	 * CharSequence::toString} before collecting it.
+	 *
+	 * @throws IOException if the file could not be opened or mapped.
+	 * @see #records(Path, Charset, char)
+	 * @since 2.3
+	 */
+	static Sequence<CharSequence> lines(Path path, Charset charset) throws IOException {
+		MappedFile file = MappedFile.map(path, ByteOrder.BIG_ENDIAN);
+		return () -> new RecordSplittingIterator(file::slice, file.size(), charset);
+	}
+
+	/**
+	 * Create a {@link Sequence} of the records in the file at the given {@link Path}, decoded using the given {@link
+	 * Charset} and separated by the given delimiter, which is not included. A delimiter at the end of the file does
+	 * not start another record. The records are reused views in the same way as in {@link #lines(Path, Charset)}.
+	 *
+	 * @throws IOException if the file could not be opened or mapped.
+	 * @since 2.3
+	 */
+	static Sequence<CharSequence> records(Path path, Charset charset, char delimiter) throws IOException {
+		MappedFile file = MappedFile.map(path, ByteOrder.BIG_ENDIAN);
+		return () -> new RecordSplittingIterator(file::slice, file.size(), charset, delimiter);
+	}
+
+	/**
+	 * @return a {@code CharSeq} of the {@code chars} read from the given channel, as written by {@link
+	 * CharIterable#writeTo(WritableByteChannel)}, for example from a cached {@code CharSeq}. The {@code chars} are read
+	 * into memory when this method is called, and the channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code chars} in the {@link BinaryFormat}.
+	 * @since 2.3
+	 */
+	static CharSeq readFrom(ReadableByteChannel channel) throws IOException {
+		return CharSeq.of(BinaryFormat.readChars(channel));
+	}
+
 	/**
 	 * Create a {@code CharSeq} from a cached copy of a {@link CharIterator}.
 	 *
@@ -315,8 +417,7 @@ public interface CharSeq extends CharCollection {
 	 * @see #endingAt(char)
 	 */
 	static CharSeq range(char start, char end) {
-		CharUnaryOperator next = (end > start) ? c -> (char) ++c : c -> (char) --c;
-		return recurse(start, next).endingAt(end);
+		return RandomAccessCharSequence.range(start, end);
 	}
 
 	/**
@@ -565,6 +666,16 @@ public interface CharSeq extends CharCollection {
 			public char nextChar() {
 				return mapper.applyAsChar(iterator.nextChar());
 			}
+
+			@Override
+			public void forEachRemaining(CharConsumer action) {
+				iterator.forEachRemaining((CharConsumer) x -> action.accept(mapper.applyAsChar(x)));
+			}
+
+			@Override
+			public boolean forEachWhile(CharPredicate action) {
+				return iterator.forEachWhile(x -> action.test(mapper.applyAsChar(x)));
+			}
 		};
 	}
 
@@ -794,6 +905,19 @@ public interface CharSeq extends CharCollection {
 		return toSet(BitCharSet::new);
 	}
 
+	/**
+	 * Count the {@code chars} in this {@code CharSeq} in a single pass into an {@link IntIntMap} from each key given
+	 * by the classifier to the number of {@code chars} with that key, without boxing. Use {@code c -> c} as the
+	 * classifier to count the occurrences of each {@code char}.
+	 *
+	 * @since 2.3
+	 */
+	default IntIntMap countBy(CharToIntFunction classifier) {
+		IntIntMap counts = new IntIntMap();
+		forEachChar(c -> counts.merge(classifier.applyAsInt(c), 1, Integer::sum));
+		return counts;
+	}
+
 	/**
 	 * Collect this {@code CharSeq} into an {@link CharCollection} of the type determined by the given constructor.
 	 */
@@ -845,15 +969,9 @@ public interface CharSeq extends CharCollection {
 	 */
 	default String join(String prefix, String delimiter, String suffix) {
 		StringBuilder result = new StringBuilder(prefix);
-
-		boolean first = true;
-		for (CharIterator iterator = iterator(); iterator.hasNext(); ) {
-			if (!first)
-				result.append(delimiter);
-			else
-				first = false;
-			result.append(iterator.nextChar());
-		}
+		forEachChar(each -> result.append(each).append(delimiter));
+		if (result.length() > prefix.length())
+			result.setLength(result.length() - delimiter.length());
 
 		return result.append(suffix).toString();
 	}
@@ -886,7 +1004,14 @@ public interface CharSeq extends CharCollection {
 	 * in the {@code CharSeq}.
 	 */
 	default OptionalChar first() {
-		return at(0);
+		char[] first = new char[1];
+		if (iterator().forEachWhile(x -> {
+			first[0] = x;
+			return false;
+		}))
+			return OptionalChar.empty();
+
+		return OptionalChar.of(first[0]);
 	}
 
 	/**
@@ -1017,10 +1142,7 @@ public interface CharSeq extends CharCollection {
 	 * @return true if all characters in this {@code CharSeq} satisfy the given predicate, false otherwise.
 	 */
 	default boolean all(CharPredicate predicate) {
-		for (CharIterator iterator = iterator(); iterator.hasNext(); )
-			if (!predicate.test(iterator.nextChar()))
-				return false;
-		return true;
+		return iterator().forEachWhile(predicate);
 	}
 
 	/**
@@ -1034,10 +1156,7 @@ public interface CharSeq extends CharCollection {
 	 * @return true if any character in this {@code CharSeq} satisfy the given predicate, false otherwise.
 	 */
 	default boolean any(CharPredicate predicate) {
-		for (CharIterator iterator = iterator(); iterator.hasNext(); )
-			if (predicate.test(iterator.nextChar()))
-				return true;
-		return false;
+		return !iterator().forEachWhile(x -> !predicate.test(x));
 	}
 
 	/**
@@ -1051,6 +1170,22 @@ public interface CharSeq extends CharCollection {
 				action.accept(next);
 				return next;
 			}
+
+			@Override
+			public void forEachRemaining(CharConsumer consumer) {
+				iterator.forEachRemaining((CharConsumer) x -> {
+					action.accept(x);
+					consumer.accept(x);
+				});
+			}
+
+			@Override
+			public boolean forEachWhile(CharPredicate predicate) {
+				return iterator.forEachWhile(x -> {
+					action.accept(x);
+					return predicate.test(x);
+				});
+			}
 		};
 	}
 
@@ -1196,7 +1331,20 @@ public interface CharSeq extends CharCollection {
 	 * window size, the windows will overlap each other.
 	 */
 	default Sequence<CharSeq> window(int window, int step) {
-		return () -> new WindowingCharIterator(iterator(), window, step);
+		return window(window, step, false);
+	}
+
+	/**
+	 * Window the elements of this {@code CharSeq} into a sequence of {@code CharSeq}s of {@code chars}, each with the
+	 * size of the given window, stepping {@code step} {@code chars} between each window, as in {@link #window(int,
+	 * int)}. If {@code reuse} is true, the same window instance is returned for each window, as a read-only view over
+	 * an internal buffer which is only valid until the next window is requested, avoiding copying the {@code chars} in
+	 * each window.
+	 *
+	 * @since 2.3
+	 */
+	default Sequence<CharSeq> window(int window, int step, boolean reuse) {
+		return () -> new WindowingCharIterator(iterator(), window, step, reuse);
 	}
 
 	/**
@@ -17,6 +17,7 @@
 package org.d2ab.sequence;
 
 import org.d2ab.collection.*;
+import org.d2ab.iterator.Iterators;
 
 import java.util.*;
 import java.util.function.Function;
@@ -134,6 +135,32 @@ public class CollectionSequence<T> implements Sequence<T> {
 		return from(BiMappedCollection.from(collection, mapper, backMapper));
 	}
 
+	@Override
+	public Sequence<T> reverse() {
+		if (collection instanceof Deque)
+			return () -> Iterators.unmodifiable(((Deque<T>) collection).descendingIterator());
+		if (collection instanceof NavigableSet)
+			return () -> Iterators.unmodifiable(((NavigableSet<T>) collection).descendingIterator());
+
+		return Sequence.super.reverse();
+	}
+
+	@Override
+	public Sequence<T> sorted() {
+		if (collection instanceof SortedSet && ((SortedSet<T>) collection).comparator() == null)
+			return () -> Iterators.unmodifiable(collection);
+
+		return Sequence.super.sorted();
+	}
+
+	@Override
+	public Sequence<T> sorted(Comparator<? super T> comparator) {
+		if (collection instanceof SortedSet && comparator.equals(((SortedSet<T>) collection).comparator()))
+			return () -> Iterators.unmodifiable(collection);
+
+		return Sequence.super.sorted(comparator);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Sequence<T> append(Iterable<T> iterable) {
@@ -22,11 +22,18 @@ import org.d2ab.function.DoubleBiPredicate;
 import org.d2ab.function.DoubleIntConsumer;
 import org.d2ab.function.DoubleIntPredicate;
 import org.d2ab.function.DoubleIntToDoubleFunction;
+import org.d2ab.iterator.IterationException;
 import org.d2ab.iterator.Iterators;
 import org.d2ab.iterator.doubles.*;
 import org.d2ab.iterator.ints.IntIterator;
 import org.d2ab.iterator.longs.LongIterator;
+import org.d2ab.util.BinaryFormat;
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.DoubleStream;
@@ -52,14 +59,14 @@ public interface DoubleSequence extends DoubleCollection {
 	 * Create a {@code DoubleSequence} with the given doubles.
 	 */
 	static DoubleSequence of(double... ds) {
-		return () -> DoubleIterator.of(ds);
+		return from(ds, ds.length);
 	}
 
 	/**
 	 * Create an {@code DoubleSequence} with the given {@code doubles}, limited to the given size.
 	 */
 	static DoubleSequence from(double[] is, int size) {
-		return () -> DoubleIterator.from(is, size);
+		return from(is, 0, size);
 	}
 
 	/**
@@ -68,7 +75,7 @@ public interface DoubleSequence extends DoubleCollection {
 	 * given size.
 	 */
 	static DoubleSequence from(double[] is, int offset, int size) {
-		return () -> DoubleIterator.from(is, offset, size);
+		return RandomAccessDoubleSequence.from(is, offset, size);
 	}
 
 	/**
@@ -77,6 +84,9 @@ public interface DoubleSequence extends DoubleCollection {
 	 * @see #cache(DoubleIterable)
 	 */
 	static DoubleSequence from(DoubleIterable iterable) {
+		if (iterable instanceof DoubleList && iterable instanceof RandomAccess)
+			return RandomAccessDoubleSequence.from((DoubleList) iterable);
+
 		return iterable::iterator;
 	}
 
@@ -139,6 +149,36 @@ public interface DoubleSequence extends DoubleCollection {
 		return once(stream.iterator());
 	}
 
+	/**
+	 * Create a {@code DoubleSequence} over the {@code doubles} stored in the file at the given {@link Path}, eight
+	 * bytes each in the given {@link ByteOrder}. The file is memory mapped when this method is called, in segments of 1
+	 * GB to support files larger than 2 GB, and the {@code doubles} are read directly from the mapping without being
+	 * copied through the heap. The sequence knows its size, has constant time access by index, and provides {@link
+	 * #spliterator()}s that split by file offset, so that large files can be traversed in parallel. The size of the
+	 * sequence is fixed when the file is mapped, and any trailing bytes that do not make up a whole {@code double} are
+	 * ignored. The file is not held open, the mapping is released when the sequence is garbage collected.
+	 *
+	 * @throws IOException              if the file could not be opened or mapped.
+	 * @throws IllegalArgumentException if the file holds more than {@link Integer#MAX_VALUE} {@code doubles}.
+	 * @since 2.3
+	 */
+	static DoubleSequence mapped(Path path, ByteOrder order) throws IOException {
+		return RandomAccessDoubleSequence.from(MappedFile.map(path, order));
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the {@code doubles} read from the given channel, as written by {@link
+	 * DoubleIterable#writeTo(WritableByteChannel)}, for example from a cached {@code DoubleSequence}. The {@code
+	 * doubles} are read into memory when this method is called, and the channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code doubles} in the {@link
+	 * BinaryFormat}.
+	 * @since 2.3
+	 */
+	static DoubleSequence readFrom(ReadableByteChannel channel) throws IOException {
+		return DoubleSequence.of(BinaryFormat.readDoubles(channel));
+	}
+
 	/**
 	 * Create a {@code DoubleSequence} from a cached copy of a {@link PrimitiveIterator.OfDouble}.
 	 *
@@ -494,6 +534,16 @@ public interface DoubleSequence extends DoubleCollection {
 			public double nextDouble() {
 				return mapper.applyAsDouble(iterator.nextDouble());
 			}
+
+			@Override
+			public void forEachRemaining(DoubleConsumer action) {
+				iterator.forEachRemaining((DoubleConsumer) x -> action.accept(mapper.applyAsDouble(x)));
+			}
+
+			@Override
+			public boolean forEachWhile(DoublePredicate action) {
+				return iterator.forEachWhile(x -> action.test(mapper.applyAsDouble(x)));
+			}
 		};
 	}
 
@@ -676,7 +726,10 @@ public interface DoubleSequence extends DoubleCollection {
 	 * @since 2.0
 	 */
 	default DoubleSequence including(double[] elements, double precision) {
-		return filter(e -> Arrayz.contains(elements, e, precision));
+		return () -> {
+			DoubleGrid grid = new DoubleGrid(elements, precision);
+			return new FilteringDoubleIterator(iterator(), grid::contains);
+		};
 	}
 
 	/**
@@ -696,7 +749,10 @@ public interface DoubleSequence extends DoubleCollection {
 	 * @since 2.0
 	 */
 	default DoubleSequence excluding(double[] elements, double precision) {
-		return filter(e -> !Arrayz.contains(elements, e, precision));
+		return () -> {
+			DoubleGrid grid = new DoubleGrid(elements, precision);
+			return new FilteringDoubleIterator(iterator(), e -> !grid.contains(e));
+		};
 	}
 
 	/**
@@ -715,10 +771,10 @@ public interface DoubleSequence extends DoubleCollection {
 	}
 
 	/**
-	 * Collect the elements in this {@code DoubleSequence} into an {@link DoubleSet}.
+	 * Collect the elements in this {@code DoubleSequence} into an {@link DoubleSet}, which is a {@link DoubleHashSet}.
 	 */
 	default DoubleSet toSet() {
-		return toSet(RawDoubleSet::new);
+		return toSet(DoubleHashSet::new);
 	}
 
 	/**
@@ -780,14 +836,9 @@ public interface DoubleSequence extends DoubleCollection {
 	 */
 	default String join(String prefix, String delimiter, String suffix) {
 		StringBuilder result = new StringBuilder(prefix);
-
-		boolean started = false;
-		for (DoubleIterator iterator = iterator(); iterator.hasNext(); started = true) {
-			double each = iterator.nextDouble();
-			if (started)
-				result.append(delimiter);
-			result.append(each);
-		}
+		forEachDouble(each -> result.append(each).append(delimiter));
+		if (result.length() > prefix.length())
+			result.setLength(result.length() - delimiter.length());
 
 		return result.append(suffix).toString();
 	}
@@ -819,7 +870,14 @@ public interface DoubleSequence extends DoubleCollection {
 	 * doubles in the {@code DoubleSequence}.
 	 */
 	default OptionalDouble first() {
-		return at(0);
+		double[] first = new double[1];
+		if (iterator().forEachWhile(x -> {
+			first[0] = x;
+			return false;
+		}))
+			return OptionalDouble.empty();
+
+		return OptionalDouble.of(first[0]);
 	}
 
 	/**
@@ -950,10 +1008,7 @@ public interface DoubleSequence extends DoubleCollection {
 	 * @return true if all doubles in this {@code DoubleSequence} satisfy the given predicate, false otherwise.
 	 */
 	default boolean all(DoublePredicate predicate) {
-		for (DoubleIterator iterator = iterator(); iterator.hasNext(); )
-			if (!predicate.test(iterator.nextDouble()))
-				return false;
-		return true;
+		return iterator().forEachWhile(predicate);
 	}
 
 	/**
@@ -967,10 +1022,7 @@ public interface DoubleSequence extends DoubleCollection {
 	 * @return true if any double in this {@code DoubleSequence} satisfy the given predicate, false otherwise.
 	 */
 	default boolean any(DoublePredicate predicate) {
-		for (DoubleIterator iterator = iterator(); iterator.hasNext(); )
-			if (predicate.test(iterator.nextDouble()))
-				return true;
-		return false;
+		return !iterator().forEachWhile(x -> !predicate.test(x));
 	}
 
 	/**
@@ -984,6 +1036,22 @@ public interface DoubleSequence extends DoubleCollection {
 				action.accept(next);
 				return next;
 			}
+
+			@Override
+			public void forEachRemaining(DoubleConsumer consumer) {
+				iterator.forEachRemaining((DoubleConsumer) x -> {
+					action.accept(x);
+					consumer.accept(x);
+				});
+			}
+
+			@Override
+			public boolean forEachWhile(DoublePredicate predicate) {
+				return iterator.forEachWhile(x -> {
+					action.accept(x);
+					return predicate.test(x);
+				});
+			}
 		};
 	}
 
@@ -1007,18 +1075,75 @@ public interface DoubleSequence extends DoubleCollection {
 	}
 
 	/**
-	 * @return this {@code DoubleSequence} sorted according to the natural order of the double values.
+	 * @return this {@code DoubleSequence} sorted according to the natural order of the double values. A {@link
+	 * #limit(int)} applied to the sorted sequence is performed as a {@link #bottomK(int)} without sorting the whole
+	 * sequence.
 	 *
 	 * @see #reverse()
 	 */
 	default DoubleSequence sorted() {
-		return () -> {
-			double[] array = toDoubleArray();
-			Arrays.sort(array);
-			return DoubleIterator.of(array);
+		return new DoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				double[] array = DoubleSequence.this.toDoubleArray();
+				Arrays.sort(array);
+				return DoubleIterator.of(array);
+			}
+
+			@Override
+			public DoubleSequence limit(int limit) {
+				return DoubleSequence.this.bottomK(limit);
+			}
 		};
 	}
 
+	/**
+	 * @return the {@code k} largest double values in this {@code DoubleSequence}, from the largest down. This is the
+	 * same as {@code sorted().reverse().limit(k)}, but each traversal only keeps a heap of {@code k} values in memory
+	 * and costs {@code O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default DoubleSequence topK(int k) {
+		return () -> new SortedLimitingDoubleIterator(iterator(), k, true);
+	}
+
+	/**
+	 * @return the {@code k} smallest double values in this {@code DoubleSequence}, from the smallest up. This is the
+	 * same as {@code sorted().limit(k)}, but each traversal only keeps a heap of {@code k} values in memory and costs
+	 * {@code O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default DoubleSequence bottomK(int k) {
+		return () -> new SortedLimitingDoubleIterator(iterator(), k, false);
+	}
+
+	/**
+	 * Sort this {@code DoubleSequence} according to the natural order of the double values without holding more than
+	 * {@code spillThreshold} values in memory at once, allowing sequences larger than the heap to be sorted. Each time
+	 * the sequence is traversed, values are read in runs of {@code spillThreshold}, and each run is sorted in memory
+	 * and written to a temporary file in {@code tempDir} as raw doubles. The runs are then merged lazily as the sorted
+	 * sequence is iterated. The last run is kept in memory, so a sequence of at most {@code spillThreshold} values is
+	 * sorted without touching the disk.
+	 * <p>
+	 * Runs are merged at most 64 at a time, in several passes if needed, so only a bounded number of files is open at
+	 * once. Each temporary file is removed as soon as its run is opened for merging where the file system allows it,
+	 * or else once the run has been merged, and all of them are removed if sorting fails. If {@code tempDir} is {@code
+	 * null}, the default temporary-file directory is used. Any {@link java.io.IOException} during sorting is rethrown
+	 * as an {@link IterationException}.
+	 *
+	 * @throws IllegalArgumentException if {@code spillThreshold} is less than one.
+	 * @see #sorted()
+	 * @since 2.3
+	 */
+	default DoubleSequence sorted(int spillThreshold, Path tempDir) {
+		if (spillThreshold < 1)
+			throw new IllegalArgumentException("spillThreshold < 1: " + spillThreshold);
+
+		return () -> new ExternalSortingDoubleIterator(iterator(), spillThreshold, tempDir);
+	}
+
 	/**
 	 * Prefix the doubles in this {@code DoubleSequence} with the given doubles.
 	 */
@@ -1157,7 +1282,82 @@ public interface DoubleSequence extends DoubleCollection {
 	 * the window size, the windows will overlap each other.
 	 */
 	default Sequence<DoubleSequence> window(int window, int step) {
-		return () -> new WindowingDoubleIterator(iterator(), window, step);
+		return window(window, step, false);
+	}
+
+	/**
+	 * Window the elements of this {@code DoubleSequence} into a sequence of {@code DoubleSequence}s of {@code doubles},
+	 * each with the size of the given window, stepping {@code step} {@code doubles} between each window, as in {@link
+	 * #window(int, int)}. If {@code reuse} is true, the same window instance is returned for each window, as a
+	 * read-only view over an internal buffer which is only valid until the next window is requested, avoiding copying
+	 * the {@code doubles} in each window.
+	 *
+	 * @since 2.3
+	 */
+	default Sequence<DoubleSequence> window(int window, int step, boolean reuse) {
+		return () -> new WindowingDoubleIterator(iterator(), window, step, reuse);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the sums of the {@code doubles} in each window of the given size over this
+	 * {@code DoubleSequence}, with the same windows as {@link #window(int)}. The sums are computed incrementally, in
+	 * constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingSum(int window) {
+		return () -> new SlidingSumDoubleIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the averages of the {@code doubles} in each window of the given size over
+	 * this {@code DoubleSequence}, with the same windows as {@link #window(int)}. The averages are computed
+	 * incrementally, in constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingAverage(int window) {
+		return () -> new SlidingAverageDoubleIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the population variances of the {@code doubles} in each window of the given
+	 * size over this {@code DoubleSequence}, with the same windows as {@link #window(int)}. The variances are computed
+	 * incrementally using Welford's method, in constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingVariance(int window) {
+		return () -> new SlidingVarianceDoubleIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the smallest {@code double} in each window of the given size over this {@code
+	 * DoubleSequence}, with the same windows as {@link #window(int)}. The minimums are computed incrementally, in
+	 * amortized constant time per step.
+	 * As with {@link Math#min(double, double)}, a window containing {@code NaN} yields {@code NaN}.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingMin(int window) {
+		return () -> new SlidingExtremumDoubleIterator(iterator(), window, false);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the largest {@code double} in each window of the given size over this {@code
+	 * DoubleSequence}, with the same windows as {@link #window(int)}. The maximums are computed incrementally, in
+	 * amortized constant time per step.
+	 * As with {@link Math#max(double, double)}, a window containing {@code NaN} yields {@code NaN}.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingMax(int window) {
+		return () -> new SlidingExtremumDoubleIterator(iterator(), window, true);
 	}
 
 	/**
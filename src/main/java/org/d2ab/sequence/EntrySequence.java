@@ -459,16 +459,20 @@ public interface EntrySequence<K, V> extends IterableCollection<Entry<K, V>> {
 	 */
 	@SuppressWarnings("unchecked")
 	default EntrySequence<K, V> including(Entry<K, V>... entries) {
-		return filter(e -> Arrayz.contains(entries, e));
+		return including(Arrays.asList(entries));
 	}
 
 	/**
-	 * @return a {@code EntrySequence} containing only the entries found in the given target iterable.
+	 * @return a {@code EntrySequence} containing only the entries found in the given target iterable. Unless the
+	 * target is a {@link Set}, it is collected into a {@link HashSet} once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	default EntrySequence<K, V> including(Iterable<? extends Entry<K, V>> entries) {
-		return filter(e -> Iterables.contains(entries, e));
+		return () -> {
+			Set<?> lookup = Iterables.toLookupSet(entries);
+			return filter(e -> lookup.contains(e)).iterator();
+		};
 	}
 
 	/**
@@ -478,16 +482,21 @@ public interface EntrySequence<K, V> extends IterableCollection<Entry<K, V>> {
 	 */
 	@SuppressWarnings("unchecked")
 	default EntrySequence<K, V> excluding(Entry<K, V>... entries) {
-		return filter(e -> !Arrayz.contains(entries, e));
+		return excluding(Arrays.asList(entries));
 	}
 
 	/**
 	 * @return a {@code EntrySequence} containing only the entries not found in the given target iterable.
+	 * Unless the target is a {@link Set}, it is collected into a {@link HashSet} once each time the sequence is
+	 * traversed.
 	 *
 	 * @since 1.2
 	 */
 	default EntrySequence<K, V> excluding(Iterable<? extends Entry<K, V>> entries) {
-		return filter(e -> !Iterables.contains(entries, e));
+		return () -> {
+			Set<?> lookup = Iterables.toLookupSet(entries);
+			return filter(e -> !lookup.contains(e)).iterator();
+		};
 	}
 
 	/**
@@ -946,7 +955,7 @@ public interface EntrySequence<K, V> extends IterableCollection<Entry<K, V>> {
 	 * {@code EntrySequence}.
 	 */
 	default Optional<Entry<K, V>> first() {
-		return at(0);
+		return Iterators.first(iterator());
 	}
 
 	/**
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.sequence;
+
+import org.d2ab.iterator.DelegatingMappingIterator;
+import org.d2ab.iterator.Iterators;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Sequence} of consecutive stateless {@link #map}, {@link #filter} and {@link #peek} stages applied to a
+ * source {@code Sequence}, fused into a single stage instead of one wrapping {@link Iterator} per stage.
+ * <p>
+ * The stages up to and including the last filter are fused into a chain of {@link Consumer}s that the source
+ * elements are pushed through, while any mapping and peeking after the last filter is fused into a single
+ * {@link Function} which is applied lazily as elements are returned, in the same order as if each stage had
+ * wrapped the previous one. {@link #forEach(Consumer)} pushes the source elements through all stages without
+ * iterating over the intermediate stages at all. Removal is delegated to the source {@link Iterator}. Without any
+ * filter stages, the {@link #spliterator()} maps the source {@link Spliterator}, keeping its size and splitting.
+ *
+ * @param <S> the type of elements in the source sequence.
+ * @param <M> the type of elements passed by the last filter stage, or {@code S} if there are no filter stages.
+ * @param <T> the type of elements in this sequence.
+ */
+class FusedSequence<S, M, T> implements Sequence<T> {
+	private final Sequence<S> source;
+	private final boolean filtered;
+	private final Function<Consumer<? super M>, Consumer<? super S>> filtering;
+	private final Function<? super M, ? extends T> mapping;
+
+	private FusedSequence(Sequence<S> source, boolean filtered,
+	                      Function<Consumer<? super M>, Consumer<? super S>> filtering,
+	                      Function<? super M, ? extends T> mapping) {
+		this.source = source;
+		this.filtered = filtered;
+		this.filtering = filtering;
+		this.mapping = mapping;
+	}
+
+	static <S, T> Sequence<T> map(Sequence<S> source, Function<? super S, ? extends T> mapper) {
+		return new FusedSequence<S, S, T>(source, false, downstream -> downstream, mapper);
+	}
+
+	static <S> Sequence<S> filter(Sequence<S> source, Predicate<? super S> predicate) {
+		return new FusedSequence<S, S, S>(source, true, downstream -> s -> {
+			if (predicate.test(s))
+				downstream.accept(s);
+		}, s -> s);
+	}
+
+	static <S> Sequence<S> peek(Sequence<S> source, Consumer<? super S> action) {
+		return new FusedSequence<S, S, S>(source, false, downstream -> downstream, s -> {
+			action.accept(s);
+			return s;
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<T> iterator() {
+		if (!filtered)
+			return new DelegatingMappingIterator<S, T>(source.iterator()) {
+				@Override
+				public T next() {
+					return mapping.apply((M) iterator.next());
+				}
+
+				@Override
+				public void forEachRemaining(Consumer<? super T> action) {
+					iterator.forEachRemaining(s -> action.accept(mapping.apply((M) s)));
+				}
+
+				@Override
+				public boolean forEachWhile(Predicate<? super T> action) {
+					return Iterators.forEachWhile(iterator, s -> action.test(mapping.apply((M) s)));
+				}
+			};
+
+		return new DelegatingMappingIterator<S, T>(source.iterator()) {
+			private M next;
+			private boolean hasNext;
+
+			private final Consumer<? super S> sink = filtering.apply(m -> {
+				next = m;
+				hasNext = true;
+			});
+
+			@Override
+			public boolean hasNext() {
+				while (!hasNext && iterator.hasNext())
+					sink.accept(iterator.next());
+				return hasNext;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				hasNext = false;
+				M m = next;
+				next = null;
+				return mapping.apply(m);
+			}
+
+			@Override
+			public void forEachRemaining(Consumer<? super T> action) {
+				if (hasNext) {
+					hasNext = false;
+					action.accept(mapping.apply(next));
+					next = null;
+				}
+
+				iterator.forEachRemaining(filtering.apply(m -> action.accept(mapping.apply(m))));
+			}
+
+			@Override
+			public boolean forEachWhile(Predicate<? super T> action) {
+				if (hasNext) {
+					hasNext = false;
+					M m = next;
+					next = null;
+					if (!action.test(mapping.apply(m)))
+						return false;
+				}
+
+				boolean[] proceed = {true};
+				Consumer<? super S> pushing = filtering.apply(m -> proceed[0] = action.test(mapping.apply(m)));
+				return Iterators.forEachWhile(iterator, s -> {
+					pushing.accept(s);
+					return proceed[0];
+				});
+			}
+		};
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		if (!filtered)
+			return new MappingSpliterator<>(source.spliterator(), mapping);
+
+		return Sequence.super.spliterator();
+	}
+
+	@Override
+	public int size() {
+		if (!filtered)
+			return source.size();
+
+		return Sequence.super.size();
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> action) {
+		source.forEach(filtering.apply(m -> action.accept(mapping.apply(m))));
+	}
+
+	@Override
+	public <U> Sequence<U> map(Function<? super T, ? extends U> mapper) {
+		return new FusedSequence<S, M, U>(source, filtered, filtering, m -> mapper.apply(mapping.apply(m)));
+	}
+
+	@Override
+	public Sequence<T> filter(Predicate<? super T> predicate) {
+		return new FusedSequence<S, T, T>(source, true, downstream -> filtering.apply(m -> {
+			T t = mapping.apply(m);
+			if (predicate.test(t))
+				downstream.accept(t);
+		}), t -> t);
+	}
+
+	@Override
+	public Sequence<T> peek(Consumer<? super T> action) {
+		return new FusedSequence<S, M, T>(source, filtered, filtering, m -> {
+			T t = mapping.apply(m);
+			action.accept(t);
+			return t;
+		});
+	}
+
+	private static class MappingSpliterator<S, M, T> implements Spliterator<T> {
+		private final Spliterator<S> spliterator;
+		private final Function<? super M, ? extends T> mapping;
+
+		private MappingSpliterator(Spliterator<S> spliterator, Function<? super M, ? extends T> mapping) {
+			this.spliterator = spliterator;
+			this.mapping = mapping;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			return spliterator.tryAdvance(s -> action.accept(mapping.apply((M) s)));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			spliterator.forEachRemaining(s -> action.accept(mapping.apply((M) s)));
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			Spliterator<S> prefix = spliterator.trySplit();
+			if (prefix == null)
+				return null;
+
+			return new MappingSpliterator<>(prefix, mapping);
+		}
+
+		@Override
+		public long estimateSize() {
+			return spliterator.estimateSize();
+		}
+
+		@Override
+		public int characteristics() {
+			return spliterator.characteristics() & ~(DISTINCT | SORTED | NONNULL);
+		}
+	}
+}
@@ -27,9 +27,15 @@ import org.d2ab.iterator.chars.CharIterator;
 import org.d2ab.iterator.doubles.DoubleIterator;
 import org.d2ab.iterator.ints.*;
 import org.d2ab.iterator.longs.LongIterator;
+import org.d2ab.util.BinaryFormat;
+import org.d2ab.util.Pair;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.IntStream;
@@ -54,14 +60,14 @@ public interface IntSequence extends IntCollection {
 	 * Create an {@code IntSequence} with the given {@code ints}.
 	 */
 	static IntSequence of(int... is) {
-		return () -> IntIterator.of(is);
+		return from(is, is.length);
 	}
 
 	/**
 	 * Create an {@code IntSequence} with the given {@code ints}, limited to the given size.
 	 */
 	static IntSequence from(int[] is, int size) {
-		return () -> IntIterator.from(is, size);
+		return from(is, 0, size);
 	}
 
 	/**
@@ -69,7 +75,7 @@ public interface IntSequence extends IntCollection {
 	 * given size.
 	 */
 	static IntSequence from(int[] is, int offset, int size) {
-		return () -> IntIterator.from(is, offset, size);
+		return RandomAccessIntSequence.from(is, offset, size);
 	}
 
 	/**
@@ -78,6 +84,22 @@ public interface IntSequence extends IntCollection {
 	 * @see #cache(IntIterable)
 	 */
 	static IntSequence from(IntIterable iterable) {
+		if (iterable instanceof IntList && iterable instanceof RandomAccess)
+			return RandomAccessIntSequence.from((IntList) iterable);
+
+		if (iterable instanceof IntSortedSet)
+			return new IntSequence() {
+				@Override
+				public IntIterator iterator() {
+					return iterable.iterator();
+				}
+
+				@Override
+				public IntSequence sorted() {
+					return this;
+				}
+			};
+
 		return iterable::iterator;
 	}
 
@@ -147,13 +169,76 @@ public interface IntSequence extends IntCollection {
 	 * if possible. If an {@link IOException} occurs during iteration, an {@link IterationException} will be thrown.
 	 * The {@link InputStream} will not be closed by the {@code IntSequence} when iteration finishes, it must be closed
 	 * externally when iteration is finished.
+	 * <p>
+	 * The bytes are read in blocks of {@link InputStreamIntIterator#DEFAULT_BUFFER_SIZE}, so the {@link InputStream}
+	 * may have been read further than the bytes iterated over.
 	 *
+	 * @see #read(InputStream, int)
 	 * @since 1.1
 	 */
 	static IntSequence read(InputStream inputStream) {
 		return IntIterable.read(inputStream)::iterator;
 	}
 
+	/**
+	 * Create an {@code IntSequence} from an {@link InputStream} which iterates over the bytes provided in the input
+	 * stream as ints, reading them in blocks of the given buffer size. See {@link #read(InputStream)} for details.
+	 *
+	 * @throws IllegalArgumentException if the buffer size is less than one.
+	 * @since 2.3
+	 */
+	static IntSequence read(InputStream inputStream, int bufferSize) {
+		return IntIterable.read(inputStream, bufferSize)::iterator;
+	}
+
+	/**
+	 * Create an {@code IntSequence} over the {@code ints} stored in the file at the given {@link Path}, four bytes
+	 * each in the given {@link ByteOrder}. The file is memory mapped when this method is called, in segments of 1 GB
+	 * to support files larger than 2 GB, and the {@code ints} are read directly from the mapping without being copied
+	 * through the heap. The sequence knows its size, has constant time access by index, and provides {@link
+	 * #spliterator()}s that split by file offset, so that large files can be traversed in parallel. The size of the
+	 * sequence is fixed when the file is mapped, and any trailing bytes that do not make up a whole {@code int} are
+	 * ignored. The file is not held open, the mapping is released when the sequence is garbage collected.
+	 *
+	 * @throws IOException              if the file could not be opened or mapped.
+	 * @throws IllegalArgumentException if the file holds more than {@link Integer#MAX_VALUE} {@code ints}.
+	 * @since 2.3
+	 */
+	static IntSequence mapped(Path path, ByteOrder order) throws IOException {
+		return RandomAccessIntSequence.from(MappedFile.map(path, order));
+	}
+
+	/**
+	 * Create an {@code IntSequence} over the bytes in the file at the given {@link Path} as unsigned {@code ints},
+	 * like {@link #read(InputStream)} but memory mapped when this method is called, with the same properties as
+	 * {@link #mapped(Path, ByteOrder)}. Files larger than {@link Integer#MAX_VALUE} bytes cannot be indexed by an
+	 * {@code int}, so they are instead traversed sequentially, one mapped segment at a time, and the sequence does
+	 * not know its size up front.
+	 *
+	 * @throws IOException if the file could not be opened or mapped.
+	 * @since 2.3
+	 */
+	static IntSequence mappedBytes(Path path) throws IOException {
+		MappedFile file = MappedFile.map(path, ByteOrder.nativeOrder());
+		if (file.size() <= Integer.MAX_VALUE)
+			return RandomAccessIntSequence.bytes(file);
+
+		return () -> new ByteBufferIntIterator(file::slice, file.size());
+	}
+
+	/**
+	 * @return an {@code IntSequence} of the {@code ints} read from the given channel, as written by {@link
+	 * IntIterable#writeTo(WritableByteChannel)} or {@link IntIterable#writeDeltasTo(WritableByteChannel)}, for example
+	 * from a cached {@code IntSequence}. The {@code ints} are read into memory when this method is called, and the
+	 * channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code ints} in the {@link BinaryFormat}.
+	 * @since 2.3
+	 */
+	static IntSequence readFrom(ReadableByteChannel channel) throws IOException {
+		return IntSequence.of(BinaryFormat.readInts(channel));
+	}
+
 	/**
 	 * Create an {@code IntSequence} from a cached copy of an {@link IntIterable}.
 	 *
@@ -397,6 +482,13 @@ public interface IntSequence extends IntCollection {
 	static IntSequence range(int start, int end, int step) {
 		if (step < 0)
 			throw new IllegalArgumentException("Require step >= 0");
+
+		if (step > 0) {
+			long size = Math.abs((long) end - start) / step + 1;
+			if (size <= Integer.MAX_VALUE)
+				return RandomAccessIntSequence.range(start, end >= start ? step : -step, (int) size);
+		}
+
 		return end >= start ?
 		       recurse(start, x -> x + step).endingAt(x -> (long) x + step > end) :
 		       recurse(start, x -> x - step).endingAt(x -> (long) x - step < end);
@@ -649,6 +741,16 @@ public interface IntSequence extends IntCollection {
 			public int nextInt() {
 				return mapper.applyAsInt(iterator.nextInt());
 			}
+
+			@Override
+			public void forEachRemaining(IntConsumer action) {
+				iterator.forEachRemaining((IntConsumer) x -> action.accept(mapper.applyAsInt(x)));
+			}
+
+			@Override
+			public boolean forEachWhile(IntPredicate action) {
+				return iterator.forEachWhile(x -> action.test(mapper.applyAsInt(x)));
+			}
 		};
 	}
 
@@ -818,21 +920,29 @@ public interface IntSequence extends IntCollection {
 	}
 
 	/**
-	 * @return an {@code IntSequence} containing only the {@code ints} found in the given target array.
+	 * @return an {@code IntSequence} containing only the {@code ints} found in the given target array. The
+	 * array is collected into a {@link IntHashSet} once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	default IntSequence including(int... elements) {
-		return filter(e -> Arrayz.contains(elements, e));
+		return () -> {
+			IntSet lookup = new IntHashSet(elements);
+			return filter(e -> lookup.containsInt(e)).iterator();
+		};
 	}
 
 	/**
-	 * @return an {@code IntSequence} containing only the {@code ints} not found in the given target array.
+	 * @return an {@code IntSequence} containing only the {@code ints} not found in the given target array. The
+	 * array is collected into a {@link IntHashSet} once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	default IntSequence excluding(int... elements) {
-		return filter(e -> !Arrayz.contains(elements, e));
+		return () -> {
+			IntSet lookup = new IntHashSet(elements);
+			return filter(e -> !lookup.containsInt(e)).iterator();
+		};
 	}
 
 	/**
@@ -851,12 +961,15 @@ public interface IntSequence extends IntCollection {
 	}
 
 	/**
-	 * Collect the elements in this {@code IntSequence} into an {@link IntSet}.
+	 * Collect the elements in this {@code IntSequence} into an {@link IntSet}, which is a {@link BitIntSet} if
+	 * the elements are clustered densely, or a {@link IntHashSet} if they are spread sparsely.
 	 *
 	 * @see #toSortedSet()
 	 */
 	default IntSet toSet() {
-		return toSortedSet();
+		DistinctIntIterator distinct = new DistinctIntIterator(iterator());
+		distinct.count();
+		return distinct.seen();
 	}
 
 	/**
@@ -874,6 +987,81 @@ public interface IntSequence extends IntCollection {
 		return toSet(BitIntSet::new);
 	}
 
+	/**
+	 * Collect the elements in this {@code IntSequence} into a {@link IntIntMap}, using the given functions to map each
+	 * element to a key and a value, without boxing. Later elements replace the values of earlier elements with the
+	 * same key.
+	 *
+	 * @since 2.3
+	 */
+	default IntIntMap toMap(IntUnaryOperator keyMapper, IntUnaryOperator valueMapper) {
+		IntIntMap result = new IntIntMap();
+		forEachInt(x -> result.put(keyMapper.applyAsInt(x), valueMapper.applyAsInt(x)));
+		return result;
+	}
+
+	/**
+	 * Collect the elements in this {@code IntSequence} into a {@link IntIntMap}, using the given functions to map each
+	 * element to a key and a value, without boxing. The values of elements with the same key are combined using the
+	 * given merger.
+	 *
+	 * @since 2.3
+	 */
+	default IntIntMap toMap(IntUnaryOperator keyMapper, IntUnaryOperator valueMapper, IntBinaryOperator merger) {
+		IntIntMap result = new IntIntMap();
+		forEachInt(x -> result.merge(keyMapper.applyAsInt(x), valueMapper.applyAsInt(x), merger));
+		return result;
+	}
+
+	/**
+	 * Count the occurrences of each {@code int} in this {@code IntSequence} into a {@link IntIntMap} from each
+	 * distinct {@code int} to the number of times it occurs, without boxing.
+	 *
+	 * @since 2.3
+	 */
+	default IntIntMap toCounts() {
+		return countBy(x -> x);
+	}
+
+	/**
+	 * Group the {@code ints} in this {@code IntSequence} in a single pass into a {@link IntObjMap} from each key
+	 * given by the classifier to an {@link IntList} of the {@code ints} with that key, in encounter order, without
+	 * boxing.
+	 *
+	 * @since 2.3
+	 */
+	default IntObjMap<IntList> groupBy(IntUnaryOperator classifier) {
+		IntObjMap<IntList> groups = new IntObjMap<>();
+		forEachInt(x -> groups.computeIfAbsent(classifier.applyAsInt(x), k -> IntList.create()).addInt(x));
+		return groups;
+	}
+
+	/**
+	 * Count the {@code ints} in this {@code IntSequence} in a single pass into a {@link IntIntMap} from each key
+	 * given by the classifier to the number of {@code ints} with that key, without boxing.
+	 *
+	 * @since 2.3
+	 */
+	default IntIntMap countBy(IntUnaryOperator classifier) {
+		IntIntMap counts = new IntIntMap();
+		forEachInt(x -> counts.merge(classifier.applyAsInt(x), 1, Integer::sum));
+		return counts;
+	}
+
+	/**
+	 * Partition the {@code ints} in this {@code IntSequence} in a single pass into a {@link Pair} of an
+	 * {@link IntList} of the {@code ints} that satisfy the given predicate and an {@link IntList} of the
+	 * {@code ints} that do not, both in encounter order.
+	 *
+	 * @since 2.3
+	 */
+	default Pair<IntList, IntList> partitionBy(IntPredicate predicate) {
+		IntList matching = IntList.create();
+		IntList nonMatching = IntList.create();
+		forEachInt(x -> (predicate.test(x) ? matching : nonMatching).addInt(x));
+		return Pair.of(matching, nonMatching);
+	}
+
 	/**
 	 * Collect this {@code IntSequence} into an {@link IntCollection} of the type determined by the given constructor.
 	 */
@@ -916,14 +1104,9 @@ public interface IntSequence extends IntCollection {
 	 */
 	default String join(String prefix, String delimiter, String suffix) {
 		StringBuilder result = new StringBuilder(prefix);
-
-		boolean started = false;
-		for (IntIterator iterator = iterator(); iterator.hasNext(); started = true) {
-			int each = iterator.nextInt();
-			if (started)
-				result.append(delimiter);
-			result.append(each);
-		}
+		forEachInt(each -> result.append(each).append(delimiter));
+		if (result.length() > prefix.length())
+			result.setLength(result.length() - delimiter.length());
 
 		return result.append(suffix).toString();
 	}
@@ -954,7 +1137,14 @@ public interface IntSequence extends IntCollection {
 	 * {@code IntSequence}.
 	 */
 	default OptionalInt first() {
-		return at(0);
+		int[] first = new int[1];
+		if (iterator().forEachWhile(x -> {
+			first[0] = x;
+			return false;
+		}))
+			return OptionalInt.empty();
+
+		return OptionalInt.of(first[0]);
 	}
 
 	/**
@@ -1077,11 +1267,7 @@ public interface IntSequence extends IntCollection {
 	 * @return true if all ints in this {@code IntSequence} satisfy the given predicate, false otherwise.
 	 */
 	default boolean all(IntPredicate predicate) {
-		for (IntIterator iterator = iterator(); iterator.hasNext(); )
-			if (!predicate.test(iterator.nextInt()))
-				return false;
-
-		return true;
+		return iterator().forEachWhile(predicate);
 	}
 
 	/**
@@ -1095,11 +1281,7 @@ public interface IntSequence extends IntCollection {
 	 * @return true if any int in this {@code IntSequence} satisfy the given predicate, false otherwise.
 	 */
 	default boolean any(IntPredicate predicate) {
-		for (IntIterator iterator = iterator(); iterator.hasNext(); )
-			if (predicate.test(iterator.nextInt()))
-				return true;
-
-		return false;
+		return !iterator().forEachWhile(x -> !predicate.test(x));
 	}
 
 	/**
@@ -1113,6 +1295,22 @@ public interface IntSequence extends IntCollection {
 				action.accept(next);
 				return next;
 			}
+
+			@Override
+			public void forEachRemaining(IntConsumer consumer) {
+				iterator.forEachRemaining((IntConsumer) x -> {
+					action.accept(x);
+					consumer.accept(x);
+				});
+			}
+
+			@Override
+			public boolean forEachWhile(IntPredicate predicate) {
+				return iterator.forEachWhile(x -> {
+					action.accept(x);
+					return predicate.test(x);
+				});
+			}
 		};
 	}
 
@@ -1136,18 +1334,74 @@ public interface IntSequence extends IntCollection {
 	}
 
 	/**
-	 * @return this {@code IntSequence} sorted according to the natural order of the int values.
+	 * @return this {@code IntSequence} sorted according to the natural order of the int values. A {@link #limit(int)}
+	 * applied to the sorted sequence is performed as a {@link #bottomK(int)} without sorting the whole sequence.
 	 *
 	 * @see #reverse()
 	 */
 	default IntSequence sorted() {
-		return () -> {
-			int[] array = toIntArray();
-			Arrays.sort(array);
-			return IntIterator.of(array);
+		return new IntSequence() {
+			@Override
+			public IntIterator iterator() {
+				int[] array = IntSequence.this.toIntArray();
+				Arrays.sort(array);
+				return IntIterator.of(array);
+			}
+
+			@Override
+			public IntSequence limit(int limit) {
+				return IntSequence.this.bottomK(limit);
+			}
 		};
 	}
 
+	/**
+	 * @return the {@code k} largest int values in this {@code IntSequence}, from the largest down. This is the same as
+	 * {@code sorted().reverse().limit(k)}, but each traversal only keeps a heap of {@code k} values in memory and costs
+	 * {@code O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default IntSequence topK(int k) {
+		return () -> new SortedLimitingIntIterator(iterator(), k, true);
+	}
+
+	/**
+	 * @return the {@code k} smallest int values in this {@code IntSequence}, from the smallest up. This is the same as
+	 * {@code sorted().limit(k)}, but each traversal only keeps a heap of {@code k} values in memory and costs {@code
+	 * O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default IntSequence bottomK(int k) {
+		return () -> new SortedLimitingIntIterator(iterator(), k, false);
+	}
+
+	/**
+	 * Sort this {@code IntSequence} according to the natural order of the int values without holding more than {@code
+	 * spillThreshold} values in memory at once, allowing sequences larger than the heap to be sorted. Each time the
+	 * sequence is traversed, values are read in runs of {@code spillThreshold}, and each run is sorted in memory and
+	 * written to a temporary file in {@code tempDir} as raw ints. The runs are then merged lazily as the sorted
+	 * sequence is iterated. The last run is kept in memory, so a sequence of at most {@code spillThreshold} values is
+	 * sorted without touching the disk.
+	 * <p>
+	 * Runs are merged at most 64 at a time, in several passes if needed, so only a bounded number of files is open at
+	 * once. Each temporary file is removed as soon as its run is opened for merging where the file system allows it,
+	 * or else once the run has been merged, and all of them are removed if sorting fails. If {@code tempDir} is {@code
+	 * null}, the default temporary-file directory is used. Any {@link java.io.IOException} during sorting is rethrown
+	 * as an {@link IterationException}.
+	 *
+	 * @throws IllegalArgumentException if {@code spillThreshold} is less than one.
+	 * @see #sorted()
+	 * @since 2.3
+	 */
+	default IntSequence sorted(int spillThreshold, Path tempDir) {
+		if (spillThreshold < 1)
+			throw new IllegalArgumentException("spillThreshold < 1: " + spillThreshold);
+
+		return () -> new ExternalSortingIntIterator(iterator(), spillThreshold, tempDir);
+	}
+
 	/**
 	 * Prefix the ints in this {@code IntSequence} with the given ints.
 	 */
@@ -1275,7 +1529,80 @@ public interface IntSequence extends IntCollection {
 	 * the window size, the windows will overlap each other.
 	 */
 	default Sequence<IntSequence> window(int window, int step) {
-		return () -> new WindowingIntIterator(iterator(), window, step);
+		return window(window, step, false);
+	}
+
+	/**
+	 * Window the elements of this {@code IntSequence} into a sequence of {@code IntSequence}s of {@code ints}, each
+	 * with the size of the given window, stepping {@code step} {@code ints} between each window, as in {@link
+	 * #window(int, int)}. If {@code reuse} is true, the same window instance is returned for each window, as a
+	 * read-only view over an internal buffer which is only valid until the next window is requested, avoiding copying
+	 * the {@code ints} in each window.
+	 *
+	 * @since 2.3
+	 */
+	default Sequence<IntSequence> window(int window, int step, boolean reuse) {
+		return () -> new WindowingIntIterator(iterator(), window, step, reuse);
+	}
+
+	/**
+	 * @return a {@code LongSequence} of the sums of the {@code ints} in each window of the given size over this {@code
+	 * IntSequence}, with the same windows as {@link #window(int)}. The sums are computed incrementally, in constant
+	 * time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default LongSequence slidingSum(int window) {
+		return () -> new SlidingSumIntIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the averages of the {@code ints} in each window of the given size over this
+	 * {@code IntSequence}, with the same windows as {@link #window(int)}. The averages are computed incrementally, in
+	 * constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingAverage(int window) {
+		return () -> new SlidingAverageIntIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the population variances of the {@code ints} in each window of the given size
+	 * over this {@code IntSequence}, with the same windows as {@link #window(int)}. The variances are computed
+	 * incrementally using Welford's method, in constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingVariance(int window) {
+		return () -> new SlidingVarianceIntIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code IntSequence} of the smallest {@code int} in each window of the given size over this {@code
+	 * IntSequence}, with the same windows as {@link #window(int)}. The minimums are computed incrementally, in
+	 * amortized constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default IntSequence slidingMin(int window) {
+		return () -> new SlidingExtremumIntIterator(iterator(), window, false);
+	}
+
+	/**
+	 * @return a {@code IntSequence} of the largest {@code int} in each window of the given size over this {@code
+	 * IntSequence}, with the same windows as {@link #window(int)}. The maximums are computed incrementally, in
+	 * amortized constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default IntSequence slidingMax(int window) {
+		return () -> new SlidingExtremumIntIterator(iterator(), window, true);
 	}
 
 	/**
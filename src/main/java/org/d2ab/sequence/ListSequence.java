@@ -254,6 +254,11 @@ public class ListSequence<T> implements Sequence<T> {
 		return list.spliterator();
 	}
 
+	@Override
+	public Optional<T> first() {
+		return at(0);
+	}
+
 	@Override
 	public Optional<T> at(int index) {
 		if (index >= list.size())
@@ -270,6 +275,38 @@ public class ListSequence<T> implements Sequence<T> {
 		return Optional.of(list.get(list.size() - 1));
 	}
 
+	@Override
+	public Sequence<T> skip(int skip) {
+		if (list instanceof RandomAccess)
+			return RandomAccessSequence.from(list).skip(skip);
+
+		return Sequence.super.skip(skip);
+	}
+
+	@Override
+	public Sequence<T> skipTail(int skip) {
+		if (list instanceof RandomAccess)
+			return RandomAccessSequence.from(list).skipTail(skip);
+
+		return Sequence.super.skipTail(skip);
+	}
+
+	@Override
+	public Sequence<T> limit(int limit) {
+		if (list instanceof RandomAccess)
+			return RandomAccessSequence.from(list).limit(limit);
+
+		return Sequence.super.limit(limit);
+	}
+
+	@Override
+	public Sequence<T> step(int step) {
+		if (list instanceof RandomAccess)
+			return RandomAccessSequence.from(list).step(step);
+
+		return Sequence.super.step(step);
+	}
+
 	@Override
 	public Sequence<T> reverse() {
 		return from(ReverseList.from(list));
@@ -19,12 +19,20 @@ package org.d2ab.sequence;
 import org.d2ab.collection.Arrayz;
 import org.d2ab.collection.longs.*;
 import org.d2ab.function.*;
+import org.d2ab.iterator.IterationException;
 import org.d2ab.iterator.Iterators;
 import org.d2ab.iterator.chars.CharIterator;
 import org.d2ab.iterator.doubles.DoubleIterator;
 import org.d2ab.iterator.ints.IntIterator;
 import org.d2ab.iterator.longs.*;
-
+import org.d2ab.util.BinaryFormat;
+import org.d2ab.util.Pair;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.LongStream;
@@ -49,14 +57,14 @@ public interface LongSequence extends LongCollection {
 	 * Create a {@code LongSequence} with the given {@code longs}.
 	 */
 	static LongSequence of(long... ls) {
-		return () -> LongIterator.of(ls);
+		return from(ls, ls.length);
 	}
 
 	/**
 	 * Create a {@code LongSequence} with the given {@code longs}, limited to the given size.
 	 */
 	static LongSequence from(long[] ls, int size) {
-		return () -> LongIterator.from(ls, size);
+		return from(ls, 0, size);
 	}
 
 	/**
@@ -64,7 +72,7 @@ public interface LongSequence extends LongCollection {
 	 * given size.
 	 */
 	static LongSequence from(long[] ls, int offset, int size) {
-		return () -> LongIterator.from(ls, offset, size);
+		return RandomAccessLongSequence.from(ls, offset, size);
 	}
 
 	/**
@@ -73,6 +81,22 @@ public interface LongSequence extends LongCollection {
 	 * @see #cache(LongIterable)
 	 */
 	static LongSequence from(LongIterable iterable) {
+		if (iterable instanceof LongList && iterable instanceof RandomAccess)
+			return RandomAccessLongSequence.from((LongList) iterable);
+
+		if (iterable instanceof LongSortedSet)
+			return new LongSequence() {
+				@Override
+				public LongIterator iterator() {
+					return iterable.iterator();
+				}
+
+				@Override
+				public LongSequence sorted() {
+					return this;
+				}
+			};
+
 		return iterable::iterator;
 	}
 
@@ -135,6 +159,36 @@ public interface LongSequence extends LongCollection {
 		return once(stream.iterator());
 	}
 
+	/**
+	 * Create a {@code LongSequence} over the {@code longs} stored in the file at the given {@link Path}, eight bytes
+	 * each in the given {@link ByteOrder}. The file is memory mapped when this method is called, in segments of 1 GB
+	 * to support files larger than 2 GB, and the {@code longs} are read directly from the mapping without being copied
+	 * through the heap. The sequence knows its size, has constant time access by index, and provides {@link
+	 * #spliterator()}s that split by file offset, so that large files can be traversed in parallel. The size of the
+	 * sequence is fixed when the file is mapped, and any trailing bytes that do not make up a whole {@code long} are
+	 * ignored. The file is not held open, the mapping is released when the sequence is garbage collected.
+	 *
+	 * @throws IOException              if the file could not be opened or mapped.
+	 * @throws IllegalArgumentException if the file holds more than {@link Integer#MAX_VALUE} {@code longs}.
+	 * @since 2.3
+	 */
+	static LongSequence mapped(Path path, ByteOrder order) throws IOException {
+		return RandomAccessLongSequence.from(MappedFile.map(path, order));
+	}
+
+	/**
+	 * @return a {@code LongSequence} of the {@code longs} read from the given channel, as written by {@link
+	 * LongIterable#writeTo(WritableByteChannel)} or {@link LongIterable#writeDeltasTo(WritableByteChannel)}, for
+	 * example from a cached {@code LongSequence}. The {@code longs} are read into memory when this method is called,
+	 * and the channel is not closed.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code longs} in the {@link BinaryFormat}.
+	 * @since 2.3
+	 */
+	static LongSequence readFrom(ReadableByteChannel channel) throws IOException {
+		return LongSequence.of(BinaryFormat.readLongs(channel));
+	}
+
 	/**
 	 * Create a {@code LongSequence} from a cached copy of a {@link PrimitiveIterator.OfLong}.
 	 *
@@ -358,8 +412,7 @@ public interface LongSequence extends LongCollection {
 	 * @see #negativeFromZero()
 	 */
 	static LongSequence range(long start, long end) {
-		LongUnaryOperator next = (end > start) ? x -> ++x : x -> --x;
-		return recurse(start, next).endingAt(end);
+		return range(start, end, 1);
 	}
 
 	/**
@@ -380,6 +433,12 @@ public interface LongSequence extends LongCollection {
 		if (step < 0)
 			throw new IllegalArgumentException("Require step >= 0");
 
+		if (step > 0) {
+			long size = Long.divideUnsigned(end >= start ? end - start : start - end, step) + 1;
+			if (size > 0 && size <= Integer.MAX_VALUE)
+				return RandomAccessLongSequence.range(start, end >= start ? step : -step, (int) size);
+		}
+
 		return end >= start ?
 		       recurse(start, x -> x + step).endingAt(x -> x + step > end || x > Long.MAX_VALUE - step) :
 		       recurse(start, x -> x - step).endingAt(x -> x - step < end || x < Long.MIN_VALUE + step);
@@ -633,6 +692,16 @@ public interface LongSequence extends LongCollection {
 			public long nextLong() {
 				return mapper.applyAsLong(iterator.nextLong());
 			}
+
+			@Override
+			public void forEachRemaining(LongConsumer action) {
+				iterator.forEachRemaining((LongConsumer) x -> action.accept(mapper.applyAsLong(x)));
+			}
+
+			@Override
+			public boolean forEachWhile(LongPredicate action) {
+				return iterator.forEachWhile(x -> action.test(mapper.applyAsLong(x)));
+			}
 		};
 	}
 
@@ -816,21 +885,29 @@ public interface LongSequence extends LongCollection {
 	}
 
 	/**
-	 * @return an {@code LongSequence} containing only the {@code longs} found in the given target array.
+	 * @return an {@code LongSequence} containing only the {@code longs} found in the given target array. The
+	 * array is collected into a {@link LongHashSet} once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	default LongSequence including(long... elements) {
-		return filter(e -> Arrayz.contains(elements, e));
+		return () -> {
+			LongSet lookup = new LongHashSet(elements);
+			return filter(e -> lookup.containsLong(e)).iterator();
+		};
 	}
 
 	/**
-	 * @return an {@code LongSequence} containing only the {@code longs} not found in the given target array.
+	 * @return an {@code LongSequence} containing only the {@code longs} not found in the given target array. The
+	 * array is collected into a {@link LongHashSet} once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	default LongSequence excluding(long... elements) {
-		return filter(e -> !Arrayz.contains(elements, e));
+		return () -> {
+			LongSet lookup = new LongHashSet(elements);
+			return filter(e -> !lookup.containsLong(e)).iterator();
+		};
 	}
 
 	/**
@@ -849,12 +926,15 @@ public interface LongSequence extends LongCollection {
 	}
 
 	/**
-	 * Collect the elements in this {@code LongSequence} into an {@link LongSet}.
+	 * Collect the elements in this {@code LongSequence} into an {@link LongSet}, which is a {@link BitLongSet} if
+	 * the elements are clustered densely, or a {@link LongHashSet} if they are spread sparsely.
 	 *
 	 * @see #toSortedSet()
 	 */
 	default LongSet toSet() {
-		return toSortedSet();
+		DistinctLongIterator distinct = new DistinctLongIterator(iterator());
+		distinct.count();
+		return distinct.seen();
 	}
 
 	/**
@@ -872,6 +952,93 @@ public interface LongSequence extends LongCollection {
 		return toSet(BitLongSet::new);
 	}
 
+	/**
+	 * Collect the elements in this {@code LongSequence} into a {@link LongLongMap}, using the given functions to map
+	 * each element to a key and a value, without boxing. Later elements replace the values of earlier elements with the
+	 * same key.
+	 *
+	 * @since 2.3
+	 */
+	default LongLongMap toMap(LongUnaryOperator keyMapper, LongUnaryOperator valueMapper) {
+		LongLongMap result = new LongLongMap();
+		forEachLong(x -> result.put(keyMapper.applyAsLong(x), valueMapper.applyAsLong(x)));
+		return result;
+	}
+
+	/**
+	 * Collect the elements in this {@code LongSequence} into a {@link LongLongMap}, using the given functions to map
+	 * each element to a key and a value, without boxing. The values of elements with the same key are combined using
+	 * the given merger.
+	 *
+	 * @since 2.3
+	 */
+	default LongLongMap toMap(LongUnaryOperator keyMapper, LongUnaryOperator valueMapper, LongBinaryOperator merger) {
+		LongLongMap result = new LongLongMap();
+		forEachLong(x -> result.merge(keyMapper.applyAsLong(x), valueMapper.applyAsLong(x), merger));
+		return result;
+	}
+
+	/**
+	 * Count the occurrences of each {@code long} in this {@code LongSequence} into a {@link LongLongMap} from each
+	 * distinct {@code long} to the number of times it occurs, without boxing.
+	 *
+	 * @since 2.3
+	 */
+	default LongLongMap toCounts() {
+		return countBy(x -> x);
+	}
+
+	/**
+	 * Group the {@code longs} in this {@code LongSequence} in a single pass into a {@link LongObjMap} from each key
+	 * given by the classifier to an {@link LongList} of the {@code longs} with that key, in encounter order, without
+	 * boxing.
+	 *
+	 * @since 2.3
+	 */
+	default LongObjMap<LongList> groupBy(LongUnaryOperator classifier) {
+		LongObjMap<LongList> groups = new LongObjMap<>();
+		forEachLong(x -> groups.computeIfAbsent(classifier.applyAsLong(x), k -> LongList.create()).addLong(x));
+		return groups;
+	}
+
+	/**
+	 * Count the {@code longs} in this {@code LongSequence} in a single pass into a {@link LongLongMap} from each key
+	 * given by the classifier to the number of {@code longs} with that key, without boxing.
+	 *
+	 * @since 2.3
+	 */
+	default LongLongMap countBy(LongUnaryOperator classifier) {
+		LongLongMap counts = new LongLongMap();
+		forEachLong(x -> counts.merge(classifier.applyAsLong(x), 1L, Long::sum));
+		return counts;
+	}
+
+	/**
+	 * Sum the {@code longs} in this {@code LongSequence} in a single pass into a {@link LongLongMap} from each key
+	 * given by the classifier to the sum of the {@code longs} with that key, without boxing.
+	 *
+	 * @since 2.3
+	 */
+	default LongLongMap sumBy(LongUnaryOperator classifier) {
+		LongLongMap sums = new LongLongMap();
+		forEachLong(x -> sums.merge(classifier.applyAsLong(x), x, Long::sum));
+		return sums;
+	}
+
+	/**
+	 * Partition the {@code longs} in this {@code LongSequence} in a single pass into a {@link Pair} of an
+	 * {@link LongList} of the {@code longs} that satisfy the given predicate and an {@link LongList} of the
+	 * {@code longs} that do not, both in encounter order.
+	 *
+	 * @since 2.3
+	 */
+	default Pair<LongList, LongList> partitionBy(LongPredicate predicate) {
+		LongList matching = LongList.create();
+		LongList nonMatching = LongList.create();
+		forEachLong(x -> (predicate.test(x) ? matching : nonMatching).addLong(x));
+		return Pair.of(matching, nonMatching);
+	}
+
 	/**
 	 * Collect this {@code LongSequence} into an {@link LongCollection} of the type determined by the given
 	 * constructor.
@@ -915,14 +1082,9 @@ public interface LongSequence extends LongCollection {
 	 */
 	default String join(String prefix, String delimiter, String suffix) {
 		StringBuilder result = new StringBuilder(prefix);
-
-		boolean started = false;
-		for (LongIterator iterator = iterator(); iterator.hasNext(); started = true) {
-			long each = iterator.nextLong();
-			if (started)
-				result.append(delimiter);
-			result.append(each);
-		}
+		forEachLong(each -> result.append(each).append(delimiter));
+		if (result.length() > prefix.length())
+			result.setLength(result.length() - delimiter.length());
 
 		return result.append(suffix).toString();
 	}
@@ -954,7 +1116,14 @@ public interface LongSequence extends LongCollection {
 	 * the {@code LongSequence}.
 	 */
 	default OptionalLong first() {
-		return at(0);
+		long[] first = new long[1];
+		if (iterator().forEachWhile(x -> {
+			first[0] = x;
+			return false;
+		}))
+			return OptionalLong.empty();
+
+		return OptionalLong.of(first[0]);
 	}
 
 	/**
@@ -1075,10 +1244,7 @@ public interface LongSequence extends LongCollection {
 	 * @return true if all longs in this {@code LongSequence} satisfy the given predicate, false otherwise.
 	 */
 	default boolean all(LongPredicate predicate) {
-		for (LongIterator iterator = iterator(); iterator.hasNext(); )
-			if (!predicate.test(iterator.nextLong()))
-				return false;
-		return true;
+		return iterator().forEachWhile(predicate);
 	}
 
 	/**
@@ -1092,10 +1258,7 @@ public interface LongSequence extends LongCollection {
 	 * @return true if any long in this {@code LongSequence} satisfy the given predicate, false otherwise.
 	 */
 	default boolean any(LongPredicate predicate) {
-		for (LongIterator iterator = iterator(); iterator.hasNext(); )
-			if (predicate.test(iterator.nextLong()))
-				return true;
-		return false;
+		return !iterator().forEachWhile(x -> !predicate.test(x));
 	}
 
 	/**
@@ -1109,6 +1272,22 @@ public interface LongSequence extends LongCollection {
 				action.accept(next);
 				return next;
 			}
+
+			@Override
+			public void forEachRemaining(LongConsumer consumer) {
+				iterator.forEachRemaining((LongConsumer) x -> {
+					action.accept(x);
+					consumer.accept(x);
+				});
+			}
+
+			@Override
+			public boolean forEachWhile(LongPredicate predicate) {
+				return iterator.forEachWhile(x -> {
+					action.accept(x);
+					return predicate.test(x);
+				});
+			}
 		};
 	}
 
@@ -1132,18 +1311,74 @@ public interface LongSequence extends LongCollection {
 	}
 
 	/**
-	 * @return this {@code LongSequence} sorted according to the natural order of the long values.
+	 * @return this {@code LongSequence} sorted according to the natural order of the long values. A {@link #limit(int)}
+	 * applied to the sorted sequence is performed as a {@link #bottomK(int)} without sorting the whole sequence.
 	 *
 	 * @see #reverse()
 	 */
 	default LongSequence sorted() {
-		return () -> {
-			long[] array = toLongArray();
-			Arrays.sort(array);
-			return LongIterator.of(array);
+		return new LongSequence() {
+			@Override
+			public LongIterator iterator() {
+				long[] array = LongSequence.this.toLongArray();
+				Arrays.sort(array);
+				return LongIterator.of(array);
+			}
+
+			@Override
+			public LongSequence limit(int limit) {
+				return LongSequence.this.bottomK(limit);
+			}
 		};
 	}
 
+	/**
+	 * @return the {@code k} largest long values in this {@code LongSequence}, from the largest down. This is the same
+	 * as {@code sorted().reverse().limit(k)}, but each traversal only keeps a heap of {@code k} values in memory and
+	 * costs {@code O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default LongSequence topK(int k) {
+		return () -> new SortedLimitingLongIterator(iterator(), k, true);
+	}
+
+	/**
+	 * @return the {@code k} smallest long values in this {@code LongSequence}, from the smallest up. This is the same
+	 * as {@code sorted().limit(k)}, but each traversal only keeps a heap of {@code k} values in memory and costs {@code
+	 * O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default LongSequence bottomK(int k) {
+		return () -> new SortedLimitingLongIterator(iterator(), k, false);
+	}
+
+	/**
+	 * Sort this {@code LongSequence} according to the natural order of the long values without holding more than {@code
+	 * spillThreshold} values in memory at once, allowing sequences larger than the heap to be sorted. Each time the
+	 * sequence is traversed, values are read in runs of {@code spillThreshold}, and each run is sorted in memory and
+	 * written to a temporary file in {@code tempDir} as raw longs. The runs are then merged lazily as the sorted
+	 * sequence is iterated. The last run is kept in memory, so a sequence of at most {@code spillThreshold} values is
+	 * sorted without touching the disk.
+	 * <p>
+	 * Runs are merged at most 64 at a time, in several passes if needed, so only a bounded number of files is open at
+	 * once. Each temporary file is removed as soon as its run is opened for merging where the file system allows it,
+	 * or else once the run has been merged, and all of them are removed if sorting fails. If {@code tempDir} is {@code
+	 * null}, the default temporary-file directory is used. Any {@link java.io.IOException} during sorting is rethrown
+	 * as an {@link IterationException}.
+	 *
+	 * @throws IllegalArgumentException if {@code spillThreshold} is less than one.
+	 * @see #sorted()
+	 * @since 2.3
+	 */
+	default LongSequence sorted(int spillThreshold, Path tempDir) {
+		if (spillThreshold < 1)
+			throw new IllegalArgumentException("spillThreshold < 1: " + spillThreshold);
+
+		return () -> new ExternalSortingLongIterator(iterator(), spillThreshold, tempDir);
+	}
+
 	/**
 	 * Prefix the longs in this {@code LongSequence} with the given longs.
 	 */
@@ -1248,7 +1483,80 @@ public interface LongSequence extends LongCollection {
 	 * the window size, the windows will overlap each other.
 	 */
 	default Sequence<LongSequence> window(int window, int step) {
-		return () -> new WindowingLongIterator(iterator(), window, step);
+		return window(window, step, false);
+	}
+
+	/**
+	 * Window the elements of this {@code LongSequence} into a sequence of {@code LongSequence}s of {@code longs}, each
+	 * with the size of the given window, stepping {@code step} {@code longs} between each window, as in {@link
+	 * #window(int, int)}. If {@code reuse} is true, the same window instance is returned for each window, as a
+	 * read-only view over an internal buffer which is only valid until the next window is requested, avoiding copying
+	 * the {@code longs} in each window.
+	 *
+	 * @since 2.3
+	 */
+	default Sequence<LongSequence> window(int window, int step, boolean reuse) {
+		return () -> new WindowingLongIterator(iterator(), window, step, reuse);
+	}
+
+	/**
+	 * @return a {@code LongSequence} of the sums of the {@code longs} in each window of the given size over this {@code
+	 * LongSequence}, with the same windows as {@link #window(int)}. The sums are computed incrementally, in constant
+	 * time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default LongSequence slidingSum(int window) {
+		return () -> new SlidingSumLongIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the averages of the {@code longs} in each window of the given size over this
+	 * {@code LongSequence}, with the same windows as {@link #window(int)}. The averages are computed incrementally, in
+	 * constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingAverage(int window) {
+		return () -> new SlidingAverageLongIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code DoubleSequence} of the population variances of the {@code longs} in each window of the given
+	 * size over this {@code LongSequence}, with the same windows as {@link #window(int)}. The variances are computed
+	 * incrementally using Welford's method, in constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default DoubleSequence slidingVariance(int window) {
+		return () -> new SlidingVarianceLongIterator(iterator(), window);
+	}
+
+	/**
+	 * @return a {@code LongSequence} of the smallest {@code long} in each window of the given size over this {@code
+	 * LongSequence}, with the same windows as {@link #window(int)}. The minimums are computed incrementally, in
+	 * amortized constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default LongSequence slidingMin(int window) {
+		return () -> new SlidingExtremumLongIterator(iterator(), window, false);
+	}
+
+	/**
+	 * @return a {@code LongSequence} of the largest {@code long} in each window of the given size over this {@code
+	 * LongSequence}, with the same windows as {@link #window(int)}. The maximums are computed incrementally, in
+	 * amortized constant time per step.
+	 *
+	 * @see #window(int)
+	 * @since 2.3
+	 */
+	default LongSequence slidingMax(int window) {
+		return () -> new SlidingExtremumLongIterator(iterator(), window, true);
 	}
 
 	/**
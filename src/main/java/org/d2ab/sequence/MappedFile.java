@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.sequence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only memory mapping of a whole file, split into segments since a single {@link MappedByteBuffer} cannot
+ * exceed 2 GB. Each segment is mapped with a small overlap into the next, so that a value or an encoded character
+ * starting before a segment boundary can always be read from that segment. The {@link FileChannel} is closed as soon
+ * as the file has been mapped, the mapping itself is released when it is garbage collected. Absolute reads do not
+ * change any buffer state, so a {@code MappedFile} can be read from several threads at once.
+ */
+class MappedFile {
+	private static final int SEGMENT_SHIFT = 30;
+	private static final int SEGMENT_OVERLAP = 16;
+
+	private final MappedByteBuffer[] segments;
+	private final int segmentShift;
+	private final long segmentMask;
+	private final long size;
+
+	private MappedFile(MappedByteBuffer[] segments, int segmentShift, long size) {
+		this.segments = segments;
+		this.segmentShift = segmentShift;
+		this.segmentMask = (1L << segmentShift) - 1;
+		this.size = size;
+	}
+
+	/**
+	 * @return the file at the given {@link Path} mapped into memory, reading multi-byte values in the given {@link
+	 * ByteOrder}.
+	 */
+	static MappedFile map(Path path, ByteOrder order) throws IOException {
+		return map(path, order, SEGMENT_SHIFT);
+	}
+
+	/**
+	 * @return the file at the given {@link Path} mapped into memory in segments of {@code 2^segmentShift} bytes,
+	 * reading multi-byte values in the given {@link ByteOrder}.
+	 */
+	static MappedFile map(Path path, ByteOrder order, int segmentShift) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long segmentSize = 1L << segmentShift;
+			MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + segmentSize - 1) >>> segmentShift)];
+			for (int i = 0; i < segments.length; i++) {
+				long position = (long) i << segmentShift;
+				long length = Math.min(size - position, segmentSize + SEGMENT_OVERLAP);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+				segments[i].order(order);
+			}
+			return new MappedFile(segments, segmentShift, size);
+		}
+	}
+
+	/**
+	 * @return the size of the mapped file in bytes.
+	 */
+	long size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of values of the given width in bytes that fit in this file, throwing an {@link
+	 * IllegalArgumentException} if there are more than can be indexed by an {@code int}.
+	 */
+	int count(int width) {
+		long count = size / width;
+		if (count > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("File too large: " + count + " values");
+		return (int) count;
+	}
+
+	byte getByte(long offset) {
+		return segments[(int) (offset >>> segmentShift)].get((int) (offset & segmentMask));
+	}
+
+	int getInt(long offset) {
+		return segments[(int) (offset >>> segmentShift)].getInt((int) (offset & segmentMask));
+	}
+
+	long getLong(long offset) {
+		return segments[(int) (offset >>> segmentShift)].getLong((int) (offset & segmentMask));
+	}
+
+	double getDouble(long offset) {
+		return segments[(int) (offset >>> segmentShift)].getDouble((int) (offset & segmentMask));
+	}
+
+	/**
+	 * @return a new read-only view of the mapped bytes from the given offset to the end of the segment that contains
+	 * it, including the overlap into the next segment.
+	 */
+	ByteBuffer slice(long offset) {
+		ByteBuffer slice = segments[(int) (offset >>> segmentShift)].asReadOnlyBuffer();
+		slice.position((int) (offset & segmentMask));
+		return slice;
+	}
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.sequence;
+
+import org.d2ab.util.Pair;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.*;
+import java.util.stream.Collector;
+
+import static java.util.function.BinaryOperator.maxBy;
+import static java.util.function.BinaryOperator.minBy;
+
+/**
+ * A parallel view of a {@link Sequence}, whose terminal operations are evaluated in a {@link ForkJoinPool} by
+ * recursively splitting the {@link Spliterator} of the backing {@code Sequence}, processing each part in a separate
+ * task and combining the partial results in encounter order. Sequences with sized, splittable spliterators, such as
+ * those backed by lists, collections, arrays or ranges, divide their work evenly. Other sequences are split in
+ * batches as they are traversed.
+ * <p>
+ * Any functions passed to a {@code ParallelSequence}, or to the intermediate operations of the backing
+ * {@code Sequence}, may be invoked concurrently from several threads and must be safe to do so. Reduction operators
+ * and combiners must be associative.
+ *
+ * @see Sequence#parallel()
+ * @see Sequence#parallel(ForkJoinPool)
+ * @since 2.3
+ */
+public class ParallelSequence<T> {
+	private final Sequence<T> sequence;
+	private final ForkJoinPool pool;
+
+	ParallelSequence(Sequence<T> sequence, ForkJoinPool pool) {
+		this.sequence = sequence;
+		this.pool = pool;
+	}
+
+	/**
+	 * @return the sequential {@link Sequence} backing this {@code ParallelSequence}.
+	 */
+	public Sequence<T> sequential() {
+		return sequence;
+	}
+
+	/**
+	 * @return the {@link ForkJoinPool} in which the terminal operations of this {@code ParallelSequence} are
+	 * evaluated.
+	 */
+	public ForkJoinPool pool() {
+		return pool;
+	}
+
+	/**
+	 * Reduce this {@code ParallelSequence} into a single element by applying the given associative binary operator
+	 * to the elements in each part of the sequence, and then to the results of each part, in encounter order.
+	 */
+	public Optional<T> reduce(BinaryOperator<T> operator) {
+		return evaluate(spliterator -> {
+			Reduction<T> reduction = new Reduction<>(operator);
+			spliterator.forEachRemaining(reduction);
+			return reduction;
+		}, Reduction::combine).result();
+	}
+
+	/**
+	 * Reduce this {@code ParallelSequence} into a single element by applying the given associative binary operator
+	 * to the elements in each part of the sequence, starting with the given identity, and then to the results of each
+	 * part, in encounter order. The identity may be applied any number of times and must not change the result.
+	 */
+	public T reduce(T identity, BinaryOperator<T> operator) {
+		return evaluate(spliterator -> {
+			Reduction<T> reduction = new Reduction<>(operator, identity);
+			spliterator.forEachRemaining(reduction);
+			return reduction;
+		}, Reduction::combine).result;
+	}
+
+	/**
+	 * Collect this {@code ParallelSequence} into an arbitrary container using the given {@link Collector}. Each part
+	 * of the sequence is collected into its own container, which are then merged in encounter order using the
+	 * {@link Collector#combiner()}.
+	 */
+	public <R, A> R collect(Collector<? super T, A, R> collector) {
+		A container = collect(collector.supplier(), collector.accumulator(), collector.combiner());
+		return collector.finisher().apply(container);
+	}
+
+	/**
+	 * Collect this {@code ParallelSequence} into an arbitrary container using the given constructor and adder. Each
+	 * part of the sequence is collected into its own container, which are then merged in encounter order using the
+	 * given combiner.
+	 */
+	public <C> C collect(Supplier<? extends C> constructor, BiConsumer<? super C, ? super T> adder,
+	                     BinaryOperator<C> combiner) {
+		return evaluate(spliterator -> {
+			C container = constructor.get();
+			spliterator.forEachRemaining(each -> adder.accept(container, each));
+			return container;
+		}, combiner);
+	}
+
+	/**
+	 * Collect the elements in this {@code ParallelSequence} into a {@link List}, in encounter order.
+	 */
+	public List<T> toList() {
+		return collect(ArrayList::new, ArrayList::add, (l1, l2) -> {
+			l1.addAll(l2);
+			return l1;
+		});
+	}
+
+	/**
+	 * Group the elements in this {@code ParallelSequence} into a {@link Map} from each key given by the classifier to
+	 * a {@link List} of the elements with that key, in encounter order. Each part of the sequence is grouped into its
+	 * own map, and the groups of later parts are appended to those of earlier parts.
+	 *
+	 * @see Sequence#groupBy(Function)
+	 */
+	public <K> Map<K, List<T>> groupBy(Function<? super T, ? extends K> classifier) {
+		return evaluate(spliterator -> {
+			Map<K, List<T>> groups = new HashMap<>();
+			spliterator.forEachRemaining(
+					each -> groups.computeIfAbsent(classifier.apply(each), k -> new ArrayList<>()).add(each));
+			return groups;
+		}, (groups1, groups2) -> {
+			groups2.forEach((key, group) -> groups1.merge(key, group, (l1, l2) -> {
+				l1.addAll(l2);
+				return l1;
+			}));
+			return groups1;
+		});
+	}
+
+	/**
+	 * Count the elements in this {@code ParallelSequence} into a {@link Map} from each key given by the classifier to
+	 * the number of elements with that key.
+	 *
+	 * @see Sequence#countBy(Function)
+	 */
+	public <K> Map<K, Long> countBy(Function<? super T, ? extends K> classifier) {
+		return sumBy(classifier, each -> 1);
+	}
+
+	/**
+	 * Sum the elements in this {@code ParallelSequence} into a {@link Map} from each key given by the classifier to
+	 * the sum of the values given by the mapper for the elements with that key. Each part of the sequence is summed
+	 * without boxing into its own map, and the sums of each part are then added together.
+	 *
+	 * @see Sequence#sumBy(Function, ToLongFunction)
+	 */
+	public <K> Map<K, Long> sumBy(Function<? super T, ? extends K> classifier, ToLongFunction<? super T> mapper) {
+		Map<K, long[]> sums = evaluate(spliterator -> {
+			Map<K, long[]> partSums = new HashMap<>();
+			spliterator.forEachRemaining(
+					each -> partSums.computeIfAbsent(classifier.apply(each), k -> new long[1])[0] +=
+							mapper.applyAsLong(each));
+			return partSums;
+		}, (sums1, sums2) -> {
+			sums2.forEach((key, sum) -> sums1.merge(key, sum, (s1, s2) -> {
+				s1[0] += s2[0];
+				return s1;
+			}));
+			return sums1;
+		});
+
+		Map<K, Long> result = new HashMap<>(sums.size() * 4 / 3 + 1);
+		sums.forEach((key, sum) -> result.put(key, sum[0]));
+		return result;
+	}
+
+	/**
+	 * Partition the elements in this {@code ParallelSequence} into a {@link Pair} of a {@link List} of the elements
+	 * that satisfy the given predicate and a {@link List} of the elements that do not, both in encounter order.
+	 *
+	 * @see Sequence#partitionBy(Predicate)
+	 */
+	public Pair<List<T>, List<T>> partitionBy(Predicate<? super T> predicate) {
+		return collect(() -> Pair.<List<T>, List<T>>of(new ArrayList<>(), new ArrayList<>()),
+		               (lists, each) -> (predicate.test(each) ? lists.getLeft() : lists.getRight()).add(each),
+		               (lists1, lists2) -> {
+			               lists1.getLeft().addAll(lists2.getLeft());
+			               lists1.getRight().addAll(lists2.getRight());
+			               return lists1;
+		               });
+	}
+
+	/**
+	 * Perform the given action on each element in this {@code ParallelSequence}. The action may be invoked
+	 * concurrently and in any order.
+	 */
+	public void forEach(Consumer<? super T> action) {
+		evaluate(spliterator -> {
+			spliterator.forEachRemaining(action);
+			return null;
+		}, (v1, v2) -> null);
+	}
+
+	/**
+	 * @return the number of elements in this {@code ParallelSequence}.
+	 */
+	public long count() {
+		return evaluate(spliterator -> {
+			long exactSize = spliterator.getExactSizeIfKnown();
+			if (exactSize != -1)
+				return exactSize;
+
+			long[] count = {0};
+			spliterator.forEachRemaining(each -> count[0]++);
+			return count[0];
+		}, Long::sum);
+	}
+
+	/**
+	 * @return the minimal element in this {@code ParallelSequence} according to the given {@link Comparator}.
+	 */
+	public Optional<T> min(Comparator<? super T> comparator) {
+		return reduce(minBy(comparator));
+	}
+
+	/**
+	 * @return the maximum element in this {@code ParallelSequence} according to the given {@link Comparator}.
+	 */
+	public Optional<T> max(Comparator<? super T> comparator) {
+		return reduce(maxBy(comparator));
+	}
+
+	/**
+	 * @return true if all elements in this {@code ParallelSequence} satisfy the given predicate, false otherwise.
+	 * Evaluation stops in all parts of the sequence as soon as an element not satisfying the predicate is found.
+	 */
+	public boolean all(Predicate<? super T> predicate) {
+		return !any(predicate.negate());
+	}
+
+	/**
+	 * @return true if no elements in this {@code ParallelSequence} satisfy the given predicate, false otherwise.
+	 * Evaluation stops in all parts of the sequence as soon as an element satisfying the predicate is found.
+	 */
+	public boolean none(Predicate<? super T> predicate) {
+		return !any(predicate);
+	}
+
+	/**
+	 * @return true if any element in this {@code ParallelSequence} satisfies the given predicate, false otherwise.
+	 * Evaluation stops in all parts of the sequence as soon as an element satisfying the predicate is found.
+	 */
+	public boolean any(Predicate<? super T> predicate) {
+		AtomicBoolean found = new AtomicBoolean();
+		evaluate(spliterator -> {
+			Consumer<T> test = each -> {
+				if (predicate.test(each))
+					found.set(true);
+			};
+			boolean advanced = true;
+			while (advanced && !found.get())
+				advanced = spliterator.tryAdvance(test);
+			return null;
+		}, (v1, v2) -> null);
+		return found.get();
+	}
+
+	private <R> R evaluate(Function<? super Spliterator<T>, ? extends R> leaf, BinaryOperator<R> combiner) {
+		Spliterator<T> spliterator = sequence.spliterator();
+		long threshold = Math.max(spliterator.estimateSize() / (pool.getParallelism() << 2), 1);
+		return pool.invoke(new SplittingTask<>(spliterator, threshold, leaf, combiner));
+	}
+
+	private static class SplittingTask<T, R> extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+
+		private final Spliterator<T> spliterator;
+		private final long threshold;
+		private final Function<? super Spliterator<T>, ? extends R> leaf;
+		private final BinaryOperator<R> combiner;
+
+		private SplittingTask(Spliterator<T> spliterator, long threshold,
+		                      Function<? super Spliterator<T>, ? extends R> leaf, BinaryOperator<R> combiner) {
+			this.spliterator = spliterator;
+			this.threshold = threshold;
+			this.leaf = leaf;
+			this.combiner = combiner;
+		}
+
+		@Override
+		protected R compute() {
+			Spliterator<T> prefix;
+			if (spliterator.estimateSize() <= threshold || (prefix = spliterator.trySplit()) == null)
+				return leaf.apply(spliterator);
+
+			SplittingTask<T, R> left = new SplittingTask<>(prefix, threshold, leaf, combiner);
+			left.fork();
+			R right = new SplittingTask<>(spliterator, threshold, leaf, combiner).compute();
+			return combiner.apply(left.join(), right);
+		}
+	}
+
+	private static class Reduction<T> implements Consumer<T> {
+		private final BinaryOperator<T> operator;
+		private boolean present;
+		private T result;
+
+		private Reduction(BinaryOperator<T> operator) {
+			this.operator = operator;
+		}
+
+		private Reduction(BinaryOperator<T> operator, T identity) {
+			this.operator = operator;
+			this.result = identity;
+			this.present = true;
+		}
+
+		@Override
+		public void accept(T each) {
+			if (present) {
+				result = operator.apply(result, each);
+			} else {
+				result = each;
+				present = true;
+			}
+		}
+
+		private Reduction<T> combine(Reduction<T> other) {
+			if (other.present)
+				accept(other.result);
+			return this;
+		}
+
+		private Optional<T> result() {
+			return present ? Optional.of(result) : Optional.empty();
+		}
+	}
+}
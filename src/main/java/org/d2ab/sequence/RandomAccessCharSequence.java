@@ -0,0 +1,409 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.d2ab.collection.chars.CharIterable;
+import org.d2ab.collection.chars.CharList;
+import org.d2ab.function.CharConsumer;
+import org.d2ab.function.CharIntToCharFunction;
+import org.d2ab.function.CharUnaryOperator;
+import org.d2ab.iterator.RandomAccessSpliterator;
+import org.d2ab.iterator.chars.CharIterator;
+import org.d2ab.iterator.chars.CharSequenceCharIterator;
+import org.d2ab.iterator.ints.RandomAccessIntSpliterator;
+import org.d2ab.util.OptionalChar;
+
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * A {@link CharSeq} with constant time access to its size and to its {@code chars} by index, such as sequences
+ * backed by arrays, {@link CharSequence}s, {@link RandomAccess} {@link CharList}s or ranges. Reports its exact size,
+ * and provides sized {@link Spliterator}s that split in constant time by index. Size preserving operations such as
+ * {@link #map(CharUnaryOperator)}, {@link #peek(CharConsumer)} and {@link #mapIndexed(CharIntToCharFunction)} return
+ * views with the same properties.
+ */
+abstract class RandomAccessCharSequence implements CharSeq {
+	/**
+	 * @return a {@code RandomAccessCharSequence} over the given array, reading from the given offset and limited to
+	 * the given size.
+	 */
+	static CharSeq from(char[] xs, int offset, int size) {
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return CharIterator.from(xs, offset, size);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return xs[offset + index];
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessCharSequence} backed by the given {@link CharSequence}. Updates to the backing
+	 * {@link CharSequence} are reflected in the returned sequence.
+	 */
+	static CharSeq from(CharSequence csq) {
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return new CharSequenceCharIterator(csq);
+			}
+
+			@Override
+			public int size() {
+				return csq.length();
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return csq.charAt(index);
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessCharSequence} backed by the given {@link RandomAccess} {@link CharList}. Updates to
+	 * the backing list are reflected in the returned sequence.
+	 */
+	static CharSeq from(CharList list) {
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return list.iterator();
+			}
+
+			@Override
+			public int size() {
+				return list.size();
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return list.getChar(index);
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessCharSequence} of the {@code chars} between the given start and end positions,
+	 * inclusive, in increasing or decreasing order.
+	 */
+	static CharSeq range(char start, char end) {
+		int step = end >= start ? 1 : -1;
+		int size = Math.abs(end - start) + 1;
+		return new RandomAccessCharSequence() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return (char) (start + index * step);
+			}
+
+			@Override
+			public CharSeq sorted() {
+				return step >= 0 ? this : reverse();
+			}
+		};
+	}
+
+	@Override
+	public abstract int size();
+
+	/**
+	 * @return the {@code char} at the given index in this sequence.
+	 */
+	protected abstract char getChar(int index);
+
+	@Override
+	public CharIterator iterator() {
+		return new CharIterator() {
+			private final int size = RandomAccessCharSequence.this.size();
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public char nextChar() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return getChar(index++);
+			}
+
+			@Override
+			public int nextChars(char[] array, int offset, int length) {
+				int count = Math.max(Math.min(length, size - index), 0);
+				for (int i = 0; i < count; i++)
+					array[offset + i] = getChar(index++);
+				return count;
+			}
+		};
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Spliterator<Character> spliterator() {
+		return new RandomAccessSpliterator<>(this::getChar, size(), Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+
+	@Override
+	public Spliterator.OfInt intSpliterator() {
+		return new RandomAccessIntSpliterator(this::getChar, size(), Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+
+	@Override
+	public CharSeq map(CharUnaryOperator mapper) {
+		CharSeq mapped = CharSeq.super.map(mapper);
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessCharSequence.this.size();
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return mapper.applyAsChar(RandomAccessCharSequence.this.getChar(index));
+			}
+		};
+	}
+
+	@Override
+	public CharSeq mapIndexed(CharIntToCharFunction mapper) {
+		CharSeq mapped = CharSeq.super.mapIndexed(mapper);
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessCharSequence.this.size();
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return mapper.applyAsChar(RandomAccessCharSequence.this.getChar(index), index);
+			}
+		};
+	}
+
+	@Override
+	public CharSeq peek(CharConsumer action) {
+		CharSeq peeked = CharSeq.super.peek(action);
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return peeked.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessCharSequence.this.size();
+			}
+
+			@Override
+			protected char getChar(int index) {
+				char next = RandomAccessCharSequence.this.getChar(index);
+				action.accept(next);
+				return next;
+			}
+		};
+	}
+
+	@Override
+	public OptionalChar first() {
+		return at(0);
+	}
+
+	@Override
+	public OptionalChar at(int index) {
+		if (index < 0)
+			return CharSeq.super.at(index);
+		if (index >= size())
+			return OptionalChar.empty();
+
+		return OptionalChar.of(getChar(index));
+	}
+
+	@Override
+	public OptionalChar last() {
+		int size = size();
+		if (size == 0)
+			return OptionalChar.empty();
+
+		return OptionalChar.of(getChar(size - 1));
+	}
+
+	@Override
+	public CharSeq skip(int skip) {
+		if (skip <= 0)
+			return CharSeq.super.skip(skip);
+
+		CharSeq skipped = CharSeq.super.skip(skip);
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessCharSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return RandomAccessCharSequence.this.getChar(skip + index);
+			}
+		};
+	}
+
+	@Override
+	public CharSeq skipTail(int skip) {
+		if (skip <= 0)
+			return CharSeq.super.skipTail(skip);
+
+		CharSeq skipped = CharSeq.super.skipTail(skip);
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessCharSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return RandomAccessCharSequence.this.getChar(index);
+			}
+		};
+	}
+
+	@Override
+	public CharSeq limit(int limit) {
+		CharSeq limited = CharSeq.super.limit(limit);
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return limited.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(Math.min(RandomAccessCharSequence.this.size(), limit), 0);
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return RandomAccessCharSequence.this.getChar(index);
+			}
+		};
+	}
+
+	@Override
+	public CharSeq step(int step) {
+		if (step <= 0)
+			return CharSeq.super.step(step);
+
+		CharSeq stepped = CharSeq.super.step(step);
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return stepped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return (int) (((long) RandomAccessCharSequence.this.size() + step - 1) / step);
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return RandomAccessCharSequence.this.getChar(index * step);
+			}
+		};
+	}
+
+	@Override
+	public CharSeq append(CharIterable that) {
+		CharSeq appended = CharSeq.super.append(that);
+		if (!(that instanceof RandomAccessCharSequence))
+			return appended;
+
+		RandomAccessCharSequence tail = (RandomAccessCharSequence) that;
+		return new RandomAccessCharSequence() {
+			@Override
+			public CharIterator iterator() {
+				return appended.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessCharSequence.this.size() + tail.size();
+			}
+
+			@Override
+			protected char getChar(int index) {
+				int headSize = RandomAccessCharSequence.this.size();
+				return index < headSize ? RandomAccessCharSequence.this.getChar(index) : tail.getChar(index - headSize);
+			}
+		};
+	}
+
+	@Override
+	public CharSeq reverse() {
+		return new RandomAccessCharSequence() {
+			@Override
+			public int size() {
+				return RandomAccessCharSequence.this.size();
+			}
+
+			@Override
+			protected char getChar(int index) {
+				return RandomAccessCharSequence.this.getChar(RandomAccessCharSequence.this.size() - 1 - index);
+			}
+		};
+	}
+}
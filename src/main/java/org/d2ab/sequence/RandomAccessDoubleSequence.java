@@ -0,0 +1,366 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.d2ab.collection.doubles.DoubleIterable;
+import org.d2ab.collection.doubles.DoubleList;
+import org.d2ab.function.DoubleIntToDoubleFunction;
+import org.d2ab.iterator.doubles.DoubleIterator;
+import org.d2ab.iterator.doubles.RandomAccessDoubleSpliterator;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A {@link DoubleSequence} with constant time access to its size and to its {@code doubles} by index, such as
+ * sequences backed by arrays or {@link RandomAccess} {@link DoubleList}s. Reports its exact size, and provides sized
+ * {@link Spliterator}s that split in constant time by index. Size preserving operations such as
+ * {@link #map(DoubleUnaryOperator)}, {@link #peek(DoubleConsumer)} and
+ * {@link #mapIndexed(DoubleIntToDoubleFunction)} return views with the same properties.
+ */
+abstract class RandomAccessDoubleSequence implements DoubleSequence {
+	/**
+	 * @return a {@code RandomAccessDoubleSequence} over the given array, reading from the given offset and limited to
+	 * the given size.
+	 */
+	static DoubleSequence from(double[] xs, int offset, int size) {
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return DoubleIterator.from(xs, offset, size);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return xs[offset + index];
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessDoubleSequence} backed by the given {@link RandomAccess} {@link DoubleList}. Updates to
+	 * the backing list are reflected in the returned sequence.
+	 */
+	static DoubleSequence from(DoubleList list) {
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return list.iterator();
+			}
+
+			@Override
+			public int size() {
+				return list.size();
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return list.getDouble(index);
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessDoubleSequence} over the {@code doubles} in the given {@link MappedFile}, read
+	 * directly from the mapping without copying. Any trailing bytes that do not make up a whole {@code double} are
+	 * ignored.
+	 */
+	static DoubleSequence from(MappedFile file) {
+		int size = file.count(Double.BYTES);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return file.getDouble((long) index * Double.BYTES);
+			}
+		};
+	}
+
+	@Override
+	public abstract int size();
+
+	/**
+	 * @return the {@code double} at the given index in this sequence.
+	 */
+	protected abstract double getDouble(int index);
+
+	@Override
+	public DoubleIterator iterator() {
+		return new DoubleIterator() {
+			private final int size = RandomAccessDoubleSequence.this.size();
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public double nextDouble() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return getDouble(index++);
+			}
+		};
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Spliterator.OfDouble spliterator() {
+		return new RandomAccessDoubleSpliterator(this::getDouble, size(), Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+
+	@Override
+	public DoubleSequence map(DoubleUnaryOperator mapper) {
+		DoubleSequence mapped = DoubleSequence.super.map(mapper);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessDoubleSequence.this.size();
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return mapper.applyAsDouble(RandomAccessDoubleSequence.this.getDouble(index));
+			}
+		};
+	}
+
+	@Override
+	public DoubleSequence mapIndexed(DoubleIntToDoubleFunction mapper) {
+		DoubleSequence mapped = DoubleSequence.super.mapIndexed(mapper);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessDoubleSequence.this.size();
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return mapper.applyAsDouble(RandomAccessDoubleSequence.this.getDouble(index), index);
+			}
+		};
+	}
+
+	@Override
+	public DoubleSequence peek(DoubleConsumer action) {
+		DoubleSequence peeked = DoubleSequence.super.peek(action);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return peeked.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessDoubleSequence.this.size();
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				double next = RandomAccessDoubleSequence.this.getDouble(index);
+				action.accept(next);
+				return next;
+			}
+		};
+	}
+
+	@Override
+	public OptionalDouble first() {
+		return at(0);
+	}
+
+	@Override
+	public OptionalDouble at(int index) {
+		if (index < 0)
+			return DoubleSequence.super.at(index);
+		if (index >= size())
+			return OptionalDouble.empty();
+
+		return OptionalDouble.of(getDouble(index));
+	}
+
+	@Override
+	public OptionalDouble last() {
+		int size = size();
+		if (size == 0)
+			return OptionalDouble.empty();
+
+		return OptionalDouble.of(getDouble(size - 1));
+	}
+
+	@Override
+	public DoubleSequence skip(int skip) {
+		if (skip <= 0)
+			return DoubleSequence.super.skip(skip);
+
+		DoubleSequence skipped = DoubleSequence.super.skip(skip);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessDoubleSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return RandomAccessDoubleSequence.this.getDouble(skip + index);
+			}
+		};
+	}
+
+	@Override
+	public DoubleSequence skipTail(int skip) {
+		if (skip <= 0)
+			return DoubleSequence.super.skipTail(skip);
+
+		DoubleSequence skipped = DoubleSequence.super.skipTail(skip);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessDoubleSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return RandomAccessDoubleSequence.this.getDouble(index);
+			}
+		};
+	}
+
+	@Override
+	public DoubleSequence limit(int limit) {
+		DoubleSequence limited = DoubleSequence.super.limit(limit);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return limited.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(Math.min(RandomAccessDoubleSequence.this.size(), limit), 0);
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return RandomAccessDoubleSequence.this.getDouble(index);
+			}
+		};
+	}
+
+	@Override
+	public DoubleSequence step(int step) {
+		if (step <= 0)
+			return DoubleSequence.super.step(step);
+
+		DoubleSequence stepped = DoubleSequence.super.step(step);
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return stepped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return (int) (((long) RandomAccessDoubleSequence.this.size() + step - 1) / step);
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return RandomAccessDoubleSequence.this.getDouble(index * step);
+			}
+		};
+	}
+
+	@Override
+	public DoubleSequence append(DoubleIterable that) {
+		DoubleSequence appended = DoubleSequence.super.append(that);
+		if (!(that instanceof RandomAccessDoubleSequence))
+			return appended;
+
+		RandomAccessDoubleSequence tail = (RandomAccessDoubleSequence) that;
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public DoubleIterator iterator() {
+				return appended.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessDoubleSequence.this.size() + tail.size();
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				int headSize = RandomAccessDoubleSequence.this.size();
+				return index < headSize ? RandomAccessDoubleSequence.this.getDouble(index) : tail.getDouble(index - headSize);
+			}
+		};
+	}
+
+	@Override
+	public DoubleSequence reverse() {
+		return new RandomAccessDoubleSequence() {
+			@Override
+			public int size() {
+				return RandomAccessDoubleSequence.this.size();
+			}
+
+			@Override
+			protected double getDouble(int index) {
+				return RandomAccessDoubleSequence.this.getDouble(RandomAccessDoubleSequence.this.size() - 1 - index);
+			}
+		};
+	}
+}
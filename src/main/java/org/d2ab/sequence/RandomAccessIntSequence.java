@@ -0,0 +1,415 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.d2ab.collection.ints.IntIterable;
+import org.d2ab.collection.ints.IntList;
+import org.d2ab.iterator.ints.IntIterator;
+import org.d2ab.iterator.ints.RandomAccessIntSpliterator;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An {@link IntSequence} with constant time access to its size and to its {@code ints} by index, such as sequences
+ * backed by arrays, {@link RandomAccess} {@link IntList}s or bounded ranges. Reports its exact size, and provides
+ * sized {@link Spliterator}s that split in constant time by index. Size preserving operations such as
+ * {@link #map(IntUnaryOperator)}, {@link #peek(IntConsumer)} and {@link #mapIndexed(IntBinaryOperator)} return views
+ * with the same properties.
+ */
+abstract class RandomAccessIntSequence implements IntSequence {
+	/**
+	 * @return a {@code RandomAccessIntSequence} over the given array, reading from the given offset and limited to
+	 * the given size.
+	 */
+	static IntSequence from(int[] xs, int offset, int size) {
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return IntIterator.from(xs, offset, size);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return xs[offset + index];
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessIntSequence} backed by the given {@link RandomAccess} {@link IntList}. Updates to
+	 * the backing list are reflected in the returned sequence.
+	 */
+	static IntSequence from(IntList list) {
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return list.iterator();
+			}
+
+			@Override
+			public int size() {
+				return list.size();
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return list.getInt(index);
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessIntSequence} of the given number of {@code ints}, starting at the given value and
+	 * incrementing by the given step, which may be negative.
+	 */
+	static IntSequence range(int start, int step, int size) {
+		return new RandomAccessIntSequence() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return (int) (start + (long) index * step);
+			}
+
+			@Override
+			public IntSequence sorted() {
+				return step >= 0 ? this : reverse();
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessIntSequence} over the {@code ints} in the given {@link MappedFile}, read directly
+	 * from the mapping without copying. Any trailing bytes that do not make up a whole {@code int} are ignored.
+	 */
+	static IntSequence from(MappedFile file) {
+		int size = file.count(Integer.BYTES);
+		return new RandomAccessIntSequence() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return file.getInt((long) index * Integer.BYTES);
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessIntSequence} over the bytes in the given {@link MappedFile} as unsigned {@code
+	 * ints}, read directly from the mapping without copying.
+	 */
+	static IntSequence bytes(MappedFile file) {
+		int size = file.count(Byte.BYTES);
+		return new RandomAccessIntSequence() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return file.getByte(index) & 0xFF;
+			}
+		};
+	}
+
+	@Override
+	public abstract int size();
+
+	/**
+	 * @return the {@code int} at the given index in this sequence.
+	 */
+	protected abstract int getInt(int index);
+
+	@Override
+	public IntIterator iterator() {
+		return new IntIterator() {
+			private final int size = RandomAccessIntSequence.this.size();
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public int nextInt() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return getInt(index++);
+			}
+
+			@Override
+			public int nextInts(int[] array, int offset, int length) {
+				int count = Math.max(Math.min(length, size - index), 0);
+				for (int i = 0; i < count; i++)
+					array[offset + i] = getInt(index++);
+				return count;
+			}
+		};
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Spliterator.OfInt spliterator() {
+		return new RandomAccessIntSpliterator(this::getInt, size(), Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+
+	@Override
+	public IntSequence map(IntUnaryOperator mapper) {
+		IntSequence mapped = IntSequence.super.map(mapper);
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessIntSequence.this.size();
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return mapper.applyAsInt(RandomAccessIntSequence.this.getInt(index));
+			}
+		};
+	}
+
+	@Override
+	public IntSequence mapIndexed(IntBinaryOperator mapper) {
+		IntSequence mapped = IntSequence.super.mapIndexed(mapper);
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessIntSequence.this.size();
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return mapper.applyAsInt(RandomAccessIntSequence.this.getInt(index), index);
+			}
+		};
+	}
+
+	@Override
+	public IntSequence peek(IntConsumer action) {
+		IntSequence peeked = IntSequence.super.peek(action);
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return peeked.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessIntSequence.this.size();
+			}
+
+			@Override
+			protected int getInt(int index) {
+				int next = RandomAccessIntSequence.this.getInt(index);
+				action.accept(next);
+				return next;
+			}
+		};
+	}
+
+	@Override
+	public OptionalInt first() {
+		return at(0);
+	}
+
+	@Override
+	public OptionalInt at(int index) {
+		if (index < 0)
+			return IntSequence.super.at(index);
+		if (index >= size())
+			return OptionalInt.empty();
+
+		return OptionalInt.of(getInt(index));
+	}
+
+	@Override
+	public OptionalInt last() {
+		int size = size();
+		if (size == 0)
+			return OptionalInt.empty();
+
+		return OptionalInt.of(getInt(size - 1));
+	}
+
+	@Override
+	public IntSequence skip(int skip) {
+		if (skip <= 0)
+			return IntSequence.super.skip(skip);
+
+		IntSequence skipped = IntSequence.super.skip(skip);
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessIntSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return RandomAccessIntSequence.this.getInt(skip + index);
+			}
+		};
+	}
+
+	@Override
+	public IntSequence skipTail(int skip) {
+		if (skip <= 0)
+			return IntSequence.super.skipTail(skip);
+
+		IntSequence skipped = IntSequence.super.skipTail(skip);
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessIntSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return RandomAccessIntSequence.this.getInt(index);
+			}
+		};
+	}
+
+	@Override
+	public IntSequence limit(int limit) {
+		IntSequence limited = IntSequence.super.limit(limit);
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return limited.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(Math.min(RandomAccessIntSequence.this.size(), limit), 0);
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return RandomAccessIntSequence.this.getInt(index);
+			}
+		};
+	}
+
+	@Override
+	public IntSequence step(int step) {
+		if (step <= 0)
+			return IntSequence.super.step(step);
+
+		IntSequence stepped = IntSequence.super.step(step);
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return stepped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return (int) (((long) RandomAccessIntSequence.this.size() + step - 1) / step);
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return RandomAccessIntSequence.this.getInt(index * step);
+			}
+		};
+	}
+
+	@Override
+	public IntSequence append(IntIterable that) {
+		IntSequence appended = IntSequence.super.append(that);
+		if (!(that instanceof RandomAccessIntSequence))
+			return appended;
+
+		RandomAccessIntSequence tail = (RandomAccessIntSequence) that;
+		return new RandomAccessIntSequence() {
+			@Override
+			public IntIterator iterator() {
+				return appended.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessIntSequence.this.size() + tail.size();
+			}
+
+			@Override
+			protected int getInt(int index) {
+				int headSize = RandomAccessIntSequence.this.size();
+				return index < headSize ? RandomAccessIntSequence.this.getInt(index) : tail.getInt(index - headSize);
+			}
+		};
+	}
+
+	@Override
+	public IntSequence reverse() {
+		return new RandomAccessIntSequence() {
+			@Override
+			public int size() {
+				return RandomAccessIntSequence.this.size();
+			}
+
+			@Override
+			protected int getInt(int index) {
+				return RandomAccessIntSequence.this.getInt(RandomAccessIntSequence.this.size() - 1 - index);
+			}
+		};
+	}
+}
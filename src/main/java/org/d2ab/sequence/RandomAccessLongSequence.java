@@ -0,0 +1,388 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.d2ab.collection.longs.LongIterable;
+import org.d2ab.collection.longs.LongList;
+import org.d2ab.function.LongIntToLongFunction;
+import org.d2ab.iterator.longs.LongIterator;
+import org.d2ab.iterator.longs.RandomAccessLongSpliterator;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A {@link LongSequence} with constant time access to its size and to its {@code longs} by index, such as sequences
+ * backed by arrays, {@link RandomAccess} {@link LongList}s or bounded ranges. Reports its exact size, and provides
+ * sized {@link Spliterator}s that split in constant time by index. Size preserving operations such as
+ * {@link #map(LongUnaryOperator)}, {@link #peek(LongConsumer)} and {@link #mapIndexed(LongIntToLongFunction)} return
+ * views with the same properties.
+ */
+abstract class RandomAccessLongSequence implements LongSequence {
+	/**
+	 * @return a {@code RandomAccessLongSequence} over the given array, reading from the given offset and limited to
+	 * the given size.
+	 */
+	static LongSequence from(long[] xs, int offset, int size) {
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return LongIterator.from(xs, offset, size);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return xs[offset + index];
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessLongSequence} backed by the given {@link RandomAccess} {@link LongList}. Updates to
+	 * the backing list are reflected in the returned sequence.
+	 */
+	static LongSequence from(LongList list) {
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return list.iterator();
+			}
+
+			@Override
+			public int size() {
+				return list.size();
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return list.getLong(index);
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessLongSequence} of the given number of {@code longs}, starting at the given value and
+	 * incrementing by the given step, which may be negative.
+	 */
+	static LongSequence range(long start, long step, int size) {
+		return new RandomAccessLongSequence() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return start + index * step;
+			}
+
+			@Override
+			public LongSequence sorted() {
+				return step >= 0 ? this : reverse();
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessLongSequence} over the {@code longs} in the given {@link MappedFile}, read directly
+	 * from the mapping without copying. Any trailing bytes that do not make up a whole {@code long} are ignored.
+	 */
+	static LongSequence from(MappedFile file) {
+		int size = file.count(Long.BYTES);
+		return new RandomAccessLongSequence() {
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return file.getLong((long) index * Long.BYTES);
+			}
+		};
+	}
+
+	@Override
+	public abstract int size();
+
+	/**
+	 * @return the {@code long} at the given index in this sequence.
+	 */
+	protected abstract long getLong(int index);
+
+	@Override
+	public LongIterator iterator() {
+		return new LongIterator() {
+			private final int size = RandomAccessLongSequence.this.size();
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public long nextLong() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return getLong(index++);
+			}
+		};
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Spliterator.OfLong spliterator() {
+		return new RandomAccessLongSpliterator(this::getLong, size(), Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+
+	@Override
+	public LongSequence map(LongUnaryOperator mapper) {
+		LongSequence mapped = LongSequence.super.map(mapper);
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessLongSequence.this.size();
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return mapper.applyAsLong(RandomAccessLongSequence.this.getLong(index));
+			}
+		};
+	}
+
+	@Override
+	public LongSequence mapIndexed(LongIntToLongFunction mapper) {
+		LongSequence mapped = LongSequence.super.mapIndexed(mapper);
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return mapped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessLongSequence.this.size();
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return mapper.applyAsLong(RandomAccessLongSequence.this.getLong(index), index);
+			}
+		};
+	}
+
+	@Override
+	public LongSequence peek(LongConsumer action) {
+		LongSequence peeked = LongSequence.super.peek(action);
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return peeked.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessLongSequence.this.size();
+			}
+
+			@Override
+			protected long getLong(int index) {
+				long next = RandomAccessLongSequence.this.getLong(index);
+				action.accept(next);
+				return next;
+			}
+		};
+	}
+
+	@Override
+	public OptionalLong first() {
+		return at(0);
+	}
+
+	@Override
+	public OptionalLong at(int index) {
+		if (index < 0)
+			return LongSequence.super.at(index);
+		if (index >= size())
+			return OptionalLong.empty();
+
+		return OptionalLong.of(getLong(index));
+	}
+
+	@Override
+	public OptionalLong last() {
+		int size = size();
+		if (size == 0)
+			return OptionalLong.empty();
+
+		return OptionalLong.of(getLong(size - 1));
+	}
+
+	@Override
+	public LongSequence skip(int skip) {
+		if (skip <= 0)
+			return LongSequence.super.skip(skip);
+
+		LongSequence skipped = LongSequence.super.skip(skip);
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessLongSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return RandomAccessLongSequence.this.getLong(skip + index);
+			}
+		};
+	}
+
+	@Override
+	public LongSequence skipTail(int skip) {
+		if (skip <= 0)
+			return LongSequence.super.skipTail(skip);
+
+		LongSequence skipped = LongSequence.super.skipTail(skip);
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessLongSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return RandomAccessLongSequence.this.getLong(index);
+			}
+		};
+	}
+
+	@Override
+	public LongSequence limit(int limit) {
+		LongSequence limited = LongSequence.super.limit(limit);
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return limited.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(Math.min(RandomAccessLongSequence.this.size(), limit), 0);
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return RandomAccessLongSequence.this.getLong(index);
+			}
+		};
+	}
+
+	@Override
+	public LongSequence step(int step) {
+		if (step <= 0)
+			return LongSequence.super.step(step);
+
+		LongSequence stepped = LongSequence.super.step(step);
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return stepped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return (int) (((long) RandomAccessLongSequence.this.size() + step - 1) / step);
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return RandomAccessLongSequence.this.getLong(index * step);
+			}
+		};
+	}
+
+	@Override
+	public LongSequence append(LongIterable that) {
+		LongSequence appended = LongSequence.super.append(that);
+		if (!(that instanceof RandomAccessLongSequence))
+			return appended;
+
+		RandomAccessLongSequence tail = (RandomAccessLongSequence) that;
+		return new RandomAccessLongSequence() {
+			@Override
+			public LongIterator iterator() {
+				return appended.iterator();
+			}
+
+			@Override
+			public int size() {
+				return RandomAccessLongSequence.this.size() + tail.size();
+			}
+
+			@Override
+			protected long getLong(int index) {
+				int headSize = RandomAccessLongSequence.this.size();
+				return index < headSize ? RandomAccessLongSequence.this.getLong(index) : tail.getLong(index - headSize);
+			}
+		};
+	}
+
+	@Override
+	public LongSequence reverse() {
+		return new RandomAccessLongSequence() {
+			@Override
+			public int size() {
+				return RandomAccessLongSequence.this.size();
+			}
+
+			@Override
+			protected long getLong(int index) {
+				return RandomAccessLongSequence.this.getLong(RandomAccessLongSequence.this.size() - 1 - index);
+			}
+		};
+	}
+}
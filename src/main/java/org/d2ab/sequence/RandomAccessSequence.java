@@ -0,0 +1,282 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.d2ab.sequence;
+
+import org.d2ab.iterator.RandomAccessSpliterator;
+
+import java.util.*;
+
+/**
+ * A {@link Sequence} with constant time access to its size and to its elements by index, such as sequences backed by
+ * {@link RandomAccess} {@link List}s or bounded ranges. Reports its exact size, and provides sized
+ * {@link Spliterator}s that split in constant time by index. Positional operations such as {@link #at(int)},
+ * {@link #last()}, {@link #skip(int)}, {@link #limit(int)} and {@link #step(int)} are answered by index without
+ * iterating, and return views with the same properties, while iteration and removal are still delegated to the
+ * regular iterator based implementations.
+ */
+abstract class RandomAccessSequence<T> implements Sequence<T> {
+	/**
+	 * @return a {@code RandomAccessSequence} backed by the given {@link RandomAccess} {@link List}. Updates to the
+	 * backing list are reflected in the returned sequence.
+	 */
+	static <T> RandomAccessSequence<T> from(List<T> list) {
+		return new RandomAccessSequence<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return list.iterator();
+			}
+
+			@Override
+			public int size() {
+				return list.size();
+			}
+
+			@Override
+			protected T get(int index) {
+				return list.get(index);
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessSequence} view of the given bounded range of {@link Integer}s, of the given size,
+	 * starting at the given value and incrementing by the given step, which may be negative. The range is iterated
+	 * using the iterator of the given sequence.
+	 */
+	static Sequence<Integer> range(Sequence<Integer> range, int start, int step, int size) {
+		return new RandomAccessSequence<Integer>() {
+			@Override
+			public Iterator<Integer> iterator() {
+				return range.iterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected Integer get(int index) {
+				return start + index * step;
+			}
+
+			@Override
+			public Sequence<Integer> sorted() {
+				return step >= 0 ? this : reverse();
+			}
+		};
+	}
+
+	/**
+	 * @return a {@code RandomAccessSequence} view of the given bounded range of {@link Long}s, of the given size,
+	 * starting at the given value and incrementing by the given step, which may be negative. The range is iterated
+	 * using the iterator of the given sequence.
+	 */
+	static Sequence<Long> range(Sequence<Long> range, long start, long step, int size) {
+		return new RandomAccessSequence<Long>() {
+			@Override
+			public Iterator<Long> iterator() {
+				return range.iterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			protected Long get(int index) {
+				return start + index * step;
+			}
+
+			@Override
+			public Sequence<Long> sorted() {
+				return step >= 0 ? this : reverse();
+			}
+		};
+	}
+
+	@Override
+	public abstract int size();
+
+	/**
+	 * @return the element at the given index in this sequence.
+	 */
+	protected abstract T get(int index);
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private final int size = RandomAccessSequence.this.size();
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				return get(index++);
+			}
+		};
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return new RandomAccessSpliterator<>(this::get, size(), Spliterator.ORDERED);
+	}
+
+	@Override
+	public Optional<T> first() {
+		return at(0);
+	}
+
+	@Override
+	public Optional<T> at(int index) {
+		if (index < 0)
+			return Sequence.super.at(index);
+		if (index >= size())
+			return Optional.empty();
+
+		return Optional.of(get(index));
+	}
+
+	@Override
+	public Optional<T> last() {
+		int size = size();
+		if (size == 0)
+			return Optional.empty();
+
+		return Optional.of(get(size - 1));
+	}
+
+	@Override
+	public Sequence<T> skip(int skip) {
+		if (skip <= 0)
+			return Sequence.super.skip(skip);
+
+		Sequence<T> skipped = Sequence.super.skip(skip);
+		return new RandomAccessSequence<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected T get(int index) {
+				return RandomAccessSequence.this.get(skip + index);
+			}
+		};
+	}
+
+	@Override
+	public Sequence<T> skipTail(int skip) {
+		if (skip <= 0)
+			return Sequence.super.skipTail(skip);
+
+		Sequence<T> skipped = Sequence.super.skipTail(skip);
+		return new RandomAccessSequence<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return skipped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(RandomAccessSequence.this.size() - skip, 0);
+			}
+
+			@Override
+			protected T get(int index) {
+				return RandomAccessSequence.this.get(index);
+			}
+		};
+	}
+
+	@Override
+	public Sequence<T> limit(int limit) {
+		Sequence<T> limited = Sequence.super.limit(limit);
+		return new RandomAccessSequence<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return limited.iterator();
+			}
+
+			@Override
+			public int size() {
+				return Math.max(Math.min(RandomAccessSequence.this.size(), limit), 0);
+			}
+
+			@Override
+			protected T get(int index) {
+				return RandomAccessSequence.this.get(index);
+			}
+		};
+	}
+
+	@Override
+	public Sequence<T> step(int step) {
+		if (step <= 0)
+			return Sequence.super.step(step);
+
+		Sequence<T> stepped = Sequence.super.step(step);
+		return new RandomAccessSequence<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return stepped.iterator();
+			}
+
+			@Override
+			public int size() {
+				return (int) (((long) RandomAccessSequence.this.size() + step - 1) / step);
+			}
+
+			@Override
+			protected T get(int index) {
+				return RandomAccessSequence.this.get(index * step);
+			}
+		};
+	}
+
+	@Override
+	public Sequence<T> reverse() {
+		return new RandomAccessSequence<T>() {
+			@Override
+			public int size() {
+				return RandomAccessSequence.this.size();
+			}
+
+			@Override
+			protected T get(int index) {
+				return RandomAccessSequence.this.get(RandomAccessSequence.this.size() - 1 - index);
+			}
+		};
+	}
+}
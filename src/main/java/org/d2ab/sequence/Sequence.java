@@ -26,9 +26,12 @@ import org.d2ab.iterator.doubles.DoubleIterator;
 import org.d2ab.iterator.ints.IntIterator;
 import org.d2ab.iterator.longs.LongIterator;
 import org.d2ab.util.Pair;
+import org.d2ab.util.Serializer;
 
+import java.nio.file.Path;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -315,7 +318,14 @@ public interface Sequence<T> extends IterableCollection<T> {
 	 */
 	static Sequence<Integer> range(int start, int end) {
 		UnaryOperator<Integer> next = (end > start) ? i -> ++i : i -> --i;
-		return recurse(start, next).endingAt(end);
+		Sequence<Integer> range = recurse(start, next).endingAt(end);
+
+		long size = Math.abs((long) end - start) + 1;
+		if (size > Integer.MAX_VALUE)
+			return range;
+
+		int step = end >= start ? 1 : -1;
+		return RandomAccessSequence.range(range, start, step, (int) size);
 	}
 
 	/**
@@ -369,7 +379,14 @@ public interface Sequence<T> extends IterableCollection<T> {
 	 */
 	static Sequence<Long> range(long start, long end) {
 		UnaryOperator<Long> next = (end > start) ? i -> ++i : i -> --i;
-		return recurse(start, next).endingAt(end);
+		Sequence<Long> range = recurse(start, next).endingAt(end);
+
+		long size = (end >= start ? end - start : start - end) + 1;
+		if (size <= 0 || size > Integer.MAX_VALUE)
+			return range;
+
+		long step = end >= start ? 1 : -1;
+		return RandomAccessSequence.range(range, start, step, (int) size);
 	}
 
 	/**
@@ -643,7 +660,7 @@ public interface Sequence<T> extends IterableCollection<T> {
 	 * @see #toDoubles(ToDoubleFunction)
 	 */
 	default <U> Sequence<U> map(Function<? super T, ? extends U> mapper) {
-		return () -> new MappingIterator<>(iterator(), mapper);
+		return FusedSequence.map(this, mapper);
 	}
 
 	/**
@@ -820,7 +837,7 @@ public interface Sequence<T> extends IterableCollection<T> {
 	 * Filter the elements in this {@code Sequence}, keeping only the elements that match the given {@link Predicate}.
 	 */
 	default Sequence<T> filter(Predicate<? super T> predicate) {
-		return () -> new FilteringIterator<>(iterator(), predicate);
+		return FusedSequence.filter(this, predicate);
 	}
 
 	/**
@@ -897,41 +914,147 @@ public interface Sequence<T> extends IterableCollection<T> {
 	}
 
 	/**
-	 * @return a {@code Sequence} containing only the elements found in the given target array.
+	 * @return a {@code Sequence} containing only the elements found in the given target array. The array is hashed
+	 * once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	@SuppressWarnings("unchecked")
 	default Sequence<T> including(T... elements) {
-		return filter(e -> Arrayz.contains(elements, e));
+		return including(Arrays.asList(elements));
 	}
 
 	/**
-	 * @return a {@code Sequence} containing only the elements found in the given target iterable.
+	 * @return a {@code Sequence} containing only the elements found in the given target iterable. Unless the target
+	 * is a {@link Set}, it is collected into a {@link HashSet} once each time the sequence is traversed, so each
+	 * element is looked up in constant time.
 	 *
+	 * @see #semiJoin(Iterable, Function, Function)
 	 * @since 1.2
 	 */
 	default Sequence<T> including(Iterable<? extends T> elements) {
-		return filter(e -> Iterables.contains(elements, e));
+		return () -> {
+			Set<?> lookup = Iterables.toLookupSet(elements);
+			return filter(lookup::contains).iterator();
+		};
 	}
 
 	/**
-	 * @return a {@code Sequence} containing only the elements not found in the given target array.
+	 * @return a {@code Sequence} containing only the elements not found in the given target array. The array is
+	 * hashed once each time the sequence is traversed.
 	 *
 	 * @since 1.2
 	 */
 	@SuppressWarnings("unchecked")
 	default Sequence<T> excluding(T... elements) {
-		return filter(e -> !Arrayz.contains(elements, e));
+		return excluding(Arrays.asList(elements));
 	}
 
 	/**
-	 * @return a {@code Sequence} containing only the elements not found in the given target iterable.
+	 * @return a {@code Sequence} containing only the elements not found in the given target iterable. Unless the
+	 * target is a {@link Set}, it is collected into a {@link HashSet} once each time the sequence is traversed, so
+	 * each element is looked up in constant time.
 	 *
+	 * @see #antiJoin(Iterable, Function, Function)
 	 * @since 1.2
 	 */
 	default Sequence<T> excluding(Iterable<? extends T> elements) {
-		return filter(e -> !Iterables.contains(elements, e));
+		return () -> {
+			Set<?> lookup = Iterables.toLookupSet(elements);
+			return filter(e -> !lookup.contains(e)).iterator();
+		};
+	}
+
+	/**
+	 * Join the elements in this {@code Sequence} with the elements in the given {@link Iterable} that have an equal
+	 * key, as given by the key functions, into a {@link BiSequence} of each matching pair of elements. The given
+	 * {@link Iterable} is read into a hash table once each time the sequence is traversed, after which each element
+	 * in this {@code Sequence} is matched in constant time. Pairs are produced in the order of this
+	 * {@code Sequence}, and for each element in the order of the given {@link Iterable}.
+	 *
+	 * @see #leftJoin(Iterable, Function, Function)
+	 * @see #mergeJoin(Iterable, Function, Function, Comparator)
+	 * @since 2.3
+	 */
+	default <U, K> BiSequence<T, U> join(Iterable<U> other, Function<? super T, ? extends K> leftKey,
+	                                     Function<? super U, ? extends K> rightKey) {
+		return () -> new HashJoiningIterator<>(iterator(), other, leftKey, rightKey, false);
+	}
+
+	/**
+	 * Join the elements in this {@code Sequence} with the elements in the given {@link Iterable} that have an equal
+	 * key, as given by the key functions, like {@link #join(Iterable, Function, Function)}, except that elements in
+	 * this {@code Sequence} without any match in the given {@link Iterable} are paired with {@code null}.
+	 *
+	 * @since 2.3
+	 */
+	default <U, K> BiSequence<T, U> leftJoin(Iterable<U> other, Function<? super T, ? extends K> leftKey,
+	                                         Function<? super U, ? extends K> rightKey) {
+		return () -> new HashJoiningIterator<>(iterator(), other, leftKey, rightKey, true);
+	}
+
+	/**
+	 * Join the elements in this {@code Sequence} with the elements in the given {@link Iterable} that have an equal
+	 * key, as given by the key functions, where both this {@code Sequence} and the given {@link Iterable} are sorted
+	 * by key in natural order. Both are traversed once in step with each other, holding only the elements of the
+	 * given {@link Iterable} with the current key in memory.
+	 *
+	 * @see #join(Iterable, Function, Function)
+	 * @since 2.3
+	 */
+	default <U, K extends Comparable<? super K>> BiSequence<T, U> mergeJoin(
+			Iterable<U> other, Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+		return mergeJoin(other, leftKey, rightKey, Comparator.naturalOrder());
+	}
+
+	/**
+	 * Join the elements in this {@code Sequence} with the elements in the given {@link Iterable} that have an equal
+	 * key, as given by the key functions, where both this {@code Sequence} and the given {@link Iterable} are sorted
+	 * by key according to the given {@link Comparator}. Both are traversed once in step with each other, holding only
+	 * the elements of the given {@link Iterable} with the current key in memory. Elements that are out of order are
+	 * not matched.
+	 *
+	 * @see #join(Iterable, Function, Function)
+	 * @since 2.3
+	 */
+	default <U, K> BiSequence<T, U> mergeJoin(Iterable<U> other, Function<? super T, ? extends K> leftKey,
+	                                          Function<? super U, ? extends K> rightKey,
+	                                          Comparator<? super K> comparator) {
+		return () -> new MergeJoiningIterator<>(iterator(), other.iterator(), leftKey, rightKey, comparator);
+	}
+
+	/**
+	 * @return a {@code Sequence} containing only the elements whose key, as given by the key function, is equal to
+	 * the key of some element in the given {@link Iterable}. The keys of the given {@link Iterable} are collected into
+	 * a {@link HashSet} once each time the sequence is traversed.
+	 *
+	 * @see #including(Iterable)
+	 * @since 2.3
+	 */
+	default <U, K> Sequence<T> semiJoin(Iterable<U> other, Function<? super T, ? extends K> leftKey,
+	                                    Function<? super U, ? extends K> rightKey) {
+		return () -> {
+			Set<K> keys = new HashSet<>();
+			other.forEach(each -> keys.add(rightKey.apply(each)));
+			return filter(e -> keys.contains(leftKey.apply(e))).iterator();
+		};
+	}
+
+	/**
+	 * @return a {@code Sequence} containing only the elements whose key, as given by the key function, is not equal
+	 * to the key of any element in the given {@link Iterable}. The keys of the given {@link Iterable} are collected
+	 * into a {@link HashSet} once each time the sequence is traversed.
+	 *
+	 * @see #excluding(Iterable)
+	 * @since 2.3
+	 */
+	default <U, K> Sequence<T> antiJoin(Iterable<U> other, Function<? super T, ? extends K> leftKey,
+	                                    Function<? super U, ? extends K> rightKey) {
+		return () -> {
+			Set<K> keys = new HashSet<>();
+			other.forEach(each -> keys.add(rightKey.apply(each)));
+			return filter(e -> !keys.contains(leftKey.apply(e))).iterator();
+		};
 	}
 
 	/**
@@ -969,6 +1092,17 @@ public interface Sequence<T> extends IterableCollection<T> {
 		return ChainingIterable.<U>concatAny(this)::iterator;
 	}
 
+	/**
+	 * Perform the given action for each element in this {@code Sequence}, pushing the elements through
+	 * {@link Iterator#forEachRemaining(Consumer)} rather than pulling them one at a time.
+	 *
+	 * @since 2.3
+	 */
+	@Override
+	default void forEach(Consumer<? super T> action) {
+		iterator().forEachRemaining(action);
+	}
+
 	/**
 	 * Collect the elements in this {@code Sequence} into an array of the type determined by the given array
 	 * constructor.
@@ -1076,6 +1210,74 @@ public interface Sequence<T> extends IterableCollection<T> {
 		return toMap(TreeMap::new, keyMapper, valueMapper);
 	}
 
+	/**
+	 * Group the elements in this {@code Sequence} in a single pass into a {@link Map} from each key given by the
+	 * classifier to a {@link List} of the elements with that key, in encounter order.
+	 *
+	 * @see ParallelSequence#groupBy(Function)
+	 * @since 2.3
+	 */
+	default <K> Map<K, List<T>> groupBy(Function<? super T, ? extends K> classifier) {
+		return groupBy(classifier, ArrayList::new);
+	}
+
+	/**
+	 * Group the elements in this {@code Sequence} in a single pass into a {@link Map} from each key given by the
+	 * classifier to a {@link Collection} of the type determined by the given constructor, holding the elements with
+	 * that key.
+	 *
+	 * @since 2.3
+	 */
+	default <K, C extends Collection<T>> Map<K, C> groupBy(Function<? super T, ? extends K> classifier,
+	                                                      Supplier<? extends C> constructor) {
+		Map<K, C> groups = new HashMap<>();
+		forEach(each -> groups.computeIfAbsent(classifier.apply(each), k -> constructor.get()).add(each));
+		return groups;
+	}
+
+	/**
+	 * Count the elements in this {@code Sequence} in a single pass into a {@link Map} from each key given by the
+	 * classifier to the number of elements with that key.
+	 *
+	 * @see ParallelSequence#countBy(Function)
+	 * @since 2.3
+	 */
+	default <K> Map<K, Long> countBy(Function<? super T, ? extends K> classifier) {
+		return sumBy(classifier, each -> 1);
+	}
+
+	/**
+	 * Sum the elements in this {@code Sequence} in a single pass into a {@link Map} from each key given by the
+	 * classifier to the sum of the values given by the mapper for the elements with that key. The sums are
+	 * accumulated without boxing, and each sum is boxed once when the result is built.
+	 *
+	 * @see ParallelSequence#sumBy(Function, ToLongFunction)
+	 * @since 2.3
+	 */
+	default <K> Map<K, Long> sumBy(Function<? super T, ? extends K> classifier, ToLongFunction<? super T> mapper) {
+		Map<K, long[]> sums = new HashMap<>();
+		forEach(each -> sums.computeIfAbsent(classifier.apply(each), k -> new long[1])[0] += mapper.applyAsLong(each));
+
+		Map<K, Long> result = new HashMap<>(sums.size() * 4 / 3 + 1);
+		sums.forEach((key, sum) -> result.put(key, sum[0]));
+		return result;
+	}
+
+	/**
+	 * Partition the elements in this {@code Sequence} in a single pass into a {@link Pair} of a {@link List} of the
+	 * elements that satisfy the given predicate and a {@link List} of the elements that do not, both in encounter
+	 * order.
+	 *
+	 * @see ParallelSequence#partitionBy(Predicate)
+	 * @since 2.3
+	 */
+	default Pair<List<T>, List<T>> partitionBy(Predicate<? super T> predicate) {
+		List<T> matching = new ArrayList<>();
+		List<T> nonMatching = new ArrayList<>();
+		forEach(each -> (predicate.test(each) ? matching : nonMatching).add(each));
+		return Pair.of(matching, nonMatching);
+	}
+
 	/**
 	 * Collect this {@code Sequence} into a {@link Collection} of the type determined by the given constructor.
 	 */
@@ -1146,17 +1348,8 @@ public interface Sequence<T> extends IterableCollection<T> {
 	 * Join this {@code Sequence} into a string separated by the given delimiter, with the given prefix and suffix.
 	 */
 	default String join(String prefix, String delimiter, String suffix) {
-		StringBuilder result = new StringBuilder();
-		result.append(prefix);
-		boolean started = false;
-		for (T each : this) {
-			if (started)
-				result.append(delimiter);
-			else
-				started = true;
-			result.append(each);
-		}
-		result.append(suffix);
+		StringJoiner result = new StringJoiner(delimiter, prefix, suffix);
+		forEach(each -> result.add(String.valueOf(each)));
 		return result.toString();
 	}
 
@@ -1176,12 +1369,34 @@ public interface Sequence<T> extends IterableCollection<T> {
 		return Iterators.reduce(iterator(), identity, operator);
 	}
 
+	/**
+	 * @return a {@link ParallelSequence} view of this {@code Sequence}, whose terminal operations are evaluated in
+	 * parallel in the {@link ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @see #parallel(ForkJoinPool)
+	 * @since 2.3
+	 */
+	default ParallelSequence<T> parallel() {
+		return parallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @return a {@link ParallelSequence} view of this {@code Sequence}, whose terminal operations are evaluated in
+	 * parallel in the given {@link ForkJoinPool}, by splitting the {@link #spliterator()} of this {@code Sequence}.
+	 *
+	 * @see #parallel()
+	 * @since 2.3
+	 */
+	default ParallelSequence<T> parallel(ForkJoinPool pool) {
+		return new ParallelSequence<>(this, pool);
+	}
+
 	/**
 	 * @return the first element of this {@code Sequence} or an empty {@link Optional} if there are no elements in the
 	 * {@code Sequence}.
 	 */
 	default Optional<T> first() {
-		return at(0);
+		return Iterators.first(iterator());
 	}
 
 	/**
@@ -1357,7 +1572,19 @@ public interface Sequence<T> extends IterableCollection<T> {
 	 * skipped in between windows.
 	 */
 	default Sequence<Sequence<T>> window(int window, int step) {
-		return () -> new WindowingIterator<T, Sequence<T>>(iterator(), window, step) {
+		return window(window, step, false);
+	}
+
+	/**
+	 * Window the elements of this {@code Sequence} into a sequence of {@code Sequence}s of elements, each with the size
+	 * of the given window, stepping {@code step} elements between each window, as in {@link #window(int, int)}. If
+	 * {@code reuse} is true, the same window instance is returned for each window, as a read-only view over an internal
+	 * buffer which is only valid until the next window is requested, avoiding copying the elements in each window.
+	 *
+	 * @since 2.3
+	 */
+	default Sequence<Sequence<T>> window(int window, int step, boolean reuse) {
+		return () -> new WindowingIterator<T, Sequence<T>>(iterator(), window, step, reuse) {
 			@Override
 			protected Sequence<T> toSequence(List<T> list) {
 				return ListSequence.from(list);
@@ -1435,18 +1662,114 @@ public interface Sequence<T> extends IterableCollection<T> {
 
 	/**
 	 * @return this {@code Sequence} sorted according to the natural order. Must be a (@code Sequence} of {@link
-	 * Comparable} or a {@link ClassCastException} is thrown during traversal.
+	 * Comparable} or a {@link ClassCastException} is thrown during traversal. A {@link #limit(int)} applied to the
+	 * sorted sequence is performed as a {@link #bottomK(int)} without sorting the whole sequence.
 	 */
 	@SuppressWarnings("unchecked")
 	default Sequence<T> sorted() {
-		return () -> Iterators.unmodifiable(Lists.sort((List) toList()));
+		return sorted((Comparator) Comparator.naturalOrder());
 	}
 
 	/**
-	 * @return this {@code Sequence} sorted according to the given {@link Comparator}.
+	 * @return this {@code Sequence} sorted according to the given {@link Comparator}. A {@link #limit(int)} applied to
+	 * the sorted sequence is performed as a {@link #bottomK(int, Comparator)} without sorting the whole sequence.
 	 */
 	default Sequence<T> sorted(Comparator<? super T> comparator) {
-		return () -> Iterators.unmodifiable(Lists.sort(toList(), comparator));
+		return new Sequence<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return Iterators.unmodifiable(Lists.sort(Sequence.this.toList(), comparator));
+			}
+
+			@Override
+			public Sequence<T> limit(int limit) {
+				return Sequence.this.bottomK(limit, comparator);
+			}
+		};
+	}
+
+	/**
+	 * @return the {@code k} largest elements in this {@code Sequence} according to their natural order, from the
+	 * largest down. Elements that are equal are kept in encounter order. The elements must all implement {@link
+	 * Comparable} or a {@link ClassCastException} will be thrown at traversal.
+	 *
+	 * @see #topK(int, Comparator)
+	 * @since 2.3
+	 */
+	@SuppressWarnings("unchecked")
+	default Sequence<T> topK(int k) {
+		return bottomK(k, (Comparator) Comparator.reverseOrder());
+	}
+
+	/**
+	 * @return the {@code k} largest elements in this {@code Sequence} according to the given {@link Comparator}, from
+	 * the largest down. This is the same as {@code sorted(comparator.reversed()).limit(k)}, but each traversal only
+	 * keeps a heap of {@code k} elements in memory and costs {@code O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default Sequence<T> topK(int k, Comparator<? super T> comparator) {
+		return bottomK(k, comparator.reversed());
+	}
+
+	/**
+	 * @return the {@code k} smallest elements in this {@code Sequence} according to their natural order, from the
+	 * smallest up. Elements that are equal are kept in encounter order. The elements must all implement {@link
+	 * Comparable} or a {@link ClassCastException} will be thrown at traversal.
+	 *
+	 * @see #bottomK(int, Comparator)
+	 * @since 2.3
+	 */
+	@SuppressWarnings("unchecked")
+	default Sequence<T> bottomK(int k) {
+		return bottomK(k, (Comparator) Comparator.naturalOrder());
+	}
+
+	/**
+	 * @return the {@code k} smallest elements in this {@code Sequence} according to the given {@link Comparator},
+	 * from the smallest up. This is the same as {@code sorted(comparator).limit(k)}, but each traversal only keeps a
+	 * heap of {@code k} elements in memory and costs {@code O(n log k)} comparisons.
+	 *
+	 * @since 2.3
+	 */
+	default Sequence<T> bottomK(int k, Comparator<? super T> comparator) {
+		return () -> new SortedLimitingIterator<>(iterator(), comparator, k);
+	}
+
+	/**
+	 * Sort this {@code Sequence} according to the natural order without holding more than {@code spillThreshold}
+	 * elements in memory at once. See {@link #sorted(Comparator, int, Serializer, Path)} for details.
+	 *
+	 * @since 2.3
+	 */
+	@SuppressWarnings("unchecked")
+	default Sequence<T> sorted(int spillThreshold, Serializer<T> serializer, Path tempDir) {
+		return sorted((Comparator) Comparator.naturalOrder(), spillThreshold, serializer, tempDir);
+	}
+
+	/**
+	 * Sort this {@code Sequence} according to the given {@link Comparator} without holding more than {@code
+	 * spillThreshold} elements in memory at once, allowing sequences larger than the heap to be sorted. Each time the
+	 * sequence is traversed, elements are read in runs of {@code spillThreshold}, and each run is sorted in memory and
+	 * written to a temporary file in {@code tempDir} using the given {@link Serializer}. The runs are then merged
+	 * lazily as the sorted sequence is iterated. The last run is kept in memory, so a sequence of at most {@code
+	 * spillThreshold} elements is sorted without touching the disk. The sort is stable.
+	 * <p>
+	 * Runs are merged at most 64 at a time, in several passes if needed, so only a bounded number of files is open at
+	 * once. Each temporary file is removed as soon as its run is opened for merging where the file system allows it,
+	 * or else once the run has been merged, and all of them are removed if sorting fails. If {@code tempDir} is {@code
+	 * null}, the default temporary-file directory is used. Any {@link java.io.IOException} during sorting is rethrown
+	 * as an {@link IterationException}.
+	 *
+	 * @throws IllegalArgumentException if {@code spillThreshold} is less than one.
+	 * @since 2.3
+	 */
+	default Sequence<T> sorted(Comparator<? super T> comparator, int spillThreshold, Serializer<T> serializer,
+	                           Path tempDir) {
+		if (spillThreshold < 1)
+			throw new IllegalArgumentException("spillThreshold < 1: " + spillThreshold);
+
+		return () -> new ExternalSortingIterator<>(iterator(), comparator, spillThreshold, serializer, tempDir);
 	}
 
 	/**
@@ -1537,7 +1860,7 @@ public interface Sequence<T> extends IterableCollection<T> {
 	 * Allow the given {@link Consumer} to see each element in this {@code Sequence} as it is traversed.
 	 */
 	default Sequence<T> peek(Consumer<? super T> action) {
-		return () -> new PeekingIterator<>(iterator(), action);
+		return FusedSequence.peek(this, action);
 	}
 
 	/**
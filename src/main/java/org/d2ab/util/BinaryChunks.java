@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static org.d2ab.util.BinaryFormat.*;
+
+/**
+ * The chunk level helpers of {@link BinaryFormat}.
+ */
+final class BinaryChunks {
+	static final int CHUNK_HEADER_SIZE = 9;
+	static final int MAX_VAR_INT_BYTES = 5;
+	static final int MAX_VAR_LONG_BYTES = 10;
+
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+	private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+
+	private BinaryChunks() {
+	}
+
+	/**
+	 * Clear the given buffer and position it after the chunk header.
+	 */
+	static void startChunk(ByteBuffer buffer) {
+		buffer.clear();
+		buffer.position(CHUNK_HEADER_SIZE);
+	}
+
+	/**
+	 * Fill in the header of the chunk in the given buffer and write the chunk to the given channel.
+	 */
+	static void writeChunk(WritableByteChannel channel, ByteBuffer buffer, int count, byte encoding)
+			throws IOException {
+		buffer.putInt(0, count).put(4, encoding).putInt(5, buffer.position() - CHUNK_HEADER_SIZE);
+		buffer.flip();
+		writeFully(channel, buffer);
+	}
+
+	/**
+	 * Write the empty chunk that marks the end of the values to the given channel.
+	 */
+	static void writeEnd(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+		startChunk(buffer);
+		writeChunk(channel, buffer, 0, FIXED);
+	}
+
+	/**
+	 * Read the next chunk from the given channel into the given buffer, positioned at the start of the values and
+	 * limited to their end, after checking its header against the given width of each value and whether {@link
+	 * BinaryFormat#DELTAS} encoding is allowed.
+	 *
+	 * @return the number of values in the chunk, or {@code 0} at the end of the values.
+	 */
+	static int readChunk(ReadableByteChannel channel, ByteBuffer buffer, int width, boolean deltas)
+			throws IOException {
+		readFully(channel, buffer, CHUNK_HEADER_SIZE);
+		int count = buffer.getInt();
+		byte encoding = buffer.get();
+		int length = buffer.getInt();
+		if (count == 0)
+			return 0;
+
+		if (count < 0 || count > CHUNK_SIZE)
+			throw new IOException("Invalid chunk size: " + count);
+
+		boolean valid = encoding == FIXED ? length == count * width :
+		                encoding == DELTAS && deltas && length >= count &&
+		                length <= buffer.capacity() - CHUNK_HEADER_SIZE;
+		if (!valid)
+			throw new IOException("Invalid chunk of " + count + " values in " + length + " bytes");
+
+		buffer.limit(CHUNK_HEADER_SIZE + length);
+		buffer.position(CHUNK_HEADER_SIZE);
+		while (buffer.hasRemaining())
+			if (channel.read(buffer) < 0)
+				throw new EOFException("Expected " + buffer.remaining() + " more bytes");
+		buffer.position(CHUNK_HEADER_SIZE);
+		return count;
+	}
+
+	/**
+	 * @return the encoding of the chunk last read into the given buffer by {@link #readChunk}.
+	 */
+	static byte encoding(ByteBuffer buffer) {
+		return buffer.get(4);
+	}
+
+	/**
+	 * Write the given value, taken as unsigned, to the given buffer as a variable length integer.
+	 */
+	static void putVarLong(ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) (value | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * @return the next variable length integer in the given buffer.
+	 *
+	 * @throws IOException if the buffer does not hold a valid variable length integer.
+	 */
+	static long getVarLong(ByteBuffer buffer) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			if (!buffer.hasRemaining())
+				throw new IOException("Truncated variable length integer");
+
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return value;
+		}
+		throw new IOException("Invalid variable length integer");
+	}
+
+	/**
+	 * @throws IOException if the given buffer holds more bytes than were read from it.
+	 */
+	static void checkConsumed(ByteBuffer buffer) throws IOException {
+		if (buffer.hasRemaining())
+			throw new IOException("Unexpected " + buffer.remaining() + " bytes after chunk values");
+	}
+
+	/**
+	 * @return the initial capacity for the given number of values from a header, which is not trusted beyond
+	 * {@value #MAX_INITIAL_CAPACITY} values so that a corrupt header cannot exhaust the heap before any values have
+	 * been read.
+	 */
+	static int initialCapacity(long size) {
+		return size >= 0 ? (int) Math.min(size, MAX_INITIAL_CAPACITY) : CHUNK_SIZE;
+	}
+
+	/**
+	 * @throws IOException if the given number of values from a header is known and differs from the number of values
+	 *                     read.
+	 */
+	static void checkSize(long expected, long actual) throws IOException {
+		if (expected >= 0 && expected != actual)
+			throw new IOException("Expected " + expected + " values but read " + actual);
+	}
+
+	/**
+	 * @return the capacity to grow to from the given capacity to fit the given number of values after the given size.
+	 */
+	static int grow(int capacity, int size, int count) throws IOException {
+		if (size > MAX_ARRAY_SIZE - count)
+			throw new IOException("Too many values: " + ((long) size + count));
+
+		return (int) Math.min(Math.max((long) capacity * 2, size + count), MAX_ARRAY_SIZE);
+	}
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.util;
+
+import org.d2ab.iterator.chars.CharIterator;
+import org.d2ab.iterator.doubles.DoubleIterator;
+import org.d2ab.iterator.ints.IntIterator;
+import org.d2ab.iterator.longs.LongIterator;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Spliterator;
+
+import static org.d2ab.util.BinaryChunks.*;
+
+/**
+ * Utilities for the compact binary format used to write {@code int}, {@code long}, {@code double} and {@code char}
+ * values to a {@link WritableByteChannel} and read them back from a {@link ReadableByteChannel}, without the overhead
+ * of Java serialization. Values are written big-endian in chunks of up to {@value #CHUNK_SIZE} values through a
+ * reused {@link ByteBuffer}, so that any number of values can be streamed without knowing how many there are up
+ * front. The format starts with a header, followed by the chunks and an empty chunk marking the end:
+ * <pre>
+ * header: int magic, byte type, long size (or -1 if not known when writing)
+ * chunk:  int count (0 for the last chunk), byte encoding, int length in bytes, values
+ * </pre>
+ * {@code ints} and {@code longs} may be written with {@link #DELTAS} encoding, where each value is written as the
+ * zigzag encoded difference from the previous value in the chunk, as a variable length integer of seven bits per
+ * byte. Sorted values such as ids then take one or two bytes each. Chunks where this is not smaller are written with
+ * {@link #FIXED} encoding instead.
+ * <p>
+ * The channels are expected to be blocking, and are never closed by these methods.
+ *
+ * @since 2.3
+ */
+public interface BinaryFormat {
+	int MAGIC = 0x64326162;
+
+	byte INTS = 1;
+	byte LONGS = 2;
+	byte DOUBLES = 3;
+	byte CHARS = 4;
+	byte BITS = 5;
+
+	byte FIXED = 0;
+	byte DELTAS = 1;
+
+	int CHUNK_SIZE = 8192;
+	int HEADER_SIZE = 13;
+
+	/**
+	 * @return the size of the given {@link Iterable} if its {@link Spliterator} knows it without traversing it, or
+	 * {@code -1} otherwise.
+	 */
+	static long sizeOf(Iterable<?> iterable) {
+		return iterable.spliterator().getExactSizeIfKnown();
+	}
+
+	/**
+	 * Write the {@code ints} in the given iterator to the given channel, in {@link #DELTAS} encoding if {@code
+	 * deltas} is {@code true}. The given size is written to the header, and used as a hint when reading.
+	 */
+	static void writeInts(IntIterator iterator, long size, WritableByteChannel channel, boolean deltas)
+			throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * MAX_VAR_INT_BYTES);
+		writeHeader(channel, buffer, INTS, size);
+
+		int[] values = new int[CHUNK_SIZE];
+		int count;
+		while ((count = iterator.nextInts(values, 0, CHUNK_SIZE)) > 0) {
+			startChunk(buffer);
+			if (deltas) {
+				int previous = 0;
+				for (int i = 0; i < count; i++) {
+					int delta = values[i] - previous;
+					putVarLong(buffer, (delta << 1 ^ delta >> 31) & 0xFFFFFFFFL);
+					previous = values[i];
+				}
+				if (buffer.position() - CHUNK_HEADER_SIZE < count * Integer.BYTES) {
+					writeChunk(channel, buffer, count, DELTAS);
+					continue;
+				}
+				startChunk(buffer);
+			}
+			buffer.asIntBuffer().put(values, 0, count);
+			buffer.position(CHUNK_HEADER_SIZE + count * Integer.BYTES);
+			writeChunk(channel, buffer, count, FIXED);
+		}
+
+		writeEnd(channel, buffer);
+	}
+
+	/**
+	 * @return the {@code ints} read from the given channel, as written by {@link #writeInts}.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code ints} in this format.
+	 */
+	static int[] readInts(ReadableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * MAX_VAR_INT_BYTES);
+		long expected = readHeader(channel, buffer, INTS);
+		int[] values = new int[initialCapacity(expected)];
+
+		int size = 0;
+		int count;
+		while ((count = readChunk(channel, buffer, Integer.BYTES, true)) > 0) {
+			if (values.length - size < count)
+				values = Arrays.copyOf(values, grow(values.length, size, count));
+
+			if (encoding(buffer) == FIXED) {
+				buffer.asIntBuffer().get(values, size, count);
+			} else {
+				int previous = 0;
+				for (int i = 0; i < count; i++) {
+					int zigzag = (int) getVarLong(buffer);
+					values[size + i] = previous += zigzag >>> 1 ^ -(zigzag & 1);
+				}
+				checkConsumed(buffer);
+			}
+			size += count;
+		}
+
+		checkSize(expected, size);
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Write the {@code longs} in the given iterator to the given channel, in {@link #DELTAS} encoding if {@code
+	 * deltas} is {@code true}. The given size is written to the header, and used as a hint when reading.
+	 */
+	static void writeLongs(LongIterator iterator, long size, WritableByteChannel channel, boolean deltas)
+			throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * MAX_VAR_LONG_BYTES);
+		writeHeader(channel, buffer, LONGS, size);
+
+		long[] values = new long[CHUNK_SIZE];
+		int count;
+		while ((count = iterator.nextLongs(values)) > 0) {
+			startChunk(buffer);
+			if (deltas) {
+				long previous = 0;
+				for (int i = 0; i < count; i++) {
+					long delta = values[i] - previous;
+					putVarLong(buffer, delta << 1 ^ delta >> 63);
+					previous = values[i];
+				}
+				if (buffer.position() - CHUNK_HEADER_SIZE < count * Long.BYTES) {
+					writeChunk(channel, buffer, count, DELTAS);
+					continue;
+				}
+				startChunk(buffer);
+			}
+			buffer.asLongBuffer().put(values, 0, count);
+			buffer.position(CHUNK_HEADER_SIZE + count * Long.BYTES);
+			writeChunk(channel, buffer, count, FIXED);
+		}
+
+		writeEnd(channel, buffer);
+	}
+
+	/**
+	 * @return the {@code longs} read from the given channel, as written by {@link #writeLongs}.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code longs} in this format.
+	 */
+	static long[] readLongs(ReadableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * MAX_VAR_LONG_BYTES);
+		long expected = readHeader(channel, buffer, LONGS);
+		long[] values = new long[initialCapacity(expected)];
+
+		int size = 0;
+		int count;
+		while ((count = readChunk(channel, buffer, Long.BYTES, true)) > 0) {
+			if (values.length - size < count)
+				values = Arrays.copyOf(values, grow(values.length, size, count));
+
+			if (encoding(buffer) == FIXED) {
+				buffer.asLongBuffer().get(values, size, count);
+			} else {
+				long previous = 0;
+				for (int i = 0; i < count; i++) {
+					long zigzag = getVarLong(buffer);
+					values[size + i] = previous += zigzag >>> 1 ^ -(zigzag & 1);
+				}
+				checkConsumed(buffer);
+			}
+			size += count;
+		}
+
+		checkSize(expected, size);
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Write the {@code doubles} in the given iterator to the given channel. The given size is written to the header,
+	 * and used as a hint when reading.
+	 */
+	static void writeDoubles(DoubleIterator iterator, long size, WritableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * Double.BYTES);
+		writeHeader(channel, buffer, DOUBLES, size);
+
+		double[] values = new double[CHUNK_SIZE];
+		while (iterator.hasNext()) {
+			int count = 0;
+			while (count < CHUNK_SIZE && iterator.hasNext())
+				values[count++] = iterator.nextDouble();
+
+			startChunk(buffer);
+			buffer.asDoubleBuffer().put(values, 0, count);
+			buffer.position(CHUNK_HEADER_SIZE + count * Double.BYTES);
+			writeChunk(channel, buffer, count, FIXED);
+		}
+
+		writeEnd(channel, buffer);
+	}
+
+	/**
+	 * @return the {@code doubles} read from the given channel, as written by {@link #writeDoubles}.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code doubles} in this format.
+	 */
+	static double[] readDoubles(ReadableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * Double.BYTES);
+		long expected = readHeader(channel, buffer, DOUBLES);
+		double[] values = new double[initialCapacity(expected)];
+
+		int size = 0;
+		int count;
+		while ((count = readChunk(channel, buffer, Double.BYTES, false)) > 0) {
+			if (values.length - size < count)
+				values = Arrays.copyOf(values, grow(values.length, size, count));
+
+			buffer.asDoubleBuffer().get(values, size, count);
+			size += count;
+		}
+
+		checkSize(expected, size);
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Write the {@code chars} in the given iterator to the given channel. The given size is written to the header,
+	 * and used as a hint when reading.
+	 */
+	static void writeChars(CharIterator iterator, long size, WritableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * Character.BYTES);
+		writeHeader(channel, buffer, CHARS, size);
+
+		char[] values = new char[CHUNK_SIZE];
+		int count;
+		while ((count = iterator.nextChars(values, 0, CHUNK_SIZE)) > 0) {
+			startChunk(buffer);
+			buffer.asCharBuffer().put(values, 0, count);
+			buffer.position(CHUNK_HEADER_SIZE + count * Character.BYTES);
+			writeChunk(channel, buffer, count, FIXED);
+		}
+
+		writeEnd(channel, buffer);
+	}
+
+	/**
+	 * @return the {@code chars} read from the given channel, as written by {@link #writeChars}.
+	 *
+	 * @throws IOException if the channel could not be read or does not hold {@code chars} in this format.
+	 */
+	static char[] readChars(ReadableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_SIZE + CHUNK_SIZE * Character.BYTES);
+		long expected = readHeader(channel, buffer, CHARS);
+		char[] values = new char[initialCapacity(expected)];
+
+		int size = 0;
+		int count;
+		while ((count = readChunk(channel, buffer, Character.BYTES, false)) > 0) {
+			if (values.length - size < count)
+				values = Arrays.copyOf(values, grow(values.length, size, count));
+
+			buffer.asCharBuffer().get(values, size, count);
+			size += count;
+		}
+
+		checkSize(expected, size);
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Write a header for values of the given type to the given channel, through the given buffer, which must have
+	 * room for {@value #HEADER_SIZE} bytes.
+	 */
+	static void writeHeader(WritableByteChannel channel, ByteBuffer buffer, byte type, long size) throws IOException {
+		buffer.clear();
+		buffer.putInt(MAGIC).put(type).putLong(size);
+		buffer.flip();
+		writeFully(channel, buffer);
+	}
+
+	/**
+	 * Read a header for values of the given type from the given channel, through the given buffer, which must have
+	 * room for {@value #HEADER_SIZE} bytes.
+	 *
+	 * @return the number of values given in the header, or {@code -1} if not known.
+	 *
+	 * @throws IOException if the channel could not be read or does not start with a header for values of the given
+	 *                     type.
+	 */
+	static long readHeader(ReadableByteChannel channel, ByteBuffer buffer, byte type) throws IOException {
+		readFully(channel, buffer, HEADER_SIZE);
+		if (buffer.getInt() != MAGIC)
+			throw new IOException("Not in binary format");
+
+		byte actualType = buffer.get();
+		if (actualType != type)
+			throw new IOException("Expected type " + type + " but found type " + actualType);
+
+		return buffer.getLong();
+	}
+
+	/**
+	 * Write the remaining bytes in the given buffer to the given channel.
+	 */
+	static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+
+	/**
+	 * Read exactly the given number of bytes from the given channel into the given buffer, which is then flipped for
+	 * reading them.
+	 *
+	 * @throws EOFException if the channel ends before the given number of bytes have been read.
+	 */
+	static void readFully(ReadableByteChannel channel, ByteBuffer buffer, int length) throws IOException {
+		buffer.clear();
+		buffer.limit(length);
+		while (buffer.hasRemaining())
+			if (channel.read(buffer) < 0)
+				throw new EOFException("Expected " + buffer.remaining() + " more bytes");
+		buffer.flip();
+	}
+}
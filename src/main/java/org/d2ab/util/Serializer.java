@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes and reads objects of a given type to and from a binary representation, used when elements need to be
+ * moved out of the heap, for example by {@link org.d2ab.sequence.Sequence#sorted(java.util.Comparator, int,
+ * Serializer, java.nio.file.Path)}.
+ *
+ * @param <T> the type of objects serialized.
+ *
+ * @since 2.3
+ */
+public interface Serializer<T> {
+	/**
+	 * @return a {@code Serializer} for {@link String}s, writing them as a length followed by their UTF-8 bytes.
+	 * {@code null} strings are supported.
+	 */
+	static Serializer<String> strings() {
+		return new Serializer<String>() {
+			@Override
+			public void write(String string, DataOutput output) throws IOException {
+				if (string == null) {
+					output.writeInt(-1);
+					return;
+				}
+
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				output.writeInt(bytes.length);
+				output.write(bytes);
+			}
+
+			@Override
+			public String read(DataInput input) throws IOException {
+				int length = input.readInt();
+				if (length == -1)
+					return null;
+
+				byte[] bytes = new byte[length];
+				input.readFully(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+
+	/**
+	 * Write the given object to the given {@link DataOutput}.
+	 */
+	void write(T object, DataOutput output) throws IOException;
+
+	/**
+	 * @return the next object read from the given {@link DataInput}, as written by {@link #write(Object,
+	 * DataOutput)}.
+	 */
+	T read(DataInput input) throws IOException;
+}
@@ -18,8 +18,16 @@ package org.d2ab.collection;
 
 import org.d2ab.collection.longs.LongSortedSet;
 import org.d2ab.iterator.longs.LongIterator;
+import org.d2ab.util.BinaryFormat;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
 
 import static java.util.Arrays.asList;
@@ -492,6 +500,498 @@ public class SparseBitSetTest {
 		assertThat(set, containsLongs(0, 1, 2, 3, 17, 42, 73));
 	}
 
+	@Test
+	public void denseRanges() {
+		SparseBitSet set = new SparseBitSet();
+		for (long i = 60_000; i < 200_000; i++)
+			assertThat(set.set(i), is(true));
+		assertThat(set.bitCount(), is(140_000L));
+		assertThat(set.firstLong(), is(60_000L));
+		assertThat(set.lastLong(), is(199_999L));
+		assertThat(set.get(59_999), is(false));
+		assertThat(set.get(131_072), is(true));
+		assertThat(set.get(200_000), is(false));
+
+		long expected = 60_000;
+		for (LongIterator iterator = set.iterator(); iterator.hasNext(); )
+			assertThat(iterator.nextLong(), is(expected++));
+		assertThat(expected, is(200_000L));
+
+		for (LongIterator iterator = set.descendingIterator(); iterator.hasNext(); )
+			assertThat(iterator.nextLong(), is(--expected));
+		assertThat(expected, is(60_000L));
+
+		for (long i = 60_000; i < 200_000; i += 2)
+			assertThat(set.clear(i), is(true));
+		assertThat(set.bitCount(), is(70_000L));
+		assertThat(set.get(131_072), is(false));
+		assertThat(set.get(131_073), is(true));
+
+		for (long i = 60_001; i < 200_000; i += 2)
+			assertThat(set.clear(i), is(true));
+		assertThat(set, is(emptyIterable()));
+		assertThat(set.bitCount(), is(0L));
+	}
+
+	@Test
+	public void optimize() {
+		SparseBitSet set = new SparseBitSet();
+		for (long i = 0; i < 10_000; i += 2)
+			set.set(i);
+		for (long i = 70_000; i < 71_000; i++)
+			set.set(i);
+		set.set(Long.MAX_VALUE);
+
+		String toString = set.toString();
+		set.optimize();
+		assertThat(set.toString(), is(toString));
+		assertThat(set.bitCount(), is(6001L));
+
+		assertThat(set.clear(70_500), is(true));
+		assertThat(set.set(70_500), is(true));
+		assertThat(set.set(71_000), is(true));
+		assertThat(set.set(69_999), is(true));
+		assertThat(set.set(69_999), is(false));
+		assertThat(set.clear(5_000), is(true));
+		assertThat(set.get(5_000), is(false));
+		assertThat(set.bitCount(), is(6002L));
+		assertThat(set.firstLong(), is(0L));
+		assertThat(set.lastLong(), is(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void iteratorRemoveAcrossChunks() {
+		SparseBitSet set = new SparseBitSet();
+		for (long i = 0; i < 300_000; i += 3)
+			set.set(i);
+
+		LongIterator iterator = set.iterator();
+		while (iterator.hasNext())
+			if (iterator.nextLong() % 2 == 0)
+				iterator.remove();
+		assertThat(set.bitCount(), is(50_000L));
+		assertThat(set.firstLong(), is(3L));
+		assertThat(set.lastLong(), is(299_997L));
+
+		LongIterator descendingIterator = set.descendingIterator();
+		while (descendingIterator.hasNext())
+			if (descendingIterator.nextLong() < 150_000)
+				descendingIterator.remove();
+		assertThat(set.bitCount(), is(25_000L));
+		assertThat(set.firstLong(), is(150_003L));
+	}
+
+	@Test
+	public void fuzzAgainstTreeSet() {
+		Random random = new Random(17);
+		SparseBitSet set = new SparseBitSet();
+		SortedSet<Long> expected = new TreeSet<>();
+		for (int i = 0; i < 100_000; i++) {
+			long bit = random.nextInt(4) == 0 ? random.nextInt(400_000) : random.nextInt(20_000);
+			if (random.nextInt(3) == 0)
+				assertThat(set.clear(bit), is(expected.remove(bit)));
+			else
+				assertThat(set.set(bit), is(expected.add(bit)));
+			if (i % 10_000 == 0)
+				set.optimize();
+		}
+		assertThat(set.bitCount(), is((long) expected.size()));
+		assertThat(set, is(equalTo(expected)));
+		assertThat(set.toString(), is(expected.toString().replace('[', '{').replace(']', '}')));
+		assertThat(set.firstLong(), is(expected.first()));
+		assertThat(set.lastLong(), is(expected.last()));
+	}
+
+	@Test
+	public void setAlgebra() {
+		Random random = new Random(17);
+		for (int round = 0; round < 20; round++) {
+			SortedSet<Long> first = new TreeSet<>();
+			SortedSet<Long> second = new TreeSet<>();
+			int firstRange = 1 << random.nextInt(20);
+			int secondRange = 1 << random.nextInt(20);
+			for (int i = 0, n = random.nextInt(20_000); i < n; i++)
+				first.add((long) random.nextInt(firstRange));
+			for (int i = 0, n = random.nextInt(20_000); i < n; i++)
+				second.add((long) random.nextInt(secondRange));
+			if (round % 5 == 0)
+				for (long i = 0; i < 70_000; i++)
+					first.add(i);
+
+			SparseBitSet firstBits = new SparseBitSet();
+			first.forEach(firstBits::set);
+			SparseBitSet secondBits = new SparseBitSet();
+			second.forEach(secondBits::set);
+
+			SortedSet<Long> union = new TreeSet<>(first);
+			union.addAll(second);
+			SortedSet<Long> intersection = new TreeSet<>(first);
+			intersection.retainAll(second);
+			SortedSet<Long> difference = new TreeSet<>(first);
+			difference.removeAll(second);
+			SortedSet<Long> symmetricDifference = new TreeSet<>(union);
+			symmetricDifference.removeAll(intersection);
+
+			assertThat(firstBits.union(secondBits), is(equalTo(union)));
+			assertThat(firstBits.intersection(secondBits), is(equalTo(intersection)));
+			assertThat(firstBits.difference(secondBits), is(equalTo(difference)));
+			assertThat(firstBits.symmetricDifference(secondBits), is(equalTo(symmetricDifference)));
+
+			assertThat(firstBits.unionSize(secondBits), is((long) union.size()));
+			assertThat(firstBits.intersectionSize(secondBits), is((long) intersection.size()));
+			assertThat(firstBits.differenceSize(secondBits), is((long) difference.size()));
+			assertThat(firstBits.symmetricDifferenceSize(secondBits), is((long) symmetricDifference.size()));
+			assertThat(firstBits.intersects(secondBits), is(!intersection.isEmpty()));
+
+			assertThat(firstBits, is(equalTo(first)));
+			assertThat(secondBits, is(equalTo(second)));
+		}
+	}
+
+	@Test
+	public void inPlaceSetAlgebra() {
+		SparseBitSet evens = new SparseBitSet();
+		SparseBitSet threes = new SparseBitSet();
+		for (long i = 0; i < 200_000; i += 2)
+			evens.set(i);
+		for (long i = 0; i < 200_000; i += 3)
+			threes.set(i);
+
+		SparseBitSet set = new SparseBitSet();
+		assertThat(set.or(evens), is(true));
+		assertThat(set.or(evens), is(false));
+		assertThat(set.bitCount(), is(100_000L));
+
+		assertThat(set.and(threes), is(true));
+		assertThat(set.and(threes), is(false));
+		assertThat(set.bitCount(), is(33_334L));
+		assertThat(set.get(6), is(true));
+		assertThat(set.get(4), is(false));
+
+		assertThat(set.xor(threes), is(true));
+		assertThat(set.bitCount(), is(33_333L));
+		assertThat(set.get(3), is(true));
+		assertThat(set.get(6), is(false));
+
+		assertThat(set.andNot(threes), is(true));
+		assertThat(set.andNot(threes), is(false));
+		assertThat(set, is(emptyIterable()));
+
+		assertThat(set.set(6), is(true));
+		assertThat(set.addAllLongs(threes), is(true));
+		assertThat(set.containsAllLongs(threes), is(true));
+		assertThat(set.containsAllLongs(evens), is(false));
+		assertThat(set.containsAnyLongs(evens), is(true));
+		assertThat(set.retainAllLongs(evens), is(true));
+		assertThat(set.bitCount(), is(33_334L));
+		assertThat(set.removeAllLongs(threes), is(true));
+		assertThat(set.containsAnyLongs(evens), is(false));
+		assertThat(set.isEmpty(), is(true));
+	}
+
+	@Test
+	public void rankAndSelect() {
+		assertThat(set.rank(0), is(0L));
+		assertThat(set.rank(1), is(1L));
+		assertThat(set.rank(17), is(4L));
+		assertThat(set.rank(18), is(5L));
+		assertThat(set.rank(58723485), is(9L));
+		assertThat(set.rank(Long.MAX_VALUE), is(13L));
+		assertThat(empty.rank(17), is(0L));
+		expecting(IllegalArgumentException.class, () -> set.rank(-1));
+
+		assertThat(set.select(0), is(0L));
+		assertThat(set.select(4), is(17L));
+		assertThat(set.select(9), is(58723485L));
+		assertThat(set.select(13), is(Long.MAX_VALUE));
+		expecting(IndexOutOfBoundsException.class, () -> set.select(-1));
+		expecting(IndexOutOfBoundsException.class, () -> set.select(14));
+		expecting(IndexOutOfBoundsException.class, () -> empty.select(0));
+
+		Random random = new Random(17);
+		SparseBitSet bits = new SparseBitSet();
+		for (int i = 0; i < 50_000; i++)
+			bits.set(random.nextInt(300_000));
+		for (long i = 400_000; i < 500_000; i++)
+			bits.set(i);
+		bits.optimize();
+
+		long rank = 0;
+		for (long i = 0; i <= 500_000; i++) {
+			assertThat(bits.rank(i), is(rank));
+			if (bits.get(i))
+				assertThat(bits.select(rank++), is(i));
+		}
+		assertThat(rank, is(bits.bitCount()));
+
+		bits.clear(400_000);
+		assertThat(bits.rank(400_001), is(bits.bitCount() - 99_999));
+		assertThat(bits.select(bits.bitCount() - 99_999), is(400_001L));
+	}
+
+	@Test
+	public void nextLongs() {
+		long[] buffer = new long[5];
+		LongIterator iterator = set.iterator();
+		assertThat(iterator.nextLongs(buffer), is(5));
+		assertThat(buffer, is(new long[]{0, 1, 2, 3, 17}));
+		assertThat(iterator.nextLongs(buffer), is(5));
+		assertThat(buffer, is(new long[]{42, 73, 1222, 58723484, 58723485}));
+
+		iterator.remove();
+		assertThat(set.get(58723485), is(false));
+
+		assertThat(iterator.nextLongs(buffer), is(4));
+		assertThat(Arrays.copyOf(buffer, 4),
+		           is(new long[]{58723486, Long.MAX_VALUE - 2, Long.MAX_VALUE - 1, Long.MAX_VALUE}));
+		assertThat(iterator.nextLongs(buffer), is(0));
+		assertThat(iterator.hasNext(), is(false));
+
+		SparseBitSet bits = new SparseBitSet();
+		for (long i = 0; i < 200_000; i += 3)
+			bits.set(i);
+		for (long i = 300_000; i < 400_000; i++)
+			bits.set(i);
+		bits.optimize();
+
+		long[] expected = bits.toLongArray();
+		long[] actual = new long[expected.length];
+		long[] chunk = new long[777];
+		int count = 0;
+		for (LongIterator bitIterator = bits.iterator(); bitIterator.hasNext(); ) {
+			int read = bitIterator.nextLongs(chunk);
+			System.arraycopy(chunk, 0, actual, count, read);
+			count += read;
+		}
+		assertThat(count, is(expected.length));
+		assertThat(actual, is(expected));
+	}
+
+	@Test
+	public void setRange() {
+		assertThat(empty.setRange(17, 17), is(false));
+		assertThat(empty.isEmpty(), is(true));
+
+		assertThat(empty.setRange(60_000, 3_000_000), is(true));
+		assertThat(empty.bitCount(), is(2_940_000L));
+		assertThat(empty.get(59_999), is(false));
+		assertThat(empty.get(60_000), is(true));
+		assertThat(empty.get(2_999_999), is(true));
+		assertThat(empty.get(3_000_000), is(false));
+		assertThat(empty.firstLong(), is(60_000L));
+		assertThat(empty.lastLong(), is(2_999_999L));
+
+		assertThat(empty.setRange(100_000, 200_000), is(false));
+		assertThat(empty.setRange(3_000_000, 3_000_001), is(true));
+		assertThat(empty.bitCount(), is(2_940_001L));
+
+		assertThat(set.setRange(Long.MAX_VALUE - 5, Long.MAX_VALUE), is(true));
+		assertThat(set.tailSet(Long.MAX_VALUE - 10),
+		           containsLongs(Long.MAX_VALUE - 5, Long.MAX_VALUE - 4, Long.MAX_VALUE - 3, Long.MAX_VALUE - 2,
+		                         Long.MAX_VALUE - 1, Long.MAX_VALUE));
+
+		expecting(IllegalArgumentException.class, () -> empty.setRange(-1, 17));
+		expecting(IllegalArgumentException.class, () -> empty.setRange(17, 16));
+	}
+
+	@Test
+	public void clearRange() {
+		assertThat(set.clearRange(4, 17), is(false));
+		assertThat(set.clearRange(2, 1223), is(true));
+		assertThat(set, containsLongs(0, 1, 58723484, 58723485, 58723486, Long.MAX_VALUE - 2, Long.MAX_VALUE - 1,
+		                              Long.MAX_VALUE));
+		assertThat(set.bitCount(), is(8L));
+
+		SparseBitSet bits = new SparseBitSet();
+		bits.setRange(0, 1_000_000);
+		assertThat(bits.clearRange(10, 999_990), is(true));
+		assertThat(bits.bitCount(), is(20L));
+		assertThat(bits, containsLongs(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 999_990, 999_991, 999_992, 999_993, 999_994,
+		                               999_995, 999_996, 999_997, 999_998, 999_999));
+
+		expecting(IllegalArgumentException.class, () -> bits.clearRange(-1, 17));
+		expecting(IllegalArgumentException.class, () -> bits.clearRange(17, 16));
+	}
+
+	@Test
+	public void flipRange() {
+		assertThat(set.flipRange(17, 17), is(false));
+		assertThat(set.flipRange(0, 6), is(true));
+		assertThat(set.headSet(100), containsLongs(4, 5, 17, 42, 73));
+
+		SparseBitSet bits = new SparseBitSet();
+		bits.setRange(50_000, 150_000);
+		assertThat(bits.flipRange(0, 200_000), is(true));
+		assertThat(bits.bitCount(), is(100_000L));
+		assertThat(bits.nextClearBit(0), is(50_000L));
+		assertThat(bits.nextSetBit(50_000), is(150_000L));
+		assertThat(bits.lastLong(), is(199_999L));
+
+		assertThat(bits.flipRange(0, 200_000), is(true));
+		assertThat(bits.bitCount(), is(100_000L));
+		assertThat(bits.firstLong(), is(50_000L));
+		assertThat(bits.lastLong(), is(149_999L));
+	}
+
+	@Test
+	public void nextAndPreviousBits() {
+		assertThat(empty.nextSetBit(0), is(-1L));
+		assertThat(empty.nextClearBit(17), is(17L));
+		assertThat(empty.previousSetBit(Long.MAX_VALUE), is(-1L));
+		assertThat(empty.previousClearBit(17), is(17L));
+		assertThat(empty.previousSetBit(-1), is(-1L));
+		assertThat(empty.previousClearBit(-1), is(-1L));
+
+		assertThat(set.nextSetBit(0), is(0L));
+		assertThat(set.nextSetBit(4), is(17L));
+		assertThat(set.nextSetBit(1223), is(58723484L));
+		assertThat(set.nextSetBit(58723487), is(Long.MAX_VALUE - 2));
+		assertThat(set.nextClearBit(0), is(4L));
+		assertThat(set.nextClearBit(58723484), is(58723487L));
+		assertThat(set.nextClearBit(Long.MAX_VALUE - 2), is(-1L));
+
+		assertThat(set.previousSetBit(16), is(3L));
+		assertThat(set.previousSetBit(58723483), is(1222L));
+		assertThat(set.previousSetBit(Long.MAX_VALUE - 3), is(58723486L));
+		assertThat(set.previousClearBit(3), is(-1L));
+		assertThat(set.previousClearBit(58723486), is(58723483L));
+		assertThat(set.previousClearBit(Long.MAX_VALUE), is(Long.MAX_VALUE - 3));
+
+		SparseBitSet bits = new SparseBitSet();
+		bits.setRange(10, 1_000_000);
+		assertThat(bits.nextClearBit(10), is(1_000_000L));
+		assertThat(bits.previousClearBit(999_999), is(9L));
+
+		expecting(IllegalArgumentException.class, () -> set.nextSetBit(-1));
+		expecting(IllegalArgumentException.class, () -> set.nextClearBit(-1));
+		expecting(IllegalArgumentException.class, () -> set.previousSetBit(-2));
+		expecting(IllegalArgumentException.class, () -> set.previousClearBit(-2));
+	}
+
+	@Test
+	public void iteratorFrom() {
+		assertThat(empty.iterator(17).hasNext(), is(false));
+		assertThat(empty.descendingIterator(17).hasNext(), is(false));
+
+		LongIterator iterator = set.iterator(1222);
+		assertThat(iterator.nextLong(), is(1222L));
+		assertThat(iterator.nextLong(), is(58723484L));
+		iterator.remove();
+		assertThat(set.get(58723484), is(false));
+		assertThat(iterator.nextLong(), is(58723485L));
+
+		LongIterator descendingIterator = set.descendingIterator(1221);
+		assertThat(descendingIterator.nextLong(), is(73L));
+		assertThat(descendingIterator.nextLong(), is(42L));
+	}
+
+	@Test
+	public void rangeViews() {
+		SparseBitSet bits = new SparseBitSet();
+		bits.setRange(1_000_000, 5_000_000);
+		bits.set(7_000_000);
+
+		LongSortedSet subSet = bits.subSet(2_000_000, 6_000_000);
+		assertThat(subSet.size(), is(3_000_000));
+		assertThat(subSet.firstLong(), is(2_000_000L));
+		assertThat(subSet.lastLong(), is(4_999_999L));
+		assertThat(subSet.headSet(2_000_003), containsLongs(2_000_000, 2_000_001, 2_000_002));
+		assertThat(subSet.tailSet(4_999_998), containsLongs(4_999_998, 4_999_999));
+		assertThat(subSet.subSet(0, 2_000_000), is(emptyIterable()));
+		assertThat(bits.headSet(-5).isEmpty(), is(true));
+		assertThat(bits.tailSet(5_000_000), containsLongs(7_000_000));
+
+		subSet.clear();
+		assertThat(subSet.isEmpty(), is(true));
+		assertThat(bits.bitCount(), is(1_000_001L));
+		assertThat(bits.lastLong(), is(7_000_000L));
+		expecting(NoSuchElementException.class, subSet::firstLong);
+		expecting(NoSuchElementException.class, subSet::lastLong);
+	}
+
+	@Test
+	public void writeToReadFrom() throws IOException {
+		SparseBitSet read = SparseBitSet.readFrom(input(output(set)));
+		assertThat(read, is(equalTo(set)));
+		assertThat(read.bitCount(), is(14L));
+
+		SparseBitSet readEmpty = SparseBitSet.readFrom(input(output(empty)));
+		assertThat(readEmpty, is(emptyIterable()));
+		assertThat(readEmpty.bitCount(), is(0L));
+	}
+
+	@Test
+	public void writeToReadFromContainers() throws IOException {
+		SparseBitSet bits = new SparseBitSet();
+		bits.setRange(100_000, 200_000);
+		for (long i = 0; i < 65536; i += 3)
+			bits.set(i);
+		for (long i = 1L << 40; i < (1L << 40) + 100; i += 7)
+			bits.set(i);
+
+		SparseBitSet read = SparseBitSet.readFrom(input(output(bits)));
+		assertThat(read, is(equalTo(bits)));
+		assertThat(read.bitCount(), is(bits.bitCount()));
+		assertThat(read.nextClearBit(100_000), is(200_000L));
+	}
+
+	@Test
+	public void writeToReadFromMultipleFrames() throws IOException {
+		SparseBitSet bits = new SparseBitSet();
+		for (long i = 0; i < 20 * 65536; i += 2)
+			bits.set(i);
+
+		byte[] bytes = output(bits);
+		assertThat(bytes.length, is(greaterThan(20 * 8192)));
+
+		SparseBitSet read = SparseBitSet.readFrom(input(bytes));
+		assertThat(read, is(equalTo(bits)));
+		assertThat(read.bitCount(), is(10L * 65536));
+	}
+
+	@Test
+	public void readFromCorrupt() throws IOException {
+		byte[] bytes = output(set);
+
+		byte[] wrongMagic = bytes.clone();
+		wrongMagic[0]++;
+		expecting(IOException.class, () -> SparseBitSet.readFrom(input(wrongMagic)));
+
+		byte[] wrongFrameLength = bytes.clone();
+		wrongFrameLength[BinaryFormat.HEADER_SIZE] = (byte) 0x80;
+		expecting(IOException.class, () -> SparseBitSet.readFrom(input(wrongFrameLength)));
+
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+		expecting(EOFException.class, () -> SparseBitSet.readFrom(input(truncated)));
+
+		byte[] wrongBitCount = bytes.clone();
+		ByteBuffer.wrap(wrongBitCount).putLong(5, set.bitCount() + 1);
+		expecting(IOException.class, () -> SparseBitSet.readFrom(input(wrongBitCount)));
+	}
+
+	@Test
+	public void readFromOversizedArrayContainer() throws IOException {
+		int cardinality = Container.MAX_ARRAY_SIZE + 1;
+		ByteBuffer buffer = ByteBuffer.allocate(BinaryFormat.HEADER_SIZE + 4 + 8 + 5 + cardinality * 2 + 4);
+		buffer.putInt(BinaryFormat.MAGIC).put(BinaryFormat.BITS).putLong(cardinality);
+		buffer.putInt(8 + 5 + cardinality * 2).putLong(0).put(Container.ARRAY).putInt(cardinality);
+		for (int i = 0; i < cardinality; i++)
+			buffer.putChar((char) i);
+		buffer.putInt(0);
+
+		expecting(IOException.class, () -> SparseBitSet.readFrom(input(buffer.array())));
+	}
+
+	private static byte[] output(SparseBitSet bits) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		bits.writeTo(Channels.newChannel(output));
+		return output.toByteArray();
+	}
+
+	private static ReadableByteChannel input(byte[] bytes) {
+		return Channels.newChannel(new ByteArrayInputStream(bytes));
+	}
+
 	@Test
 	public void fuzz() {
 		long[] randomIndices = new long[1000];
@@ -21,6 +21,10 @@ import org.d2ab.collection.ints.IntList;
 import org.d2ab.iterator.chars.CharIterator;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.List;
@@ -242,6 +246,28 @@ public class ArrayCharListTest {
 		assertThat(list, is(emptyIterable()));
 	}
 
+	@Test
+	public void listIteratorNextChars() {
+		CharListIterator listIterator = list.listIterator(1);
+
+		char[] array = new char[4];
+		assertThat(listIterator.nextChars(array, 1, 2), is(2));
+		assertArrayEquals(new char[]{'\0', 'b', 'c', '\0'}, array);
+		assertThat(listIterator.nextIndex(), is(3));
+		assertThat(listIterator.previousIndex(), is(2));
+
+		listIterator.remove();
+		assertThat(listIterator.nextIndex(), is(2));
+		assertThat(list, containsChars('a', 'b', 'd', 'e'));
+
+		assertThat(listIterator.nextChars(array, 0, 4), is(2));
+		assertArrayEquals(new char[]{'d', 'e', 'c', '\0'}, array);
+		assertThat(listIterator.nextChars(array, 0, 4), is(0));
+
+		listIterator.set('a');
+		assertThat(list, containsChars('a', 'b', 'd', 'a'));
+	}
+
 	@Test
 	public void listIteratorRemoveBackwards() {
 		int i = 5;
@@ -394,6 +420,21 @@ public class ArrayCharListTest {
 		assertThat(list.sequence(), containsChars('a', 'b', 'c', 'd', 'e'));
 	}
 
+	@Test
+	public void writeToReadFrom() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		list.writeTo(Channels.newChannel(output));
+		empty.writeTo(Channels.newChannel(output));
+
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		ArrayCharList read = ArrayCharList.readFrom(Channels.newChannel(input));
+		assertThat(read, containsChars('a', 'b', 'c', 'd', 'e'));
+		assertThat(ArrayCharList.readFrom(Channels.newChannel(input)), is(emptyIterable()));
+
+		read.addChar('f');
+		assertThat(read, containsChars('a', 'b', 'c', 'd', 'e', 'f'));
+	}
+
 	@Test
 	public void lastIndexOfChar() {
 		assertThat(empty.lastIndexOfChar('q'), is(-1));
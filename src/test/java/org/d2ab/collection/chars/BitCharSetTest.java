@@ -495,6 +495,25 @@ public class BitCharSetTest {
 		assertThat(charSet, is(emptyIterable()));
 	}
 
+	@Test
+	public void bulkOperations() {
+		BitCharSet other = new BitCharSet('b', 'd', 'f', Character.MAX_VALUE);
+
+		assertThat(set.intersectionSize(other), is(2));
+		assertThat(set.containsAnyChars(other), is(true));
+		assertThat(set.containsAllChars(other), is(false));
+
+		assertThat(set.retainAllChars(other), is(true));
+		assertThat(set, containsChars('b', 'd'));
+
+		assertThat(set.addAllChars(other), is(true));
+		assertThat(set.addAllChars(other), is(false));
+		assertThat(set, containsChars('b', 'd', 'f', Character.MAX_VALUE));
+
+		assertThat(set.removeAllChars(new BitCharSet('d', 'e')), is(true));
+		assertThat(set, containsChars('b', 'f', Character.MAX_VALUE));
+	}
+
 	@Test
 	public void fuzz() {
 		char[] randomValues = new char[1000];
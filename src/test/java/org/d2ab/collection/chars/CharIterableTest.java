@@ -1,6 +1,7 @@
 package org.d2ab.collection.chars;
 
 import org.d2ab.collection.ints.IntList;
+import org.d2ab.function.CharConsumer;
 import org.d2ab.iterator.IterationException;
 import org.d2ab.iterator.chars.CharIterator;
 import org.junit.Test;
@@ -18,6 +19,8 @@ import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 
@@ -71,7 +74,7 @@ public class CharIterableTest {
 	@Test
 	public void readWithIOException() throws IOException {
 		Reader reader = spy(new StringReader("abcde"));
-		doThrow(IOException.class).when(reader).read();
+		doThrow(IOException.class).when(reader).read(any(char[].class), anyInt(), anyInt());
 
 		CharIterable iterable = CharIterable.read(reader);
 		twice(() -> expecting(IterationException.class, () -> iterable.iterator().nextChar()));
@@ -111,6 +114,48 @@ public class CharIterableTest {
 		assertThat(iterable, is(emptyIterable()));
 	}
 
+	@Test
+	public void readWithBufferSize() {
+		Reader reader = new StringReader("abcde");
+
+		CharIterable iterable = CharIterable.read(reader, 2);
+		twice(() -> assertThat(iterable, containsChars('a', 'b', 'c', 'd', 'e')));
+
+		expecting(IllegalArgumentException.class, () -> CharIterable.read(reader, 0));
+	}
+
+	@Test
+	public void readSkip() {
+		Reader reader = new StringReader("abcdefghij");
+
+		CharIterable iterable = CharIterable.read(reader, 3);
+		twice(() -> {
+			CharIterator iterator = iterable.iterator();
+			assertThat(iterator.nextChar(), is('a'));
+			assertThat(iterator.skip(5), is(5));
+			assertThat(iterator.nextChar(), is('g'));
+			assertThat(iterator.skip(5), is(3));
+			assertThat(iterator.hasNext(), is(false));
+			assertThat(iterator.skip(5), is(0));
+		});
+	}
+
+	@Test
+	public void readForEachRemaining() {
+		Reader reader = new StringReader("abcdefg");
+
+		CharIterable iterable = CharIterable.read(reader, 3);
+		twice(() -> {
+			CharIterator iterator = iterable.iterator();
+			assertThat(iterator.nextChar(), is('a'));
+
+			StringBuilder remaining = new StringBuilder();
+			iterator.forEachRemaining((CharConsumer) remaining::append);
+			assertThat(remaining.toString(), is("bcdefg"));
+			assertThat(iterator.hasNext(), is(false));
+		});
+	}
+
 	@Test
 	public void readAlreadyBegun() throws IOException {
 		Reader reader = new StringReader("abcde");
@@ -244,6 +289,21 @@ public class CharIterableTest {
 		expecting(IOException.class, () -> reader.read(cbuf, 0, 2));
 	}
 
+	@Test
+	public void asReaderReadCharsFromIterator() throws Exception {
+		Reader reader = CharIterable.once(CharIterator.of('a', 'b', 'c', 'd', 'e')).asReader();
+		char[] cbuf = new char[5];
+
+		assertThat(reader.read(cbuf, 1, 3), is(3));
+		assertThat(reader.read(cbuf, 4, 1), is(1));
+		assertArrayEquals(new char[]{'\0', 'a', 'b', 'c', 'd'}, cbuf);
+
+		reader.mark(0);
+		assertThat(reader.read(cbuf, 0, 5), is(1));
+		assertThat(cbuf[0], is('e'));
+		assertThat(reader.read(cbuf, 0, 5), is(-1));
+	}
+
 	@Test
 	public void asReaderSkip() throws Exception {
 		Reader reader = iterable.asReader();
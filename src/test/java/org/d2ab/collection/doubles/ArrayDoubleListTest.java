@@ -20,6 +20,10 @@ import org.d2ab.collection.Lists;
 import org.d2ab.iterator.doubles.DoubleIterator;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.List;
@@ -395,6 +399,21 @@ public class ArrayDoubleListTest {
 		assertThat(list.sequence(), containsDoubles(1, 2, 3, 4, 5));
 	}
 
+	@Test
+	public void writeToReadFrom() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		list.writeTo(Channels.newChannel(output));
+		empty.writeTo(Channels.newChannel(output));
+
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		ArrayDoubleList read = ArrayDoubleList.readFrom(Channels.newChannel(input));
+		assertThat(read, containsDoubles(1, 2, 3, 4, 5));
+		assertThat(ArrayDoubleList.readFrom(Channels.newChannel(input)), is(emptyIterable()));
+
+		read.addDoubleExactly(6);
+		assertThat(read, containsDoubles(1, 2, 3, 4, 5, 6));
+	}
+
 	@Test
 	public void lastIndexOfBoxed() {
 		assertThat(empty.lastIndexOf(17.0), is(-1));
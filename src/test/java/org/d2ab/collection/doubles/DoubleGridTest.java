@@ -0,0 +1,63 @@
+package org.d2ab.collection.doubles;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DoubleGridTest {
+	@Test
+	public void empty() {
+		DoubleGrid grid = new DoubleGrid(0.5);
+		assertThat(grid.contains(0), is(false));
+		assertThat(grid.contains(17), is(false));
+	}
+
+	@Test
+	public void containsWithinPrecision() {
+		DoubleGrid grid = new DoubleGrid(new double[]{1, 17, -3.5}, 0.5);
+		assertThat(grid.contains(1), is(true));
+		assertThat(grid.contains(1.5), is(true));
+		assertThat(grid.contains(0.5), is(true));
+		assertThat(grid.contains(1.51), is(false));
+		assertThat(grid.contains(16.6), is(true));
+		assertThat(grid.contains(-3.9), is(true));
+		assertThat(grid.contains(-4.1), is(false));
+		assertThat(grid.contains(5), is(false));
+	}
+
+	@Test
+	public void containsExactly() {
+		DoubleGrid grid = new DoubleGrid(new double[]{1, -0.0}, 0);
+		assertThat(grid.contains(1), is(true));
+		assertThat(grid.contains(Math.nextUp(1.0)), is(false));
+		assertThat(grid.contains(0.0), is(true));
+	}
+
+	@Test
+	public void addIfAbsent() {
+		DoubleGrid grid = new DoubleGrid(0.2);
+		assertThat(grid.addIfAbsent(17), is(true));
+		assertThat(grid.addIfAbsent(17.15), is(false));
+		assertThat(grid.addIfAbsent(17.3), is(true));
+		assertThat(grid.addIfAbsent(Double.NaN), is(true));
+		assertThat(grid.addIfAbsent(Double.NaN), is(true));
+	}
+
+	@Test
+	public void matchesLinearScan() {
+		Random random = new Random(17);
+		DoubleList added = DoubleList.create();
+		DoubleGrid grid = new DoubleGrid(0.01);
+		for (int i = 0; i < 10000; i++) {
+			double x = random.nextDouble() * 100 - 50;
+			assertThat(grid.contains(x), is(added.containsDouble(x, 0.01)));
+			if (i % 2 == 0) {
+				grid.add(x);
+				added.addDoubleExactly(x);
+			}
+		}
+	}
+}
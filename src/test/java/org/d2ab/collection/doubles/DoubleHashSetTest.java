@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.doubles;
+
+import org.d2ab.iterator.doubles.DoubleIterator;
+import org.junit.Test;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static org.d2ab.test.Tests.expecting;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class DoubleHashSetTest {
+	private final DoubleHashSet empty = new DoubleHashSet();
+	private final DoubleHashSet set = new DoubleHashSet(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4);
+
+	@Test
+	public void size() {
+		assertThat(empty.size(), is(0));
+		assertThat(set.size(), is(10));
+	}
+
+	@Test
+	public void iterator() {
+		assertThat(empty, is(emptyIterable()));
+		assertThat(set, containsInAnyOrder(-5.0, -4.0, -3.0, -2.0, -1.0, 0.0, 1.0, 2.0, 3.0, 4.0));
+	}
+
+	@Test
+	public void iteratorFailFast() {
+		DoubleIterator it1 = set.iterator();
+		set.addDoubleExactly(17);
+		expecting(ConcurrentModificationException.class, it1::nextDouble);
+
+		DoubleIterator it2 = set.iterator();
+		set.removeDoubleExactly(17);
+		expecting(ConcurrentModificationException.class, it2::nextDouble);
+	}
+
+	@Test
+	public void iteratorRemove() {
+		for (DoubleIterator iterator = set.iterator(); iterator.hasNext(); )
+			if (iterator.nextDouble() < 0)
+				iterator.remove();
+
+		assertThat(set, containsInAnyOrder(0.0, 1.0, 2.0, 3.0, 4.0));
+	}
+
+	@Test
+	public void clear() {
+		empty.clear();
+		assertThat(empty.isEmpty(), is(true));
+
+		set.clear();
+		assertThat(set.isEmpty(), is(true));
+		assertThat(set, is(emptyIterable()));
+	}
+
+	@Test
+	public void addDoubleExactly() {
+		assertThat(empty.addDoubleExactly(17), is(true));
+		assertThat(empty.addDoubleExactly(17), is(false));
+		assertThat(empty, containsInAnyOrder(17.0));
+
+		assertThat(set.addDoubleExactly(17), is(true));
+		assertThat(set.addDoubleExactly(-0.0), is(true));
+		assertThat(set.addDoubleExactly(Double.NaN), is(true));
+		assertThat(set.addDoubleExactly(Double.NaN), is(false));
+		assertThat(set, containsInAnyOrder(-5.0, -4.0, -3.0, -2.0, -1.0, -0.0, 0.0, 1.0, 2.0, 3.0, 4.0, 17.0,
+		                                   Double.NaN));
+	}
+
+	@Test
+	public void addDouble() {
+		assertThat(empty.addDouble(17, 0.5), is(true));
+		assertThat(empty.addDouble(17.1, 0.5), is(false));
+		assertThat(empty, containsInAnyOrder(17.0));
+	}
+
+	@Test
+	public void containsDoubleExactly() {
+		assertThat(empty.containsDoubleExactly(17), is(false));
+
+		assertThat(set.containsDoubleExactly(17), is(false));
+		for (double x = -5; x <= 4; x++)
+			assertThat(set.containsDoubleExactly(x), is(true));
+	}
+
+	@Test
+	public void removeDoubleExactly() {
+		assertThat(empty.removeDoubleExactly(17), is(false));
+
+		assertThat(set.removeDoubleExactly(17), is(false));
+		for (double x = -5; x <= 4; x++)
+			assertThat(set.removeDoubleExactly(x), is(true));
+		assertThat(set.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testEqualsHashCodeAgainstSet() {
+		Set<Double> set2 = new HashSet<>(asList(-5.0, -4.0, -3.0, -2.0, -1.0, 0.0, 1.0, 2.0, 3.0, 4.0, 17.0));
+		assertThat(set, is(not(equalTo(set2))));
+		assertThat(set.hashCode(), is(not(set2.hashCode())));
+
+		set2.remove(17.0);
+
+		assertThat(set, is(equalTo(set2)));
+		assertThat(set.hashCode(), is(set2.hashCode()));
+	}
+
+	@Test
+	public void testEqualsHashCodeAgainstDoubleSet() {
+		RawDoubleSet set2 = new RawDoubleSet(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 17);
+		assertThat(set, is(not(equalTo(set2))));
+		assertThat(set.hashCode(), is(not(set2.hashCode())));
+
+		set2.removeDoubleExactly(17);
+
+		assertThat(set, is(equalTo(set2)));
+		assertThat(set.hashCode(), is(set2.hashCode()));
+	}
+}
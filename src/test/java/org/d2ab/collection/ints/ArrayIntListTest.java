@@ -20,6 +20,10 @@ import org.d2ab.collection.Lists;
 import org.d2ab.iterator.ints.IntIterator;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -237,6 +241,28 @@ public class ArrayIntListTest {
 		assertThat(list, is(emptyIterable()));
 	}
 
+	@Test
+	public void listIteratorNextInts() {
+		IntListIterator listIterator = list.listIterator(1);
+
+		int[] array = new int[4];
+		assertThat(listIterator.nextInts(array, 1, 2), is(2));
+		assertArrayEquals(new int[]{0, 2, 3, 0}, array);
+		assertThat(listIterator.nextIndex(), is(3));
+		assertThat(listIterator.previousIndex(), is(2));
+
+		listIterator.remove();
+		assertThat(listIterator.nextIndex(), is(2));
+		assertThat(list, containsInts(1, 2, 4, 5));
+
+		assertThat(listIterator.nextInts(array, 0, 4), is(2));
+		assertArrayEquals(new int[]{4, 5, 3, 0}, array);
+		assertThat(listIterator.nextInts(array, 0, 4), is(0));
+
+		listIterator.set(1);
+		assertThat(list, containsInts(1, 2, 4, 1));
+	}
+
 	@Test
 	public void listIteratorRemoveBackwards() {
 		int i = 5;
@@ -389,6 +415,36 @@ public class ArrayIntListTest {
 		assertThat(list.sequence(), containsInts(1, 2, 3, 4, 5));
 	}
 
+	@Test
+	public void writeToReadFrom() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		list.writeTo(Channels.newChannel(output));
+		empty.writeTo(Channels.newChannel(output));
+
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		ArrayIntList read = ArrayIntList.readFrom(Channels.newChannel(input));
+		assertThat(read, containsInts(1, 2, 3, 4, 5));
+		assertThat(ArrayIntList.readFrom(Channels.newChannel(input)), is(emptyIterable()));
+
+		read.addInt(6);
+		assertThat(read, containsInts(1, 2, 3, 4, 5, 6));
+	}
+
+	@Test
+	public void writeDeltasToReadFrom() throws IOException {
+		ArrayIntList ids = ArrayIntList.withCapacity(20000);
+		for (int i = 0; i < 20000; i++)
+			ids.addInt(100000 + i * 7);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ids.writeDeltasTo(Channels.newChannel(output));
+		assertThat(output.size(), is(lessThan(20000 * 2)));
+
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		ArrayIntList read = ArrayIntList.readFrom(Channels.newChannel(input));
+		assertThat(read, is(equalTo(ids)));
+	}
+
 	@Test
 	public void lastIndexOfBoxed() {
 		assertThat(empty.lastIndexOf(17), is(-1));
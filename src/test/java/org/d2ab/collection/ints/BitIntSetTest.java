@@ -348,6 +348,28 @@ public class BitIntSetTest {
 		assertThat(set, containsInts(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 5, 6, 7));
 	}
 
+	@Test
+	public void bulkOperations() {
+		BitIntSet other = new BitIntSet(-3, -1, 1, 3, 5, Integer.MAX_VALUE);
+
+		assertThat(set.intersectionSize(other), is(4));
+		assertThat(set.intersectionSize(IntSet.Base.create(-3, -1, 1, 3, 5)), is(4));
+		assertThat(set.containsAnyInts(other), is(true));
+		assertThat(set.containsAllInts(other), is(false));
+		assertThat(empty.containsAnyInts(other), is(false));
+
+		assertThat(set.retainAllInts(other), is(true));
+		assertThat(set, containsInts(-3, -1, 1, 3));
+		assertThat(other.containsAllInts(set), is(true));
+
+		assertThat(set.addAllInts(other), is(true));
+		assertThat(set.addAllInts(other), is(false));
+		assertThat(set, containsInts(-3, -1, 1, 3, 5, Integer.MAX_VALUE));
+
+		assertThat(set.removeAllInts(new BitIntSet(-1, 5)), is(true));
+		assertThat(set, containsInts(-3, 1, 3, Integer.MAX_VALUE));
+	}
+
 	@Test
 	public void stream() {
 		assertThat(empty.stream().collect(Collectors.toList()), is(emptyIterable()));
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.ints;
+
+import org.d2ab.iterator.ints.IntIterator;
+import org.junit.Test;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static org.d2ab.test.Tests.expecting;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class IntHashSetTest {
+	private final IntHashSet empty = new IntHashSet();
+	private final IntHashSet set = new IntHashSet(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4);
+
+	@Test
+	public void size() {
+		assertThat(empty.size(), is(0));
+		assertThat(set.size(), is(10));
+	}
+
+	@Test
+	public void iterator() {
+		assertThat(empty, is(emptyIterable()));
+		assertThat(set, containsInAnyOrder(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4));
+	}
+
+	@Test
+	public void iteratorFailFast() {
+		IntIterator it1 = set.iterator();
+		set.addInt(17);
+		expecting(ConcurrentModificationException.class, it1::nextInt);
+
+		IntIterator it2 = set.iterator();
+		set.removeInt(17);
+		expecting(ConcurrentModificationException.class, it2::nextInt);
+	}
+
+	@Test
+	public void iteratorRemove() {
+		IntIterator iterator = set.iterator();
+		expecting(IllegalStateException.class, iterator::remove);
+		while (iterator.hasNext())
+			if (iterator.nextInt() % 2 == 0)
+				iterator.remove();
+
+		assertThat(set, containsInAnyOrder(-5, -3, -1, 1, 3));
+		assertThat(set.size(), is(5));
+	}
+
+	@Test
+	public void isEmpty() {
+		assertThat(empty.isEmpty(), is(true));
+		assertThat(set.isEmpty(), is(false));
+	}
+
+	@Test
+	public void clear() {
+		empty.clear();
+		assertThat(empty.isEmpty(), is(true));
+
+		set.clear();
+		assertThat(set.isEmpty(), is(true));
+		assertThat(set, is(emptyIterable()));
+	}
+
+	@Test
+	public void addInt() {
+		assertThat(empty.addInt(17), is(true));
+		assertThat(empty.addInt(17), is(false));
+		assertThat(empty, containsInAnyOrder(17));
+
+		assertThat(set.addInt(17), is(true));
+		assertThat(set.addInt(0), is(false));
+		assertThat(set, containsInAnyOrder(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 17));
+	}
+
+	@Test
+	public void containsInt() {
+		assertThat(empty.containsInt(17), is(false));
+		assertThat(empty.containsInt(0), is(false));
+
+		assertThat(set.containsInt(17), is(false));
+		for (int x = -5; x <= 4; x++)
+			assertThat(set.containsInt(x), is(true));
+	}
+
+	@Test
+	public void removeInt() {
+		assertThat(empty.removeInt(17), is(false));
+
+		assertThat(set.removeInt(17), is(false));
+		for (int x = -5; x <= 4; x++)
+			assertThat(set.removeInt(x), is(true));
+		assertThat(set.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testEqualsHashCodeAgainstSet() {
+		Set<Integer> set2 = new HashSet<>(asList(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 17));
+		assertThat(set, is(not(equalTo(set2))));
+		assertThat(set.hashCode(), is(not(set2.hashCode())));
+
+		set2.remove(17);
+
+		assertThat(set, is(equalTo(set2)));
+		assertThat(set.hashCode(), is(set2.hashCode()));
+	}
+
+	@Test
+	public void testEqualsHashCodeAgainstIntSet() {
+		IntSet set2 = new BitIntSet(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 17);
+		assertThat(set, is(not(equalTo(set2))));
+		assertThat(set.hashCode(), is(not(set2.hashCode())));
+
+		set2.removeInt(17);
+
+		assertThat(set, is(equalTo(set2)));
+		assertThat(set.hashCode(), is(set2.hashCode()));
+	}
+
+	@Test
+	public void fuzzAgainstHashSet() {
+		Random random = new Random(17);
+		IntHashSet set = new IntHashSet();
+		Set<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 100_000; i++) {
+			int x = random.nextBoolean() ? random.nextInt() : random.nextInt(1000);
+			if (random.nextInt(3) == 0)
+				assertThat(set.removeInt(x), is(expected.remove(x)));
+			else
+				assertThat(set.addInt(x), is(expected.add(x)));
+		}
+		assertThat(set.size(), is(expected.size()));
+		assertThat(set, is(equalTo(expected)));
+
+		for (IntIterator iterator = set.iterator(); iterator.hasNext(); ) {
+			int x = iterator.nextInt();
+			if (random.nextBoolean()) {
+				iterator.remove();
+				expected.remove(x);
+			}
+		}
+		assertThat(set.size(), is(expected.size()));
+		assertThat(set, is(equalTo(expected)));
+
+		List<Integer> iterated = new ArrayList<>();
+		set.iterator().forEachRemaining((Integer x) -> iterated.add(x));
+		assertThat(iterated.size(), is(expected.size()));
+
+		for (IntIterator iterator = set.iterator(); iterator.hasNext(); ) {
+			iterator.nextInt();
+			iterator.remove();
+		}
+		assertThat(set.isEmpty(), is(true));
+		assertThat(set, is(emptyIterable()));
+	}
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.ints;
+
+import org.d2ab.iterator.ints.IntIterator;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import static org.d2ab.test.Tests.expecting;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class IntIntMapTest {
+	private final IntIntMap empty = new IntIntMap();
+	private final IntIntMap map = new IntIntMap();
+
+	{
+		for (int i = -2; i <= 2; i++)
+			map.put(i, i * 10);
+	}
+
+	@Test
+	public void size() {
+		assertThat(empty.size(), is(0));
+		assertThat(empty.isEmpty(), is(true));
+		assertThat(map.size(), is(5));
+		assertThat(map.isEmpty(), is(false));
+
+		expecting(IllegalArgumentException.class, () -> new IntIntMap(-1));
+		IntIntMap presized = new IntIntMap(1000);
+		for (int i = 0; i < 1000; i++)
+			presized.put(i, i);
+		assertThat(presized.size(), is(1000));
+	}
+
+	@Test
+	public void get() {
+		assertThat(empty.get(17), is(0));
+		assertThat(empty.get((Object) 17), is(nullValue()));
+		assertThat(empty.getOrDefault(17, -1), is(-1));
+
+		assertThat(map.get(2), is(20));
+		assertThat(map.get(0), is(0));
+		assertThat(map.get(-2), is(-20));
+		assertThat(map.get(17), is(0));
+		assertThat(map.get((Object) 0), is(0));
+		assertThat(map.get((Object) 17), is(nullValue()));
+		assertThat(map.get("foo"), is(nullValue()));
+		assertThat(map.getOrDefault(0, -1), is(0));
+		assertThat(map.getOrDefault(17, -1), is(-1));
+
+		assertThat(map.containsKey(0), is(true));
+		assertThat(map.containsKey(17), is(false));
+		assertThat(map.containsKey("foo"), is(false));
+		assertThat(map.containsValue(-20), is(true));
+		assertThat(map.containsValue(17), is(false));
+		assertThat(map.containsValue("foo"), is(false));
+	}
+
+	@Test
+	public void put() {
+		assertThat(map.put(17, 170), is(0));
+		assertThat(map.put(17, 171), is(170));
+		assertThat(map.put(0, 1), is(0));
+		assertThat(map.put(0, 2), is(1));
+		assertThat(map.put((Integer) 18, (Integer) 180), is(nullValue()));
+		assertThat(map.put((Integer) 18, (Integer) 181), is(180));
+
+		assertThat(map.size(), is(7));
+		assertThat(map.get(17), is(171));
+		assertThat(map.get(0), is(2));
+		assertThat(map.get(18), is(181));
+	}
+
+	@Test
+	public void remove() {
+		assertThat(empty.remove(17), is(0));
+		assertThat(empty.remove((Object) 17), is(nullValue()));
+
+		assertThat(map.remove(17), is(0));
+		assertThat(map.remove(2), is(20));
+		assertThat(map.remove(0), is(0));
+		assertThat(map.remove((Object) (-2)), is(-20));
+		assertThat(map.remove((Object) 0), is(nullValue()));
+		assertThat(map.remove("foo"), is(nullValue()));
+
+		assertThat(map.size(), is(2));
+		assertThat(map.keySet(), containsInAnyOrder(-1, 1));
+	}
+
+	@Test
+	public void merge() {
+		assertThat(map.merge(2, 5, Integer::sum), is(25));
+		assertThat(map.merge(17, 5, Integer::sum), is(5));
+		assertThat(map.merge(0, 5, Integer::sum), is(5));
+		assertThat(empty.merge(0, 5, Integer::sum), is(5));
+		assertThat(empty.merge(0, 5, Integer::sum), is(10));
+
+		assertThat(map.get(2), is(25));
+		assertThat(map.get(17), is(5));
+		assertThat(map.get(0), is(5));
+		assertThat(empty.get(0), is(10));
+	}
+
+	@Test
+	public void computeIfAbsent() {
+		assertThat(map.computeIfAbsent(2, k -> 17), is(20));
+		assertThat(map.computeIfAbsent(17, k -> k * 2), is(34));
+		assertThat(empty.computeIfAbsent(0, k -> 17), is(17));
+		assertThat(empty.computeIfAbsent(0, k -> 18), is(17));
+
+		assertThat(map.get(17), is(34));
+		expecting(ConcurrentModificationException.class, () -> map.computeIfAbsent(18, k -> map.put(19, 19)));
+	}
+
+	@Test
+	public void computeIfPresent() {
+		assertThat(map.computeIfPresent(2, (k, v) -> k + v), is(22));
+		assertThat(map.computeIfPresent(0, (k, v) -> 17), is(17));
+		assertThat(map.computeIfPresent(17, (k, v) -> 17), is(0));
+
+		assertThat(map.get(2), is(22));
+		assertThat(map.get(0), is(17));
+		assertThat(map.containsKey(17), is(false));
+	}
+
+	@Test
+	public void forEachEntry() {
+		Map<Integer, Integer> entries = new HashMap<>();
+		map.forEachEntry(entries::put);
+		assertThat(entries, is(equalTo(map)));
+
+		expecting(ConcurrentModificationException.class, () -> map.forEachEntry((k, v) -> map.remove(k)));
+	}
+
+	@Test
+	public void keySet() {
+		IntSet keys = map.keySet();
+		assertThat(keys, containsInAnyOrder(-2, -1, 0, 1, 2));
+		assertThat(keys.containsInt(2), is(true));
+		assertThat(keys.containsInt(17), is(false));
+
+		assertThat(keys.removeInt(2), is(true));
+		assertThat(keys.removeInt(2), is(false));
+		assertThat(map.containsKey(2), is(false));
+
+		expecting(UnsupportedOperationException.class, () -> keys.addInt(17));
+
+		keys.clear();
+		assertThat(map.isEmpty(), is(true));
+	}
+
+	@Test
+	public void values() {
+		IntCollection values = map.values();
+		assertThat(values, containsInAnyOrder(-20, -10, 0, 10, 20));
+		assertThat(values.containsInt(20), is(true));
+		assertThat(values.containsInt(2), is(false));
+
+		assertThat(values.removeInt(20), is(true));
+		assertThat(map.containsKey(2), is(false));
+	}
+
+	@Test
+	public void entrySet() {
+		Set<Entry<Integer, Integer>> entries = map.entrySet();
+		assertThat(entries, containsInAnyOrder(entry(-2, -20), entry(-1, -10), entry(0, 0), entry(1, 10),
+		                                       entry(2, 20)));
+		assertThat(entries.contains(entry(2, 20)), is(true));
+		assertThat(entries.contains(entry(2, 21)), is(false));
+
+		assertThat(entries.remove(entry(2, 21)), is(false));
+		assertThat(entries.remove(entry(2, 20)), is(true));
+		assertThat(map.containsKey(2), is(false));
+
+		for (Entry<Integer, Integer> entry : entries)
+			assertThat(entry.setValue(entry.getValue() + 1), is(entry.getValue() - 1));
+		assertThat(map.get(-2), is(-19));
+		assertThat(map.get(0), is(1));
+
+		Entry<Integer, Integer> entry = entries.iterator().next();
+		Entry<Integer, Integer> expected = entry(entry.getKey(), entry.getValue());
+		assertThat(entry, is(equalTo(expected)));
+		assertThat(entry.hashCode(), is(expected.hashCode()));
+		assertThat(entry.toString(), is(expected.toString()));
+	}
+
+	@Test
+	public void iteratorFailFast() {
+		IntIterator it1 = map.keySet().iterator();
+		map.put(17, 17);
+		expecting(ConcurrentModificationException.class, it1::nextInt);
+
+		IntIterator it2 = map.keySet().iterator();
+		map.remove(17);
+		expecting(ConcurrentModificationException.class, it2::nextInt);
+
+		IntIterator it3 = map.keySet().iterator();
+		map.put(2, 17);
+		it3.nextInt();
+	}
+
+	@Test
+	public void iteratorRemove() {
+		IntIterator iterator = map.keySet().iterator();
+		expecting(IllegalStateException.class, iterator::remove);
+		while (iterator.hasNext())
+			if (iterator.nextInt() % 2 == 0)
+				iterator.remove();
+		expecting(IllegalStateException.class, iterator::remove);
+
+		assertThat(map.keySet(), containsInAnyOrder(-1, 1));
+	}
+
+	@Test
+	public void testEqualsHashCode() {
+		Map<Integer, Integer> map2 = new HashMap<>();
+		for (int i = -2; i <= 2; i++)
+			map2.put(i, i * 10);
+
+		assertThat(map, is(equalTo(map2)));
+		assertThat(map2, is(equalTo(map)));
+		assertThat(map.hashCode(), is(map2.hashCode()));
+
+		IntIntMap map3 = new IntIntMap();
+		map3.putAll(map2);
+		assertThat(map, is(equalTo(map3)));
+		assertThat(map.hashCode(), is(map3.hashCode()));
+
+		map3.put(0, 1);
+		assertThat(map, is(not(equalTo(map3))));
+		map2.put(0, 1);
+		assertThat(map, is(not(equalTo(map2))));
+		assertThat(map3, is(equalTo(map2)));
+		assertThat(map3.hashCode(), is(map2.hashCode()));
+	}
+
+	@Test
+	public void fuzzAgainstHashMap() {
+		Random random = new Random(17);
+		IntIntMap map = new IntIntMap();
+		Map<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++) {
+			int key = random.nextBoolean() ? random.nextInt() : random.nextInt(1000);
+			int value = random.nextInt();
+			switch (random.nextInt(4)) {
+				case 0:
+					assertThat(map.remove((Object) key), is(expected.remove(key)));
+					break;
+				case 1:
+					assertThat(map.merge(key, value, Integer::sum), is(expected.merge(key, value, Integer::sum)));
+					break;
+				default:
+					assertThat(map.put((Integer) key, (Integer) value), is(expected.put(key, value)));
+			}
+		}
+		assertThat(map.size(), is(expected.size()));
+		assertThat(map, is(equalTo(expected)));
+
+		for (Iterator<Entry<Integer, Integer>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+			Entry<Integer, Integer> entry = iterator.next();
+			assertThat(expected.get(entry.getKey()), is(entry.getValue()));
+			if (random.nextBoolean()) {
+				iterator.remove();
+				expected.remove(entry.getKey());
+			}
+		}
+		assertThat(map.size(), is(expected.size()));
+		assertThat(map, is(equalTo(expected)));
+
+		map.keySet().clear();
+		assertThat(map.isEmpty(), is(true));
+		assertThat(map.entrySet(), is(emptyIterable()));
+	}
+
+	private static Entry<Integer, Integer> entry(int key, int value) {
+		return new AbstractMap.SimpleEntry<>(key, value);
+	}
+}
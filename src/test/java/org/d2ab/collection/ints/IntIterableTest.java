@@ -25,6 +25,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
 
 import static org.d2ab.test.IsCharIterableContainingInOrder.containsChars;
 import static org.d2ab.test.IsIntIterableContainingInOrder.containsInts;
@@ -34,6 +35,8 @@ import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 
@@ -87,7 +90,7 @@ public class IntIterableTest {
 	@Test
 	public void readWithIOException() throws IOException {
 		InputStream inputStream = spy(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}));
-		doThrow(IOException.class).when(inputStream).read();
+		doThrow(IOException.class).when(inputStream).read(any(byte[].class), anyInt(), anyInt());
 
 		IntIterable iterable = IntIterable.read(inputStream);
 		twice(() -> expecting(IterationException.class, () -> iterable.iterator().nextInt()));
@@ -110,6 +113,48 @@ public class IntIterableTest {
 		twice(() -> assertThat(iterable, containsInts(255, 254, 253, 252, 251)));
 	}
 
+	@Test
+	public void readWithBufferSize() {
+		InputStream inputStream = new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5});
+
+		IntIterable iterable = IntIterable.read(inputStream, 2);
+		twice(() -> assertThat(iterable, containsInts(1, 2, 3, 4, 5)));
+
+		expecting(IllegalArgumentException.class, () -> IntIterable.read(inputStream, 0));
+	}
+
+	@Test
+	public void readSkip() {
+		InputStream inputStream = new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+		IntIterable iterable = IntIterable.read(inputStream, 3);
+		twice(() -> {
+			IntIterator iterator = iterable.iterator();
+			assertThat(iterator.nextInt(), is(1));
+			assertThat(iterator.skip(5), is(5));
+			assertThat(iterator.nextInt(), is(7));
+			assertThat(iterator.skip(5), is(3));
+			assertThat(iterator.hasNext(), is(false));
+			assertThat(iterator.skip(5), is(0));
+		});
+	}
+
+	@Test
+	public void readForEachRemaining() {
+		InputStream inputStream = new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, -1});
+
+		IntIterable iterable = IntIterable.read(inputStream, 3);
+		twice(() -> {
+			IntIterator iterator = iterable.iterator();
+			assertThat(iterator.nextInt(), is(1));
+
+			IntList remaining = IntList.create();
+			iterator.forEachRemaining((IntConsumer) remaining::addInt);
+			assertThat(remaining, containsInts(2, 3, 4, 5, 6, 255));
+			assertThat(iterator.hasNext(), is(false));
+		});
+	}
+
 	@Test
 	public void readAlreadyBegun() throws IOException {
 		InputStream inputStream = new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5});
@@ -260,6 +305,59 @@ public class IntIterableTest {
 		expecting(IOException.class, () -> inputStream.read(buf, 0, 10));
 	}
 
+	@Test
+	public void asInputStreamReadBytesInChunks() throws Exception {
+		int[] values = new int[20000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = i % 100;
+		InputStream inputStream = IntIterable.of(values).asInputStream();
+
+		byte[] buf = new byte[values.length + 1];
+		assertThat(inputStream.read(buf, 1, 19000), is(19000));
+		assertThat(inputStream.read(buf, 19001, 1000), is(1000));
+		for (int i = 0; i < values.length; i++)
+			assertThat(buf[i + 1], is((byte) values[i]));
+
+		assertThat(inputStream.read(buf, 0, 1), is(-1));
+	}
+
+	@Test
+	public void asInputStreamReadMultipleBytesOutOfBounds() throws Exception {
+		InputStream inputStream = IntIterable.of(1, 2, 256, 3, -1).asInputStream();
+		byte[] buf = new byte[5];
+
+		assertThat(inputStream.read(buf, 0, 5), is(2));
+		assertThat(buf[0], is((byte) 1));
+		assertThat(buf[1], is((byte) 2));
+		expecting(IOException.class, () -> inputStream.read(buf, 0, 5));
+		assertThat(inputStream.read(buf, 0, 5), is(1));
+		assertThat(buf[0], is((byte) 3));
+		expecting(IOException.class, () -> inputStream.read(buf, 0, 5));
+		assertThat(inputStream.read(buf, 0, 5), is(-1));
+	}
+
+	@Test
+	public void asInputStreamReadMultipleBytesOutOfBoundsMarkAndReset() throws Exception {
+		int[] values = new int[10000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = i % 100;
+		values[5000] = 256;
+		InputStream inputStream = IntIterable.of(values).asInputStream();
+
+		byte[] buf = new byte[values.length];
+		assertThat(inputStream.read(buf, 0, 4000), is(4000));
+		inputStream.mark(0);
+		assertThat(inputStream.read(buf, 0, 9000), is(1000));
+		expecting(IOException.class, inputStream::read);
+		assertThat(inputStream.read(), is(5001 % 100));
+		assertThat(inputStream.skip(1), is(1L));
+		assertThat(inputStream.read(buf, 0, 10000), is(4997));
+		assertThat(buf[0], is((byte) (5003 % 100)));
+
+		inputStream.reset();
+		assertThat(inputStream.read(), is(4000 % 100));
+	}
+
 	@Test
 	public void asInputStreamSkip() throws Exception {
 		InputStream inputStream = iterable.asInputStream();
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.collection.ints;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import static org.d2ab.test.Tests.expecting;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class IntObjMapTest {
+	private final IntObjMap<String> map = new IntObjMap<>();
+
+	{
+		for (int i = -2; i <= 2; i++)
+			map.put(i, String.valueOf(i));
+	}
+
+	@Test
+	public void getPutRemove() {
+		assertThat(map.get(0), is("0"));
+		assertThat(map.get((Object) (-2)), is("-2"));
+		assertThat(map.get(17), is(nullValue()));
+		assertThat(map.get("foo"), is(nullValue()));
+
+		assertThat(map.put(17, "a"), is(nullValue()));
+		assertThat(map.put((Integer) 17, "b"), is("a"));
+		assertThat(map.put(0, "c"), is("0"));
+		assertThat(map.remove(0), is("c"));
+		assertThat(map.remove((Object) 17), is("b"));
+		assertThat(map.remove("foo"), is(nullValue()));
+		assertThat(map.keySet(), containsInAnyOrder(-2, -1, 1, 2));
+	}
+
+	@Test
+	public void nullValues() {
+		assertThat(map.put(17, null), is(nullValue()));
+		assertThat(map.put(0, null), is("0"));
+
+		assertThat(map.size(), is(6));
+		assertThat(map.containsKey(17), is(true));
+		assertThat(map.containsKey(0), is(true));
+		assertThat(map.containsValue(null), is(true));
+		assertThat(map.getOrDefault(17, "x"), is(nullValue()));
+		assertThat(map.computeIfAbsent(17, k -> "17"), is("17"));
+		assertThat(map.merge(0, "0", String::concat), is("0"));
+	}
+
+	@Test
+	public void removeByNullResult() {
+		assertThat(map.merge(1, "x", (a, b) -> null), is(nullValue()));
+		assertThat(map.merge(0, "x", (a, b) -> null), is(nullValue()));
+		assertThat(map.computeIfAbsent(18, k -> null), is(nullValue()));
+
+		assertThat(map.keySet(), containsInAnyOrder(-2, -1, 2));
+		expecting(ConcurrentModificationException.class, () -> map.computeIfAbsent(18, k -> map.put(19, "19")));
+	}
+
+	@Test
+	public void entrySet() {
+		Set<Entry<Integer, String>> entries = map.entrySet();
+		assertThat(entries.contains(new AbstractMap.SimpleEntry<>(2, "2")), is(true));
+		assertThat(entries.remove(new AbstractMap.SimpleEntry<>(2, "x")), is(false));
+
+		for (Entry<Integer, String> entry : entries)
+			entry.setValue(entry.getKey() == 1 ? null : entry.getValue() + "x");
+		assertThat(map.get(-2), is("-2x"));
+		assertThat(map.containsKey(1), is(true));
+		assertThat(map.get(1), is(nullValue()));
+	}
+
+	@Test
+	public void fuzzAgainstHashMap() {
+		Random random = new Random(17);
+		IntObjMap<String> map = new IntObjMap<>();
+		Map<Integer, String> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++) {
+			int key = random.nextBoolean() ? random.nextInt() : random.nextInt(1000);
+			String value = String.valueOf(random.nextInt(10));
+			switch (random.nextInt(4)) {
+				case 0:
+					assertThat(map.remove(key), is(expected.remove(key)));
+					break;
+				case 1:
+					assertThat(map.merge(key, value, (a, b) -> a.length() > 3 ? null : a + b),
+					           is(expected.merge(key, value, (a, b) -> a.length() > 3 ? null : a + b)));
+					break;
+				default:
+					assertThat(map.put(key, value), is(expected.put(key, value)));
+			}
+		}
+		assertThat(map, is(equalTo(expected)));
+		assertThat(map.hashCode(), is(expected.hashCode()));
+
+		map.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+		expected.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+		assertThat(map, is(equalTo(expected)));
+	}
+}
@@ -20,6 +20,10 @@ import org.d2ab.collection.Lists;
 import org.d2ab.iterator.longs.LongIterator;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -388,6 +392,36 @@ public class ArrayLongListTest {
 		assertThat(list.sequence(), containsLongs(1, 2, 3, 4, 5));
 	}
 
+	@Test
+	public void writeToReadFrom() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		list.writeTo(Channels.newChannel(output));
+		empty.writeTo(Channels.newChannel(output));
+
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		ArrayLongList read = ArrayLongList.readFrom(Channels.newChannel(input));
+		assertThat(read, containsLongs(1, 2, 3, 4, 5));
+		assertThat(ArrayLongList.readFrom(Channels.newChannel(input)), is(emptyIterable()));
+
+		read.addLong(6);
+		assertThat(read, containsLongs(1, 2, 3, 4, 5, 6));
+	}
+
+	@Test
+	public void writeDeltasToReadFrom() throws IOException {
+		ArrayLongList ids = ArrayLongList.withCapacity(20000);
+		for (int i = 0; i < 20000; i++)
+			ids.addLong(10000000000L + i * 7);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ids.writeDeltasTo(Channels.newChannel(output));
+		assertThat(output.size(), is(lessThan(20000 * 2)));
+
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		ArrayLongList read = ArrayLongList.readFrom(Channels.newChannel(input));
+		assertThat(read, is(equalTo(ids)));
+	}
+
 	@Test
 	public void lastIndexOfBoxed() {
 		assertThat(empty.lastIndexOf(17L), is(-1));
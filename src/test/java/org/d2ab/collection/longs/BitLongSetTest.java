@@ -640,6 +640,27 @@ public class BitLongSetTest {
 		assertThat(set, is(emptyIterable()));
 	}
 
+	@Test
+	public void bulkOperations() {
+		BitLongSet other = new BitLongSet(Long.MIN_VALUE, -3, -1, 1, 3, 5, Long.MAX_VALUE);
+
+		assertThat(set.intersectionSize(other), is(4));
+		assertThat(set.containsAnyLongs(other), is(true));
+		assertThat(set.containsAllLongs(other), is(false));
+
+		assertThat(set.retainAllLongs(other), is(true));
+		assertThat(set, containsLongs(-3, -1, 1, 3));
+		assertThat(other.containsAllLongs(set), is(true));
+
+		assertThat(set.addAllLongs(other), is(true));
+		assertThat(set.addAllLongs(other), is(false));
+		assertThat(set, containsLongs(Long.MIN_VALUE, -3, -1, 1, 3, 5, Long.MAX_VALUE));
+
+		assertThat(set.removeAllLongs(new BitLongSet(Long.MIN_VALUE, -1, 5)), is(true));
+		assertThat(set, containsLongs(-3, 1, 3, Long.MAX_VALUE));
+		assertThat(set.containsAnyLongs(new BitLongSet(Long.MIN_VALUE, -1, 5)), is(false));
+	}
+
 	@Test
 	public void fuzz() {
 		long[] randomValues = new long[1000];
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.collection.longs;
+
+import org.d2ab.iterator.longs.LongIterator;
+import org.junit.Test;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static org.d2ab.test.Tests.expecting;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class LongHashSetTest {
+	private final LongHashSet empty = new LongHashSet();
+	private final LongHashSet set = new LongHashSet(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4);
+
+	@Test
+	public void size() {
+		assertThat(empty.size(), is(0));
+		assertThat(set.size(), is(10));
+	}
+
+	@Test
+	public void iterator() {
+		assertThat(empty, is(emptyIterable()));
+		assertThat(set, containsInAnyOrder(-5L, -4L, -3L, -2L, -1L, 0L, 1L, 2L, 3L, 4L));
+	}
+
+	@Test
+	public void iteratorFailFast() {
+		LongIterator it1 = set.iterator();
+		set.addLong(17);
+		expecting(ConcurrentModificationException.class, it1::nextLong);
+
+		LongIterator it2 = set.iterator();
+		set.removeLong(17);
+		expecting(ConcurrentModificationException.class, it2::nextLong);
+	}
+
+	@Test
+	public void iteratorRemove() {
+		LongIterator iterator = set.iterator();
+		expecting(IllegalStateException.class, iterator::remove);
+		while (iterator.hasNext())
+			if (iterator.nextLong() % 2 == 0)
+				iterator.remove();
+
+		assertThat(set, containsInAnyOrder(-5L, -3L, -1L, 1L, 3L));
+		assertThat(set.size(), is(5));
+	}
+
+	@Test
+	public void isEmpty() {
+		assertThat(empty.isEmpty(), is(true));
+		assertThat(set.isEmpty(), is(false));
+	}
+
+	@Test
+	public void clear() {
+		empty.clear();
+		assertThat(empty.isEmpty(), is(true));
+
+		set.clear();
+		assertThat(set.isEmpty(), is(true));
+		assertThat(set, is(emptyIterable()));
+	}
+
+	@Test
+	public void addLong() {
+		assertThat(empty.addLong(17), is(true));
+		assertThat(empty.addLong(17), is(false));
+		assertThat(empty, containsInAnyOrder(17L));
+
+		assertThat(set.addLong(17), is(true));
+		assertThat(set.addLong(0), is(false));
+		assertThat(set, containsInAnyOrder(-5L, -4L, -3L, -2L, -1L, 0L, 1L, 2L, 3L, 4L, 17L));
+	}
+
+	@Test
+	public void containsLong() {
+		assertThat(empty.containsLong(17), is(false));
+		assertThat(empty.containsLong(0), is(false));
+
+		assertThat(set.containsLong(17), is(false));
+		for (long x = -5; x <= 4; x++)
+			assertThat(set.containsLong(x), is(true));
+	}
+
+	@Test
+	public void removeLong() {
+		assertThat(empty.removeLong(17), is(false));
+
+		assertThat(set.removeLong(17), is(false));
+		for (long x = -5; x <= 4; x++)
+			assertThat(set.removeLong(x), is(true));
+		assertThat(set.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testEqualsHashCodeAgainstSet() {
+		Set<Long> set2 = new HashSet<>(asList(-5L, -4L, -3L, -2L, -1L, 0L, 1L, 2L, 3L, 4L, 17L));
+		assertThat(set, is(not(equalTo(set2))));
+		assertThat(set.hashCode(), is(not(set2.hashCode())));
+
+		set2.remove(17L);
+
+		assertThat(set, is(equalTo(set2)));
+		assertThat(set.hashCode(), is(set2.hashCode()));
+	}
+
+	@Test
+	public void testEqualsHashCodeAgainstLongSet() {
+		LongSet set2 = new BitLongSet(-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 17);
+		assertThat(set, is(not(equalTo(set2))));
+		assertThat(set.hashCode(), is(not(set2.hashCode())));
+
+		set2.removeLong(17);
+
+		assertThat(set, is(equalTo(set2)));
+		assertThat(set.hashCode(), is(set2.hashCode()));
+	}
+
+	@Test
+	public void fuzzAgainstHashSet() {
+		Random random = new Random(17);
+		LongHashSet set = new LongHashSet();
+		Set<Long> expected = new HashSet<>();
+		for (int i = 0; i < 100_000; i++) {
+			long x = random.nextBoolean() ? random.nextLong() : random.nextInt(1000);
+			if (random.nextInt(3) == 0)
+				assertThat(set.removeLong(x), is(expected.remove(x)));
+			else
+				assertThat(set.addLong(x), is(expected.add(x)));
+		}
+		assertThat(set.size(), is(expected.size()));
+		assertThat(set, is(equalTo(expected)));
+
+		for (LongIterator iterator = set.iterator(); iterator.hasNext(); ) {
+			long x = iterator.nextLong();
+			if (random.nextBoolean()) {
+				iterator.remove();
+				expected.remove(x);
+			}
+		}
+		assertThat(set.size(), is(expected.size()));
+		assertThat(set, is(equalTo(expected)));
+
+		List<Long> iterated = new ArrayList<>();
+		set.iterator().forEachRemaining((Long x) -> iterated.add(x));
+		assertThat(iterated.size(), is(expected.size()));
+
+		for (LongIterator iterator = set.iterator(); iterator.hasNext(); ) {
+			iterator.nextLong();
+			iterator.remove();
+		}
+		assertThat(set.isEmpty(), is(true));
+		assertThat(set, is(emptyIterable()));
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.collection.longs;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class LongLongMapTest {
+	private final LongLongMap map = new LongLongMap();
+
+	{
+		for (long i = -2; i <= 2; i++)
+			map.put(i, i * 10);
+	}
+
+	@Test
+	public void getPutRemove() {
+		assertThat(map.get(0L), is(0L));
+		assertThat(map.get(17L), is(0L));
+		assertThat(map.get((Object) (-2L)), is(-20L));
+		assertThat(map.get((Object) 17L), is(nullValue()));
+		assertThat(map.get((Object) 2), is(nullValue()));
+		assertThat(map.getOrDefault(17L, -1L), is(-1L));
+
+		assertThat(map.put(0L, 1L), is(0L));
+		assertThat(map.put((Long) 17L, (Long) 170L), is(nullValue()));
+		assertThat(map.merge(17L, 1L, Long::sum), is(171L));
+		assertThat(map.remove(0L), is(1L));
+		assertThat(map.remove((Object) 17L), is(171L));
+		assertThat(map.remove((Object) 2), is(nullValue()));
+		assertThat(map.keySet(), containsInAnyOrder(-2L, -1L, 1L, 2L));
+	}
+
+	@Test
+	public void keysDifferingInHighBits() {
+		LongLongMap map = new LongLongMap();
+		for (long i = 1; i <= 1000; i++)
+			map.put(i << 32, i);
+		map.put(Long.MIN_VALUE, -1L);
+		map.put(Long.MAX_VALUE, 1L);
+
+		assertThat(map.size(), is(1002));
+		for (long i = 1; i <= 1000; i++)
+			assertThat(map.get(i << 32), is(i));
+		assertThat(map.get(Long.MIN_VALUE), is(-1L));
+		assertThat(map.get(Long.MAX_VALUE), is(1L));
+		assertThat(map.containsKey(1L), is(false));
+	}
+
+	@Test
+	public void entrySet() {
+		Set<Entry<Long, Long>> entries = map.entrySet();
+		assertThat(entries.contains(new AbstractMap.SimpleEntry<>(2L, 20L)), is(true));
+		assertThat(entries.remove(new AbstractMap.SimpleEntry<>(2L, 20L)), is(true));
+		assertThat(map.containsKey(2L), is(false));
+
+		for (Entry<Long, Long> entry : entries)
+			entry.setValue(entry.getValue() + 1);
+		assertThat(map.get(-2L), is(-19L));
+		assertThat(map.get(0L), is(1L));
+	}
+
+	@Test
+	public void fuzzAgainstHashMap() {
+		Random random = new Random(17);
+		LongLongMap map = new LongLongMap();
+		Map<Long, Long> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++) {
+			long key = random.nextBoolean() ? random.nextLong() : (long) random.nextInt(1000) << 40;
+			long value = random.nextLong();
+			switch (random.nextInt(4)) {
+				case 0:
+					assertThat(map.remove((Object) key), is(expected.remove(key)));
+					break;
+				case 1:
+					assertThat(map.merge(key, value, Long::sum), is(expected.merge(key, value, Long::sum)));
+					break;
+				default:
+					assertThat(map.put((Long) key, (Long) value), is(expected.put(key, value)));
+			}
+		}
+		assertThat(map, is(equalTo(expected)));
+		assertThat(map.hashCode(), is(expected.hashCode()));
+
+		map.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+		expected.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+		assertThat(map, is(equalTo(expected)));
+	}
+}
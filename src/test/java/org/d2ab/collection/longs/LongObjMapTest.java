@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.d2ab.collection.longs;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class LongObjMapTest {
+	private final LongObjMap<String> map = new LongObjMap<>();
+
+	{
+		for (long i = -2; i <= 2; i++)
+			map.put(i, String.valueOf(i));
+	}
+
+	@Test
+	public void getPutRemove() {
+		assertThat(map.get(0L), is("0"));
+		assertThat(map.get((Object) (-2L)), is("-2"));
+		assertThat(map.get((Object) 2), is(nullValue()));
+
+		assertThat(map.put(0L, "a"), is("0"));
+		assertThat(map.put((Long) 17L, "b"), is(nullValue()));
+		assertThat(map.remove(0L), is("a"));
+		assertThat(map.remove((Object) 17L), is("b"));
+		assertThat(map.remove((Object) 2), is(nullValue()));
+		assertThat(map.keySet(), containsInAnyOrder(-2L, -1L, 1L, 2L));
+	}
+
+	@Test
+	public void nullValues() {
+		assertThat(map.put(1L << 32, null), is(nullValue()));
+		assertThat(map.put(0L, null), is("0"));
+
+		assertThat(map.containsKey(1L << 32), is(true));
+		assertThat(map.containsKey(0L), is(true));
+		assertThat(map.containsValue(null), is(true));
+		assertThat(map.computeIfAbsent(1L << 32, k -> "x"), is("x"));
+		assertThat(map.merge(1L, "x", (a, b) -> null), is(nullValue()));
+		assertThat(map.keySet(), containsInAnyOrder(-2L, -1L, 0L, 2L, 1L << 32));
+	}
+
+	@Test
+	public void keysDifferingInHighBits() {
+		LongObjMap<Long> map = new LongObjMap<>();
+		for (long i = 1; i <= 1000; i++)
+			map.put(i << 32, (Long) i);
+
+		assertThat(map.size(), is(1000));
+		for (long i = 1; i <= 1000; i++)
+			assertThat(map.get(i << 32), is(i));
+		assertThat(map.containsKey(1L), is(false));
+	}
+
+	@Test
+	public void fuzzAgainstHashMap() {
+		Random random = new Random(17);
+		LongObjMap<String> map = new LongObjMap<>();
+		Map<Long, String> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++) {
+			long key = random.nextBoolean() ? random.nextLong() : (long) random.nextInt(1000) << 40;
+			String value = String.valueOf(random.nextInt(10));
+			switch (random.nextInt(4)) {
+				case 0:
+					assertThat(map.remove(key), is(expected.remove(key)));
+					break;
+				case 1:
+					assertThat(map.merge(key, value, (a, b) -> a.length() > 3 ? null : a + b),
+					           is(expected.merge(key, value, (a, b) -> a.length() > 3 ? null : a + b)));
+					break;
+				default:
+					assertThat(map.put(key, value), is(expected.put(key, value)));
+			}
+		}
+		assertThat(map, is(equalTo(expected)));
+		assertThat(map.hashCode(), is(expected.hashCode()));
+
+		map.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+		expected.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+		assertThat(map, is(equalTo(expected)));
+	}
+}
@@ -19,8 +19,7 @@ package org.d2ab.iterator;
 import org.d2ab.collection.Iterables;
 import org.junit.Test;
 
-import java.util.Iterator;
-import java.util.NoSuchElementException;
+import java.util.*;
 
 import static org.d2ab.test.Tests.expecting;
 import static org.hamcrest.Matchers.*;
@@ -92,4 +91,70 @@ public class IteratorsTest {
 	public void toList() {
 		assertThat(Iterators.toList(iterator), contains(1, 2, 3, 4, 5));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void reduce() {
+		assertThat(Iterators.reduce(Iterators.<Integer>empty(), Integer::sum), is(Optional.empty()));
+		assertThat(Iterators.reduce(iterator, Integer::sum), is(Optional.of(15)));
+		assertThat(Iterators.reduce(Iterators.of("a", "b", "c"), "", String::concat), is("abc"));
+	}
+
+	@Test
+	public void forEachRemainingThroughDelegatingIterators() {
+		List<Integer> peeked = new ArrayList<>();
+		Iterator<Integer> chain = new PeekingIterator<>(
+				new MappingIterator<>(
+						new LimitingIterator<>(
+								new SkippingIterator<>(
+										new FilteringIterator<>(new ArrayIterator<>(1, 2, 3, 4, 5, 6, 7, 8, 9, 10),
+										                        x -> x % 2 == 1), 1), 3), x -> x * 10), peeked::add);
+		assertThat(chain.next(), is(30));
+
+		List<Integer> remaining = new ArrayList<>();
+		chain.forEachRemaining(remaining::add);
+		assertThat(remaining, contains(50, 70));
+		assertThat(peeked, contains(30, 50, 70));
+		assertThat(chain.hasNext(), is(false));
+	}
+
+	@Test
+	public void forEachWhileThroughDelegatingIterators() {
+		List<Integer> peeked = new ArrayList<>();
+		Iterator<Integer> chain = new PeekingIterator<>(
+				new MappingIterator<>(
+						new LimitingIterator<>(
+								new SkippingIterator<>(
+										new FilteringIterator<>(new ArrayIterator<>(1, 2, 3, 4, 5, 6, 7, 8, 9, 10),
+										                        x -> x % 2 == 1), 1), 3), x -> x * 10), peeked::add);
+		assertThat(chain.hasNext(), is(true));
+
+		List<Integer> seen = new ArrayList<>();
+		assertThat(Iterators.forEachWhile(chain, x -> seen.add(x) && x < 50), is(false));
+		assertThat(seen, contains(30, 50));
+		assertThat(peeked, contains(30, 50));
+
+		assertThat(chain.next(), is(70));
+		assertThat(Iterators.forEachWhile(chain, x -> false), is(true));
+		assertThat(chain.hasNext(), is(false));
+	}
+
+	@Test
+	public void forEachWhilePlainIterator() {
+		Iterator<Integer> plain = Arrays.asList(1, 2, 3, 4, 5).iterator();
+
+		List<Integer> seen = new ArrayList<>();
+		assertThat(Iterators.forEachWhile(plain, x -> seen.add(x) && x < 3), is(false));
+		assertThat(seen, contains(1, 2, 3));
+		assertThat(plain.next(), is(4));
+
+		assertThat(Iterators.forEachWhile(plain, seen::add), is(true));
+		assertThat(seen, contains(1, 2, 3, 5));
+	}
+
+	@Test
+	public void first() {
+		assertThat(Iterators.first(Iterators.empty()), is(Optional.empty()));
+		assertThat(Iterators.first(iterator), is(Optional.of(1)));
+		assertThat(iterator.next(), is(2));
+	}
+}
@@ -3,12 +3,14 @@ package org.d2ab.iterator.chars;
 import org.d2ab.function.CharConsumer;
 import org.junit.Test;
 
+import java.io.StringReader;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.d2ab.test.Tests.expecting;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -74,4 +76,44 @@ public class CharIteratorTest {
 					return Integer.MAX_VALUE + 1L;
 				}));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void nextChars() {
+		char[] array = new char[7];
+		assertThat(empty.nextChars(array, 0, 7), is(0));
+
+		assertThat(iterator.nextChar(), is('a'));
+		assertThat(iterator.nextChars(array, 1, 2), is(2));
+		assertArrayEquals(new char[]{'\0', 'b', 'c', '\0', '\0', '\0', '\0'}, array);
+
+		assertThat(iterator.nextChars(array, 3, 4), is(2));
+		assertArrayEquals(new char[]{'\0', 'b', 'c', 'd', 'e', '\0', '\0'}, array);
+		assertThat(iterator.hasNext(), is(false));
+		assertThat(iterator.nextChars(array, 0, 7), is(0));
+	}
+
+	@Test
+	public void nextCharsFromCharSequence() {
+		for (CharSequence csq : new CharSequence[]{"abcde", new StringBuilder("abcde")}) {
+			CharIterator iterator = new CharSequenceCharIterator(csq);
+			assertThat(iterator.nextChar(), is('a'));
+
+			char[] array = new char[5];
+			assertThat(iterator.nextChars(array, 1, 5), is(4));
+			assertArrayEquals(new char[]{'\0', 'b', 'c', 'd', 'e'}, array);
+			assertThat(iterator.hasNext(), is(false));
+		}
+	}
+
+	@Test
+	public void nextCharsFromReader() {
+		CharIterator iterator = new ReaderCharIterator(new StringReader("abcdefg"), 3);
+		assertThat(iterator.nextChar(), is('a'));
+
+		char[] array = new char[7];
+		assertThat(iterator.nextChars(array, 0, 5), is(5));
+		assertThat(iterator.nextChars(array, 5, 2), is(1));
+		assertArrayEquals(new char[]{'b', 'c', 'd', 'e', 'f', 'g', '\0'}, array);
+		assertThat(iterator.hasNext(), is(false));
+	}
+}
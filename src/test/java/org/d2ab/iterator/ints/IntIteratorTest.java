@@ -1,14 +1,17 @@
 package org.d2ab.iterator.ints;
 
+import org.d2ab.collection.ints.IntList;
 import org.junit.Test;
 
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntConsumer;
 
+import static org.d2ab.test.IsIntIterableContainingInOrder.containsInts;
 import static org.d2ab.test.Tests.expecting;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -55,6 +58,141 @@ public class IntIteratorTest {
 		assertThat(i.get(), is(5));
 	}
 
+	@Test
+	public void forEachRemainingAfterNext() {
+		assertThat(iterator.nextInt(), is(1));
+
+		IntList remaining = IntList.create();
+		iterator.forEachRemaining((IntConsumer) remaining::addInt);
+		assertThat(remaining, containsInts(2, 3, 4, 5));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void nextInts() {
+		int[] array = new int[7];
+		assertThat(empty.nextInts(array, 0, 7), is(0));
+
+		assertThat(iterator.nextInt(), is(1));
+		assertThat(iterator.nextInts(array, 1, 2), is(2));
+		assertArrayEquals(new int[]{0, 2, 3, 0, 0, 0, 0}, array);
+
+		assertThat(iterator.nextInts(array, 3, 4), is(2));
+		assertArrayEquals(new int[]{0, 2, 3, 4, 5, 0, 0}, array);
+		assertThat(iterator.hasNext(), is(false));
+		assertThat(iterator.nextInts(array, 0, 7), is(0));
+	}
+
+	@Test
+	public void nextIntsFromOffset() {
+		IntIterator iterator = IntIterator.from(new int[]{1, 2, 3, 4, 5}, 1, 3);
+
+		int[] array = new int[5];
+		assertThat(iterator.nextInts(array, 0, 5), is(3));
+		assertArrayEquals(new int[]{2, 3, 4, 0, 0}, array);
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void nextIntsFiltering() {
+		IntIterator filtering = new FilteringIntIterator(IntIterator.of(1, 2, 3, 4, 5, 6), x -> x % 2 == 0);
+
+		int[] array = new int[4];
+		assertThat(filtering.nextInts(array, 0, 2), is(2));
+		assertThat(filtering.nextInts(array, 2, 2), is(1));
+		assertArrayEquals(new int[]{2, 4, 6, 0}, array);
+		assertThat(filtering.hasNext(), is(false));
+	}
+
+	@Test
+	public void forEachRemainingFiltering() {
+		IntIterator filtering = new FilteringIntIterator(IntIterator.of(1, 2, 3, 4, 5, 6), x -> x % 2 == 0);
+		assertThat(filtering.hasNext(), is(true));
+
+		IntList remaining = IntList.create();
+		filtering.forEachRemaining((IntConsumer) remaining::addInt);
+		assertThat(remaining, containsInts(2, 4, 6));
+		assertThat(filtering.hasNext(), is(false));
+	}
+
+	@Test
+	public void forEachRemainingSkipping() {
+		IntIterator skipping = new SkippingIntIterator(IntIterator.of(1, 2, 3, 4, 5), 2);
+
+		IntList remaining = IntList.create();
+		skipping.forEachRemaining((IntConsumer) remaining::addInt);
+		assertThat(remaining, containsInts(3, 4, 5));
+		assertThat(skipping.hasNext(), is(false));
+	}
+
+	@Test
+	public void forEachRemainingLimiting() {
+		IntIterator source = IntIterator.of(1, 2, 3, 4, 5);
+		IntIterator limiting = new LimitingIntIterator(source, 3);
+		assertThat(limiting.nextInt(), is(1));
+
+		IntList remaining = IntList.create();
+		limiting.forEachRemaining((IntConsumer) remaining::addInt);
+		assertThat(remaining, containsInts(2, 3));
+		assertThat(limiting.hasNext(), is(false));
+		assertThat(source.nextInt(), is(4));
+	}
+
+	@Test
+	public void forEachWhile() {
+		IntList seen = IntList.create();
+		assertThat(iterator.forEachWhile(x -> seen.addInt(x) && x < 3), is(false));
+		assertThat(seen, containsInts(1, 2, 3));
+		assertThat(iterator.nextInt(), is(4));
+
+		assertThat(iterator.forEachWhile(seen::addInt), is(true));
+		assertThat(seen, containsInts(1, 2, 3, 5));
+		assertThat(empty.forEachWhile(x -> false), is(true));
+	}
+
+	@Test
+	public void forEachWhileFiltering() {
+		IntIterator filtering = new FilteringIntIterator(IntIterator.of(1, 2, 3, 4, 5, 6), x -> x % 2 == 0);
+		assertThat(filtering.hasNext(), is(true));
+
+		IntList seen = IntList.create();
+		assertThat(filtering.forEachWhile(x -> seen.addInt(x) && x < 4), is(false));
+		assertThat(seen, containsInts(2, 4));
+		assertThat(filtering.nextInt(), is(6));
+		assertThat(filtering.hasNext(), is(false));
+	}
+
+	@Test
+	public void forEachWhileSkipping() {
+		IntIterator skipping = new SkippingIntIterator(IntIterator.of(1, 2, 3, 4, 5), 2);
+
+		IntList seen = IntList.create();
+		assertThat(skipping.forEachWhile(x -> seen.addInt(x) && x < 4), is(false));
+		assertThat(seen, containsInts(3, 4));
+		assertThat(skipping.nextInt(), is(5));
+	}
+
+	@Test
+	public void forEachWhileLimiting() {
+		IntIterator source = IntIterator.of(1, 2, 3, 4, 5);
+		IntIterator limiting = new LimitingIntIterator(source, 3);
+
+		IntList seen = IntList.create();
+		assertThat(limiting.forEachWhile(x -> seen.addInt(x) && x < 2), is(false));
+		assertThat(seen, containsInts(1, 2));
+
+		assertThat(limiting.forEachWhile(seen::addInt), is(true));
+		assertThat(seen, containsInts(1, 2, 3));
+		assertThat(limiting.hasNext(), is(false));
+		assertThat(source.nextInt(), is(4));
+	}
+
+	@Test
+	public void reduce() {
+		assertThat(empty.reduce(17, Integer::sum), is(17));
+		assertThat(iterator.reduce(0, Integer::sum), is(15));
+	}
+
 	@Test
 	public void size() {
 		assertThat(empty.size(), is(0));
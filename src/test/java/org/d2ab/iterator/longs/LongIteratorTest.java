@@ -46,6 +46,19 @@ public class LongIteratorTest {
 		assertThat(iterator.nextLong(), is(2L));
 	}
 
+	@Test
+	public void nextLongs() {
+		long[] buffer = new long[3];
+		assertThat(empty.nextLongs(buffer), is(0));
+
+		assertThat(iterator.nextLongs(buffer), is(3));
+		assertThat(buffer, is(new long[]{1, 2, 3}));
+		assertThat(iterator.nextLongs(buffer), is(2));
+		assertThat(buffer[0], is(4L));
+		assertThat(buffer[1], is(5L));
+		assertThat(iterator.nextLongs(buffer), is(0));
+	}
+
 	@Test
 	public void forEachRemainingLongConsumer() {
 		empty.forEachRemaining((LongConsumer) x -> fail("should not get called"));
@@ -18,18 +18,29 @@ package org.d2ab.sequence;
 
 import org.d2ab.collection.Iterables;
 import org.d2ab.collection.chars.*;
+import org.d2ab.collection.ints.IntIntMap;
 import org.d2ab.collection.ints.IntList;
 import org.d2ab.function.CharBinaryOperator;
 import org.d2ab.iterator.Iterators;
 import org.d2ab.iterator.chars.CharIterator;
+import org.d2ab.iterator.chars.DecodingCharIterator;
 import org.d2ab.iterator.chars.DelegatingTransformingCharIterator;
+import org.d2ab.iterator.chars.RecordSplittingIterator;
 import org.d2ab.iterator.ints.IntIterator;
 import org.d2ab.util.OptionalChar;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
@@ -44,6 +55,9 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
 public class CharSeqTest {
+	@Rule
+	public final TemporaryFolder tempDir = new TemporaryFolder();
+
 	private final CharSeq empty = CharSeq.empty();
 
 	private final CharSeq a = CharSeq.from(CharList.create('a'));
@@ -201,6 +215,159 @@ public class CharSeqTest {
 		assertThat(seq, containsChars('a', 'b', 'c', 'd', 'e'));
 	}
 
+	@Test
+	public void mapped() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, "abcde".getBytes(StandardCharsets.UTF_8));
+
+		CharSeq seq = CharSeq.mapped(file, StandardCharsets.UTF_8);
+		twice(() -> assertThat(seq, containsChars('a', 'b', 'c', 'd', 'e')));
+
+		Path empty = tempDir.newFile().toPath();
+		CharSeq emptySeq = CharSeq.mapped(empty, StandardCharsets.UTF_8);
+		twice(() -> assertThat(emptySeq, is(emptyIterable())));
+		expecting(NoSuchElementException.class, () -> emptySeq.iterator().nextChar());
+	}
+
+	@Test
+	public void mappedMultiByteInSegments() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 2_000; i++)
+			text.append("a\u00e5\u20ac\ud83d\ude00").append(i);
+
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+
+		CharSeq seq = CharSeq.mapped(file, StandardCharsets.UTF_8);
+		twice(() -> assertThat(seq.asString(), is(text.toString())));
+
+		MappedFile segmented = MappedFile.map(file, ByteOrder.BIG_ENDIAN, 5);
+		CharSeq segmentedSeq = () -> new DecodingCharIterator(segmented::slice, segmented.size(),
+		                                                      StandardCharsets.UTF_8, 7);
+		twice(() -> assertThat(segmentedSeq.asString(), is(text.toString())));
+	}
+
+	@Test
+	public void mappedMalformed() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, new byte[]{'a', (byte) 0xff, 'b', (byte) 0xe2, (byte) 0x82});
+
+		CharSeq seq = CharSeq.mapped(file, StandardCharsets.UTF_8);
+		twice(() -> assertThat(seq, containsChars('a', '\ufffd', 'b', '\ufffd')));
+	}
+
+	@Test
+	public void lines() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, "foo\nbar\r\n\r\nbaz\rqux\n".getBytes(StandardCharsets.UTF_8));
+
+		Sequence<String> lines = CharSeq.lines(file, StandardCharsets.UTF_8).map(CharSequence::toString);
+		twice(() -> assertThat(lines, contains("foo", "bar", "", "baz", "qux")));
+	}
+
+	@Test
+	public void linesWithoutTrailingTerminator() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, "foo\n\nbar\r".getBytes(StandardCharsets.UTF_8));
+
+		Sequence<String> lines = CharSeq.lines(file, StandardCharsets.UTF_8).map(CharSequence::toString);
+		twice(() -> assertThat(lines, contains("foo", "", "bar")));
+	}
+
+	@Test
+	public void linesEmpty() throws IOException {
+		Path file = tempDir.newFile().toPath();
+
+		Sequence<CharSequence> lines = CharSeq.lines(file, StandardCharsets.UTF_8);
+		twice(() -> assertThat(lines, is(emptyIterable())));
+	}
+
+	@Test
+	public void linesReuseView() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, "foo\nbarbaz\n".getBytes(StandardCharsets.UTF_8));
+
+		Iterator<CharSequence> iterator = CharSeq.lines(file, StandardCharsets.UTF_8).iterator();
+		CharSequence first = iterator.next();
+		assertThat(first.toString(), is("foo"));
+		assertThat(first.length(), is(3));
+
+		CharSequence second = iterator.next();
+		assertThat(second.toString(), is("barbaz"));
+		assertThat(second.subSequence(1, 4).toString(), is("arb"));
+		assertThat(second.charAt(5), is('z'));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void linesUtf16() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, "f\u00f6o\r\n\u20acbar\rbaz\n".getBytes(StandardCharsets.UTF_16LE));
+
+		Sequence<String> lines = CharSeq.lines(file, StandardCharsets.UTF_16LE).map(CharSequence::toString);
+		twice(() -> assertThat(lines, contains("f\u00f6o", "\u20acbar", "baz")));
+	}
+
+	@Test
+	public void linesMultiByteInSegments() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		String long1 = "\u20ac" + CharSeq.from("abcdefghij").repeat(5).asString() + "\u00e5";
+		String long2 = CharSeq.from("\u00e6\u00f8\u00e5").repeat(9).asString();
+		Files.write(file, ("a\r\n" + long1 + "\r\n\n" + long2 + "\r").getBytes(StandardCharsets.UTF_8));
+
+		MappedFile mapped = MappedFile.map(file, ByteOrder.BIG_ENDIAN, 5);
+		Sequence<CharSequence> lines = () -> new RecordSplittingIterator(mapped::slice, mapped.size(),
+		                                                                 StandardCharsets.UTF_8);
+		twice(() -> assertThat(lines.map(CharSequence::toString), contains("a", long1, "", long2)));
+	}
+
+	@Test
+	public void linesSliceOncePerSegment() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, CharSeq.from("ab\r\n").repeat(200).asString().getBytes(StandardCharsets.UTF_8));
+
+		MappedFile mapped = MappedFile.map(file, ByteOrder.BIG_ENDIAN, 5);
+		AtomicInteger slices = new AtomicInteger();
+		Sequence<CharSequence> lines = () -> new RecordSplittingIterator(offset -> {
+			slices.incrementAndGet();
+			return mapped.slice(offset);
+		}, mapped.size(), StandardCharsets.UTF_8);
+
+		assertThat(lines.size(), is(200));
+		assertThat(slices.get(), is(25));
+	}
+
+	@Test
+	public void records() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, "foo,,b\u00e4r,\nbaz,".getBytes(StandardCharsets.UTF_8));
+
+		Sequence<String> records = CharSeq.records(file, StandardCharsets.UTF_8, ',').map(CharSequence::toString);
+		twice(() -> assertThat(records, contains("foo", "", "b\u00e4r", "\nbaz")));
+	}
+
+	@Test
+	public void recordsUtf16() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, "foo;\u20ac;;bar".getBytes(StandardCharsets.UTF_16BE));
+
+		Sequence<String> records = CharSeq.records(file, StandardCharsets.UTF_16BE, ';').map(CharSequence::toString);
+		twice(() -> assertThat(records, contains("foo", "\u20ac", "", "bar")));
+	}
+
+	@Test
+	public void readFrom() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			CharSeq.from("ab\u20acde").writeTo(channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			CharSeq read = CharSeq.readFrom(channel);
+			twice(() -> assertThat(read, containsChars('a', 'b', '\u20ac', 'd', 'e')));
+		}
+	}
+
 	@Test
 	public void cachePrimitiveIteratorOfInt() {
 		CharSeq cached = CharSeq.cache(IntIterator.of('a', 'b', 'c', 'd', 'e'));
@@ -818,6 +985,25 @@ public class CharSeqTest {
 		});
 	}
 
+	@Test
+	public void countBy() {
+		twice(() -> assertThat(empty.countBy(c -> c).isEmpty(), is(true)));
+		twice(() -> {
+			IntIntMap counts = CharSeq.from("hello world").countBy(c -> c);
+			assertThat(counts.size(), is(8));
+			assertThat(counts.get('l'), is(3));
+			assertThat(counts.get('o'), is(2));
+			assertThat(counts.get('h'), is(1));
+			assertThat(counts.get('x'), is(0));
+		});
+		twice(() -> {
+			IntIntMap counts = CharSeq.from("Hello World").countBy(Character::getType);
+			assertThat(counts.get(Character.UPPERCASE_LETTER), is(2));
+			assertThat(counts.get(Character.LOWERCASE_LETTER), is(8));
+			assertThat(counts.get(Character.SPACE_SEPARATOR), is(1));
+		});
+	}
+
 	@Test
 	public void toSetWithType() {
 		twice(() -> {
@@ -1214,6 +1400,25 @@ public class CharSeqTest {
 		           is(emptyIterable()));
 	}
 
+	@Test
+	public void intSpliterator() {
+		twice(() -> {
+			Spliterator.OfInt spliterator = abcde.intSpliterator();
+			assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+			assertThat(spliterator.estimateSize(), is(5L));
+
+			Spliterator.OfInt prefix = spliterator.trySplit();
+			assertThat(prefix.estimateSize(), is(2L));
+			assertThat(spliterator.estimateSize(), is(3L));
+		});
+	}
+
+	@Test
+	public void parallelIntStream() {
+		twice(() -> assertThat(CharSeq.range('a', 'z').parallelIntStream().count(), is(26L)));
+		twice(() -> assertThat(CharSeq.from("abcde").parallelIntStream().sum(), is(495)));
+	}
+
 	@Test
 	public void prefix() {
 		CharSeq emptyPrefixed = empty.prefix('[');
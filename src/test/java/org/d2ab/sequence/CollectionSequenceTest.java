@@ -5,9 +5,12 @@ import org.junit.Test;
 
 import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.TreeSet;
 
 import static java.util.Arrays.asList;
 import static org.d2ab.test.Tests.expecting;
+import static org.d2ab.test.Tests.removeFirst;
 import static org.d2ab.test.Tests.twice;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
@@ -53,6 +56,29 @@ public class CollectionSequenceTest {
 		twice(() -> assertThat(sequence, contains(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12)));
 	}
 
+	@Test
+	public void reverse() {
+		twice(() -> assertThat(empty.reverse(), is(emptyIterable())));
+		twice(() -> assertThat(sequence.reverse(), contains(5, 4, 3, 2, 1)));
+		expecting(UnsupportedOperationException.class, () -> removeFirst(sequence.reverse()));
+
+		Sequence<Integer> set = CollectionSequence.from(new TreeSet<>(asList(3, 1, 2)));
+		twice(() -> assertThat(set.reverse(), contains(3, 2, 1)));
+	}
+
+	@Test
+	public void sortedSortedSet() {
+		Sequence<Integer> set = CollectionSequence.from(new TreeSet<>(asList(3, 1, 2)));
+		twice(() -> assertThat(set.sorted(), contains(1, 2, 3)));
+		twice(() -> assertThat(set.sorted(Comparator.reverseOrder()), contains(3, 2, 1)));
+		expecting(UnsupportedOperationException.class, () -> removeFirst(set.sorted()));
+
+		Sequence<Integer> reverseSet = CollectionSequence.from(new TreeSet<Integer>(Comparator.reverseOrder()));
+		reverseSet.addAll(asList(1, 3, 2));
+		twice(() -> assertThat(reverseSet.sorted(), contains(1, 2, 3)));
+		twice(() -> assertThat(reverseSet.sorted(Comparator.reverseOrder()), contains(3, 2, 1)));
+	}
+
 	@Test
 	public void add() {
 		assertThat(empty.add(17), is(true));
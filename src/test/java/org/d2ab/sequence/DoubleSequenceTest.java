@@ -21,8 +21,17 @@ import org.d2ab.collection.doubles.*;
 import org.d2ab.iterator.Iterators;
 import org.d2ab.iterator.doubles.DelegatingTransformingDoubleIterator;
 import org.d2ab.iterator.doubles.DoubleIterator;
+import org.junit.Rule;
 import org.junit.Test;
-
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.DoubleBinaryOperator;
@@ -40,6 +49,9 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
 public class DoubleSequenceTest {
+	@Rule
+	public final TemporaryFolder tempDir = new TemporaryFolder();
+
 	private final DoubleSequence empty = DoubleSequence.empty();
 
 	private final DoubleSequence _1 = DoubleSequence.from(DoubleList.create(1.0));
@@ -66,6 +78,73 @@ public class DoubleSequenceTest {
 		twice(() -> assertThat(_12345, containsDoubles(1.0, 2.0, 3.0, 4.0, 5.0)));
 	}
 
+	@Test
+	public void mapped() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		ByteBuffer bytes = ByteBuffer.allocate(Double.BYTES * 5 + 1).order(ByteOrder.LITTLE_ENDIAN);
+		for (double x : new double[]{1, -2.5, 3, 4e100, -5})
+			bytes.putDouble(x);
+		Files.write(file, bytes.array());
+
+		DoubleSequence littleEndian = DoubleSequence.mapped(file, ByteOrder.LITTLE_ENDIAN);
+		twice(() -> assertThat(littleEndian, containsDoubles(1, -2.5, 3, 4e100, -5)));
+		assertThat(littleEndian.size(), is(5));
+
+		DoubleSequence bigEndian = DoubleSequence.mapped(file, ByteOrder.BIG_ENDIAN);
+		assertThat(bigEndian.size(), is(5));
+		assertThat(bigEndian.iterator().nextDouble(),
+		           is(ByteBuffer.wrap(bytes.array()).order(ByteOrder.BIG_ENDIAN).getDouble(0)));
+
+		Path empty = tempDir.newFile().toPath();
+		DoubleSequence emptyMapped = DoubleSequence.mapped(empty, ByteOrder.LITTLE_ENDIAN);
+		twice(() -> assertThat(emptyMapped, is(emptyIterable())));
+		expecting(NoSuchElementException.class, () -> emptyMapped.iterator().nextDouble());
+	}
+
+	@Test
+	public void mappedInSegments() throws IOException {
+		Random random = new Random(17);
+		double[] values = new double[10_000];
+		ByteBuffer bytes = ByteBuffer.allocate(Double.BYTES * values.length).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < values.length; i++)
+			bytes.putDouble(values[i] = random.nextGaussian());
+
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, bytes.array());
+
+		DoubleSequence mapped = RandomAccessDoubleSequence.from(MappedFile.map(file, ByteOrder.LITTLE_ENDIAN, 6));
+		twice(() -> assertThat(mapped.toDoubleArray(), is(values)));
+		assertThat(mapped.spliterator().trySplit().estimateSize(), is(5_000L));
+		assertThat(mapped.parallelDoubleStream().toArray(), is(values));
+	}
+
+	@Test
+	public void readFrom() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		DoubleSequence cached = DoubleSequence.cache(DoubleSequence.of(1, -2.5, 3, 4e100, -5));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			cached.writeTo(channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			DoubleSequence read = DoubleSequence.readFrom(channel);
+			twice(() -> assertThat(read, containsDoubles(1, -2.5, 3, 4e100, -5)));
+		}
+	}
+
+	@Test
+	public void readFromOnce() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			DoubleSequence.once(DoubleIterator.of(1, -2.5, 3, 4e100, -5)).writeTo(channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			DoubleSequence read = DoubleSequence.readFrom(channel);
+			twice(() -> assertThat(read, containsDoubles(1, -2.5, 3, 4e100, -5)));
+		}
+	}
+
 	@Test
 	public void fromArrayWithSize() {
 		DoubleSequence sequence = DoubleSequence.from(new double[]{1, 2, 3, 4, 5}, 3);
@@ -792,8 +871,8 @@ public class DoubleSequenceTest {
 	public void toSet() {
 		twice(() -> {
 			DoubleSet set = _12345.toSet();
-			assertThat(set, instanceOf(RawDoubleSet.class));
-			assertThat(set, containsDoubles(1, 2, 3, 4, 5));
+			assertThat(set, instanceOf(DoubleHashSet.class));
+			assertThat(set, containsInAnyOrder(1.0, 2.0, 3.0, 4.0, 5.0));
 		});
 	}
 
@@ -1014,6 +1093,24 @@ public class DoubleSequenceTest {
 		twice(() -> assertThat(nineRandom, containsDoubles(6, 1, -7, 1, 2, 17, 5, 4)));
 	}
 
+	@Test
+	public void distinctMatchesLinearScan() {
+		Random random = new Random(17);
+		DoubleSequence readings = DoubleSequence.from(DoubleList.create(random.doubles(5000, 0, 100).toArray()));
+
+		DoubleList expected = DoubleList.create();
+		readings.forEachDouble(x -> {
+			if (!expected.containsDouble(x, 0.01))
+				expected.addDoubleExactly(x);
+		});
+
+		twice(() -> assertThat(readings.distinct(0.01).toList(), is(expected)));
+		double[] distinct = expected.toDoubleArray();
+		twice(() -> assertThat(readings.including(distinct, 0.01).size(), is(5000)));
+		twice(() -> assertThat(readings.excluding(distinct, 0.01), is(emptyIterable())));
+		twice(() -> assertThat(readings.including(distinct, 0).toList(), is(expected)));
+	}
+
 	@Test
 	public void distinctExactly() {
 		DoubleSequence emptyDistinct = empty.distinctExactly();
@@ -1054,6 +1151,95 @@ public class DoubleSequenceTest {
 		twice(() -> assertThat(nineRandom, containsDoubles(6, 6, 1, -7, 1, 2, 17, 5, 4)));
 	}
 
+	@Test
+	public void sortedExternally() {
+		DoubleSequence emptySorted = empty.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(emptySorted, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySorted.iterator().nextDouble());
+
+		DoubleSequence oneSorted = oneRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(oneSorted, containsDoubles(17)));
+
+		DoubleSequence twoSorted = twoRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(twoSorted, containsDoubles(17, 32)));
+
+		DoubleSequence nineSorted = nineRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(nineSorted, containsDoubles(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSorted));
+		twice(() -> assertThat(nineSorted, containsDoubles(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+		twice(() -> assertThat(nineRandom, containsDoubles(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+
+		expecting(IllegalArgumentException.class, () -> nineRandom.sorted(0, tempDir.getRoot().toPath()));
+	}
+
+	@Test
+	public void sortedExternallyLarge() {
+		Random random = new Random(17);
+		double[] values = new double[10_000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextGaussian();
+
+		DoubleSequence sorted = DoubleSequence.of(values).sorted(1000, tempDir.getRoot().toPath());
+		twice(() -> assertThat(sorted.toDoubleArray(), is(DoubleSequence.of(values).sorted().toDoubleArray())));
+
+		DoubleSequence sortedInMemory = DoubleSequence.of(values).sorted(values.length, null);
+		twice(() -> assertThat(sortedInMemory.toDoubleArray(), is(DoubleSequence.of(values).sorted().toDoubleArray())));
+	}
+
+	@Test
+	public void sortedLimit() {
+		DoubleSequence emptySortedLimited = empty.sorted().limit(3);
+		twice(() -> assertThat(emptySortedLimited, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySortedLimited.iterator().nextDouble());
+
+		DoubleSequence nineSortedLimited = nineRandom.sorted().limit(4);
+		twice(() -> assertThat(nineSortedLimited, containsDoubles(-7, 1, 1, 2)));
+
+		DoubleSequence nineSortedLimitedAll = nineRandom.sorted().limit(20);
+		twice(() -> assertThat(nineSortedLimitedAll, containsDoubles(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSortedLimited));
+		twice(() -> assertThat(nineRandom, containsDoubles(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+	}
+
+	@Test
+	public void topK() {
+		DoubleSequence emptyTop = empty.topK(3);
+		twice(() -> assertThat(emptyTop, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptyTop.iterator().nextDouble());
+
+		DoubleSequence nineTop = nineRandom.topK(3);
+		twice(() -> assertThat(nineTop, containsDoubles(17, 6, 6)));
+
+		DoubleSequence nineTopZero = nineRandom.topK(0);
+		twice(() -> assertThat(nineTopZero, emptyIterable()));
+
+		DoubleSequence nineTopAll = nineRandom.topK(20);
+		twice(() -> assertThat(nineTopAll, containsDoubles(17, 6, 6, 5, 4, 2, 1, 1, -7)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineTop));
+		twice(() -> assertThat(nineRandom, containsDoubles(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+	}
+
+	@Test
+	public void bottomK() {
+		DoubleSequence emptyBottom = empty.bottomK(3);
+		twice(() -> assertThat(emptyBottom, emptyIterable()));
+
+		DoubleSequence nineBottom = nineRandom.bottomK(5);
+		twice(() -> assertThat(nineBottom, containsDoubles(-7, 1, 1, 2, 4)));
+
+		Random random = new Random(17);
+		double[] values = new double[10_000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextGaussian();
+
+		double[] expected = Arrays.copyOf(DoubleSequence.of(values).sorted().toDoubleArray(), 100);
+		twice(() -> assertThat(DoubleSequence.of(values).bottomK(100).toDoubleArray(), is(expected)));
+	}
+
 	@Test
 	public void sortedWithUpdates() {
 		List<Double> backing = new ArrayList<>(asList(2.0, 3.0, 1.0));
@@ -1821,6 +2007,100 @@ public class DoubleSequenceTest {
 		                       contains(containsDoubles(1, 2, 3), containsDoubles(5, 6, 7), containsDoubles(9))));
 	}
 
+	@Test
+	public void slidingAggregates() {
+		twice(() -> assertThat(empty.slidingSum(3), is(emptyIterable())));
+		twice(() -> assertThat(empty.slidingMax(3), is(emptyIterable())));
+		twice(() -> assertThat(_12.slidingSum(3), containsDoubles(3)));
+		twice(() -> assertThat(_12345.slidingSum(3), containsDoubles(6, 9, 12)));
+		twice(() -> assertThat(_12345.slidingAverage(2), containsDoubles(1.5, 2.5, 3.5, 4.5)));
+		twice(() -> assertThat(_12345.slidingVariance(1), containsDoubles(0, 0, 0, 0, 0)));
+		twice(() -> assertThat(_12345.slidingMin(3), containsDoubles(1, 2, 3)));
+		twice(() -> assertThat(_12345.slidingMax(3), containsDoubles(3, 4, 5)));
+	}
+
+	@Test
+	public void slidingAggregatesNonFinite() {
+		double inf = Double.POSITIVE_INFINITY;
+		DoubleSequence sequence = DoubleSequence.of(1, 2, inf, 3, 4, 5, 6, 7, 8, 9);
+		twice(() -> assertThat(sequence.slidingSum(4), containsDoubles(inf, inf, inf, 18, 22, 26, 30)));
+		twice(() -> assertThat(sequence.slidingAverage(4), containsDoubles(inf, inf, inf, 4.5, 5.5, 6.5, 7.5)));
+		twice(() -> assertThat(sequence.slidingVariance(4).toList(),
+		                       contains(Double.NaN, Double.NaN, Double.NaN, 1.25, 1.25, 1.25, 1.25)));
+
+		DoubleSequence mixed = DoubleSequence.of(inf, -inf, Double.NaN, 1, 2, 3, 4);
+		twice(() -> assertThat(mixed.slidingSum(2).toList(),
+		                       contains(Double.NaN, Double.NaN, Double.NaN, 3.0, 5.0, 7.0)));
+		twice(() -> assertThat(mixed.slidingSum(3).toList(), contains(Double.NaN, Double.NaN, Double.NaN, 6.0, 9.0)));
+	}
+
+	@Test
+	public void slidingExtremaNaN() {
+		double nan = Double.NaN;
+		twice(() -> assertThat(DoubleSequence.of(nan, 5, 3).slidingMin(3).toList(), contains(nan)));
+		twice(() -> assertThat(DoubleSequence.of(5, nan, 3).slidingMin(3).toList(), contains(nan)));
+		twice(() -> assertThat(DoubleSequence.of(5, 3, nan).slidingMin(3).toList(), contains(nan)));
+		twice(() -> assertThat(DoubleSequence.of(5, nan, 3, 4, 6).slidingMin(2).toList(),
+		                       contains(nan, nan, 3.0, 4.0)));
+		twice(() -> assertThat(DoubleSequence.of(1, 7, nan, 9).slidingMax(3).toList(), contains(nan, nan)));
+		twice(() -> assertThat(DoubleSequence.of(nan, 1, 7, 2, 9).slidingMax(3).toList(), contains(nan, 7.0, 9.0)));
+		twice(() -> assertThat(DoubleSequence.of(1, 7, 2, nan, 9, 3).slidingMax(3).toList(),
+		                       contains(7.0, nan, nan, nan)));
+		twice(() -> assertThat(DoubleSequence.of(nan, nan, 1, 2).slidingMin(2).toList(), contains(nan, nan, 1.0)));
+		twice(() -> assertThat(DoubleSequence.of(0.0, -0.0, 0.0).slidingMin(2).toList(), contains(-0.0, -0.0)));
+		twice(() -> assertThat(DoubleSequence.of(-0.0, 0.0, -0.0).slidingMax(2).toList(), contains(0.0, 0.0)));
+
+		Random random = new Random(17);
+		double[] values = random.doubles(1000, -100, 100).map(x -> x > 95 ? nan : x).toArray();
+		DoubleSequence sequence = DoubleSequence.of(values);
+		for (int window : new int[]{1, 2, 7, 100}) {
+			Sequence<DoubleSequence> windows = sequence.window(window);
+			assertThat(sequence.slidingMin(window).toDoubleArray(),
+			           is(windows.toDoubles(w -> DoubleStream.of(w.toDoubleArray()).reduce(Math::min).getAsDouble())
+			                     .toDoubleArray()));
+			assertThat(sequence.slidingMax(window).toDoubleArray(),
+			           is(windows.toDoubles(w -> DoubleStream.of(w.toDoubleArray()).reduce(Math::max).getAsDouble())
+			                     .toDoubleArray()));
+		}
+	}
+
+	@Test
+	public void slidingAggregatesLargeValues() {
+		DoubleSequence sequence = DoubleSequence.of(1e17, 1, 1, 1, 1, 1);
+		twice(() -> assertThat(sequence.slidingSum(2).toList(), contains(1e17 + 1, 2.0, 2.0, 2.0, 2.0)));
+		twice(() -> assertThat(sequence.slidingSum(3).toList(), contains(1e17 + 2, 3.0, 3.0, 3.0)));
+		twice(() -> assertThat(sequence.slidingAverage(2).toList(), contains((1e17 + 1) / 2, 1.0, 1.0, 1.0, 1.0)));
+		twice(() -> assertThat(sequence.slidingVariance(3).toList().subList(1, 4), contains(0.0, 0.0, 0.0)));
+
+		DoubleSequence outlier = DoubleSequence.of(1, 2, 3, 1e17, 4, 5, 6, 7, 8);
+		twice(() -> assertThat(outlier.slidingVariance(3).toList().subList(4, 7),
+		                       contains(closeTo(2.0 / 3, 1e-12), closeTo(2.0 / 3, 1e-12), closeTo(2.0 / 3, 1e-12))));
+	}
+
+	@Test
+	public void slidingAggregatesMatchWindows() {
+		Random random = new Random(17);
+		DoubleSequence ints = DoubleSequence.from(DoubleList.create(random.doubles(1000, -100, 100).toArray()));
+		for (int window : new int[]{1, 2, 7, 100, 1000, 2000}) {
+			Sequence<DoubleSequence> windows = ints.window(window);
+			assertThat(ints.slidingMin(window).toList(), is(windows.toDoubles(w -> w.min().getAsDouble()).toList()));
+			assertThat(ints.slidingMax(window).toList(), is(windows.toDoubles(w -> w.max().getAsDouble()).toList()));
+
+			List<Double> averages = ints.slidingAverage(window).toList();
+			List<Double> variances = ints.slidingVariance(window).toList();
+			List<DoubleSequence> expected = windows.toList();
+			assertThat(averages.size(), is(expected.size()));
+			assertThat(variances.size(), is(expected.size()));
+			for (int i = 0; i < expected.size(); i++) {
+				double[] values = expected.get(i).toDoubleArray();
+				double mean = DoubleStream.of(values).average().getAsDouble();
+				double variance = DoubleStream.of(values).map(x -> (x - mean) * (x - mean)).sum() / values.length;
+				assertThat(averages.get(i), is(closeTo(mean, 1e-9)));
+				assertThat(variances.get(i), is(closeTo(variance, 1e-6)));
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void batch() {
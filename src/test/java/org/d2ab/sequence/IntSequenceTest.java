@@ -19,17 +19,29 @@ package org.d2ab.sequence;
 import org.d2ab.collection.Iterables;
 import org.d2ab.collection.ints.*;
 import org.d2ab.iterator.Iterators;
+import org.d2ab.iterator.ints.ByteBufferIntIterator;
 import org.d2ab.iterator.ints.DelegatingTransformingIntIterator;
 import org.d2ab.iterator.ints.IntIterator;
+import org.d2ab.util.Pair;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -44,6 +56,9 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
 public class IntSequenceTest {
+	@Rule
+	public final TemporaryFolder tempDir = new TemporaryFolder();
+
 	private final IntSequence empty = IntSequence.empty();
 
 	private final IntSequence _1 = IntSequence.from(IntList.create(1));
@@ -162,6 +177,112 @@ public class IntSequenceTest {
 		twice(() -> assertThat(seq, containsInts(1, 2, 3, 4, 5)));
 	}
 
+	@Test
+	public void mapped() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES * 5 + 1).order(ByteOrder.LITTLE_ENDIAN);
+		for (int x : new int[]{1, -2, 3, 400000, -5})
+			bytes.putInt(x);
+		Files.write(file, bytes.array());
+
+		IntSequence littleEndian = IntSequence.mapped(file, ByteOrder.LITTLE_ENDIAN);
+		twice(() -> assertThat(littleEndian, containsInts(1, -2, 3, 400000, -5)));
+		assertThat(littleEndian.size(), is(5));
+
+		IntSequence bigEndian = IntSequence.mapped(file, ByteOrder.BIG_ENDIAN);
+		assertThat(bigEndian.size(), is(5));
+		assertThat(bigEndian.iterator().nextInt(),
+		           is(ByteBuffer.wrap(bytes.array()).order(ByteOrder.BIG_ENDIAN).getInt(0)));
+
+		Path empty = tempDir.newFile().toPath();
+		IntSequence emptyMapped = IntSequence.mapped(empty, ByteOrder.LITTLE_ENDIAN);
+		twice(() -> assertThat(emptyMapped, is(emptyIterable())));
+		expecting(NoSuchElementException.class, () -> emptyMapped.iterator().nextInt());
+	}
+
+	@Test
+	public void mappedInSegments() throws IOException {
+		Random random = new Random(17);
+		int[] values = new int[10_000];
+		ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES * values.length).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < values.length; i++)
+			bytes.putInt(values[i] = random.nextInt());
+
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, bytes.array());
+
+		IntSequence mapped = RandomAccessIntSequence.from(MappedFile.map(file, ByteOrder.LITTLE_ENDIAN, 6));
+		twice(() -> assertThat(mapped.toIntArray(), is(values)));
+		assertThat(mapped.spliterator().trySplit().estimateSize(), is(5_000L));
+		assertThat(mapped.parallelIntStream().toArray(), is(values));
+	}
+
+	@Test
+	public void mappedBytes() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, new byte[]{1, 2, 3, -1, -2});
+
+		IntSequence mapped = IntSequence.mappedBytes(file);
+		twice(() -> assertThat(mapped, containsInts(1, 2, 3, 255, 254)));
+		assertThat(mapped.size(), is(5));
+	}
+
+	@Test
+	public void mappedBytesSequentially() throws IOException {
+		byte[] bytes = new byte[1000];
+		new Random(17).nextBytes(bytes);
+		int[] values = new int[bytes.length];
+		for (int i = 0; i < bytes.length; i++)
+			values[i] = bytes[i] & 0xFF;
+
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, bytes);
+
+		MappedFile segmented = MappedFile.map(file, ByteOrder.LITTLE_ENDIAN, 6);
+		IntSequence mapped = () -> new ByteBufferIntIterator(segmented::slice, segmented.size());
+		twice(() -> assertThat(mapped.toIntArray(), is(values)));
+		assertThat(mapped.first(), is(OptionalInt.of(values[0])));
+		assertThat(mapped.skip(999).first(), is(OptionalInt.of(values[999])));
+
+		IntIterator iterator = mapped.iterator();
+		for (int i = 0; i < 100; i++)
+			assertThat(iterator.nextInt(), is(values[i]));
+		List<Integer> rest = new ArrayList<>();
+		iterator.forEachRemaining((IntConsumer) rest::add);
+		assertThat(rest.size(), is(900));
+		expecting(NoSuchElementException.class, iterator::nextInt);
+
+		IntSequence empty = () -> new ByteBufferIntIterator(segmented::slice, 0);
+		twice(() -> assertThat(empty, is(emptyIterable())));
+	}
+
+	@Test
+	public void readFrom() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		IntSequence cached = IntSequence.cache(IntSequence.of(1, -2, 3, 400000, -5));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			cached.writeTo(channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			IntSequence read = IntSequence.readFrom(channel);
+			twice(() -> assertThat(read, containsInts(1, -2, 3, 400000, -5)));
+		}
+	}
+
+	@Test
+	public void readFromOnce() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			IntSequence.once(IntIterator.of(1, -2, 3, 400000, -5)).writeDeltasTo(channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			IntSequence read = IntSequence.readFrom(channel);
+			twice(() -> assertThat(read, containsInts(1, -2, 3, 400000, -5)));
+		}
+	}
+
 	@Test
 	public void readNegatives() {
 		InputStream inputStream = new ByteArrayInputStream(new byte[]{-1, -2, -3, -4, -5});
@@ -792,6 +913,16 @@ public class IntSequenceTest {
 		});
 	}
 
+	@Test
+	public void toSetSparse() {
+		IntSequence sparse = IntSequence.of(17, -1_000_000_000, 1_000_000_000, 17);
+		twice(() -> {
+			IntSet set = sparse.toSet();
+			assertThat(set, instanceOf(IntHashSet.class));
+			assertThat(set, containsInAnyOrder(17, -1_000_000_000, 1_000_000_000));
+		});
+	}
+
 	@Test
 	public void toSortedSet() {
 		twice(() -> {
@@ -801,6 +932,71 @@ public class IntSequenceTest {
 		});
 	}
 
+	@Test
+	public void toMap() {
+		twice(() -> {
+			IntIntMap map = _12345.toMap(x -> x % 2, x -> x * 10);
+			assertThat(map.size(), is(2));
+			assertThat(map.get(0), is(40));
+			assertThat(map.get(1), is(50));
+		});
+	}
+
+	@Test
+	public void toMapWithMerger() {
+		twice(() -> {
+			IntIntMap map = _12345.toMap(x -> x % 2, x -> x * 10, Integer::sum);
+			assertThat(map.size(), is(2));
+			assertThat(map.get(0), is(60));
+			assertThat(map.get(1), is(90));
+		});
+	}
+
+	@Test
+	public void toCounts() {
+		twice(() -> assertThat(empty.toCounts().isEmpty(), is(true)));
+		twice(() -> {
+			IntIntMap counts = nineRandom.toCounts();
+			assertThat(counts.size(), is(7));
+			assertThat(counts.get(6), is(2));
+			assertThat(counts.get(1), is(2));
+			assertThat(counts.get(-7), is(1));
+			assertThat(counts.get(3), is(0));
+		});
+	}
+
+	@Test
+	public void groupBy() {
+		twice(() -> assertThat(empty.groupBy(x -> x % 3).isEmpty(), is(true)));
+		twice(() -> {
+			IntObjMap<IntList> groups = _123456789.groupBy(x -> x % 3);
+			assertThat(groups.size(), is(3));
+			assertThat(groups.get(0), containsInts(3, 6, 9));
+			assertThat(groups.get(1), containsInts(1, 4, 7));
+			assertThat(groups.get(2), containsInts(2, 5, 8));
+		});
+	}
+
+	@Test
+	public void countBy() {
+		twice(() -> {
+			IntIntMap counts = _123456789.countBy(x -> x % 3);
+			assertThat(counts.size(), is(3));
+			assertThat(counts.get(0), is(3));
+			assertThat(counts.get(1), is(3));
+			assertThat(counts.get(2), is(3));
+		});
+	}
+
+	@Test
+	public void partitionBy() {
+		twice(() -> {
+			Pair<IntList, IntList> partitions = nineRandom.partitionBy(x -> x > 2);
+			assertThat(partitions.getLeft(), containsInts(6, 6, 17, 5, 4));
+			assertThat(partitions.getRight(), containsInts(1, -7, 1, 2));
+		});
+	}
+
 	@Test
 	public void toSetWithType() {
 		twice(() -> {
@@ -1008,6 +1204,18 @@ public class IntSequenceTest {
 		twice(() -> assertThat(nineRandom, containsInts(6, 1, -7, 1, 2, 17, 5, 4)));
 	}
 
+	@Test
+	public void distinctAdaptsToDensity() {
+		IntSequence dense = IntSequence.range(0, 9_999).append(IntSequence.range(0, 9_999)).distinct();
+		twice(() -> assertThat(dense.size(), is(10_000)));
+		twice(() -> assertThat(dense.toSet(), instanceOf(BitIntSet.class)));
+
+		IntSequence sparse = IntSequence.range(0, 9_999).map(x -> x * 100_003).distinct();
+		twice(() -> assertThat(sparse.size(), is(10_000)));
+		twice(() -> assertThat(sparse.toSet(), instanceOf(IntHashSet.class)));
+		twice(() -> assertThat(sparse.last().getAsInt(), is(9_999 * 100_003)));
+	}
+
 	@Test
 	public void sorted() {
 		IntSequence emptySorted = empty.sorted();
@@ -1028,6 +1236,105 @@ public class IntSequenceTest {
 		twice(() -> assertThat(nineRandom, containsInts(6, 6, 1, -7, 1, 2, 17, 5, 4)));
 	}
 
+	@Test
+	public void sortedExternally() {
+		IntSequence emptySorted = empty.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(emptySorted, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySorted.iterator().nextInt());
+
+		IntSequence oneSorted = oneRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(oneSorted, containsInts(17)));
+
+		IntSequence twoSorted = twoRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(twoSorted, containsInts(17, 32)));
+
+		IntSequence nineSorted = nineRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(nineSorted, containsInts(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSorted));
+		twice(() -> assertThat(nineSorted, containsInts(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+		twice(() -> assertThat(nineRandom, containsInts(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+
+		expecting(IllegalArgumentException.class, () -> nineRandom.sorted(0, tempDir.getRoot().toPath()));
+	}
+
+	@Test
+	public void sortedExternallyLarge() {
+		Random random = new Random(17);
+		int[] values = new int[10_000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextInt();
+
+		IntSequence sorted = IntSequence.of(values).sorted(1000, tempDir.getRoot().toPath());
+		twice(() -> assertThat(sorted.toIntArray(), is(IntSequence.of(values).sorted().toIntArray())));
+
+		IntSequence sortedInMemory = IntSequence.of(values).sorted(values.length, null);
+		twice(() -> assertThat(sortedInMemory.toIntArray(), is(IntSequence.of(values).sorted().toIntArray())));
+	}
+
+	@Test
+	public void sortedExternallyManyRuns() {
+		IntSequence sorted = IntSequence.range(20000, 1).sorted(10, tempDir.getRoot().toPath());
+		twice(() -> assertThat(sorted.toIntArray(), is(IntSequence.range(1, 20000).toIntArray())));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+
+		assertThat(sorted.first(), is(OptionalInt.of(1)));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+	}
+
+	@Test
+	public void sortedLimit() {
+		IntSequence emptySortedLimited = empty.sorted().limit(3);
+		twice(() -> assertThat(emptySortedLimited, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySortedLimited.iterator().nextInt());
+
+		IntSequence nineSortedLimited = nineRandom.sorted().limit(4);
+		twice(() -> assertThat(nineSortedLimited, containsInts(-7, 1, 1, 2)));
+
+		IntSequence nineSortedLimitedAll = nineRandom.sorted().limit(20);
+		twice(() -> assertThat(nineSortedLimitedAll, containsInts(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSortedLimited));
+		twice(() -> assertThat(nineRandom, containsInts(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+	}
+
+	@Test
+	public void topK() {
+		IntSequence emptyTop = empty.topK(3);
+		twice(() -> assertThat(emptyTop, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptyTop.iterator().nextInt());
+
+		IntSequence nineTop = nineRandom.topK(3);
+		twice(() -> assertThat(nineTop, containsInts(17, 6, 6)));
+
+		IntSequence nineTopZero = nineRandom.topK(0);
+		twice(() -> assertThat(nineTopZero, emptyIterable()));
+
+		IntSequence nineTopAll = nineRandom.topK(20);
+		twice(() -> assertThat(nineTopAll, containsInts(17, 6, 6, 5, 4, 2, 1, 1, -7)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineTop));
+		twice(() -> assertThat(nineRandom, containsInts(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+	}
+
+	@Test
+	public void bottomK() {
+		IntSequence emptyBottom = empty.bottomK(3);
+		twice(() -> assertThat(emptyBottom, emptyIterable()));
+
+		IntSequence nineBottom = nineRandom.bottomK(5);
+		twice(() -> assertThat(nineBottom, containsInts(-7, 1, 1, 2, 4)));
+
+		Random random = new Random(17);
+		int[] values = new int[10_000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextInt();
+
+		int[] expected = Arrays.copyOf(IntSequence.of(values).sorted().toIntArray(), 100);
+		twice(() -> assertThat(IntSequence.of(values).bottomK(100).toIntArray(), is(expected)));
+	}
+
 	@Test
 	public void sortedWithUpdates() {
 		List<Integer> backing = new ArrayList<>(asList(2, 3, 1));
@@ -1082,6 +1389,25 @@ public class IntSequenceTest {
 		twice(() -> assertThat(_123.none(x -> x > 4), is(true)));
 	}
 
+	@Test
+	public void anyAllFirstStopEarly() {
+		IntList peeked = IntList.create();
+		IntSequence sequence = _123456789.peek(peeked::addInt).filter(x -> x % 2 == 1).map(x -> x * 10);
+
+		assertThat(sequence.any(x -> x > 20), is(true));
+		assertThat(peeked, containsInts(1, 2, 3));
+
+		peeked.clear();
+		assertThat(sequence.all(x -> x < 50), is(false));
+		assertThat(peeked, containsInts(1, 2, 3, 4, 5));
+
+		peeked.clear();
+		assertThat(sequence.first(), is(OptionalInt.of(10)));
+		assertThat(peeked, containsInts(1));
+
+		assertThat(sequence.filter(x -> x > 100).first(), is(OptionalInt.empty()));
+	}
+
 	@Test
 	public void peek() {
 		IntSequence emptyPeeked = empty.peek(x -> {
@@ -1207,6 +1533,63 @@ public class IntSequenceTest {
 		           is(emptyIterable()));
 	}
 
+	@Test
+	public void spliterator() {
+		twice(() -> {
+			Spliterator.OfInt spliterator = _12345.spliterator();
+			assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+			assertThat(spliterator.estimateSize(), is(5L));
+
+			Spliterator.OfInt prefix = spliterator.trySplit();
+			assertThat(prefix.estimateSize(), is(2L));
+			assertThat(spliterator.estimateSize(), is(3L));
+
+			IntList prefixList = IntList.create();
+			prefix.forEachRemaining((IntConsumer) prefixList::addInt);
+			assertThat(prefixList, containsInts(1, 2));
+
+			IntList suffixList = IntList.create();
+			spliterator.forEachRemaining((IntConsumer) suffixList::addInt);
+			assertThat(suffixList, containsInts(3, 4, 5));
+		});
+	}
+
+	@Test
+	public void parallelIntStream() {
+		twice(() -> assertThat(IntSequence.range(1, 100000).parallelIntStream().asLongStream().sum(),
+		                       is(5000050000L)));
+		twice(() -> assertThat(IntSequence.range(100000, 1, 3).parallelIntStream().count(), is(33334L)));
+		twice(() -> assertThat(_12345.map(x -> x * 2).parallelIntStream().toArray(), is(new int[]{2, 4, 6, 8, 10})));
+	}
+
+	@Test
+	public void positionalOperationsOnSizedSequences() {
+		IntSequence ints = IntSequence.range(1, Integer.MAX_VALUE);
+		twice(() -> assertThat(ints.size(), is(Integer.MAX_VALUE)));
+		twice(() -> assertThat(ints.at(1_000_000_000), is(OptionalInt.of(1_000_000_001))));
+		twice(() -> assertThat(ints.last(), is(OptionalInt.of(Integer.MAX_VALUE))));
+
+		IntSequence view = ints.skip(10).step(1000).limit(1_000_000).skipTail(1);
+		twice(() -> assertThat(view.size(), is(999_999)));
+		twice(() -> assertThat(view.isEmpty(), is(false)));
+		twice(() -> assertThat(view.first(), is(OptionalInt.of(11))));
+		twice(() -> assertThat(view.at(1), is(OptionalInt.of(1011))));
+		twice(() -> assertThat(view.last(), is(OptionalInt.of(999_998_011))));
+		twice(() -> assertThat(view.at(999_999), is(OptionalInt.empty())));
+		twice(() -> assertThat(view.limit(3), containsInts(11, 1011, 2011)));
+
+		IntSequence appended = _123.append(IntSequence.range(4, 6)).append(IntSequence.of(7, 8));
+		twice(() -> assertThat(appended, containsInts(1, 2, 3, 4, 5, 6, 7, 8)));
+		twice(() -> assertThat(appended.size(), is(8)));
+		twice(() -> assertThat(appended.at(5), is(OptionalInt.of(6))));
+		twice(() -> assertThat(appended.last(), is(OptionalInt.of(8))));
+
+		twice(() -> assertThat(_123.skip(5).size(), is(0)));
+		twice(() -> assertThat(_123.skip(5).last(), is(OptionalInt.empty())));
+		twice(() -> assertThat(_123.limit(-1).size(), is(0)));
+		twice(() -> assertThat(_123.step(5).size(), is(1)));
+	}
+
 	@Test
 	public void prefix() {
 		IntSequence emptyPrefixed = empty.prefix(327);
@@ -1295,6 +1678,24 @@ public class IntSequenceTest {
 		assertThat(reversed, containsInts(4, 3, 2, 1));
 	}
 
+	@Test
+	public void reverseAndSortedOfSizedSequences() {
+		IntSequence ascending = IntSequence.range(1, Integer.MAX_VALUE);
+		twice(() -> assertThat(ascending.reverse().limit(3), containsInts(Integer.MAX_VALUE, Integer.MAX_VALUE - 1,
+		                                                                 Integer.MAX_VALUE - 2)));
+		twice(() -> assertThat(ascending.reverse().size(), is(Integer.MAX_VALUE)));
+		twice(() -> assertThat(ascending.sorted(), is(sameInstance(ascending))));
+
+		IntSequence descending = IntSequence.range(5, 1);
+		twice(() -> assertThat(descending.sorted(), containsInts(1, 2, 3, 4, 5)));
+		twice(() -> assertThat(_12345.reverse().at(1), is(OptionalInt.of(4))));
+
+		IntSortedSet set = IntSortedSet.create(3, 1, 2);
+		IntSequence sortedSet = IntSequence.from(set);
+		twice(() -> assertThat(sortedSet.sorted(), is(sameInstance(sortedSet))));
+		twice(() -> assertThat(sortedSet.sorted(), containsInts(1, 2, 3)));
+	}
+
 	@Test
 	public void positive() {
 		IntSequence positive = IntSequence.positive();
@@ -1833,6 +2234,106 @@ public class IntSequenceTest {
 		                       contains(containsInts(1, 2, 3), containsInts(5, 6, 7), containsInts(9))));
 	}
 
+	@Test
+	public void slidingAggregates() {
+		twice(() -> assertThat(empty.slidingSum(3), is(emptyIterable())));
+		twice(() -> assertThat(empty.slidingMax(3), is(emptyIterable())));
+		twice(() -> assertThat(_12.slidingSum(3), containsLongs(3)));
+		twice(() -> assertThat(_12345.slidingSum(3), containsLongs(6, 9, 12)));
+		twice(() -> assertThat(_12345.slidingAverage(2), containsDoubles(1.5, 2.5, 3.5, 4.5)));
+		twice(() -> assertThat(_12345.slidingVariance(1), containsDoubles(0, 0, 0, 0, 0)));
+		twice(() -> assertThat(_12345.slidingMin(3), containsInts(1, 2, 3)));
+		twice(() -> assertThat(_12345.slidingMax(3), containsInts(3, 4, 5)));
+		twice(() -> assertThat(IntSequence.of(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE).slidingSum(2),
+		                       containsLongs(-1, -1)));
+	}
+
+	@Test
+	public void slidingVarianceAfterLargeValues() {
+		IntSequence extremes = IntSequence.of(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, 1, 4);
+		twice(() -> assertThat(extremes.slidingVariance(2).last().getAsDouble(), is(2.25)));
+
+		int[] values = new int[3000];
+		values[0] = Integer.MIN_VALUE;
+		for (int i = 1; i < values.length; i++)
+			values[i] = i % 2;
+		IntSequence outlier = IntSequence.of(values);
+		twice(() -> assertThat(outlier.slidingVariance(1000).skip(1).all(v -> Math.abs(v - 0.25) < 1e-9), is(true)));
+	}
+
+	@Test
+	public void slidingAggregatesMatchWindows() {
+		Random random = new Random(17);
+		IntSequence ints = IntSequence.from(IntList.create(random.ints(1000, -100, 100).toArray()));
+		for (int window : new int[]{1, 2, 7, 100, 1000, 2000}) {
+			Sequence<IntSequence> windows = ints.window(window);
+			assertThat(ints.slidingSum(window).toList(), is(windows.toLongs(w -> w.reduce(0, Integer::sum)).toList()));
+			assertThat(ints.slidingMin(window).toList(), is(windows.toInts(w -> w.min().getAsInt()).toList()));
+			assertThat(ints.slidingMax(window).toList(), is(windows.toInts(w -> w.max().getAsInt()).toList()));
+
+			List<Double> averages = ints.slidingAverage(window).toList();
+			List<Double> variances = ints.slidingVariance(window).toList();
+			List<IntSequence> expected = windows.toList();
+			assertThat(averages.size(), is(expected.size()));
+			assertThat(variances.size(), is(expected.size()));
+			for (int i = 0; i < expected.size(); i++) {
+				double[] values = expected.get(i).toDoubles().toDoubleArray();
+				double mean = DoubleStream.of(values).average().getAsDouble();
+				double variance = DoubleStream.of(values).map(x -> (x - mean) * (x - mean)).sum() / values.length;
+				assertThat(averages.get(i), is(closeTo(mean, 1e-9)));
+				assertThat(variances.get(i), is(closeTo(variance, 1e-6)));
+			}
+		}
+	}
+
+	@Test
+	public void windowLargerThanInput() {
+		Sequence<IntList> batched = _123.batch(Integer.MAX_VALUE).map(IntSequence::toList);
+		twice(() -> assertThat(batched, contains(containsInts(1, 2, 3))));
+
+		Sequence<IntList> windowed = _123.window(Integer.MAX_VALUE, 1, true).map(IntSequence::toList);
+		twice(() -> assertThat(windowed, contains(containsInts(1, 2, 3))));
+	}
+
+	@Test
+	public void windowGrowingBuffer() {
+		IntSequence hundred = IntSequence.range(1, 100);
+		Sequence<IntList> windowed = hundred.window(40, 3, true).map(IntSequence::toList);
+		twice(() -> assertThat(windowed.size(), is(21)));
+		twice(() -> assertThat(windowed.first(), is(Optional.of(hundred.limit(40).toList()))));
+		twice(() -> assertThat(windowed.at(7), is(Optional.of(hundred.skip(21).limit(40).toList()))));
+		twice(() -> assertThat(windowed.last(), is(Optional.of(hundred.skip(60).toList()))));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void windowReusing() {
+		Sequence<IntList> emptyWindowed = empty.window(3, 1, true).map(IntSequence::toList);
+		twice(() -> assertThat(emptyWindowed, is(emptyIterable())));
+
+		Sequence<IntList> fiveWindowed = _12345.window(3, 1, true).map(IntSequence::toList);
+		twice(() -> assertThat(fiveWindowed, contains(containsInts(1, 2, 3), containsInts(2, 3, 4),
+		                                              containsInts(3, 4, 5))));
+
+		Sequence<IntList> nineWindowed = _123456789.window(3, 4, true).map(IntSequence::toList);
+		twice(() -> assertThat(nineWindowed, contains(containsInts(1, 2, 3), containsInts(5, 6, 7),
+		                                              containsInts(9))));
+
+		Sequence<IntList> nineWindowedSmallerStep = _123456789.window(4, 3, true).map(IntSequence::toList);
+		twice(() -> assertThat(nineWindowedSmallerStep, contains(containsInts(1, 2, 3, 4), containsInts(4, 5, 6, 7),
+		                                                         containsInts(7, 8, 9))));
+
+		Iterator<IntSequence> windows = _12345.window(2, 2, true).iterator();
+		IntSequence first = windows.next();
+		assertThat(first.size(), is(2));
+		assertThat(first, containsInts(1, 2));
+		IntSequence second = windows.next();
+		assertThat(second, is(sameInstance(first)));
+		assertThat(second, containsInts(3, 4));
+		assertThat(windows.next(), containsInts(5));
+		assertThat(windows.hasNext(), is(false));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void batch() {
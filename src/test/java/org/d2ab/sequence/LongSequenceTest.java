@@ -21,13 +21,24 @@ import org.d2ab.collection.longs.*;
 import org.d2ab.iterator.Iterators;
 import org.d2ab.iterator.longs.DelegatingTransformingLongIterator;
 import org.d2ab.iterator.longs.LongIterator;
+import org.d2ab.util.Pair;
+import org.junit.Rule;
 import org.junit.Test;
-
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongBinaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
@@ -42,6 +53,9 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
 public class LongSequenceTest {
+	@Rule
+	public final TemporaryFolder tempDir = new TemporaryFolder();
+
 	private final LongSequence empty = LongSequence.empty();
 
 	private final LongSequence _1 = LongSequence.from(LongList.create(1));
@@ -80,6 +94,73 @@ public class LongSequenceTest {
 		twice(() -> assertThat(_123, containsLongs(1, 2, 3)));
 	}
 
+	@Test
+	public void mapped() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES * 5 + 1).order(ByteOrder.LITTLE_ENDIAN);
+		for (long x : new long[]{1, -2, 3, 400000000000L, -5})
+			bytes.putLong(x);
+		Files.write(file, bytes.array());
+
+		LongSequence littleEndian = LongSequence.mapped(file, ByteOrder.LITTLE_ENDIAN);
+		twice(() -> assertThat(littleEndian, containsLongs(1, -2, 3, 400000000000L, -5)));
+		assertThat(littleEndian.size(), is(5));
+
+		LongSequence bigEndian = LongSequence.mapped(file, ByteOrder.BIG_ENDIAN);
+		assertThat(bigEndian.size(), is(5));
+		assertThat(bigEndian.iterator().nextLong(),
+		           is(ByteBuffer.wrap(bytes.array()).order(ByteOrder.BIG_ENDIAN).getLong(0)));
+
+		Path empty = tempDir.newFile().toPath();
+		LongSequence emptyMapped = LongSequence.mapped(empty, ByteOrder.LITTLE_ENDIAN);
+		twice(() -> assertThat(emptyMapped, is(emptyIterable())));
+		expecting(NoSuchElementException.class, () -> emptyMapped.iterator().nextLong());
+	}
+
+	@Test
+	public void mappedInSegments() throws IOException {
+		Random random = new Random(17);
+		long[] values = new long[10_000];
+		ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES * values.length).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < values.length; i++)
+			bytes.putLong(values[i] = random.nextLong());
+
+		Path file = tempDir.newFile().toPath();
+		Files.write(file, bytes.array());
+
+		LongSequence mapped = RandomAccessLongSequence.from(MappedFile.map(file, ByteOrder.LITTLE_ENDIAN, 6));
+		twice(() -> assertThat(mapped.toLongArray(), is(values)));
+		assertThat(mapped.spliterator().trySplit().estimateSize(), is(5_000L));
+		assertThat(mapped.parallelLongStream().toArray(), is(values));
+	}
+
+	@Test
+	public void readFrom() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		LongSequence cached = LongSequence.cache(LongSequence.of(1, -2, 3, 400000000000L, -5));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			cached.writeTo(channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			LongSequence read = LongSequence.readFrom(channel);
+			twice(() -> assertThat(read, containsLongs(1, -2, 3, 400000000000L, -5)));
+		}
+	}
+
+	@Test
+	public void readFromOnce() throws IOException {
+		Path file = tempDir.newFile().toPath();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			LongSequence.once(LongIterator.of(1, -2, 3, 400000000000L, -5)).writeDeltasTo(channel);
+		}
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			LongSequence read = LongSequence.readFrom(channel);
+			twice(() -> assertThat(read, containsLongs(1, -2, 3, 400000000000L, -5)));
+		}
+	}
+
 	@Test
 	public void fromArrayWithSize() {
 		LongSequence sequence = LongSequence.from(new long[]{1, 2, 3, 4, 5}, 3);
@@ -762,6 +843,16 @@ public class LongSequenceTest {
 		});
 	}
 
+	@Test
+	public void toSetSparse() {
+		LongSequence sparse = LongSequence.of(17L, -1_000_000_000L, 1_000_000_000L, 17L);
+		twice(() -> {
+			LongSet set = sparse.toSet();
+			assertThat(set, instanceOf(LongHashSet.class));
+			assertThat(set, containsInAnyOrder(17L, -1_000_000_000L, 1_000_000_000L));
+		});
+	}
+
 	@Test
 	public void toSortedSet() {
 		twice(() -> {
@@ -771,6 +862,81 @@ public class LongSequenceTest {
 		});
 	}
 
+	@Test
+	public void toMap() {
+		twice(() -> {
+			LongLongMap map = _12345.toMap(x -> x % 2, x -> x * 10);
+			assertThat(map.size(), is(2));
+			assertThat(map.get(0L), is(40L));
+			assertThat(map.get(1L), is(50L));
+		});
+	}
+
+	@Test
+	public void toMapWithMerger() {
+		twice(() -> {
+			LongLongMap map = _12345.toMap(x -> x % 2, x -> x * 10, Long::sum);
+			assertThat(map.size(), is(2));
+			assertThat(map.get(0L), is(60L));
+			assertThat(map.get(1L), is(90L));
+		});
+	}
+
+	@Test
+	public void toCounts() {
+		twice(() -> assertThat(empty.toCounts().isEmpty(), is(true)));
+		twice(() -> {
+			LongLongMap counts = nineRandom.toCounts();
+			assertThat(counts.size(), is(7));
+			assertThat(counts.get(6L), is(2L));
+			assertThat(counts.get(1L), is(2L));
+			assertThat(counts.get(-7L), is(1L));
+			assertThat(counts.get(3L), is(0L));
+		});
+	}
+
+	@Test
+	public void groupBy() {
+		twice(() -> assertThat(empty.groupBy(x -> x % 3).isEmpty(), is(true)));
+		twice(() -> {
+			LongObjMap<LongList> groups = _123456789.groupBy(x -> x % 3);
+			assertThat(groups.size(), is(3));
+			assertThat(groups.get(0L), containsLongs(3, 6, 9));
+			assertThat(groups.get(1L), containsLongs(1, 4, 7));
+			assertThat(groups.get(2L), containsLongs(2, 5, 8));
+		});
+	}
+
+	@Test
+	public void countBy() {
+		twice(() -> {
+			LongLongMap counts = _123456789.countBy(x -> x % 3);
+			assertThat(counts.size(), is(3));
+			assertThat(counts.get(0L), is(3L));
+			assertThat(counts.get(1L), is(3L));
+			assertThat(counts.get(2L), is(3L));
+		});
+	}
+
+	@Test
+	public void partitionBy() {
+		twice(() -> {
+			Pair<LongList, LongList> partitions = nineRandom.partitionBy(x -> x > 2);
+			assertThat(partitions.getLeft(), containsLongs(6, 6, 17, 5, 4));
+			assertThat(partitions.getRight(), containsLongs(1, -7, 1, 2));
+		});
+	}
+
+	@Test
+	public void sumBy() {
+		twice(() -> {
+			LongLongMap sums = _123456789.sumBy(x -> x % 2);
+			assertThat(sums.size(), is(2));
+			assertThat(sums.get(0L), is(20L));
+			assertThat(sums.get(1L), is(25L));
+		});
+	}
+
 	@Test
 	public void toSetWithType() {
 		twice(() -> {
@@ -978,6 +1144,18 @@ public class LongSequenceTest {
 		twice(() -> assertThat(nineRandom, containsLongs(6, 1, -7, 1, 2, 17, 5, 4)));
 	}
 
+	@Test
+	public void distinctAdaptsToDensity() {
+		LongSequence dense = LongSequence.range(0, 9_999).append(LongSequence.range(0, 9_999)).distinct();
+		twice(() -> assertThat(dense.size(), is(10_000)));
+		twice(() -> assertThat(dense.toSet(), instanceOf(BitLongSet.class)));
+
+		LongSequence sparse = LongSequence.range(0, 9_999).map(x -> x * 100_003L).distinct();
+		twice(() -> assertThat(sparse.size(), is(10_000)));
+		twice(() -> assertThat(sparse.toSet(), instanceOf(LongHashSet.class)));
+		twice(() -> assertThat(sparse.last().getAsLong(), is(9_999 * 100_003L)));
+	}
+
 	@Test
 	public void sorted() {
 		LongSequence emptySorted = empty.sorted();
@@ -998,6 +1176,95 @@ public class LongSequenceTest {
 		twice(() -> assertThat(nineRandom, containsLongs(6, 6, 1, -7, 1, 2, 17, 5, 4)));
 	}
 
+	@Test
+	public void sortedExternally() {
+		LongSequence emptySorted = empty.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(emptySorted, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySorted.iterator().nextLong());
+
+		LongSequence oneSorted = oneRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(oneSorted, containsLongs(17)));
+
+		LongSequence twoSorted = twoRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(twoSorted, containsLongs(17, 32)));
+
+		LongSequence nineSorted = nineRandom.sorted(2, tempDir.getRoot().toPath());
+		twice(() -> assertThat(nineSorted, containsLongs(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSorted));
+		twice(() -> assertThat(nineSorted, containsLongs(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+		twice(() -> assertThat(nineRandom, containsLongs(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+
+		expecting(IllegalArgumentException.class, () -> nineRandom.sorted(0, tempDir.getRoot().toPath()));
+	}
+
+	@Test
+	public void sortedExternallyLarge() {
+		Random random = new Random(17);
+		long[] values = new long[10_000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextLong();
+
+		LongSequence sorted = LongSequence.of(values).sorted(1000, tempDir.getRoot().toPath());
+		twice(() -> assertThat(sorted.toLongArray(), is(LongSequence.of(values).sorted().toLongArray())));
+
+		LongSequence sortedInMemory = LongSequence.of(values).sorted(values.length, null);
+		twice(() -> assertThat(sortedInMemory.toLongArray(), is(LongSequence.of(values).sorted().toLongArray())));
+	}
+
+	@Test
+	public void sortedLimit() {
+		LongSequence emptySortedLimited = empty.sorted().limit(3);
+		twice(() -> assertThat(emptySortedLimited, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySortedLimited.iterator().nextLong());
+
+		LongSequence nineSortedLimited = nineRandom.sorted().limit(4);
+		twice(() -> assertThat(nineSortedLimited, containsLongs(-7, 1, 1, 2)));
+
+		LongSequence nineSortedLimitedAll = nineRandom.sorted().limit(20);
+		twice(() -> assertThat(nineSortedLimitedAll, containsLongs(-7, 1, 1, 2, 4, 5, 6, 6, 17)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSortedLimited));
+		twice(() -> assertThat(nineRandom, containsLongs(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+	}
+
+	@Test
+	public void topK() {
+		LongSequence emptyTop = empty.topK(3);
+		twice(() -> assertThat(emptyTop, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptyTop.iterator().nextLong());
+
+		LongSequence nineTop = nineRandom.topK(3);
+		twice(() -> assertThat(nineTop, containsLongs(17, 6, 6)));
+
+		LongSequence nineTopZero = nineRandom.topK(0);
+		twice(() -> assertThat(nineTopZero, emptyIterable()));
+
+		LongSequence nineTopAll = nineRandom.topK(20);
+		twice(() -> assertThat(nineTopAll, containsLongs(17, 6, 6, 5, 4, 2, 1, 1, -7)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineTop));
+		twice(() -> assertThat(nineRandom, containsLongs(6, 6, 1, -7, 1, 2, 17, 5, 4)));
+	}
+
+	@Test
+	public void bottomK() {
+		LongSequence emptyBottom = empty.bottomK(3);
+		twice(() -> assertThat(emptyBottom, emptyIterable()));
+
+		LongSequence nineBottom = nineRandom.bottomK(5);
+		twice(() -> assertThat(nineBottom, containsLongs(-7, 1, 1, 2, 4)));
+
+		Random random = new Random(17);
+		long[] values = new long[10_000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextLong();
+
+		long[] expected = Arrays.copyOf(LongSequence.of(values).sorted().toLongArray(), 100);
+		twice(() -> assertThat(LongSequence.of(values).bottomK(100).toLongArray(), is(expected)));
+	}
+
 	@Test
 	public void sortedWithUpdates() {
 		List<Long> backing = new ArrayList<>(asList(2L, 3L, 1L));
@@ -1177,6 +1444,29 @@ public class LongSequenceTest {
 		           is(emptyIterable()));
 	}
 
+	@Test
+	public void spliterator() {
+		twice(() -> {
+			Spliterator.OfLong spliterator = _12345.spliterator();
+			assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+			assertThat(spliterator.estimateSize(), is(5L));
+
+			Spliterator.OfLong prefix = spliterator.trySplit();
+			assertThat(prefix.estimateSize(), is(2L));
+			assertThat(spliterator.estimateSize(), is(3L));
+		});
+	}
+
+	@Test
+	public void parallelLongStream() {
+		twice(() -> assertThat(LongSequence.range(1, 100000).parallelLongStream().sum(), is(5000050000L)));
+		twice(() -> assertThat(LongSequence.range(Long.MAX_VALUE, Long.MAX_VALUE - 10, 5).parallelLongStream()
+		                                   .toArray(),
+		                       is(new long[]{Long.MAX_VALUE, Long.MAX_VALUE - 5, Long.MAX_VALUE - 10})));
+		twice(() -> assertThat(_12345.map(x -> x * 2).parallelLongStream().toArray(),
+		                       is(new long[]{2, 4, 6, 8, 10})));
+	}
+
 	@Test
 	public void prefix() {
 		LongSequence emptyPrefixed = empty.prefix(327);
@@ -1799,6 +2089,56 @@ public class LongSequenceTest {
 		                       contains(containsLongs(1, 2, 3), containsLongs(5, 6, 7), containsLongs(9))));
 	}
 
+	@Test
+	public void slidingAggregates() {
+		twice(() -> assertThat(empty.slidingSum(3), is(emptyIterable())));
+		twice(() -> assertThat(empty.slidingMax(3), is(emptyIterable())));
+		twice(() -> assertThat(_12.slidingSum(3), containsLongs(3)));
+		twice(() -> assertThat(_12345.slidingSum(3), containsLongs(6, 9, 12)));
+		twice(() -> assertThat(_12345.slidingAverage(2), containsDoubles(1.5, 2.5, 3.5, 4.5)));
+		twice(() -> assertThat(_12345.slidingVariance(1), containsDoubles(0, 0, 0, 0, 0)));
+		twice(() -> assertThat(_12345.slidingMin(3), containsLongs(1, 2, 3)));
+		twice(() -> assertThat(_12345.slidingMax(3), containsLongs(3, 4, 5)));
+	}
+
+	@Test
+	public void slidingVarianceAfterLargeValues() {
+		LongSequence extremes = LongSequence.of(Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 1, 4);
+		twice(() -> assertThat(extremes.slidingVariance(2).last().getAsDouble(), is(2.25)));
+
+		long[] values = new long[3000];
+		values[0] = Long.MIN_VALUE;
+		for (int i = 1; i < values.length; i++)
+			values[i] = i % 2;
+		LongSequence outlier = LongSequence.of(values);
+		twice(() -> assertThat(outlier.slidingVariance(1000).skip(1).all(v -> Math.abs(v - 0.25) < 1e-9), is(true)));
+	}
+
+	@Test
+	public void slidingAggregatesMatchWindows() {
+		Random random = new Random(17);
+		LongSequence ints = LongSequence.from(LongList.create(random.longs(1000, -100, 100).toArray()));
+		for (int window : new int[]{1, 2, 7, 100, 1000, 2000}) {
+			Sequence<LongSequence> windows = ints.window(window);
+			assertThat(ints.slidingSum(window).toList(), is(windows.toLongs(w -> w.reduce(0, Long::sum)).toList()));
+			assertThat(ints.slidingMin(window).toList(), is(windows.toLongs(w -> w.min().getAsLong()).toList()));
+			assertThat(ints.slidingMax(window).toList(), is(windows.toLongs(w -> w.max().getAsLong()).toList()));
+
+			List<Double> averages = ints.slidingAverage(window).toList();
+			List<Double> variances = ints.slidingVariance(window).toList();
+			List<LongSequence> expected = windows.toList();
+			assertThat(averages.size(), is(expected.size()));
+			assertThat(variances.size(), is(expected.size()));
+			for (int i = 0; i < expected.size(); i++) {
+				double[] values = expected.get(i).toDoubles().toDoubleArray();
+				double mean = DoubleStream.of(values).average().getAsDouble();
+				double variance = DoubleStream.of(values).map(x -> (x - mean) * (x - mean)).sum() / values.length;
+				assertThat(averages.get(i), is(closeTo(mean, 1e-9)));
+				assertThat(variances.get(i), is(closeTo(variance, 1e-6)));
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void batch() {
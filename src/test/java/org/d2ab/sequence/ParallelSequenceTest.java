@@ -0,0 +1,183 @@
+package org.d2ab.sequence;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.d2ab.test.Tests.expecting;
+import static org.d2ab.test.Tests.twice;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ParallelSequenceTest {
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	private final Sequence<Integer> empty = Sequence.empty();
+	private final Sequence<Integer> range = Sequence.range(1, 10000);
+	private final Sequence<Integer> list = Sequence.from(range.toList());
+	private final Sequence<Integer> collection = Sequence.from(new ArrayDeque<>(range.toList()));
+	private final Sequence<Integer> unsized = range::iterator;
+
+	@After
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void sequential() {
+		assertThat(range.parallel(pool).sequential(), is(sameInstance(range)));
+		assertThat(range.parallel(pool).pool(), is(sameInstance(pool)));
+		assertThat(range.parallel().pool(), is(sameInstance(ForkJoinPool.commonPool())));
+	}
+
+	@Test
+	public void reduce() {
+		twice(() -> assertThat(empty.parallel(pool).reduce(Integer::sum), is(Optional.empty())));
+
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).reduce(Integer::sum), is(Optional.of(50005000))));
+	}
+
+	@Test
+	public void reduceWithIdentity() {
+		twice(() -> assertThat(empty.parallel(pool).reduce(0, Integer::sum), is(0)));
+
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).reduce(0, Integer::sum), is(50005000)));
+	}
+
+	@Test
+	public void reduceInEncounterOrder() {
+		Sequence<String> strings = Sequence.range(1, 1000).map(String::valueOf);
+		twice(() -> assertThat(strings.parallel(pool).reduce("", String::concat), is(strings.join())));
+	}
+
+	@Test
+	public void collect() {
+		twice(() -> assertThat(empty.parallel(pool).collect(Collectors.toList()), is(emptyIterable())));
+
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).collect(Collectors.toList()), is(range.toList())));
+	}
+
+	@Test
+	public void collectWithCombiner() {
+		twice(() -> assertThat(
+				range.parallel(pool).collect(StringBuilder::new, StringBuilder::append, StringBuilder::append)
+				     .toString(), is(range.join())));
+	}
+
+	@Test
+	public void groupBy() {
+		twice(() -> assertThat(empty.parallel(pool).groupBy(x -> x % 3).isEmpty(), is(true)));
+
+		Map<Integer, List<Integer>> expected = range.groupBy(x -> x % 3);
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).groupBy(x -> x % 3), is(equalTo(expected))));
+	}
+
+	@Test
+	public void countBy() {
+		twice(() -> assertThat(empty.parallel(pool).countBy(x -> x % 3).isEmpty(), is(true)));
+
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).countBy(x -> x % 3),
+			                       is(equalTo(range.countBy(x -> x % 3)))));
+	}
+
+	@Test
+	public void sumBy() {
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).sumBy(x -> x % 3, x -> x),
+			                       is(equalTo(range.sumBy(x -> x % 3, x -> x)))));
+	}
+
+	@Test
+	public void partitionBy() {
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).partitionBy(x -> x % 3 == 0),
+			                       is(equalTo(range.partitionBy(x -> x % 3 == 0)))));
+	}
+
+	@Test
+	public void toList() {
+		twice(() -> assertThat(empty.parallel(pool).toList(), is(emptyIterable())));
+
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).toList(), is(range.toList())));
+	}
+
+	@Test
+	public void forEach() {
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> {
+				Set<Integer> seen = ConcurrentHashMap.newKeySet();
+				Set<Thread> threads = ConcurrentHashMap.newKeySet();
+				sequence.parallel(pool).forEach(x -> {
+					seen.add(x);
+					threads.add(Thread.currentThread());
+				});
+				assertThat(seen, is(range.toSet()));
+				assertThat(threads, not(hasItem(Thread.currentThread())));
+			});
+	}
+
+	@Test
+	public void count() {
+		twice(() -> assertThat(empty.parallel(pool).count(), is(0L)));
+
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized))
+			twice(() -> assertThat(sequence.parallel(pool).count(), is(10000L)));
+
+		twice(() -> assertThat(range.filter(x -> x % 3 == 0).parallel(pool).count(), is(3333L)));
+	}
+
+	@Test
+	public void minMax() {
+		twice(() -> assertThat(empty.parallel(pool).min(Comparator.naturalOrder()), is(Optional.empty())));
+		twice(() -> assertThat(empty.parallel(pool).max(Comparator.naturalOrder()), is(Optional.empty())));
+
+		Sequence<Integer> shuffled = Sequence.from(range.toList()).map(x -> (x * 7919) % 10007);
+		twice(() -> assertThat(shuffled.parallel(pool).min(Comparator.naturalOrder()),
+		                       is(shuffled.min(Comparator.naturalOrder()))));
+		twice(() -> assertThat(shuffled.parallel(pool).max(Comparator.naturalOrder()),
+		                       is(shuffled.max(Comparator.naturalOrder()))));
+	}
+
+	@Test
+	public void allAnyNone() {
+		twice(() -> assertThat(empty.parallel(pool).all(x -> false), is(true)));
+		twice(() -> assertThat(empty.parallel(pool).any(x -> true), is(false)));
+		twice(() -> assertThat(empty.parallel(pool).none(x -> true), is(true)));
+
+		for (Sequence<Integer> sequence : asList(range, list, collection, unsized)) {
+			twice(() -> assertThat(sequence.parallel(pool).all(x -> x > 0), is(true)));
+			twice(() -> assertThat(sequence.parallel(pool).all(x -> x < 10000), is(false)));
+			twice(() -> assertThat(sequence.parallel(pool).any(x -> x == 5000), is(true)));
+			twice(() -> assertThat(sequence.parallel(pool).any(x -> x > 10000), is(false)));
+			twice(() -> assertThat(sequence.parallel(pool).none(x -> x == 5000), is(false)));
+			twice(() -> assertThat(sequence.parallel(pool).none(x -> x > 10000), is(true)));
+		}
+	}
+
+	@Test
+	public void anyShortCircuits() {
+		AtomicInteger tested = new AtomicInteger();
+		assertThat(range.parallel(pool).any(x -> tested.incrementAndGet() > 0), is(true));
+		assertThat(tested.get(), is(lessThan(10000)));
+	}
+
+	@Test
+	public void exceptionPropagates() {
+		expecting(IllegalStateException.class, () -> range.parallel(pool).forEach(x -> {
+			if (x == 5000)
+				throw new IllegalStateException();
+		}));
+	}
+}
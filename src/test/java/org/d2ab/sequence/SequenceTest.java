@@ -20,11 +20,17 @@ import org.d2ab.collection.Iterables;
 import org.d2ab.collection.Maps;
 import org.d2ab.iterator.Iterators;
 import org.d2ab.util.Pair;
+import org.d2ab.util.Serializer;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -51,6 +57,21 @@ import static org.junit.Assert.fail;
 
 @RunWith(Parameterized.class)
 public class SequenceTest {
+	private static final Serializer<Integer> INTEGERS = new Serializer<Integer>() {
+		@Override
+		public void write(Integer object, DataOutput output) throws IOException {
+			output.writeInt(object);
+		}
+
+		@Override
+		public Integer read(DataInput input) throws IOException {
+			return input.readInt();
+		}
+	};
+
+	@Rule
+	public final TemporaryFolder tempDir = new TemporaryFolder();
+
 	private final Function<Object[], Sequence<?>> generator;
 
 	private final Sequence<Integer> empty;
@@ -986,6 +1007,110 @@ public class SequenceTest {
 		twice(() -> assertThat(_12345, contains(1, 3, 4, 5)));
 	}
 
+	@Test
+	public void includingIterableReflectsChanges() {
+		List<Integer> targets = new ArrayList<>(asList(1, 3));
+		Sequence<Integer> including = _12345.including(targets);
+		Sequence<Integer> excluding = _12345.excluding(targets);
+		twice(() -> assertThat(including, contains(1, 3)));
+		twice(() -> assertThat(excluding, contains(2, 4, 5)));
+
+		targets.add(5);
+		twice(() -> assertThat(including, contains(1, 3, 5)));
+		twice(() -> assertThat(excluding, contains(2, 4)));
+	}
+
+	@Test
+	public void includingSetMatchesByEquals() {
+		Sequence<String> words = Sequence.of("a", "B", null, "c");
+		Set<String> caseInsensitive = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		caseInsensitive.addAll(asList("A", "b"));
+
+		twice(() -> assertThat(words.including(caseInsensitive), is(emptyIterable())));
+		twice(() -> assertThat(words.excluding(caseInsensitive), contains("a", "B", null, "c")));
+
+		Set<String> hashed = new HashSet<>(asList("B", null));
+		twice(() -> assertThat(words.including(hashed), contains("B", null)));
+		twice(() -> assertThat(words.excluding(hashed), contains("a", "c")));
+	}
+
+	@Test
+	public void joinOnKeys() {
+		List<String> words = asList("one", "two", "three", "four", "five", "six");
+
+		BiSequence<Integer, String> emptyJoin = empty.join(words, x -> x, String::length);
+		twice(() -> assertThat(emptyJoin, is(emptyIterable())));
+
+		BiSequence<Integer, String> join = _12345.join(words, x -> x, String::length);
+		twice(() -> assertThat(join, contains(Pair.of(3, "one"), Pair.of(3, "two"), Pair.of(3, "six"),
+		                                      Pair.of(4, "four"), Pair.of(4, "five"), Pair.of(5, "three"))));
+
+		BiSequence<Integer, String> noMatches = _12345.join(words, x -> x, x -> 0);
+		twice(() -> assertThat(noMatches, is(emptyIterable())));
+		expecting(NoSuchElementException.class, () -> noMatches.iterator().next());
+	}
+
+	@Test
+	public void leftJoin() {
+		List<String> words = asList("one", "two", "three", "four");
+
+		BiSequence<Integer, String> leftJoin = _12345.leftJoin(words, x -> x, String::length);
+		twice(() -> assertThat(leftJoin, contains(Pair.of(1, null), Pair.of(2, null), Pair.of(3, "one"),
+		                                          Pair.of(3, "two"), Pair.of(4, "four"), Pair.of(5, "three"))));
+
+		BiSequence<Integer, String> emptyRight = _123.leftJoin(emptyList(), x -> x, String::length);
+		twice(() -> assertThat(emptyRight, contains(Pair.of(1, null), Pair.of(2, null), Pair.of(3, null))));
+	}
+
+	@Test
+	public void mergeJoin() {
+		List<String> words = asList("a", "bb", "cc", "ddd", "eeeee", "ffffff");
+		Sequence<Integer> sorted = newSequence(1, 2, 2, 4, 5, 7);
+
+		BiSequence<Integer, String> emptyJoin = empty.mergeJoin(words, x -> x, String::length);
+		twice(() -> assertThat(emptyJoin, is(emptyIterable())));
+
+		BiSequence<Integer, String> join = sorted.mergeJoin(words, x -> x, String::length);
+		twice(() -> assertThat(join, contains(Pair.of(1, "a"), Pair.of(2, "bb"), Pair.of(2, "cc"),
+		                                      Pair.of(2, "bb"), Pair.of(2, "cc"), Pair.of(5, "eeeee"))));
+		twice(() -> assertThat(join.toList(), is(equalTo(sorted.join(words, x -> x, String::length).toList()))));
+
+		BiSequence<Integer, String> descending =
+				newSequence(7, 5, 4, 2, 2, 1).mergeJoin(Sequence.from(words).reverse(), x -> x, String::length,
+				                                        reverseOrder());
+		twice(() -> assertThat(descending, contains(Pair.of(5, "eeeee"), Pair.of(2, "cc"), Pair.of(2, "bb"),
+		                                            Pair.of(2, "cc"), Pair.of(2, "bb"), Pair.of(1, "a"))));
+	}
+
+	@Test
+	public void semiJoin() {
+		List<String> words = asList("one", "two", "three", "four");
+
+		Sequence<Integer> emptySemiJoin = empty.semiJoin(words, x -> x, String::length);
+		twice(() -> assertThat(emptySemiJoin, is(emptyIterable())));
+
+		Sequence<Integer> semiJoin = _12345.semiJoin(words, x -> x, String::length);
+		twice(() -> assertThat(semiJoin, contains(3, 4, 5)));
+
+		assertThat(removeFirst(semiJoin), is(3));
+		twice(() -> assertThat(semiJoin, contains(4, 5)));
+		twice(() -> assertThat(_12345, contains(1, 2, 4, 5)));
+	}
+
+	@Test
+	public void antiJoin() {
+		List<String> words = asList("one", "two", "three", "four");
+
+		Sequence<Integer> emptyAntiJoin = empty.antiJoin(words, x -> x, String::length);
+		twice(() -> assertThat(emptyAntiJoin, is(emptyIterable())));
+
+		Sequence<Integer> antiJoin = _12345.antiJoin(words, x -> x, String::length);
+		twice(() -> assertThat(antiJoin, contains(1, 2)));
+
+		Sequence<Integer> antiJoinNone = _12345.antiJoin(emptyList(), x -> x, String::length);
+		twice(() -> assertThat(antiJoinNone, contains(1, 2, 3, 4, 5)));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void flatMapIterables() {
@@ -1217,6 +1342,47 @@ public class SequenceTest {
 		});
 	}
 
+	@Test
+	public void mapFilterPeekChain() {
+		List<String> peeked = new ArrayList<>();
+		Sequence<Integer> chain = _123456789.map(x -> x * 2)
+		                                     .peek(x -> peeked.add("a" + x))
+		                                     .filter(x -> x % 3 != 0)
+		                                     .map(x -> x + 1)
+		                                     .filter(x -> x > 5)
+		                                     .peek(x -> peeked.add("b" + x));
+
+		twice(() -> {
+			peeked.clear();
+			assertThat(chain, contains(9, 11, 15, 17));
+			assertThat(peeked, contains("a2", "a4", "a6", "a8", "b9", "a10", "b11", "a12", "a14", "b15", "a16", "b17",
+			                            "a18"));
+		});
+
+		twice(() -> {
+			List<Integer> result = new ArrayList<>();
+			chain.forEach(result::add);
+			assertThat(result, contains(9, 11, 15, 17));
+		});
+
+		twice(() -> assertThat(chain.toList(), contains(9, 11, 15, 17)));
+		twice(() -> assertThat(chain.reduce(0, Integer::sum), is(52)));
+	}
+
+	@Test
+	public void mapFilterChainRemove() {
+		Sequence<Integer> chain = _123456789.map(x -> x * 2).filter(x -> x % 3 != 0).map(x -> x + 1);
+
+		Iterator<Integer> iterator = chain.iterator();
+		assertThat(iterator.next(), is(3));
+		assertThat(iterator.next(), is(5));
+		iterator.remove();
+		assertThat(iterator.next(), is(9));
+
+		twice(() -> assertThat(chain, contains(3, 9, 11, 15, 17)));
+		twice(() -> assertThat(_123456789, contains(1, 3, 4, 5, 6, 7, 8, 9)));
+	}
+
 	@Test
 	public void mapBack() {
 		Sequence<Integer> emptyMappedBack = empty.mapBack((p, c) -> {
@@ -1692,6 +1858,56 @@ public class SequenceTest {
 		});
 	}
 
+	@Test
+	public void groupBy() {
+		twice(() -> assertThat(empty.groupBy(x -> x % 3).isEmpty(), is(true)));
+		twice(() -> {
+			Map<Integer, List<Integer>> groups = _123456789.groupBy(x -> x % 3);
+			assertThat(groups.keySet(), containsInAnyOrder(0, 1, 2));
+			assertThat(groups.get(0), contains(3, 6, 9));
+			assertThat(groups.get(1), contains(1, 4, 7));
+			assertThat(groups.get(2), contains(2, 5, 8));
+		});
+	}
+
+	@Test
+	public void groupByWithConstructor() {
+		twice(() -> {
+			Map<Boolean, SortedSet<Integer>> groups = nineRandom.groupBy(x -> x > 10, TreeSet::new);
+			assertThat(groups.get(true), contains(24, 43, 67));
+			assertThat(groups.get(false), contains(3, 5, 7));
+		});
+	}
+
+	@Test
+	public void countBy() {
+		twice(() -> assertThat(empty.countBy(x -> x).isEmpty(), is(true)));
+		twice(() -> assertThat(nineRandom.countBy(x -> x),
+		                       is(equalTo(Maps.builder(67, 2L).put(5, 3L).put(43, 1L).put(3, 1L).put(7, 1L)
+		                                      .put(24, 1L).build()))));
+	}
+
+	@Test
+	public void sumBy() {
+		twice(() -> assertThat(empty.sumBy(x -> x % 2, x -> x).isEmpty(), is(true)));
+		twice(() -> assertThat(_123456789.sumBy(x -> x % 2 == 0 ? "even" : "odd", x -> x),
+		                       is(equalTo(Maps.builder("even", 20L).put("odd", 25L).build()))));
+	}
+
+	@Test
+	public void partitionBy() {
+		twice(() -> {
+			Pair<List<Integer>, List<Integer>> empties = empty.partitionBy(x -> x > 10);
+			assertThat(empties.getLeft(), is(emptyIterable()));
+			assertThat(empties.getRight(), is(emptyIterable()));
+		});
+		twice(() -> {
+			Pair<List<Integer>, List<Integer>> partitions = nineRandom.partitionBy(x -> x > 10);
+			assertThat(partitions.getLeft(), contains(67, 43, 24, 67));
+			assertThat(partitions.getRight(), contains(5, 3, 5, 7, 5));
+		});
+	}
+
 	@Test
 	public void collect() {
 		twice(() -> {
@@ -2117,6 +2333,49 @@ public class SequenceTest {
 		twice(() -> assertThat(nineWindowed, contains(contains(1, 2, 3), contains(5, 6, 7), contains(9))));
 	}
 
+	@Test
+	public void windowLargerThanInput() {
+		Sequence<List<Integer>> batched = _123.batch(Integer.MAX_VALUE).map(Sequence::toList);
+		twice(() -> assertThat(batched, contains(asList(1, 2, 3))));
+
+		Sequence<List<Integer>> windowed = _123.window(Integer.MAX_VALUE, 1, true).map(Sequence::toList);
+		twice(() -> assertThat(windowed, contains(asList(1, 2, 3))));
+	}
+
+	@Test
+	public void windowGrowingBuffer() {
+		Sequence<Integer> hundred = Sequence.range(1, 100);
+		Sequence<List<Integer>> windowed = hundred.window(40, 3).map(Sequence::toList);
+		twice(() -> assertThat(windowed.size(), is(21)));
+		twice(() -> assertThat(windowed.at(20), is(Optional.of(hundred.skip(60).toList()))));
+		twice(() -> assertThat(windowed.last(), is(Optional.of(hundred.skip(60).toList()))));
+		twice(() -> assertThat(windowed.first(), is(Optional.of(hundred.limit(40).toList()))));
+		twice(() -> assertThat(windowed.at(7), is(Optional.of(hundred.skip(21).limit(40).toList()))));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void windowReusing() {
+		Sequence<List<Integer>> emptyWindowed = empty.window(3, 1, true).map(Sequence::toList);
+		twice(() -> assertThat(emptyWindowed, is(emptyIterable())));
+
+		Sequence<List<Integer>> fiveWindowed = _12345.window(3, 1, true).map(Sequence::toList);
+		twice(() -> assertThat(fiveWindowed, contains(asList(1, 2, 3), asList(2, 3, 4), asList(3, 4, 5))));
+
+		Sequence<List<Integer>> nineWindowed = _123456789.window(3, 4, true).map(Sequence::toList);
+		twice(() -> assertThat(nineWindowed, contains(asList(1, 2, 3), asList(5, 6, 7), singletonList(9))));
+
+		Iterator<Sequence<Integer>> windows = _12345.window(2, 2, true).iterator();
+		Sequence<Integer> first = windows.next();
+		assertThat(first.size(), is(2));
+		assertThat(first, contains(1, 2));
+		expecting(UnsupportedOperationException.class, () -> first.add(17));
+		assertThat(windows.next(), is(sameInstance(first)));
+		assertThat(first, contains(3, 4));
+		assertThat(windows.next(), contains(5));
+		assertThat(windows.hasNext(), is(false));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void batch() {
@@ -2311,6 +2570,141 @@ public class SequenceTest {
 		twice(() -> assertThat(nineRandom, contains(67, 5, 43, 3, 5, 7, 24, 5, 67)));
 	}
 
+	@Test
+	public void sortedExternally() {
+		Sequence<Integer> emptySorted = empty.sorted(2, INTEGERS, tempDir.getRoot().toPath());
+		twice(() -> assertThat(emptySorted, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySorted.iterator().next());
+
+		Sequence<Integer> oneSorted = oneRandom.sorted(2, INTEGERS, tempDir.getRoot().toPath());
+		twice(() -> assertThat(oneSorted, contains(17)));
+
+		Sequence<Integer> twoSorted = twoRandom.sorted(2, INTEGERS, tempDir.getRoot().toPath());
+		twice(() -> assertThat(twoSorted, contains(17, 32)));
+
+		Sequence<Integer> nineSorted = nineRandom.sorted(2, INTEGERS, tempDir.getRoot().toPath());
+		twice(() -> assertThat(nineSorted, contains(3, 5, 5, 5, 7, 24, 43, 67, 67)));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSorted));
+		twice(() -> assertThat(nineSorted, contains(3, 5, 5, 5, 7, 24, 43, 67, 67)));
+		twice(() -> assertThat(nineRandom, contains(67, 5, 43, 3, 5, 7, 24, 5, 67)));
+
+		expecting(IllegalArgumentException.class, () -> nineRandom.sorted(0, INTEGERS, tempDir.getRoot().toPath()));
+	}
+
+	@Test
+	public void sortedExternallyComparator() {
+		Sequence<Integer> nineSorted = nineRandom.sorted(reverseOrder(), 3, INTEGERS, tempDir.getRoot().toPath());
+		twice(() -> assertThat(nineSorted, contains(67, 67, 43, 24, 7, 5, 5, 5, 3)));
+
+		Sequence<Integer> nineSortedInMemory = nineRandom.sorted(reverseOrder(), 9, INTEGERS, null);
+		twice(() -> assertThat(nineSortedInMemory, contains(67, 67, 43, 24, 7, 5, 5, 5, 3)));
+
+		Iterator<Integer> iterator = nineSorted.iterator();
+		assertThat(iterator.next(), is(67));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+		iterator.forEachRemaining(x -> {});
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+	}
+
+	@Test
+	public void sortedExternallyIsStable() {
+		Sequence<String> strings = Sequence.of("bb", "a", "cc", "b", "aa", "c", "ddd", "d");
+		Sequence<String> sorted = strings.sorted(Comparator.comparing(String::length), 3, Serializer.strings(),
+		                                         tempDir.getRoot().toPath());
+		twice(() -> assertThat(sorted, contains("a", "b", "c", "d", "bb", "cc", "aa", "ddd")));
+	}
+
+	@Test
+	public void sortedExternallyManyRuns() {
+		Comparator<Integer> byTens = Comparator.comparing(i -> i / 10);
+		Sequence<Integer> values = Sequence.range(1, 2000).map(i -> i * 7919 % 2000);
+		List<Integer> expected = values.toList();
+		expected.sort(byTens);
+
+		Sequence<Integer> sorted = values.sorted(byTens, 3, INTEGERS, tempDir.getRoot().toPath());
+		twice(() -> assertThat(sorted.toList(), is(expected)));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+
+		assertThat(sorted.first(), is(Optional.of(values.filter(i -> i < 10).first().get())));
+		assertThat(tempDir.getRoot().list(), is(emptyArray()));
+	}
+
+	@Test
+	public void sortedLimit() {
+		Sequence<Integer> emptySortedLimited = empty.sorted().limit(3);
+		twice(() -> assertThat(emptySortedLimited, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptySortedLimited.iterator().next());
+
+		Sequence<Integer> nineSortedLimited = nineRandom.sorted().limit(4);
+		twice(() -> assertThat(nineSortedLimited, contains(3, 5, 5, 5)));
+
+		Sequence<Integer> nineSortedLimitedZero = nineRandom.sorted().limit(0);
+		twice(() -> assertThat(nineSortedLimitedZero, emptyIterable()));
+
+		Sequence<Integer> nineSortedLimitedAll = nineRandom.sorted(reverseOrder()).limit(20);
+		twice(() -> assertThat(nineSortedLimitedAll, contains(67, 67, 43, 24, 7, 5, 5, 5, 3)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineSortedLimited));
+		twice(() -> assertThat(nineRandom, contains(67, 5, 43, 3, 5, 7, 24, 5, 67)));
+	}
+
+	@Test
+	public void topK() {
+		Sequence<Integer> emptyTop = empty.topK(3);
+		twice(() -> assertThat(emptyTop, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptyTop.iterator().next());
+
+		Sequence<Integer> oneTop = oneRandom.topK(3);
+		twice(() -> assertThat(oneTop, contains(17)));
+
+		Sequence<Integer> nineTop = nineRandom.topK(3);
+		twice(() -> assertThat(nineTop, contains(67, 67, 43)));
+
+		Sequence<Integer> nineTopZero = nineRandom.topK(0);
+		twice(() -> assertThat(nineTopZero, emptyIterable()));
+
+		Sequence<Integer> nineTopComparator = nineRandom.topK(4, reverseOrder());
+		twice(() -> assertThat(nineTopComparator, contains(3, 5, 5, 5)));
+
+		expecting(UnsupportedOperationException.class, () -> removeFirst(nineTop));
+		twice(() -> assertThat(nineRandom, contains(67, 5, 43, 3, 5, 7, 24, 5, 67)));
+	}
+
+	@Test
+	public void bottomK() {
+		Sequence<Integer> emptyBottom = empty.bottomK(3);
+		twice(() -> assertThat(emptyBottom, emptyIterable()));
+		expecting(NoSuchElementException.class, () -> emptyBottom.iterator().next());
+
+		Sequence<Integer> nineBottom = nineRandom.bottomK(5);
+		twice(() -> assertThat(nineBottom, contains(3, 5, 5, 5, 7)));
+
+		Sequence<Integer> nineBottomComparator = nineRandom.bottomK(2, reverseOrder());
+		twice(() -> assertThat(nineBottomComparator, contains(67, 67)));
+
+		Sequence<Integer> nineBottomAll = nineRandom.bottomK(Integer.MAX_VALUE);
+		twice(() -> assertThat(nineBottomAll, contains(3, 5, 5, 5, 7, 24, 43, 67, 67)));
+	}
+
+	@Test
+	public void topKAndBottomKAreStable() {
+		Sequence<String> strings = Sequence.of("bb", "a", "cc", "b", "aa", "c", "ddd", "d");
+		Comparator<String> byLength = Comparator.comparing(String::length);
+
+		twice(() -> assertThat(strings.bottomK(5, byLength), contains("a", "b", "c", "d", "bb")));
+		twice(() -> assertThat(strings.sorted(byLength).limit(3), contains("a", "b", "c")));
+		twice(() -> assertThat(strings.topK(3, byLength), contains("ddd", "bb", "cc")));
+
+		Random random = new Random(17);
+		List<String> many = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++)
+			many.add(Integer.toString(random.nextInt(1000)));
+		List<String> expected = Sequence.from(many).sorted(byLength).toList().subList(0, 100);
+		twice(() -> assertThat(Sequence.from(many).bottomK(100, byLength).toList(), is(equalTo(expected))));
+	}
+
 	@Test
 	public void min() {
 		twice(() -> assertThat(empty.min(), is(Optional.empty())));
@@ -2372,6 +2766,25 @@ public class SequenceTest {
 		twice(() -> assertThat(_123.none(x -> x > 4), is(true)));
 	}
 
+	@Test
+	public void anyAllFirstStopEarly() {
+		List<Integer> peeked = new ArrayList<>();
+		Sequence<Integer> sequence = _123456789.peek(peeked::add).filter(x -> x % 2 == 1).map(x -> x * 10);
+
+		assertThat(sequence.any(x -> x > 20), is(true));
+		assertThat(peeked, contains(1, 2, 3));
+
+		peeked.clear();
+		assertThat(sequence.all(x -> x < 50), is(false));
+		assertThat(peeked, contains(1, 2, 3, 4, 5));
+
+		peeked.clear();
+		assertThat(sequence.first(), is(Optional.of(10)));
+		assertThat(peeked, contains(1));
+
+		assertThat(sequence.filter(x -> x > 100).first(), is(Optional.empty()));
+	}
+
 	@Test
 	public void anyInstanceOf() {
 		twice(() -> assertThat(mixed.any(String.class), is(true)));
@@ -2521,6 +2934,50 @@ public class SequenceTest {
 		twice(() -> assertThat(_12345, contains(1, 2, 3, 4, 5)));
 	}
 
+	@Test
+	public void mapPeekSpliterator() {
+		Sequence<Integer> mapped = Sequence.from(new ArrayDeque<>(asList(2, 3, 4, 5, 6, 7, 8, 9))).peek(x -> {})
+		                                   .map(x -> x * 2);
+		twice(() -> {
+			Spliterator<Integer> spliterator = mapped.spliterator();
+			assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+			assertThat(spliterator.getExactSizeIfKnown(), is(8L));
+
+			Spliterator<Integer> prefix = spliterator.trySplit();
+			assertThat(prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown(), is(8L));
+
+			List<Integer> result = new ArrayList<>();
+			prefix.forEachRemaining(result::add);
+			spliterator.forEachRemaining(result::add);
+			assertThat(result, contains(4, 6, 8, 10, 12, 14, 16, 18));
+		});
+
+		Sequence<Integer> filtered = mapped.filter(x -> x > 10);
+		twice(() -> assertThat(filtered.spliterator().hasCharacteristics(Spliterator.SIZED), is(false)));
+		twice(() -> assertThat(StreamSupport.stream(filtered.spliterator(), false).collect(Collectors.toList()),
+		                       contains(12, 14, 16, 18)));
+	}
+
+	@Test
+	public void positionalOperationsOnViews() {
+		Sequence<Integer> view = _123456789.skip(1).step(2).limit(3);
+		twice(() -> assertThat(view, contains(2, 4, 6)));
+		twice(() -> assertThat(view.size(), is(3)));
+		twice(() -> assertThat(view.at(1), is(Optional.of(4))));
+		twice(() -> assertThat(view.at(3), is(Optional.empty())));
+		twice(() -> assertThat(view.last(), is(Optional.of(6))));
+		twice(() -> assertThat(_123456789.skipTail(2).last(), is(Optional.of(7))));
+		twice(() -> assertThat(_123.skip(5).size(), is(0)));
+		twice(() -> assertThat(_123.skip(5).last(), is(Optional.empty())));
+
+		Sequence<Integer> range = Sequence.range(1, Integer.MAX_VALUE);
+		twice(() -> assertThat(range.at(1_000_000_000), is(Optional.of(1_000_000_001))));
+		twice(() -> assertThat(range.last(), is(Optional.of(Integer.MAX_VALUE))));
+		twice(() -> assertThat(range.skip(10).step(1000).size(), is(2_147_484)));
+		twice(() -> assertThat(range.skip(10).step(1000).last(), is(Optional.of(2_147_483_011))));
+		twice(() -> assertThat(range.map(x -> x * 2).size(), is(Integer.MAX_VALUE)));
+	}
+
 	@Test
 	public void streamFromOnce() {
 		Sequence<Integer> empty = Sequence.once(Iterators.empty());
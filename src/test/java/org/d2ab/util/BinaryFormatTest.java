@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016 Daniel Skogquist Åborg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.d2ab.util;
+
+import org.d2ab.iterator.chars.CharIterator;
+import org.d2ab.iterator.doubles.DoubleIterator;
+import org.d2ab.iterator.ints.IntIterator;
+import org.d2ab.iterator.longs.LongIterator;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.d2ab.test.Tests.expecting;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+public class BinaryFormatTest {
+	private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+	private ReadableByteChannel input() {
+		return Channels.newChannel(new ByteArrayInputStream(output.toByteArray()));
+	}
+
+	@Test
+	public void ints() throws IOException {
+		int[] values = {1, -2, 3, Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+		BinaryFormat.writeInts(IntIterator.of(values), values.length, Channels.newChannel(output), false);
+
+		assertThat(output.size(), is(BinaryFormat.HEADER_SIZE + 9 + values.length * Integer.BYTES + 9));
+		assertArrayEquals(values, BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void intsEmpty() throws IOException {
+		BinaryFormat.writeInts(IntIterator.empty(), -1, Channels.newChannel(output), true);
+
+		assertArrayEquals(new int[0], BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void intsInChunks() throws IOException {
+		int[] values = new Random(17).ints(BinaryFormat.CHUNK_SIZE * 2 + 17).toArray();
+		BinaryFormat.writeInts(IntIterator.of(values), -1, Channels.newChannel(output), false);
+
+		assertArrayEquals(values, BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void intDeltas() throws IOException {
+		int[] values = new int[BinaryFormat.CHUNK_SIZE + 17];
+		for (int i = 0; i < values.length; i++)
+			values[i] = 1000000 + i * 3;
+		BinaryFormat.writeInts(IntIterator.of(values), values.length, Channels.newChannel(output), true);
+
+		assertThat(output.size(), is(lessThan(values.length * 2)));
+		assertArrayEquals(values, BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void intDeltasUnsorted() throws IOException {
+		int[] values = new Random(17).ints(100).toArray();
+		BinaryFormat.writeInts(IntIterator.of(values), values.length, Channels.newChannel(output), true);
+
+		assertThat(output.size(), is(BinaryFormat.HEADER_SIZE + 9 + values.length * Integer.BYTES + 9));
+		assertArrayEquals(values, BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void intDeltasWrapping() throws IOException {
+		int[] values = {-3, -2, -1, 0, 1, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1, 1 << 20};
+		BinaryFormat.writeInts(IntIterator.of(values), values.length, Channels.newChannel(output), true);
+
+		assertThat(output.size(), is(lessThan(BinaryFormat.HEADER_SIZE + 9 + values.length * Integer.BYTES + 9)));
+		assertArrayEquals(values, BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void longs() throws IOException {
+		long[] values = {1, -2, 3, Long.MAX_VALUE, Long.MIN_VALUE, 0};
+		BinaryFormat.writeLongs(LongIterator.of(values), values.length, Channels.newChannel(output), false);
+
+		assertArrayEquals(values, BinaryFormat.readLongs(input()));
+	}
+
+	@Test
+	public void longDeltas() throws IOException {
+		long[] values = new long[BinaryFormat.CHUNK_SIZE * 2 + 17];
+		for (int i = 0; i < values.length; i++)
+			values[i] = 10000000000L + i * 5;
+		BinaryFormat.writeLongs(LongIterator.of(values), -1, Channels.newChannel(output), true);
+
+		assertThat(output.size(), is(lessThan(values.length * 2)));
+		assertArrayEquals(values, BinaryFormat.readLongs(input()));
+	}
+
+	@Test
+	public void longDeltasExtremes() throws IOException {
+		long[] values = {-1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 0, Long.MAX_VALUE, Long.MIN_VALUE, 2, 3, 4, 5, 6, 7};
+		BinaryFormat.writeLongs(LongIterator.of(values), values.length, Channels.newChannel(output), true);
+
+		assertArrayEquals(values, BinaryFormat.readLongs(input()));
+	}
+
+	@Test
+	public void doubles() throws IOException {
+		double[] values = new Random(17).doubles(BinaryFormat.CHUNK_SIZE + 17).toArray();
+		values[3] = Double.NaN;
+		values[5] = Double.NEGATIVE_INFINITY;
+		BinaryFormat.writeDoubles(DoubleIterator.of(values), values.length, Channels.newChannel(output));
+
+		assertArrayEquals(values, BinaryFormat.readDoubles(input()), 0);
+	}
+
+	@Test
+	public void chars() throws IOException {
+		char[] values = new char[BinaryFormat.CHUNK_SIZE + 17];
+		Arrays.fill(values, '\u20ac');
+		values[0] = 'a';
+		values[values.length - 1] = '\uffff';
+		BinaryFormat.writeChars(CharIterator.of(values), -1, Channels.newChannel(output));
+
+		assertArrayEquals(values, BinaryFormat.readChars(input()));
+	}
+
+	@Test
+	public void wrongType() throws IOException {
+		BinaryFormat.writeLongs(LongIterator.of(1, 2, 3), 3, Channels.newChannel(output), false);
+
+		expecting(IOException.class, () -> BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void notBinaryFormat() throws IOException {
+		output.write(new byte[32]);
+
+		expecting(IOException.class, () -> BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void truncated() throws IOException {
+		BinaryFormat.writeInts(IntIterator.of(1, 2, 3), 3, Channels.newChannel(output), false);
+		byte[] bytes = output.toByteArray();
+		output.reset();
+		output.write(bytes, 0, bytes.length - 12);
+
+		expecting(EOFException.class, () -> BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void invalidChunk() throws IOException {
+		BinaryFormat.writeInts(IntIterator.of(1, 2, 3), 3, Channels.newChannel(output), false);
+		byte[] bytes = output.toByteArray();
+		ByteBuffer.wrap(bytes).putInt(BinaryFormat.HEADER_SIZE + 5, 13);
+		output.reset();
+		output.write(bytes);
+
+		expecting(IOException.class, () -> BinaryFormat.readInts(input()));
+	}
+
+	@Test
+	public void sizeMismatch() throws IOException {
+		BinaryFormat.writeInts(IntIterator.of(1, 2, 3), 4, Channels.newChannel(output), false);
+		expecting(IOException.class, () -> BinaryFormat.readInts(input()));
+
+		output.reset();
+		BinaryFormat.writeChars(CharIterator.of('a', 'b'), 1, Channels.newChannel(output));
+		expecting(IOException.class, () -> BinaryFormat.readChars(input()));
+	}
+
+	@Test
+	public void sizeTooLargeForHeap() throws IOException {
+		BinaryFormat.writeLongs(LongIterator.of(1, 2, 3), Integer.MAX_VALUE - 8, Channels.newChannel(output), false);
+		expecting(IOException.class, () -> BinaryFormat.readLongs(input()));
+
+		output.reset();
+		BinaryFormat.writeDoubles(DoubleIterator.of(1, 2, 3), Integer.MAX_VALUE - 8, Channels.newChannel(output));
+		expecting(IOException.class, () -> BinaryFormat.readDoubles(input()));
+	}
+
+	@Test
+	public void writesToChannelInChunks() throws IOException {
+		int[] values = new int[BinaryFormat.CHUNK_SIZE * 3];
+		int[] writes = new int[1];
+		BinaryFormat.writeInts(IntIterator.of(values), values.length, new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer src) {
+				writes[0]++;
+				int remaining = src.remaining();
+				src.position(src.limit());
+				return remaining;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+		}, false);
+
+		assertThat(writes[0], is(5));
+	}
+}